@@ -1,24 +1,59 @@
 package eisenwave.spatium.array;
 
+import eisenwave.spatium.function.Int3Consumer;
+import eisenwave.spatium.function.Int3Predicate;
+import org.jetbrains.annotations.Nullable;
+
 import java.io.Serializable;
+import java.util.NoSuchElementException;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntBinaryOperator;
 
 public abstract class AbstractArray3 implements Serializable, Cloneable {
 
+    /** the minimum amount of elements processed by a single task of a parallel operation */
+    private final static int PARALLEL_THRESHOLD = 1 << 13;
+
     protected final int sizeX, sizeY, sizeZ, length;
     private final int sizeXY;
-    
+
+    /** the layout of the backing array */
+    protected final ArrayLayout layout;
+    /** the length of the backing array, including padding */
+    protected final int capacity;
+
+    /** spread bits of each coordinate, only used by the Morton layout */
+    private final int[] mortonX, mortonY, mortonZ;
+    /** the axis of each bit of a Morton index, only used by the Morton layout */
+    private final byte[] bitAxes;
+    /** the amount of bits of each axis below each bit of a Morton index, only used by the Morton layout */
+    private final byte[][] lowerBits;
+
     private static long product(int x, int y, int z) {
         return (long) x * y * z;
     }
-    
+
     /**
-     * Constructs an array using three dimensions.
+     * Constructs an array using three dimensions and the {@link ArrayLayout#LINEAR} layout.
      *
      * @param sizeX the x-size
      * @param sizeY the y-size
      * @param sizeZ the z-size
      */
     protected AbstractArray3(int sizeX, int sizeY, int sizeZ) {
+        this(sizeX, sizeY, sizeZ, ArrayLayout.LINEAR);
+    }
+
+    /**
+     * Constructs an array using three dimensions and a given layout.
+     *
+     * @param sizeX the x-size
+     * @param sizeY the y-size
+     * @param sizeZ the z-size
+     * @param layout the layout of the backing array
+     */
+    protected AbstractArray3(int sizeX, int sizeY, int sizeZ, ArrayLayout layout) {
         if (sizeX < 0) throw new NegativeArraySizeException("x: "+sizeX);
         if (sizeY < 0) throw new NegativeArraySizeException("y: "+sizeY);
         if (sizeZ < 0) throw new NegativeArraySizeException("z: "+sizeZ);
@@ -27,25 +62,87 @@ public abstract class AbstractArray3 implements Serializable, Cloneable {
         this.sizeZ = sizeZ;
         this.sizeXY = sizeX * sizeY;
         this.length = sizeXY * sizeZ;
-        
+        this.layout = layout;
+
         if (sizeXY < 0 || length != (long) sizeXY * sizeZ) // overflow
             throw new IllegalArgumentException("array length too large ("+product(sizeX, sizeY, sizeZ)+")");
+
+        if (layout == ArrayLayout.LINEAR || length == 0) {
+            this.capacity = length;
+            this.mortonX = null;
+            this.mortonY = null;
+            this.mortonZ = null;
+            this.bitAxes = null;
+            this.lowerBits = null;
+            return;
+        }
+
+        final int[] bits = {bitsOf(sizeX), bitsOf(sizeY), bitsOf(sizeZ)};
+        final int totalBits = bits[0] + bits[1] + bits[2];
+        if (totalBits > Integer.SIZE - 2)
+            throw new IllegalArgumentException("padded array length too large (2^"+totalBits+")");
+        this.capacity = 1 << totalBits;
+
+        // assign the bits of index round-robin to all axes which still have bits left
+        this.bitAxes = new byte[totalBits];
+        this.lowerBits = new byte[3][totalBits + 1];
+        final int[][] positions = {new int[bits[0]], new int[bits[1]], new int[bits[2]]};
+        for (int level = 0, position = 0; position < totalBits; level++) {
+            for (int axis = 0; axis < 3; axis++) {
+                if (level >= bits[axis]) continue;
+                positions[axis][level] = position;
+                bitAxes[position++] = (byte) axis;
+            }
+        }
+        for (int position = 0; position < totalBits; position++) {
+            for (int axis = 0; axis < 3; axis++)
+                lowerBits[axis][position + 1] = lowerBits[axis][position];
+            lowerBits[bitAxes[position]][position + 1]++;
+        }
+
+        this.mortonX = spreadTable(sizeX, positions[0]);
+        this.mortonY = spreadTable(sizeY, positions[1]);
+        this.mortonZ = spreadTable(sizeZ, positions[2]);
     }
-    
+
     protected AbstractArray3(AbstractArray3 copyOf) {
         this.sizeX = copyOf.sizeX;
         this.sizeY = copyOf.sizeY;
         this.sizeZ = copyOf.sizeZ;
         this.sizeXY = copyOf.sizeXY;
         this.length = copyOf.length;
+        this.layout = copyOf.layout;
+        this.capacity = copyOf.capacity;
+        this.mortonX = copyOf.mortonX;
+        this.mortonY = copyOf.mortonY;
+        this.mortonZ = copyOf.mortonZ;
+        this.bitAxes = copyOf.bitAxes;
+        this.lowerBits = copyOf.lowerBits;
     }
-    
+
+    private static int bitsOf(int size) {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(size - 1);
+    }
+
+    private static int[] spreadTable(int size, int[] positions) {
+        final int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            int spread = 0;
+            for (int bit = 0; bit < positions.length; bit++)
+                spread |= (i >>> bit & 1) << positions[bit];
+            result[i] = spread;
+        }
+        return result;
+    }
+
     /**
      * <p>
      *     Convenience method for obtaining the array index using an x, y, and z coordinate.
      * </p>
      * <p>
-     *     This method asserts that the x-coordinate runs the fastest, then the y-coordinate, then the z-coordinate.
+     *     For the {@link ArrayLayout#LINEAR} layout, the x-coordinate runs the fastest, then the y-coordinate, then
+     *     the z-coordinate. For the {@link ArrayLayout#MORTON} layout, the bits of the coordinates are interleaved
+     *     using lookup tables.
      * </p>
      *
      * @param x the x-coordinate
@@ -54,7 +151,22 @@ public abstract class AbstractArray3 implements Serializable, Cloneable {
      * @return the index at the given coordinates
      */
     protected int indexOf(int x, int y, int z) {
-        return z*sizeXY + y*sizeX + x;
+        return mortonX == null?
+            z*sizeXY + y*sizeX + x :
+            mortonX[x] | mortonY[y] | mortonZ[z];
+    }
+
+    /**
+     * Converts the position of an element in x-y-z order, where the x-coordinate runs the fastest, into its index in
+     * the backing array.
+     *
+     * @param element the position of the element
+     * @return the index of the element in the backing array
+     */
+    protected int indexOfElement(int element) {
+        return mortonX == null?
+            element :
+            indexOf(element % sizeX, element / sizeX % sizeY, element / sizeXY);
     }
 
     /**
@@ -93,4 +205,366 @@ public abstract class AbstractArray3 implements Serializable, Cloneable {
         return length;
     }
 
+    /**
+     * Returns the layout of the backing array.
+     *
+     * @return the layout
+     */
+    public ArrayLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Returns the length of the backing array. This is equal to {@link #getLength()} unless the layout of the array
+     * requires padding.
+     *
+     * @return the length of the backing array
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // ITERATION
+
+    /**
+     * Performs an action for each position of this array. Positions are visited with the x-coordinate running the
+     * fastest, then the y-coordinate, then the z-coordinate.
+     *
+     * @param action the action
+     */
+    public void forEachPosition(Int3Consumer action) {
+        forEachPosition(action, 0, sizeZ);
+    }
+
+    /**
+     * Performs an action for each position of this array in parallel. The action may be invoked concurrently from
+     * multiple threads and in no particular order.
+     *
+     * @param action the action
+     */
+    public void parallelForEachPosition(Int3Consumer action) {
+        parallelReduceSlabs((fromZ, toZ) -> {
+            forEachPosition(action, fromZ, toZ);
+            return 0;
+        }, (a, b) -> 0);
+    }
+
+    private void forEachPosition(Int3Consumer action, int fromZ, int toZ) {
+        for (int z = fromZ; z < toZ; z++)
+            for (int y = 0; y < sizeY; y++)
+                for (int x = 0; x < sizeX; x++)
+                    action.accept(x, y, z);
+    }
+
+    /**
+     * Returns the amount of positions of this array which match a given predicate.
+     *
+     * @param predicate the predicate
+     * @return the amount of matching positions
+     */
+    public int count(Int3Predicate predicate) {
+        return count(predicate, 0, sizeZ);
+    }
+
+    /**
+     * Returns the amount of positions of this array which match a given predicate, testing positions in parallel.
+     *
+     * @param predicate the predicate
+     * @return the amount of matching positions
+     */
+    public int parallelCount(Int3Predicate predicate) {
+        return parallelReduceSlabs((fromZ, toZ) -> count(predicate, fromZ, toZ), Integer::sum);
+    }
+
+    private int count(Int3Predicate predicate, int fromZ, int toZ) {
+        int result = 0;
+        for (int z = fromZ; z < toZ; z++)
+            for (int y = 0; y < sizeY; y++)
+                for (int x = 0; x < sizeX; x++)
+                    if (predicate.test(x, y, z)) result++;
+        return result;
+    }
+
+    /**
+     * Returns the first position of this array which matches a given predicate. Positions are tested with the
+     * x-coordinate running the fastest, then the y-coordinate, then the z-coordinate.
+     *
+     * @param predicate the predicate
+     * @return the x-, y- and z-coordinate of the first matching position or null if there is none
+     */
+    @Nullable
+    public int[] findFirst(Int3Predicate predicate) {
+        return positionOf(findFirst(predicate, 0, sizeZ, null));
+    }
+
+    /**
+     * <p>
+     *     Returns the first position of this array which matches a given predicate, testing positions in parallel.
+     * </p>
+     * <p>
+     *     The result is the same as that of {@link #findFirst(Int3Predicate)}. Slabs which lie entirely behind a
+     *     position that has already been found are skipped.
+     * </p>
+     *
+     * @param predicate the predicate
+     * @return the x-, y- and z-coordinate of the first matching position or null if there is none
+     */
+    @Nullable
+    public int[] parallelFindFirst(Int3Predicate predicate) {
+        final AtomicInteger bound = new AtomicInteger(Integer.MAX_VALUE);
+        return positionOf(parallelReduceSlabs(
+            (fromZ, toZ) -> findFirst(predicate, fromZ, toZ, bound),
+            (a, b) -> a >= 0? a : b));
+    }
+
+    /**
+     * Returns the position of the first match within a range of slabs as a linear index.
+     *
+     * @param bound the lowest z-coordinate at which a match was found so far, may be null
+     * @return the linear index of the first matching position or -1 if there is none
+     */
+    private int findFirst(Int3Predicate predicate, int fromZ, int toZ, @Nullable AtomicInteger bound) {
+        for (int z = fromZ; z < toZ; z++) {
+            if (bound != null && z > bound.get()) return -1;
+            for (int y = 0; y < sizeY; y++)
+                for (int x = 0; x < sizeX; x++)
+                    if (predicate.test(x, y, z)) {
+                        if (bound != null) bound.accumulateAndGet(z, Math::min);
+                        return z*sizeXY + y*sizeX + x;
+                    }
+        }
+        return -1;
+    }
+
+    @Nullable
+    private int[] positionOf(int linearIndex) {
+        if (linearIndex < 0) return null;
+        return new int[] {linearIndex % sizeX, linearIndex / sizeX % sizeY, linearIndex / sizeXY};
+    }
+
+    // PARALLELISM
+
+    /**
+     * A function which processes a range of units of work, such as the slabs of an array with a z-coordinate in a
+     * given range.
+     */
+    @FunctionalInterface
+    protected interface RangeFunction {
+
+        /**
+         * Processes a range of units.
+         *
+         * @param from the first unit, inclusive
+         * @param to the last unit, exclusive
+         * @return the result for the range
+         */
+        int apply(int from, int to);
+
+    }
+
+    /**
+     * <p>
+     *     Splits this array into slabs along the z-axis and processes them in the common {@link
+     *     java.util.concurrent.ForkJoinPool}. The results of adjacent ranges are combined with the lower range on the
+     *     left-hand side, so the combiner does not need to be commutative.
+     * </p>
+     * <p>
+     *     Arrays which are too small to benefit from parallelism are processed in the calling thread.
+     * </p>
+     *
+     * @param function the function processing each range of slabs
+     * @param combiner the associative function combining the results of two adjacent ranges
+     * @return the combined result
+     */
+    protected int parallelReduceSlabs(RangeFunction function, IntBinaryOperator combiner) {
+        return parallelReduceRanges(sizeZ, sizeXY, function, combiner);
+    }
+
+    /**
+     * Splits the units <code>0</code> to <code>units - 1</code> into ranges and processes them in the same way as
+     * {@link #parallelReduceSlabs(RangeFunction, IntBinaryOperator)}, which is the special case of one unit per slab.
+     *
+     * @param units the amount of units
+     * @param weight the amount of elements per unit, used to decide whether a range is worth splitting
+     * @param function the function processing each range of units
+     * @param combiner the associative function combining the results of two adjacent ranges
+     * @return the combined result
+     */
+    protected int parallelReduceRanges(int units, int weight, RangeFunction function, IntBinaryOperator combiner) {
+        final RangeTask task = new RangeTask(weight, function, combiner, 0, units);
+        if ((long) units * weight <= PARALLEL_THRESHOLD) task.compute();
+        else task.invoke();
+        return task.result;
+    }
+
+    private final static class RangeTask extends RecursiveAction {
+
+        private final int weight;
+        private final RangeFunction function;
+        private final IntBinaryOperator combiner;
+        private final int from, to;
+        private int result;
+
+        private RangeTask(int weight, RangeFunction function, IntBinaryOperator combiner, int from, int to) {
+            this.weight = weight;
+            this.function = function;
+            this.combiner = combiner;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            final int units = to - from;
+            if (units < 2 || (long) units * weight <= PARALLEL_THRESHOLD) {
+                result = function.apply(from, to);
+                return;
+            }
+            final int mid = (from + to) >>> 1;
+            final RangeTask left = new RangeTask(weight, function, combiner, from, mid);
+            final RangeTask right = new RangeTask(weight, function, combiner, mid, to);
+            invokeAll(left, right);
+            result = combiner.applyAsInt(left.result, right.result);
+        }
+
+    }
+
+    /**
+     * Returns a new cursor over all positions of this array in the order of the backing array.
+     *
+     * @return a new cursor
+     */
+    public IndexCursor cursor() {
+        return new IndexCursor(0, capacity);
+    }
+
+    /**
+     * Returns a new cursor over all positions of this array which are stored at indices in a given range, in the
+     * order of the backing array.
+     *
+     * @param fromIndex the first index, inclusive
+     * @param toIndex the last index, exclusive
+     * @return a new cursor
+     * @throws IndexOutOfBoundsException if the range does not lie within the backing array
+     */
+    public IndexCursor cursor(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > capacity || fromIndex > toIndex)
+            throw new IndexOutOfBoundsException("from="+fromIndex+", to="+toIndex+", capacity="+capacity);
+        return new IndexCursor(fromIndex, toIndex);
+    }
+
+    /**
+     * <p>
+     *     A cursor over all positions of an array in the order in which they are stored, skipping any padding.
+     * </p>
+     * <p>
+     *     Coordinates are updated incrementally, so the cursor does not decode each index.
+     * </p>
+     */
+    public final class IndexCursor {
+
+        private final int fence;
+        private int index = -1, x = -1, y, z;
+        private boolean done;
+
+        private IndexCursor(int from, int to) {
+            this.fence = to;
+            this.done = from == to;
+            if (from == 0 || done) return;
+
+            // start on the index before the first one, whose coordinates may lie in the padding
+            index = from - 1;
+            if (mortonX == null) {
+                x = index % sizeX;
+                y = index / sizeX % sizeY;
+                z = index / sizeXY;
+                return;
+            }
+            x = 0;
+            for (int bit = 0; bit < bitAxes.length; bit++) {
+                final int value = (index >>> bit & 1) << lowerBits[bitAxes[bit]][bit];
+                switch (bitAxes[bit]) {
+                    case 0: x |= value; break;
+                    case 1: y |= value; break;
+                    default: z |= value;
+                }
+            }
+        }
+
+        /**
+         * Moves the cursor to the next position.
+         *
+         * @return false if there are no more positions
+         */
+        public boolean next() {
+            if (done) return false;
+            if (mortonX == null) {
+                if (++index == fence) return !(done = true);
+                if (++x == sizeX) {
+                    x = 0;
+                    if (++y == sizeY) {
+                        y = 0;
+                        z++;
+                    }
+                }
+                return true;
+            }
+
+            if (index < 0) {
+                index = x = y = z = 0;
+                if (isInside()) return true;
+            }
+            do {
+                if (index + 1 == fence) return !(done = true);
+                // index + 1 sets the lowest zero bit and clears all ones below it
+                final int bit = Integer.numberOfTrailingZeros(~index);
+                x &= -1 << lowerBits[0][bit];
+                y &= -1 << lowerBits[1][bit];
+                z &= -1 << lowerBits[2][bit];
+                switch (bitAxes[bit]) {
+                    case 0: x |= 1 << lowerBits[0][bit]; break;
+                    case 1: y |= 1 << lowerBits[1][bit]; break;
+                    default: z |= 1 << lowerBits[2][bit];
+                }
+                index++;
+            }
+            while (!isInside());
+            return true;
+        }
+
+        private boolean isInside() {
+            return x < sizeX && y < sizeY && z < sizeZ;
+        }
+
+        private void checkState() {
+            if (index < 0 || done) throw new NoSuchElementException();
+        }
+
+        /**
+         * Returns the index of the current position in the backing array.
+         *
+         * @return the current index
+         */
+        public int getIndex() {
+            checkState();
+            return index;
+        }
+
+        public int getX() {
+            checkState();
+            return x;
+        }
+
+        public int getY() {
+            checkState();
+            return y;
+        }
+
+        public int getZ() {
+            checkState();
+            return z;
+        }
+
+    }
+
 }
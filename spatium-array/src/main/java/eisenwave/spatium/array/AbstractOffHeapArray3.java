@@ -0,0 +1,226 @@
+package eisenwave.spatium.array;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * <p>
+ *     A three-dimensional array which is stored outside of the Java heap, either in direct buffers or in a
+ *     memory-mapped file.
+ * </p>
+ * <p>
+ *     Since a single buffer can hold at most {@link Integer#MAX_VALUE} bytes, the storage is split into segments of
+ *     <code>2<sup>30</sup></code> bytes. Elements are addressed using <code>long</code> indices, so the volume of the
+ *     array is only limited by the sizes of each dimension and the available memory or disk space.
+ * </p>
+ * <p>
+ *     File-backed arrays consist of a {@value #HEADER_SIZE}-byte header holding a magic number and the three
+ *     dimensions followed by the raw content in little-endian byte order. Opening such a file only maps it into
+ *     memory, its content is paged in lazily by the operating system.
+ * </p>
+ */
+public abstract class AbstractOffHeapArray3 implements Closeable {
+
+    protected final static int SEGMENT_BITS = 30, SEGMENT_SIZE = 1 << SEGMENT_BITS, SEGMENT_MASK = SEGMENT_SIZE - 1;
+    protected final static int HEADER_SIZE = 16;
+
+    protected final int sizeX, sizeY, sizeZ;
+    protected final long length;
+    private final long sizeXY;
+
+    protected final ByteBuffer[] segments;
+    @Nullable
+    private final FileChannel channel;
+
+    protected AbstractOffHeapArray3(int sizeX, int sizeY, int sizeZ, ByteBuffer[] segments,
+                                    @Nullable FileChannel channel) {
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.sizeZ = sizeZ;
+        this.sizeXY = (long) sizeX * sizeY;
+        this.length = sizeXY * sizeZ;
+        this.segments = segments;
+        this.channel = channel;
+    }
+
+    /**
+     * Convenience method for obtaining the index of an element using an x, y, and z coordinate. The x-coordinate runs
+     * the fastest, then the y-coordinate, then the z-coordinate.
+     *
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @param z the z-coordinate
+     * @return the index at the given coordinates
+     */
+    protected long indexOf(int x, int y, int z) {
+        return z*sizeXY + (long) y*sizeX + x;
+    }
+
+    // GETTERS
+
+    /**
+     * Returns the size of the array in its first dimension.
+     *
+     * @return the 1st dimension size of the array
+     */
+    public int getSizeX() {
+        return sizeX;
+    }
+
+    /**
+     * Returns the size of the array in its second dimension.
+     *
+     * @return the 2nd dimension size of the array
+     */
+    public int getSizeY() {
+        return sizeY;
+    }
+
+    /**
+     * Returns the size of the array in its third dimension.
+     *
+     * @return the 3rd dimension size of the array
+     */
+    public int getSizeZ() {
+        return sizeZ;
+    }
+
+    /**
+     * Returns the product of all sizes which is equivalent to the total array length.
+     *
+     * @return the array length
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Returns whether this array is backed by a memory-mapped file.
+     *
+     * @return whether this array is backed by a file
+     */
+    public boolean isMapped() {
+        return channel != null;
+    }
+
+    // PERSISTENCE
+
+    /**
+     * Writes all changes of a memory-mapped array to its file. Does nothing if the array is not backed by a file.
+     */
+    public void flush() {
+        for (ByteBuffer segment : segments)
+            if (segment instanceof MappedByteBuffer && !segment.isReadOnly())
+                ((MappedByteBuffer) segment).force();
+    }
+
+    /**
+     * Flushes and closes the file which backs this array. The mapping itself is released once the array is garbage
+     * collected, so the array must not be used after closing.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            flush();
+            channel.close();
+        }
+    }
+
+    // UTIL
+
+    protected static long byteLength(long length, int bitsPerElement) {
+        if (length > (Long.MAX_VALUE - Long.SIZE) / bitsPerElement)
+            throw new IllegalArgumentException("array length too large ("+length+")");
+        return ((length * bitsPerElement + Long.SIZE - 1) / Long.SIZE) * Long.BYTES;
+    }
+
+    protected static void checkSizes(int x, int y, int z) {
+        if (x < 0) throw new NegativeArraySizeException("x: "+x);
+        if (y < 0) throw new NegativeArraySizeException("y: "+y);
+        if (z < 0) throw new NegativeArraySizeException("z: "+z);
+    }
+
+    /**
+     * Allocates direct buffers for a given amount of bytes.
+     *
+     * @param bytes the amount of bytes
+     * @return the segments
+     */
+    protected static ByteBuffer[] allocateSegments(long bytes) {
+        final ByteBuffer[] result = new ByteBuffer[segmentCount(bytes)];
+        for (int i = 0; i < result.length; i++) {
+            final int size = (int) Math.min(SEGMENT_SIZE, bytes - ((long) i << SEGMENT_BITS));
+            result[i] = ByteBuffer.allocateDirect(size).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return result;
+    }
+
+    /**
+     * Maps the content of a file following the header into segments.
+     *
+     * @param channel the file channel
+     * @param mode the mapping mode
+     * @param bytes the amount of content bytes
+     * @return the segments
+     * @throws IOException if an I/O error occurs
+     */
+    protected static ByteBuffer[] mapSegments(FileChannel channel, FileChannel.MapMode mode, long bytes)
+        throws IOException {
+        final ByteBuffer[] result = new ByteBuffer[segmentCount(bytes)];
+        for (int i = 0; i < result.length; i++) {
+            final long offset = (long) i << SEGMENT_BITS;
+            final long size = Math.min(SEGMENT_SIZE, bytes - offset);
+            result[i] = channel.map(mode, HEADER_SIZE + offset, size).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return result;
+    }
+
+    private static int segmentCount(long bytes) {
+        return (int) ((bytes + SEGMENT_SIZE - 1) >>> SEGMENT_BITS);
+    }
+
+    protected static void writeHeader(FileChannel channel, int magic, int x, int y, int z) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(magic).putInt(x).putInt(y).putInt(z);
+        ((Buffer) header).flip();
+        while (header.hasRemaining())
+            channel.write(header, header.position());
+    }
+
+    /**
+     * Reads the header of a file and returns its dimensions.
+     *
+     * @param channel the file channel
+     * @param magic the expected magic number
+     * @param bitsPerElement the amount of bits per element
+     * @return the x-, y- and z-size
+     * @throws IOException if an I/O error occurs or if the file is not a valid array of the expected type
+     */
+    protected static int[] readHeader(FileChannel channel, int magic, int bitsPerElement) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining())
+            if (channel.read(header, header.position()) < 0)
+                throw new IOException("file is too short for a header");
+        ((Buffer) header).flip();
+
+        if (header.getInt() != magic)
+            throw new IOException("file does not contain an array of this type");
+        final int x = header.getInt(), y = header.getInt(), z = header.getInt();
+        checkSizes(x, y, z);
+
+        final long required = HEADER_SIZE + byteLength((long) x * y * z, bitsPerElement);
+        if (channel.size() < required)
+            throw new IOException("file is truncated, expected "+required+" bytes but found "+channel.size());
+        return new int[] {x, y, z};
+    }
+
+}
@@ -1,11 +1,14 @@
 package eisenwave.spatium.array;
 
+import eisenwave.spatium.function.Int3Function;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.reflect.Array;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 public class Array3<T> extends AbstractArray3 implements Iterable<T> {
 
@@ -18,6 +21,13 @@ public class Array3<T> extends AbstractArray3 implements Iterable<T> {
         this.data = (T[]) Array.newInstance(component, this.length);
     }
     
+    @SuppressWarnings("unchecked")
+    public Array3(int x, int y, int z, Class<T> component, ArrayLayout layout) {
+        super(x, y, z, layout);
+        
+        this.data = (T[]) Array.newInstance(component, this.capacity);
+    }
+    
     public Array3(Array3<T> copyOf) {
         super(copyOf);
         
@@ -57,19 +67,113 @@ public class Array3<T> extends AbstractArray3 implements Iterable<T> {
         for (int i = 0; i < data.length; i++)
             data[i] = value;
     }
+
+    /**
+     * Sets every element of this array to the result of a function of its coordinates.
+     *
+     * @param function the function
+     */
+    public void setAll(Int3Function<? extends T> function) {
+        setAll(function, 0, sizeZ);
+    }
+
+    /**
+     * Sets every element of this array to the result of a function of its coordinates, computing elements in
+     * parallel. The function may be invoked concurrently from multiple threads and in no particular order.
+     *
+     * @param function the function
+     */
+    public void parallelSetAll(Int3Function<? extends T> function) {
+        parallelReduceSlabs((fromZ, toZ) -> {
+            setAll(function, fromZ, toZ);
+            return 0;
+        }, (a, b) -> 0);
+    }
+
+    private void setAll(Int3Function<? extends T> function, int fromZ, int toZ) {
+        for (int z = fromZ; z < toZ; z++)
+            for (int y = 0; y < sizeY; y++)
+                for (int x = 0; x < sizeX; x++)
+                    data[indexOf(x, y, z)] = function.apply(x, y, z);
+    }
+
+    /**
+     * Replaces every element of this array with the result of an operator applied to that element.
+     *
+     * @param operator the operator
+     */
+    public void replaceAll(UnaryOperator<T> operator) {
+        replaceAll(operator, 0, sizeZ);
+    }
+
+    /**
+     * Replaces every element of this array with the result of an operator applied to that element, computing
+     * elements in parallel. The operator may be invoked concurrently from multiple threads and in no particular order.
+     *
+     * @param operator the operator
+     */
+    public void parallelReplaceAll(UnaryOperator<T> operator) {
+        parallelReduceSlabs((fromZ, toZ) -> {
+            replaceAll(operator, fromZ, toZ);
+            return 0;
+        }, (a, b) -> 0);
+    }
+
+    private void replaceAll(UnaryOperator<T> operator, int fromZ, int toZ) {
+        if (layout == ArrayLayout.LINEAR) {
+            final int sizeXY = sizeX * sizeY;
+            for (int i = fromZ * sizeXY, end = toZ * sizeXY; i < end; i++)
+                data[i] = operator.apply(data[i]);
+            return;
+        }
+        for (int z = fromZ; z < toZ; z++)
+            for (int y = 0; y < sizeY; y++)
+                for (int x = 0; x < sizeX; x++) {
+                    final int index = indexOf(x, y, z);
+                    data[index] = operator.apply(data[index]);
+                }
+    }
     
     // ITERATION
     
     @Override
     public void forEach(Consumer<? super T> action) {
-        for (T obj : data)
-            action.accept(obj);
+        if (capacity == length) {
+            for (T obj : data)
+                action.accept(obj);
+        }
+        else {
+            for (IndexCursor cursor = cursor(); cursor.next(); )
+                action.accept(data[cursor.getIndex()]);
+        }
     }
     
     @NotNull
     @Override
     public Iterator<T> iterator() {
-        return new ArrayIterator<>(data);
+        return capacity == length? new ArrayIterator<>(data) : new PaddedArrayIterator3();
+    }
+    
+    private final class PaddedArrayIterator3 implements Iterator<T> {
+        
+        private final IndexCursor cursor = cursor();
+        private boolean hasNext = cursor.next();
+        
+        private PaddedArrayIterator3() {}
+        
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+        
+        @Override
+        public T next() {
+            if (!hasNext) throw new NoSuchElementException();
+            T result = data[cursor.getIndex()];
+            hasNext = cursor.next();
+            return result;
+        }
+        
     }
     
     // MISC
@@ -0,0 +1,25 @@
+package eisenwave.spatium.array;
+
+/**
+ * The encoding of the content of an array file written by {@link ArrayIO}.
+ */
+public enum ArrayEncoding {
+    
+    /**
+     * The backing array is written as is. This is the fastest encoding to read and write.
+     */
+    RAW,
+    
+    /**
+     * Consecutive equal elements are written as a single run. This is most effective for arrays with large uniform
+     * regions.
+     */
+    RUN_LENGTH,
+    
+    /**
+     * The distinct values of the array are written once, followed by indices into that palette packed at the minimal
+     * amount of bits. This is most effective for arrays with few distinct values and is only supported by int arrays.
+     */
+    PALETTE
+    
+}
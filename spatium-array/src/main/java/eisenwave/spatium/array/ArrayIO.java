@@ -0,0 +1,531 @@
+package eisenwave.spatium.array;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <p>
+ *     Utility class for reading and writing arrays in a compact, versioned binary format.
+ * </p>
+ * <p>
+ *     Each file starts with a {@value #HEADER_SIZE}-byte header, followed by the encoded content of the backing array.
+ *     All values are stored in little-endian byte order.
+ * </p>
+ * <pre>
+ *      0  int   magic number ("SPAR")
+ *      4  short format version
+ *      6  byte  element type
+ *      7  byte  {@link ArrayLayout} ordinal
+ *      8  byte  {@link ArrayEncoding} ordinal
+ *      9  byte[3] reserved
+ *     12  int   x-size (length for one-dimensional arrays)
+ *     16  int   y-size
+ *     20  int   z-size
+ *     24  long  content length in bytes
+ * </pre>
+ * <p>
+ *     Content is transferred through a direct buffer using bulk operations, so no element is boxed and large arrays
+ *     are read at the speed of the file system.
+ * </p>
+ */
+public final class ArrayIO {
+
+    private ArrayIO() {}
+
+    /**
+     * The magic number at the start of every array file.
+     */
+    public final static int MAGIC = 0x5241_5053;
+
+    /**
+     * The current version of the format. Files of newer versions can not be read.
+     */
+    public final static short VERSION = 1;
+
+    private final static int HEADER_SIZE = 32, BUFFER_SIZE = 1 << 16;
+
+    private final static byte
+        TYPE_INT3 = 1,
+        TYPE_BOOLEAN3 = 2,
+        TYPE_HIGH_NIBBLE = 3,
+        TYPE_LOW_NIBBLE = 4;
+
+    // WRITE
+
+    /**
+     * Writes an int array to a file. Existing files are overwritten.
+     *
+     * @param array the array
+     * @param file the file
+     * @param encoding the encoding of the content
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalStateException if the palette encoding is used for an array with more than
+     * <code>2<sup>16</sup></code> distinct values
+     */
+    public static void write(IntArray3 array, Path file, ArrayEncoding encoding) throws IOException {
+        final int[] data = array.backingArray();
+        // build the palette before the file is truncated, so too many distinct values leave an existing file intact
+        final PaletteIntArray3 palette = encoding == ArrayEncoding.PALETTE? toPalette(data) : null;
+
+        try (FileChannel channel = openForWriting(file)) {
+            Output out = new Output(channel);
+
+            switch (encoding) {
+                case RAW: out.putInts(data); break;
+                case RUN_LENGTH: {
+                    for (int i = 0; i < data.length; ) {
+                        final int value = data[i], start = i;
+                        while (++i < data.length && data[i] == value);
+                        out.putInt(i - start);
+                        out.putInt(value);
+                    }
+                    break;
+                }
+                case PALETTE: {
+                    final int[] values = palette.getPalette();
+                    out.putInt(palette.getBitsPerEntry());
+                    out.putInt(values.length);
+                    out.putInts(values);
+                    out.putLongs(palette.backingArray());
+                    break;
+                }
+                default: throw new AssertionError(encoding);
+            }
+
+            finish(channel, out, TYPE_INT3, array.getLayout(), encoding,
+                array.getSizeX(), array.getSizeY(), array.getSizeZ());
+        }
+    }
+
+    private static PaletteIntArray3 toPalette(int[] data) {
+        PaletteIntArray3 palette = new PaletteIntArray3(data.length, 1, 1);
+        for (int i = 0; i < data.length; i++)
+            palette.set(i, 0, 0, data[i]);
+        if (data.length != 0) palette.compact();
+        return palette;
+    }
+
+    /**
+     * Writes a boolean array to a file. Existing files are overwritten.
+     *
+     * @param array the array
+     * @param file the file
+     * @param encoding the encoding of the content, either {@link ArrayEncoding#RAW} or
+     * {@link ArrayEncoding#RUN_LENGTH}
+     * @throws IOException if an I/O error occurs
+     */
+    public static void write(BooleanArray3 array, Path file, ArrayEncoding encoding) throws IOException {
+        checkNotPalette(encoding);
+        try (FileChannel channel = openForWriting(file)) {
+            Output out = new Output(channel);
+            final BitArray data = array.bitArray();
+
+            if (encoding == ArrayEncoding.RAW) {
+                out.putLongs(data.backingArray());
+            }
+            else {
+                // alternating run lengths, starting with a run of false values
+                final int length = data.getLength();
+                boolean value = false;
+                for (int i = 0; i < length; value = !value) {
+                    int end = value? data.nextClearBit(i) : data.nextSetBit(i);
+                    if (end < 0) end = length;
+                    out.putInt(end - i);
+                    i = end;
+                }
+            }
+
+            finish(channel, out, TYPE_BOOLEAN3, array.getLayout(), encoding,
+                array.getSizeX(), array.getSizeY(), array.getSizeZ());
+        }
+    }
+
+    /**
+     * Writes a nibble array to a file. Existing files are overwritten.
+     *
+     * @param array the array
+     * @param file the file
+     * @param encoding the encoding of the content, either {@link ArrayEncoding#RAW} or
+     * {@link ArrayEncoding#RUN_LENGTH}
+     * @throws IOException if an I/O error occurs
+     */
+    public static void write(HighNibbleArray array, Path file, ArrayEncoding encoding) throws IOException {
+        writeNibbles(array.backingArray(), array.getLength(), TYPE_HIGH_NIBBLE, file, encoding);
+    }
+
+    /**
+     * Writes a nibble array to a file. Existing files are overwritten.
+     *
+     * @param array the array
+     * @param file the file
+     * @param encoding the encoding of the content, either {@link ArrayEncoding#RAW} or
+     * {@link ArrayEncoding#RUN_LENGTH}
+     * @throws IOException if an I/O error occurs
+     */
+    public static void write(LowNibbleArray array, Path file, ArrayEncoding encoding) throws IOException {
+        writeNibbles(array.backingArray(), array.getLength(), TYPE_LOW_NIBBLE, file, encoding);
+    }
+
+    private static void writeNibbles(byte[] data, int length, byte type, Path file, ArrayEncoding encoding)
+        throws IOException {
+        checkNotPalette(encoding);
+        try (FileChannel channel = openForWriting(file)) {
+            Output out = new Output(channel);
+
+            if (encoding == ArrayEncoding.RAW) {
+                out.putBytes(data);
+            }
+            else {
+                for (int i = 0; i < data.length; ) {
+                    final byte value = data[i];
+                    final int start = i;
+                    while (++i < data.length && data[i] == value);
+                    out.putInt(i - start);
+                    out.putByte(value);
+                }
+            }
+
+            finish(channel, out, type, ArrayLayout.LINEAR, encoding, length, 1, 1);
+        }
+    }
+
+    // READ
+
+    /**
+     * Reads an int array from a file.
+     *
+     * @param file the file
+     * @return the array
+     * @throws IOException if an I/O error occurs or the file does not contain an int array
+     */
+    @NotNull
+    public static IntArray3 readIntArray3(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Header header = readHeader(channel, TYPE_INT3);
+            IntArray3 array = new IntArray3(header.sizeX, header.sizeY, header.sizeZ, header.layout);
+            Input in = new Input(channel);
+            final int[] data = array.backingArray();
+
+            switch (header.encoding) {
+                case RAW: in.getInts(data, data.length); break;
+                case RUN_LENGTH: {
+                    for (int i = 0; i < data.length; ) {
+                        final int count = in.getInt(), value = in.getInt();
+                        checkRun(i, count, data.length);
+                        for (final int end = i + count; i < end; i++)
+                            data[i] = value;
+                    }
+                    break;
+                }
+                case PALETTE: {
+                    final int bits = in.getInt(), size = in.getInt();
+                    if (bits < 1 || bits > 16 || size < 0 || size > 1 << bits)
+                        throw new IOException("invalid palette of "+size+" values at "+bits+" bits");
+                    final int[] palette = new int[size];
+                    in.getInts(palette, size);
+                    final long[] packed = new long[(int) (((long) data.length * bits + Long.SIZE - 1) / Long.SIZE)];
+                    in.getLongs(packed);
+
+                    final int invalid = PaletteIntArray3.unpack(packed, bits, palette, data);
+                    if (invalid >= 0) throw new IOException("palette index out of bounds: "+invalid);
+                    break;
+                }
+                default: throw new AssertionError(header.encoding);
+            }
+            return array;
+        }
+    }
+
+    /**
+     * Reads a boolean array from a file.
+     *
+     * @param file the file
+     * @return the array
+     * @throws IOException if an I/O error occurs or the file does not contain a boolean array
+     */
+    @NotNull
+    public static BooleanArray3 readBooleanArray3(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Header header = readHeader(channel, TYPE_BOOLEAN3);
+            BooleanArray3 array = new BooleanArray3(header.sizeX, header.sizeY, header.sizeZ, header.layout);
+            Input in = new Input(channel);
+            final BitArray data = array.bitArray();
+
+            if (header.encoding == ArrayEncoding.RAW) {
+                in.getLongs(data.backingArray());
+            }
+            else {
+                final int length = data.getLength();
+                boolean value = false;
+                for (int i = 0; i < length; value = !value) {
+                    final int count = in.getInt();
+                    checkRun(i, count, length);
+                    if (value) data.fill(i, i + count);
+                    i += count;
+                }
+            }
+            return array;
+        }
+    }
+
+    /**
+     * Reads a nibble array from a file.
+     *
+     * @param file the file
+     * @return the array
+     * @throws IOException if an I/O error occurs or the file does not contain a high nibble array
+     */
+    @NotNull
+    public static HighNibbleArray readHighNibbleArray(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Header header = readHeader(channel, TYPE_HIGH_NIBBLE);
+            HighNibbleArray array = new HighNibbleArray(header.sizeX);
+            readNibbles(new Input(channel), header.encoding, array.backingArray());
+            return array;
+        }
+    }
+
+    /**
+     * Reads a nibble array from a file.
+     *
+     * @param file the file
+     * @return the array
+     * @throws IOException if an I/O error occurs or the file does not contain a low nibble array
+     */
+    @NotNull
+    public static LowNibbleArray readLowNibbleArray(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Header header = readHeader(channel, TYPE_LOW_NIBBLE);
+            LowNibbleArray array = new LowNibbleArray(header.sizeX);
+            readNibbles(new Input(channel), header.encoding, array.backingArray());
+            return array;
+        }
+    }
+
+    private static void readNibbles(Input in, ArrayEncoding encoding, byte[] data) throws IOException {
+        if (encoding == ArrayEncoding.RAW) {
+            in.getBytes(data);
+            return;
+        }
+        for (int i = 0; i < data.length; ) {
+            final int count = in.getInt();
+            final byte value = in.getByte();
+            checkRun(i, count, data.length);
+            for (final int end = i + count; i < end; i++)
+                data[i] = value;
+        }
+    }
+
+    // HEADER
+
+    private static class Header {
+        private ArrayLayout layout;
+        private ArrayEncoding encoding;
+        private int sizeX, sizeY, sizeZ;
+    }
+
+    private static FileChannel openForWriting(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        channel.position(HEADER_SIZE);
+        return channel;
+    }
+
+    private static void finish(FileChannel channel, Output out, byte type, ArrayLayout layout, ArrayEncoding encoding,
+                               int x, int y, int z) throws IOException {
+        out.flush();
+        final long contentLength = channel.position() - HEADER_SIZE;
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header
+            .putInt(MAGIC)
+            .putShort(VERSION)
+            .put(type)
+            .put((byte) layout.ordinal())
+            .put((byte) encoding.ordinal())
+            .put(new byte[3])
+            .putInt(x)
+            .putInt(y)
+            .putInt(z)
+            .putLong(contentLength);
+        ((Buffer) header).flip();
+        while (header.hasRemaining())
+            channel.write(header, header.position());
+    }
+
+    private static Header readHeader(FileChannel channel, byte type) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining())
+            if (channel.read(buffer) < 0)
+                throw new IOException("file is too short for a header");
+        ((Buffer) buffer).flip();
+
+        if (buffer.getInt() != MAGIC)
+            throw new IOException("file is not an array file");
+        final short version = buffer.getShort();
+        if (version > VERSION)
+            throw new IOException("unsupported format version "+version);
+        final byte actualType = buffer.get();
+        if (actualType != type)
+            throw new IOException("file contains an array of type "+actualType+", expected "+type);
+
+        final Header result = new Header();
+        final int layout = buffer.get(), encoding = buffer.get();
+        if (layout < 0 || layout >= ArrayLayout.values().length)
+            throw new IOException("unknown layout "+layout);
+        if (encoding < 0 || encoding >= ArrayEncoding.values().length)
+            throw new IOException("unknown encoding "+encoding);
+        result.layout = ArrayLayout.values()[layout];
+        result.encoding = ArrayEncoding.values()[encoding];
+        buffer.get(new byte[3]);
+
+        result.sizeX = buffer.getInt();
+        result.sizeY = buffer.getInt();
+        result.sizeZ = buffer.getInt();
+        final long contentLength = buffer.getLong();
+        if (channel.size() < HEADER_SIZE + contentLength)
+            throw new IOException("file is truncated, expected "+(HEADER_SIZE + contentLength)+" bytes");
+        return result;
+    }
+
+    private static void checkNotPalette(ArrayEncoding encoding) {
+        if (encoding == ArrayEncoding.PALETTE)
+            throw new IllegalArgumentException("palette encoding is only supported for int arrays");
+    }
+
+    private static void checkRun(int index, int count, int length) throws IOException {
+        if (count < 0 || count > length - index)
+            throw new IOException("invalid run of length "+count+" at "+index);
+    }
+
+    // BUFFERING
+
+    private static class Output {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        private Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) flush();
+        }
+
+        private void flush() throws IOException {
+            ((Buffer) buffer).flip();
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+            ((Buffer) buffer).clear();
+        }
+
+        private void putByte(byte value) throws IOException {
+            ensure(Byte.BYTES);
+            buffer.put(value);
+        }
+
+        private void putInt(int value) throws IOException {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        private void putBytes(byte[] values) throws IOException {
+            for (int offset = 0; offset < values.length; ) {
+                ensure(1);
+                final int count = Math.min(buffer.remaining(), values.length - offset);
+                buffer.put(values, offset, count);
+                offset += count;
+            }
+        }
+
+        private void putInts(int[] values) throws IOException {
+            for (int offset = 0; offset < values.length; ) {
+                ensure(Integer.BYTES);
+                final int count = Math.min(buffer.remaining() / Integer.BYTES, values.length - offset);
+                buffer.asIntBuffer().put(values, offset, count);
+                ((Buffer) buffer).position(buffer.position() + count * Integer.BYTES);
+                offset += count;
+            }
+        }
+
+        private void putLongs(long[] values) throws IOException {
+            for (int offset = 0; offset < values.length; ) {
+                ensure(Long.BYTES);
+                final int count = Math.min(buffer.remaining() / Long.BYTES, values.length - offset);
+                buffer.asLongBuffer().put(values, offset, count);
+                ((Buffer) buffer).position(buffer.position() + count * Long.BYTES);
+                offset += count;
+            }
+        }
+
+    }
+
+    private static class Input {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        private Input(FileChannel channel) {
+            this.channel = channel;
+            ((Buffer) buffer).limit(0);
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) return;
+            buffer.compact();
+            while (buffer.position() < bytes)
+                if (channel.read(buffer) < 0)
+                    throw new IOException("unexpected end of file");
+            ((Buffer) buffer).flip();
+        }
+
+        private byte getByte() throws IOException {
+            ensure(Byte.BYTES);
+            return buffer.get();
+        }
+
+        private int getInt() throws IOException {
+            ensure(Integer.BYTES);
+            return buffer.getInt();
+        }
+
+        private void getBytes(byte[] values) throws IOException {
+            for (int offset = 0; offset < values.length; ) {
+                ensure(1);
+                final int count = Math.min(buffer.remaining(), values.length - offset);
+                buffer.get(values, offset, count);
+                offset += count;
+            }
+        }
+
+        private void getInts(int[] values, int length) throws IOException {
+            for (int offset = 0; offset < length; ) {
+                ensure(Integer.BYTES);
+                final int count = Math.min(buffer.remaining() / Integer.BYTES, length - offset);
+                buffer.asIntBuffer().get(values, offset, count);
+                ((Buffer) buffer).position(buffer.position() + count * Integer.BYTES);
+                offset += count;
+            }
+        }
+
+        private void getLongs(long[] values) throws IOException {
+            for (int offset = 0; offset < values.length; ) {
+                ensure(Long.BYTES);
+                final int count = Math.min(buffer.remaining() / Long.BYTES, values.length - offset);
+                buffer.asLongBuffer().get(values, offset, count);
+                ((Buffer) buffer).position(buffer.position() + count * Long.BYTES);
+                offset += count;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,31 @@
+package eisenwave.spatium.array;
+
+/**
+ * The order in which the elements of a three-dimensional array are stored in its backing array.
+ *
+ * @see AbstractArray3
+ */
+public enum ArrayLayout {
+    
+    /**
+     * Row-major order where the x-coordinate runs the fastest, then the y-coordinate, then the z-coordinate.
+     * Elements are stored without any padding.
+     */
+    LINEAR,
+    
+    /**
+     * <p>
+     *     Morton order (Z-order), where the bits of the x-, y- and z-coordinates are interleaved. Neighbouring elements
+     *     along any axis tend to be stored close to each other, which reduces cache misses for stencil operations and
+     *     flood fills.
+     * </p>
+     * <p>
+     *     Each dimension is padded to the next power of two, so the backing array may be up to eight times larger than
+     *     the amount of elements.
+     * </p>
+     *
+     * @see Morton
+     */
+    MORTON
+    
+}
@@ -0,0 +1,371 @@
+package eisenwave.spatium.array;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+
+/**
+ * <p>
+ *     An array of longs, acting as an array of boolean values.
+ * </p>
+ * <p>
+ *     Unlike {@link BooleanArray}, bits are packed into 64-bit words and indexed using shifts and masks. This allows
+ *     for bulk operations such as {@link #and(BitArray)} or {@link #cardinality()} to process 64 values at once.
+ * </p>
+ * <p>
+ *     The unused bits of the last word are always zero.
+ * </p>
+ */
+public class BitArray extends AbstractArray implements Iterable<Boolean>, Cloneable {
+
+    private final static int ADDRESS_BITS = 6, ENTRY_SIZE = Long.SIZE;
+    private final static long WORD_MASK = 0xFFFF_FFFF_FFFF_FFFFL;
+
+    private final long[] data;
+
+    protected final int padding;
+
+    public BitArray(int length) {
+        super(length);
+
+        this.data = new long[(int) (((long) length + ENTRY_SIZE - 1) >> ADDRESS_BITS)];
+        this.padding = data.length * ENTRY_SIZE - length;
+    }
+
+    /**
+     * Copy constructor.
+     *
+     * @param copyOf the copy
+     */
+    public BitArray(BitArray copyOf) {
+        super(copyOf.length);
+
+        this.data = Arrays.copyOf(copyOf.data, copyOf.data.length);
+        this.padding = copyOf.padding;
+    }
+
+    public BitArray(boolean[] copyOf) {
+        this(copyOf.length);
+
+        for (int i = 0; i < copyOf.length; i++)
+            if (copyOf[i]) enable(i);
+    }
+
+    // GETTERS
+
+    /**
+     * <p>
+     *     Returns the amount of unused bits in the long array which backs this object.
+     * </p>
+     * <p>
+     *     If the length of this array is a multiple of 64, the padding will be zero.
+     * </p>
+     *
+     * @return the amount of unused bits
+     */
+    public int getPadding() {
+        return padding;
+    }
+
+    public int getDataLength() {
+        return data.length;
+    }
+
+    public boolean get(int index) {
+        return (data[wordIndex(index)] & (1L << index)) != 0;
+    }
+
+    /**
+     * Returns the amount of values which are {@code true}.
+     *
+     * @return the amount of set bits
+     */
+    public int cardinality() {
+        int result = 0;
+        for (long word : data)
+            result += Long.bitCount(word);
+        return result;
+    }
+
+    /**
+     * Returns the index of the first value which is {@code true} at or after a given index.
+     *
+     * @param from the index to start searching at
+     * @return the index of the next set bit or -1 if there is none
+     */
+    public int nextSetBit(int from) {
+        if (from < 0) throw new IndexOutOfBoundsException("from < 0: "+from);
+        if (from >= length) return -1;
+
+        int i = wordIndex(from);
+        long word = data[i] & (WORD_MASK << from);
+        while (true) {
+            if (word != 0)
+                return i * ENTRY_SIZE + Long.numberOfTrailingZeros(word);
+            if (++i == data.length)
+                return -1;
+            word = data[i];
+        }
+    }
+
+    /**
+     * Returns the index of the first value which is {@code false} at or after a given index.
+     *
+     * @param from the index to start searching at
+     * @return the index of the next clear bit or -1 if there is none
+     */
+    public int nextClearBit(int from) {
+        if (from < 0) throw new IndexOutOfBoundsException("from < 0: "+from);
+        if (from >= length) return -1;
+
+        int i = wordIndex(from);
+        long word = ~data[i] & (WORD_MASK << from);
+        while (true) {
+            if (word != 0) {
+                int result = i * ENTRY_SIZE + Long.numberOfTrailingZeros(word);
+                return result < length? result : -1;
+            }
+            if (++i == data.length)
+                return -1;
+            word = ~data[i];
+        }
+    }
+
+    // SINGLE SETTERS
+
+    public void set(int index, boolean value) {
+        if (value) enable(index);
+        else disable(index);
+    }
+
+    /**
+     * Sets the value at a given index to {@code true}.
+     *
+     * @param index the index
+     */
+    public void enable(int index) {
+        data[wordIndex(index)] |= 1L << index;
+    }
+
+    /**
+     * Sets the value at a given index to {@code false}.
+     *
+     * @param index the index
+     */
+    public void disable(int index) {
+        data[wordIndex(index)] &= ~(1L << index);
+    }
+
+    public void flip(int index) {
+        data[wordIndex(index)] ^= 1L << index;
+    }
+
+    // RANGE SETTERS
+
+    /**
+     * Sets all values in a range to {@code true}.
+     *
+     * @param from the first index, inclusive
+     * @param to the last index, exclusive
+     */
+    public void fill(int from, int to) {
+        checkRange(from, to);
+        if (from == to) return;
+
+        final int first = wordIndex(from), last = wordIndex(to - 1);
+        final long firstMask = WORD_MASK << from, lastMask = WORD_MASK >>> -to;
+
+        if (first == last) {
+            data[first] |= firstMask & lastMask;
+        }
+        else {
+            data[first] |= firstMask;
+            Arrays.fill(data, first + 1, last, WORD_MASK);
+            data[last] |= lastMask;
+        }
+    }
+
+    /**
+     * Sets all values in a range to {@code false}.
+     *
+     * @param from the first index, inclusive
+     * @param to the last index, exclusive
+     */
+    public void clear(int from, int to) {
+        checkRange(from, to);
+        if (from == to) return;
+
+        final int first = wordIndex(from), last = wordIndex(to - 1);
+        final long firstMask = WORD_MASK << from, lastMask = WORD_MASK >>> -to;
+
+        if (first == last) {
+            data[first] &= ~(firstMask & lastMask);
+        }
+        else {
+            data[first] &= ~firstMask;
+            Arrays.fill(data, first + 1, last, 0);
+            data[last] &= ~lastMask;
+        }
+    }
+
+    /**
+     * Sets all values to {@code true}.
+     */
+    public void fill() {
+        fill(0, length);
+    }
+
+    /**
+     * Sets all values to {@code false}.
+     */
+    public void clear() {
+        Arrays.fill(data, 0);
+    }
+
+    // OPERATIONS
+
+    public void not() {
+        for (int i = 0; i < data.length; i++)
+            data[i] = ~data[i];
+        clearPadding();
+    }
+
+    public void and(BitArray array) {
+        checkLength(array);
+        for (int i = 0; i < data.length; i++)
+            data[i] &= array.data[i];
+    }
+
+    public void or(BitArray array) {
+        checkLength(array);
+        for (int i = 0; i < data.length; i++)
+            data[i] |= array.data[i];
+    }
+
+    public void xor(BitArray array) {
+        checkLength(array);
+        for (int i = 0; i < data.length; i++)
+            data[i] ^= array.data[i];
+    }
+
+    /**
+     * Sets all values to {@code false} which are {@code true} in the given array.
+     *
+     * @param array the array
+     */
+    public void andNot(BitArray array) {
+        checkLength(array);
+        for (int i = 0; i < data.length; i++)
+            data[i] &= ~array.data[i];
+    }
+
+    // MISC
+
+    /** Returns the backing words themselves, for bulk transfers and word-aligned parallel writes. */
+    long[] backingArray() {
+        return data;
+    }
+
+    @Override
+    public BitArray clone() {
+        return new BitArray(this);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(data);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof BitArray && equals((BitArray) obj);
+    }
+
+    public boolean equals(BitArray array) {
+        return this.length == array.length && Arrays.equals(this.data, array.data);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName()+
+            "{len="+length+
+            ",datLen="+data.length+
+            ",padding="+padding+"}";
+    }
+
+    // ITERATION
+
+    /**
+     * Returns a sequential stream over all values of this array, where {@code true} is represented by 1 and
+     * {@code false} by 0.
+     *
+     * @return a new stream
+     */
+    public IntStream stream() {
+        return IndexSpliterator.stream(i -> get(i)? 1 : 0, length, false);
+    }
+
+    /**
+     * Returns a parallel stream over all values of this array in the same order as {@link #stream()}.
+     *
+     * @return a new stream
+     */
+    public IntStream parallelStream() {
+        return IndexSpliterator.stream(i -> get(i)? 1 : 0, length, true);
+    }
+
+    @NotNull
+    @Override
+    public BitArrayIterator iterator() {
+        return new BitArrayIterator();
+    }
+
+    public final class BitArrayIterator implements Iterator<Boolean> {
+
+        private int index = 0;
+
+        private BitArrayIterator() {}
+
+        @Override
+        public boolean hasNext() {
+            return index < length;
+        }
+
+        @Override
+        public Boolean next() {
+            return nextBoolean();
+        }
+
+        public boolean nextBoolean() {
+            if (index >= length)
+                throw new NoSuchElementException(Integer.toString(index));
+            return get(index++);
+        }
+
+    }
+
+    // UTIL
+
+    private static int wordIndex(int index) {
+        return index >> ADDRESS_BITS;
+    }
+
+    private void clearPadding() {
+        if (padding != 0)
+            data[data.length - 1] &= WORD_MASK >>> padding;
+    }
+
+    private void checkRange(int from, int to) {
+        if (from < 0 || to > length || from > to)
+            throw new IndexOutOfBoundsException("["+from+", "+to+")");
+    }
+
+    private void checkLength(BitArray array) {
+        if (this.length != array.length)
+            throw new IllegalArgumentException("Can only operate with an array of equal length");
+    }
+
+}
@@ -4,6 +4,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.stream.IntStream;
 
 /**
  * <p>
@@ -133,6 +134,25 @@ public class BooleanArray extends AbstractArray implements Iterable<Boolean>, Cl
     
     // ITERATION
     
+    /**
+     * Returns a sequential stream over all values of this array, where {@code true} is represented by 1 and
+     * {@code false} by 0.
+     *
+     * @return a new stream
+     */
+    public IntStream stream() {
+        return IndexSpliterator.stream(i -> get(i)? 1 : 0, length, false);
+    }
+
+    /**
+     * Returns a parallel stream over all values of this array in the same order as {@link #stream()}.
+     *
+     * @return a new stream
+     */
+    public IntStream parallelStream() {
+        return IndexSpliterator.stream(i -> get(i)? 1 : 0, length, true);
+    }
+
     @NotNull
     @Override
     public BooleanArrayIterator iterator() {
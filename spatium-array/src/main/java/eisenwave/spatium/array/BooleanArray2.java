@@ -6,6 +6,7 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.stream.IntStream;
 
 public class BooleanArray2 extends AbstractArray2 implements Iterable<Boolean>, Cloneable {
     
@@ -175,6 +176,25 @@ public class BooleanArray2 extends AbstractArray2 implements Iterable<Boolean>,
     
     // ITERATION
     
+    /**
+     * Returns a sequential stream over all values of this array, where {@code true} is represented by 1 and
+     * {@code false} by 0. Values are visited row by row, with the x-coordinate running the fastest.
+     *
+     * @return a new stream
+     */
+    public IntStream stream() {
+        return IndexSpliterator.stream(i -> get(i % sizeX, i / sizeX)? 1 : 0, length, false);
+    }
+
+    /**
+     * Returns a parallel stream over all values of this array in the same order as {@link #stream()}.
+     *
+     * @return a new stream
+     */
+    public IntStream parallelStream() {
+        return IndexSpliterator.stream(i -> get(i % sizeX, i / sizeX)? 1 : 0, length, true);
+    }
+
     @NotNull
     @Override
     public BooleanArrayIterator2 iterator() {
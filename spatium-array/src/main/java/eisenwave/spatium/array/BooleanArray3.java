@@ -1,21 +1,43 @@
 package eisenwave.spatium.array;
 
+import eisenwave.spatium.function.Int3Predicate;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
 
+/**
+ * <p>
+ *     A three-dimensional array of boolean values, backed by a {@link BitArray}.
+ * </p>
+ * <p>
+ *     Besides single reads and writes, this array supports bulk operations such as {@link #and(BooleanArray3)} or
+ *     {@link #cardinality()} which process 64 values per word of the backing array.
+ * </p>
+ */
 public class BooleanArray3 extends AbstractArray3 implements Iterable<Boolean>, Cloneable {
 
-    private final BooleanArray data;
+    private final BitArray data;
+    
+    /** the positions which are not padding, only used by layouts with padding */
+    private transient BitArray contentMask;
 
     public BooleanArray3(int x, int y, int z) {
         super(x, y, z);
         
-        this.data = new BooleanArray(x * y * z);
+        this.data = new BitArray(x * y * z);
+    }
+    
+    public BooleanArray3(int x, int y, int z, ArrayLayout layout) {
+        super(x, y, z, layout);
+        
+        this.data = new BitArray(capacity);
     }
     
     public BooleanArray3(BooleanArray3 copyOf) {
-        super(copyOf.sizeX, copyOf.sizeY, copyOf.sizeZ);
+        super(copyOf);
         
         this.data = copyOf.data.clone();
     }
@@ -43,6 +65,30 @@ public class BooleanArray3 extends AbstractArray3 implements Iterable<Boolean>,
         return data.getPadding();
     }
     
+    /**
+     * Returns the amount of values which are {@code true}.
+     *
+     * @return the amount of set values
+     */
+    public int cardinality() {
+        return data.cardinality();
+    }
+
+    /**
+     * Returns the amount of values which are {@code true}, counting words of the backing array in parallel.
+     *
+     * @return the amount of set values
+     */
+    public int parallelCardinality() {
+        final long[] words = data.backingArray();
+        return parallelReduceRanges(words.length, Long.SIZE, (from, to) -> {
+            int result = 0;
+            for (int i = from; i < to; i++)
+                result += Long.bitCount(words[i]);
+            return result;
+        }, Integer::sum);
+    }
+    
     // SETTERS
 
     public void set(int x, int y, int z, boolean value) {
@@ -57,9 +103,107 @@ public class BooleanArray3 extends AbstractArray3 implements Iterable<Boolean>,
     public void disable(int x, int y, int z) {
         data.disable(indexOf(x, y, z));
     }
+    
+    /**
+     * Sets all values to {@code true}.
+     */
+    public void fill() {
+        data.fill();
+        clearPadding();
+    }
+    
+    /**
+     * Sets all values to {@code false}.
+     */
+    public void clear() {
+        data.clear();
+    }
+
+    /**
+     * <p>
+     *     Sets every value of this array to the result of a predicate of its coordinates, computing values in
+     *     parallel. The predicate may be invoked concurrently from multiple threads and in no particular order.
+     * </p>
+     * <p>
+     *     The work is split along the words of the backing array rather than along slabs, so each word is assembled
+     *     by a single thread and written at once.
+     * </p>
+     *
+     * @param predicate the predicate
+     */
+    public void parallelSetAll(Int3Predicate predicate) {
+        final long[] words = data.backingArray();
+        parallelReduceRanges(words.length, Long.SIZE, (from, to) -> {
+            final IndexCursor cursor = cursor(from * Long.SIZE, Math.min(to * Long.SIZE, capacity));
+            int word = -1;
+            long bits = 0;
+            while (cursor.next()) {
+                final int index = cursor.getIndex();
+                if (index >>> 6 != word) {
+                    if (word >= 0) words[word] = bits;
+                    word = index >>> 6;
+                    bits = 0;
+                }
+                if (predicate.test(cursor.getX(), cursor.getY(), cursor.getZ()))
+                    bits |= 1L << index;
+            }
+            if (word >= 0) words[word] = bits;
+            return 0;
+        }, (a, b) -> 0);
+    }
+    
+    // OPERATIONS
+    
+    public void not() {
+        data.not();
+        clearPadding();
+    }
+    
+    public void and(BooleanArray3 array) {
+        checkDimensions(array);
+        data.and(array.data);
+    }
+    
+    public void or(BooleanArray3 array) {
+        checkDimensions(array);
+        data.or(array.data);
+    }
+    
+    public void xor(BooleanArray3 array) {
+        checkDimensions(array);
+        data.xor(array.data);
+    }
+    
+    public void andNot(BooleanArray3 array) {
+        checkDimensions(array);
+        data.andNot(array.data);
+    }
+    
+    private void checkDimensions(BooleanArray3 array) {
+        if (this.sizeX != array.sizeX || this.sizeY != array.sizeY || this.sizeZ != array.sizeZ)
+            throw new IllegalArgumentException("Can only operate with an array of equal dimensions");
+        if (this.layout != array.layout)
+            throw new IllegalArgumentException("Can only operate with an array of equal layout");
+    }
+    
+    private void clearPadding() {
+        if (capacity == length) return;
+        if (contentMask == null) {
+            BitArray mask = new BitArray(capacity);
+            for (IndexCursor cursor = cursor(); cursor.next(); )
+                mask.enable(cursor.getIndex());
+            contentMask = mask;
+        }
+        data.and(contentMask);
+    }
 
     // MISC
     
+    /** Returns the bits backing this array itself, in the order given by the layout, for bulk transfers. */
+    BitArray bitArray() {
+        return data;
+    }
+    
     @Override
     public BooleanArray3 clone() {
         return new BooleanArray3(this);
@@ -77,6 +221,37 @@ public class BooleanArray3 extends AbstractArray3 implements Iterable<Boolean>,
     
     // ITERATION
     
+    /**
+     * Returns a sequential stream over all values of this array, where {@code true} is represented by 1 and
+     * {@code false} by 0. Values are visited in the same order as {@link #iterator()}.
+     *
+     * @return a new stream
+     */
+    public IntStream stream() {
+        return IndexSpliterator.stream(valueGetter(), length, false);
+    }
+
+    /**
+     * Returns a parallel stream over all values of this array in the same order as {@link #stream()}.
+     *
+     * @return a new stream
+     */
+    public IntStream parallelStream() {
+        return IndexSpliterator.stream(valueGetter(), length, true);
+    }
+
+    private IntUnaryOperator valueGetter() {
+        return layout == ArrayLayout.LINEAR?
+            i -> data.get(i)? 1 : 0 :
+            i -> data.get(indexOfElement(i))? 1 : 0;
+    }
+
+    /**
+     * Returns an iterator over all values of this array. Values are visited with the x-coordinate running the
+     * fastest, then the y-coordinate, then the z-coordinate, regardless of the layout of the array.
+     *
+     * @return a new iterator
+     */
     @NotNull
     @Override
     public BooleanArrayIterator3 iterator() {
@@ -85,22 +260,23 @@ public class BooleanArray3 extends AbstractArray3 implements Iterable<Boolean>,
     
     public final class BooleanArrayIterator3 implements Iterator<Boolean> {
 
-        private final BooleanArray.BooleanArrayIterator handle = data.iterator();
+        private int element = 0;
 
         private BooleanArrayIterator3() {}
 
         @Override
         public boolean hasNext() {
-            return handle.hasNext();
+            return element < length;
         }
 
         @Override
         public Boolean next() {
-            return handle.next();
+            return nextBoolean();
         }
 
         public boolean nextBoolean() {
-            return handle.nextBoolean();
+            if (element >= length) throw new NoSuchElementException();
+            return data.get(indexOfElement(element++));
         }
 
     }
@@ -0,0 +1,98 @@
+package eisenwave.spatium.array;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>
+ *     A spliterator over a range of element indices of an array, obtaining each element as an <code>int</code> using
+ *     a getter function.
+ * </p>
+ * <p>
+ *     Ranges are always split in half, so parallel streams divide the work evenly among their threads.
+ * </p>
+ * <p>
+ *     The arrays of this package create their <code>stream()</code> and <code>parallelStream()</code> using
+ *     {@link #stream(IntUnaryOperator, int, boolean)}.
+ * </p>
+ */
+final class IndexSpliterator implements Spliterator.OfInt {
+
+    private final static int CHARACTERISTICS = ORDERED | SIZED | SUBSIZED | NONNULL;
+
+    private final IntUnaryOperator getter;
+    private int index;
+    private final int fence;
+
+    /**
+     * Constructs a new spliterator.
+     *
+     * @param getter the function returning the element at a given index
+     * @param from the first index, inclusive
+     * @param to the last index, exclusive
+     */
+    IndexSpliterator(IntUnaryOperator getter, int from, int to) {
+        this.getter = getter;
+        this.index = from;
+        this.fence = to;
+    }
+
+    /**
+     * <p>
+     *     Returns a stream over the elements <code>0</code> to <code>length - 1</code> of an array, obtaining each
+     *     element using a getter function.
+     * </p>
+     * <p>
+     *     The order of the stream is the order of the indices, so the getter decides in which order the elements of a
+     *     multidimensional array are visited. The getter must be safe to call from multiple threads if the stream is
+     *     parallel.
+     * </p>
+     *
+     * @param getter the function returning the element at a given index
+     * @param length the amount of elements
+     * @param parallel whether the stream is parallel
+     * @return a new stream
+     */
+    static IntStream stream(IntUnaryOperator getter, int length, boolean parallel) {
+        return StreamSupport.intStream(new IndexSpliterator(getter, 0, length), parallel);
+    }
+
+    @Override
+    public OfInt trySplit() {
+        final int from = index, mid = (from + fence) >>> 1;
+        if (from >= mid) return null;
+        this.index = mid;
+        return new IndexSpliterator(getter, from, mid);
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+        Objects.requireNonNull(action);
+        if (index >= fence) return false;
+        action.accept(getter.applyAsInt(index++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+        Objects.requireNonNull(action);
+        for (int i = index; i < fence; i++)
+            action.accept(getter.applyAsInt(i));
+        index = fence;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+
+}
@@ -4,8 +4,10 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.Spliterator;
 import java.util.function.Consumer;
 import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 public class IntArray2 extends AbstractArray2 implements Iterable<Integer>, Cloneable {
 
@@ -45,17 +47,46 @@ public class IntArray2 extends AbstractArray2 implements Iterable<Integer>, Clon
 
     @Override
     public void forEach(Consumer<? super Integer> action) {
-        for (int x = 0; x<sizeX; x++)
-            for (int y = 0; y<sizeY; y++)
+        for (int y = 0; y<sizeY; y++)
+            for (int x = 0; x<sizeX; x++)
                 action.accept(get(x, y));
     }
 
     public void forEachInt(IntConsumer action) {
-        for (int x = 0; x<sizeX; x++)
-            for (int y = 0; y<sizeY; y++)
+        for (int y = 0; y<sizeY; y++)
+            for (int x = 0; x<sizeX; x++)
                 action.accept(get(x, y));
     }
     
+    /**
+     * Returns a spliterator over all elements of this array. Elements are visited row by row, with the x-coordinate
+     * running the fastest, like in {@link #forEachInt(IntConsumer)}.
+     *
+     * @return a new spliterator
+     */
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return new IndexSpliterator(i -> data[i], 0, length);
+    }
+
+    /**
+     * Returns a sequential stream over all elements of this array in the same order as {@link #spliterator()}.
+     *
+     * @return a new stream
+     */
+    public IntStream stream() {
+        return IndexSpliterator.stream(i -> data[i], length, false);
+    }
+
+    /**
+     * Returns a parallel stream over all elements of this array in the same order as {@link #spliterator()}.
+     *
+     * @return a new stream
+     */
+    public IntStream parallelStream() {
+        return IndexSpliterator.stream(i -> data[i], length, true);
+    }
+
     @Override
     public IntArray2 clone() {
         return new IntArray2(this);
@@ -1,11 +1,17 @@
 package eisenwave.spatium.array;
 
+import eisenwave.spatium.function.Int3IntFunction;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
 import java.util.function.Consumer;
+import java.util.function.IntBinaryOperator;
 import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
 
 public class IntArray3 extends AbstractArray3 implements Iterable<Integer>, Cloneable {
 
@@ -16,6 +22,11 @@ public class IntArray3 extends AbstractArray3 implements Iterable<Integer>, Clon
         this.data = new int[x * y * z];
     }
     
+    public IntArray3(int x, int y, int z, ArrayLayout layout) {
+        super(x, y, z, layout);
+        this.data = new int[capacity];
+    }
+    
     public IntArray3(IntArray3 copyOf) {
         super(copyOf);
         this.data = Arrays.copyOf(copyOf.data, copyOf.data.length);
@@ -45,19 +56,180 @@ public class IntArray3 extends AbstractArray3 implements Iterable<Integer>, Clon
         data[indexOf(x, y, z)] = value;
     }
 
+    /**
+     * Sets every element of this array to the result of a function of its coordinates.
+     *
+     * @param function the function
+     */
+    public void setAll(Int3IntFunction function) {
+        setAll(function, 0, sizeZ);
+    }
+
+    /**
+     * Sets every element of this array to the result of a function of its coordinates, computing elements in
+     * parallel. The function may be invoked concurrently from multiple threads and in no particular order.
+     *
+     * @param function the function
+     */
+    public void parallelSetAll(Int3IntFunction function) {
+        parallelReduceSlabs((fromZ, toZ) -> {
+            setAll(function, fromZ, toZ);
+            return 0;
+        }, (a, b) -> 0);
+    }
+
+    private void setAll(Int3IntFunction function, int fromZ, int toZ) {
+        for (int z = fromZ; z < toZ; z++)
+            for (int y = 0; y < sizeY; y++)
+                for (int x = 0; x < sizeX; x++)
+                    data[indexOf(x, y, z)] = function.apply(x, y, z);
+    }
+
+    /**
+     * Replaces every element of this array with the result of an operator applied to that element.
+     *
+     * @param operator the operator
+     */
+    public void replaceAll(IntUnaryOperator operator) {
+        replaceAll(operator, 0, sizeZ);
+    }
+
+    /**
+     * Replaces every element of this array with the result of an operator applied to that element, computing
+     * elements in parallel. The operator may be invoked concurrently from multiple threads and in no particular order.
+     *
+     * @param operator the operator
+     */
+    public void parallelReplaceAll(IntUnaryOperator operator) {
+        parallelReduceSlabs((fromZ, toZ) -> {
+            replaceAll(operator, fromZ, toZ);
+            return 0;
+        }, (a, b) -> 0);
+    }
+
+    private void replaceAll(IntUnaryOperator operator, int fromZ, int toZ) {
+        if (layout == ArrayLayout.LINEAR) {
+            final int sizeXY = sizeX * sizeY;
+            for (int i = fromZ * sizeXY, end = toZ * sizeXY; i < end; i++)
+                data[i] = operator.applyAsInt(data[i]);
+            return;
+        }
+        for (int z = fromZ; z < toZ; z++)
+            for (int y = 0; y < sizeY; y++)
+                for (int x = 0; x < sizeX; x++) {
+                    final int index = indexOf(x, y, z);
+                    data[index] = operator.applyAsInt(data[index]);
+                }
+    }
+
+    /**
+     * Reduces all elements of this array using an identity value and an associative operator.
+     *
+     * @param identity the identity value of the operator
+     * @param operator the operator
+     * @return the result of the reduction
+     */
+    public int reduce(int identity, IntBinaryOperator operator) {
+        return reduce(identity, operator, 0, sizeZ);
+    }
+
+    /**
+     * Reduces all elements of this array using an identity value and an associative operator, reducing slabs of the
+     * array in parallel.
+     *
+     * @param identity the identity value of the operator
+     * @param operator the operator
+     * @return the result of the reduction
+     */
+    public int parallelReduce(int identity, IntBinaryOperator operator) {
+        return parallelReduceSlabs((fromZ, toZ) -> reduce(identity, operator, fromZ, toZ), operator);
+    }
+
+    private int reduce(int identity, IntBinaryOperator operator, int fromZ, int toZ) {
+        int result = identity;
+        if (layout == ArrayLayout.LINEAR) {
+            final int sizeXY = sizeX * sizeY;
+            for (int i = fromZ * sizeXY, end = toZ * sizeXY; i < end; i++)
+                result = operator.applyAsInt(result, data[i]);
+            return result;
+        }
+        for (int z = fromZ; z < toZ; z++)
+            for (int y = 0; y < sizeY; y++)
+                for (int x = 0; x < sizeX; x++)
+                    result = operator.applyAsInt(result, data[indexOf(x, y, z)]);
+        return result;
+    }
+
+    /** Returns the backing array itself, in the order given by the layout, for bulk transfers. */
+    int[] backingArray() {
+        return data;
+    }
+
     // ITERATION
     
     @Override
     public void forEach(Consumer<? super Integer> action) {
-        for (int i : data)
-            action.accept(i);
+        forEachInt(action::accept);
     }
 
+    /**
+     * Performs an action for each element of this array in the same order as {@link #spliterator()}.
+     *
+     * @param action the action
+     */
     public void forEachInt(IntConsumer action) {
-        for (int i : data)
-            action.accept(i);
+        if (layout == ArrayLayout.LINEAR) {
+            for (int i = 0; i < length; i++)
+                action.accept(data[i]);
+        }
+        else {
+            for (int z = 0; z < sizeZ; z++)
+                for (int y = 0; y < sizeY; y++)
+                    for (int x = 0; x < sizeX; x++)
+                        action.accept(data[indexOf(x, y, z)]);
+        }
+    }
+
+    /**
+     * Returns a spliterator over all elements of this array. Elements are visited with the x-coordinate running the
+     * fastest, then the y-coordinate, then the z-coordinate, regardless of the layout of the array.
+     *
+     * @return a new spliterator
+     */
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return new IndexSpliterator(elementGetter(), 0, length);
     }
 
+    /**
+     * Returns a sequential stream over all elements of this array in the same order as {@link #spliterator()}.
+     *
+     * @return a new stream
+     */
+    public IntStream stream() {
+        return IndexSpliterator.stream(elementGetter(), length, false);
+    }
+
+    /**
+     * Returns a parallel stream over all elements of this array in the same order as {@link #spliterator()}.
+     *
+     * @return a new stream
+     */
+    public IntStream parallelStream() {
+        return IndexSpliterator.stream(elementGetter(), length, true);
+    }
+
+    private IntUnaryOperator elementGetter() {
+        return layout == ArrayLayout.LINEAR?
+            i -> data[i] :
+            i -> data[indexOfElement(i)];
+    }
+
+    /**
+     * Returns an iterator over all elements of this array in the same order as {@link #spliterator()}.
+     *
+     * @return a new iterator
+     */
     @NotNull
     @Override
     public IntArrayIterator3 iterator() {
@@ -66,22 +238,23 @@ public class IntArray3 extends AbstractArray3 implements Iterable<Integer>, Clon
 
     private final class IntArrayIterator3 implements Iterator<Integer> {
 
-        private int index = 0;
+        private int element = 0;
 
         private IntArrayIterator3() {}
 
         @Override
         public boolean hasNext() {
-            return index < data.length;
+            return element < length;
         }
 
         @Override
         public Integer next() {
-            return data[index++];
+            return nextInt();
         }
 
         public int nextInt() {
-            return data[index++];
+            if (element >= length) throw new NoSuchElementException();
+            return data[indexOfElement(element++)];
         }
 
     }
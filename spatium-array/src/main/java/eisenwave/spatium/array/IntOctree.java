@@ -0,0 +1,333 @@
+package eisenwave.spatium.array;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * <p>
+ *     A sparse three-dimensional array of integers, stored as an octree.
+ * </p>
+ * <p>
+ *     The octree covers a cube with an edge length which is the smallest power of two greater than or equal to all
+ *     sizes of the array. Each branch node divides its cube into eight octants, each of which is either another
+ *     branch or a uniform value. Whenever all octants of a branch hold the same value, the branch is collapsed into
+ *     that value automatically, so memory scales with the complexity of the surfaces between differing values rather
+ *     than with the volume of the array.
+ * </p>
+ * <p>
+ *     Unlike {@link IntArray3}, the volume of this array is not limited to {@link Integer#MAX_VALUE}. Access is
+ *     <code>O(log n)</code> in the edge length however, so dense and noisy data is better kept in an
+ *     {@link IntArray3}.
+ * </p>
+ */
+public class IntOctree implements Serializable, Cloneable {
+
+    private final static int NULL = -1, OCTANTS = 8;
+
+    private final int sizeX, sizeY, sizeZ, depth;
+
+    /** octant references; either a value or the index of a branch, 8 per branch */
+    private int[] slots;
+    /** a mask per branch where bit i is set if octant i references a branch */
+    private byte[] branchMasks;
+    /** the indices of the branches on the path of the last {@link #set(int, int, int, int)} */
+    private final int[] path;
+
+    private int root = NULL, rootValue, free = NULL, allocated, nodeCount;
+
+    public IntOctree(int x, int y, int z) {
+        this(x, y, z, 0);
+    }
+
+    /**
+     * Constructs a new octree in which every element is set to the given value.
+     *
+     * @param x the x-size
+     * @param y the y-size
+     * @param z the z-size
+     * @param value the initial value
+     */
+    public IntOctree(int x, int y, int z, int value) {
+        if (x < 0) throw new NegativeArraySizeException("x: "+x);
+        if (y < 0) throw new NegativeArraySizeException("y: "+y);
+        if (z < 0) throw new NegativeArraySizeException("z: "+z);
+        this.sizeX = x;
+        this.sizeY = y;
+        this.sizeZ = z;
+
+        int max = Math.max(Math.max(x, y), Math.max(z, 1));
+        this.depth = Integer.SIZE - Integer.numberOfLeadingZeros(max - 1);
+        this.path = new int[depth];
+        this.rootValue = value;
+        this.slots = new int[OCTANTS * 16];
+        this.branchMasks = new byte[16];
+    }
+
+    /**
+     * Copy constructor.
+     *
+     * @param copyOf the copy
+     */
+    public IntOctree(IntOctree copyOf) {
+        this.sizeX = copyOf.sizeX;
+        this.sizeY = copyOf.sizeY;
+        this.sizeZ = copyOf.sizeZ;
+        this.depth = copyOf.depth;
+        this.path = new int[depth];
+        this.slots = Arrays.copyOf(copyOf.slots, copyOf.slots.length);
+        this.branchMasks = Arrays.copyOf(copyOf.branchMasks, copyOf.branchMasks.length);
+        this.root = copyOf.root;
+        this.rootValue = copyOf.rootValue;
+        this.free = copyOf.free;
+        this.allocated = copyOf.allocated;
+        this.nodeCount = copyOf.nodeCount;
+    }
+
+    // GETTERS
+
+    /**
+     * Returns the size of the array in its first dimension.
+     *
+     * @return the 1st dimension size of the array
+     */
+    public int getSizeX() {
+        return sizeX;
+    }
+
+    /**
+     * Returns the size of the array in its second dimension.
+     *
+     * @return the 2nd dimension size of the array
+     */
+    public int getSizeY() {
+        return sizeY;
+    }
+
+    /**
+     * Returns the size of the array in its third dimension.
+     *
+     * @return the 3rd dimension size of the array
+     */
+    public int getSizeZ() {
+        return sizeZ;
+    }
+
+    /**
+     * Returns the product of all sizes which is equivalent to the total array volume.
+     *
+     * @return the array volume
+     */
+    public long getVolume() {
+        return (long) sizeX * sizeY * sizeZ;
+    }
+
+    /**
+     * Returns the depth of the octree. The octree covers a cube with an edge length of <code>2<sup>depth</sup></code>.
+     *
+     * @return the depth of the octree
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Returns the amount of branch nodes in this octree. Uniform arrays have no branches at all.
+     *
+     * @return the amount of branch nodes
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Returns an element at the given coordinates.
+     *
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @param z the z-coordinate
+     * @return the element at the coordinates
+     */
+    public int get(int x, int y, int z) {
+        checkBounds(x, y, z);
+        if (root == NULL) return rootValue;
+
+        for (int node = root, shift = depth - 1; ; shift--) {
+            final int octant = octantOf(x, y, z, shift), ref = slots[node * OCTANTS + octant];
+            if ((branchMasks[node] & (1 << octant)) == 0)
+                return ref;
+            node = ref;
+        }
+    }
+
+    /**
+     * <p>
+     *     Returns the edge length of the largest uniform cube which contains the given coordinates. This cube is
+     *     aligned to its own edge length.
+     * </p>
+     * <p>
+     *     When marching through the array, all elements of this cube can be skipped at once since they are equal to
+     *     the element at the given coordinates.
+     * </p>
+     *
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @param z the z-coordinate
+     * @return the edge length of the uniform cube containing the coordinates, at most {@link Integer#MAX_VALUE}
+     */
+    public int getUniformSize(int x, int y, int z) {
+        checkBounds(x, y, z);
+        if (root == NULL) return (int) Math.min(1L << depth, Integer.MAX_VALUE);
+
+        for (int node = root, shift = depth - 1; ; shift--) {
+            final int octant = octantOf(x, y, z, shift);
+            if ((branchMasks[node] & (1 << octant)) == 0)
+                return 1 << shift;
+            node = slots[node * OCTANTS + octant];
+        }
+    }
+
+    // SETTERS
+
+    /**
+     * Sets an element at the given coordinates.
+     *
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @param z the z-coordinate
+     * @param value the new value
+     */
+    public void set(int x, int y, int z, int value) {
+        checkBounds(x, y, z);
+        if (root == NULL) {
+            if (rootValue == value) return;
+            if (depth == 0) {
+                rootValue = value;
+                return;
+            }
+            root = allocate(rootValue);
+        }
+
+        int level = 0;
+        for (int node = root, shift = depth - 1; ; shift--) {
+            path[level++] = node;
+            final int octant = octantOf(x, y, z, shift), index = node * OCTANTS + octant;
+
+            if ((branchMasks[node] & (1 << octant)) != 0) {
+                node = slots[index];
+                continue;
+            }
+            final int old = slots[index];
+            if (old == value) return;
+            if (shift == 0) {
+                slots[index] = value;
+                break;
+            }
+            //split the uniform octant
+            final int child = allocate(old);
+            slots[index] = child;
+            branchMasks[node] |= 1 << octant;
+            node = child;
+        }
+
+        //collapse uniform branches bottom-up
+        for (int l = level - 1; l >= 0; l--) {
+            final int node = path[l];
+            if (!isUniform(node)) return;
+
+            final int uniform = slots[node * OCTANTS];
+            release(node);
+            if (l == 0) {
+                root = NULL;
+                rootValue = uniform;
+            }
+            else {
+                final int parent = path[l - 1], octant = octantOf(x, y, z, depth - l);
+                slots[parent * OCTANTS + octant] = uniform;
+                branchMasks[parent] &= ~(1 << octant);
+            }
+        }
+    }
+
+    /**
+     * Fills the array with a given value. This releases all branches of the octree.
+     *
+     * @param value the value
+     */
+    public void fill(int value) {
+        this.root = NULL;
+        this.rootValue = value;
+        this.free = NULL;
+        this.allocated = 0;
+        this.nodeCount = 0;
+    }
+
+    // MISC
+
+    @Override
+    public IntOctree clone() {
+        return new IntOctree(this);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName()+
+            "{x="+sizeX+
+            ",y="+sizeY+
+            ",z="+sizeZ+
+            ",depth="+depth+
+            ",nodes="+nodeCount+"}";
+    }
+
+    // UTIL
+
+    private static int octantOf(int x, int y, int z, int shift) {
+        return (x >>> shift & 1) | (y >>> shift & 1) << 1 | (z >>> shift & 1) << 2;
+    }
+
+    private boolean isUniform(int node) {
+        if (branchMasks[node] != 0) return false;
+        final int offset = node * OCTANTS, value = slots[offset];
+        for (int i = 1; i < OCTANTS; i++)
+            if (slots[offset + i] != value) return false;
+        return true;
+    }
+
+    /**
+     * Allocates a new branch with all octants set to a given value.
+     *
+     * @param value the value of all octants
+     * @return the index of the new branch
+     */
+    private int allocate(int value) {
+        final int node;
+        if (free != NULL) {
+            node = free;
+            free = slots[node * OCTANTS];
+        }
+        else {
+            if (allocated == branchMasks.length) {
+                final int capacity = allocated * 2;
+                slots = Arrays.copyOf(slots, capacity * OCTANTS);
+                branchMasks = Arrays.copyOf(branchMasks, capacity);
+            }
+            node = allocated++;
+        }
+        Arrays.fill(slots, node * OCTANTS, node * OCTANTS + OCTANTS, value);
+        branchMasks[node] = 0;
+        nodeCount++;
+        return node;
+    }
+
+    private void release(int node) {
+        slots[node * OCTANTS] = free;
+        branchMasks[node] = 0;
+        free = node;
+        nodeCount--;
+    }
+
+    private void checkBounds(int x, int y, int z) {
+        if (x < 0 || x >= sizeX || y < 0 || y >= sizeY || z < 0 || z >= sizeZ)
+            throw new IndexOutOfBoundsException(x+", "+y+", "+z);
+    }
+
+}
@@ -4,6 +4,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.stream.IntStream;
 
 /**
  * <p>
@@ -65,6 +66,24 @@ public class LowNibbleArray extends AbstractArray implements Iterable<Byte>, Clo
     
     // ITERATION
     
+    /**
+     * Returns a sequential stream over all nibbles of this array, each in range [0, 15].
+     *
+     * @return a new stream
+     */
+    public IntStream stream() {
+        return IndexSpliterator.stream(this::get, length, false);
+    }
+
+    /**
+     * Returns a parallel stream over all nibbles of this array in the same order as {@link #stream()}.
+     *
+     * @return a new stream
+     */
+    public IntStream parallelStream() {
+        return IndexSpliterator.stream(this::get, length, true);
+    }
+
     @NotNull
     @Override
     public LowNibbleArrayIterator iterator() {
@@ -95,6 +114,11 @@ public class LowNibbleArray extends AbstractArray implements Iterable<Byte>, Clo
     
     // MISC
     
+    /** Returns the packed nibbles themselves, two per byte, for bulk transfers. */
+    byte[] backingArray() {
+        return data;
+    }
+    
     @Override
     public LowNibbleArray clone() {
         return new LowNibbleArray(this);
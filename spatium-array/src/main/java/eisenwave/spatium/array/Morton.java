@@ -0,0 +1,97 @@
+package eisenwave.spatium.array;
+
+/**
+ * <p>
+ *     Utility class for encoding and decoding Morton codes (Z-order curve indices) of three-dimensional coordinates.
+ * </p>
+ * <p>
+ *     A Morton code interleaves the bits of its coordinates as <code>...z1 y1 x1 z0 y0 x0</code>. Encoding and decoding
+ *     spread and compact bits using a fixed sequence of shifts and masks instead of looping over each bit.
+ * </p>
+ */
+public final class Morton {
+    
+    private Morton() {}
+    
+    /**
+     * The maximum amount of bits per coordinate in a <code>long</code> Morton code.
+     */
+    public final static int MAX_BITS = 21;
+    
+    private final static long MASK = 0x1F_FFFFL;
+    
+    /**
+     * Encodes three coordinates in a Morton code. Only the lowest {@link #MAX_BITS} bits of each coordinate are used.
+     *
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @param z the z-coordinate
+     * @return the Morton code
+     */
+    public static long encode(int x, int y, int z) {
+        return spread(x) | spread(y) << 1 | spread(z) << 2;
+    }
+    
+    /**
+     * Decodes the x-coordinate of a Morton code.
+     *
+     * @param code the Morton code
+     * @return the x-coordinate
+     */
+    public static int decodeX(long code) {
+        return compact(code);
+    }
+    
+    /**
+     * Decodes the y-coordinate of a Morton code.
+     *
+     * @param code the Morton code
+     * @return the y-coordinate
+     */
+    public static int decodeY(long code) {
+        return compact(code >>> 1);
+    }
+    
+    /**
+     * Decodes the z-coordinate of a Morton code.
+     *
+     * @param code the Morton code
+     * @return the z-coordinate
+     */
+    public static int decodeZ(long code) {
+        return compact(code >>> 2);
+    }
+    
+    /**
+     * Spreads the lowest 21 bits of a number so that two zero bits lie between each of them.
+     *
+     * @param n the number
+     * @return the spread bits
+     */
+    public static long spread(int n) {
+        long x = n & MASK;
+        x = (x | x << 32) & 0x001F_0000_0000_FFFFL;
+        x = (x | x << 16) & 0x001F_0000_FF00_00FFL;
+        x = (x | x <<  8) & 0x100F_00F0_0F00_F00FL;
+        x = (x | x <<  4) & 0x10C3_0C30_C30C_30C3L;
+        x = (x | x <<  2) & 0x1249_2492_4924_9249L;
+        return x;
+    }
+    
+    /**
+     * Compacts every third bit of a number, starting with the lowest bit. This is the inverse of {@link #spread(int)}.
+     *
+     * @param n the spread bits
+     * @return the compacted number
+     */
+    public static int compact(long n) {
+        long x = n & 0x1249_2492_4924_9249L;
+        x = (x | x >>>  2) & 0x10C3_0C30_C30C_30C3L;
+        x = (x | x >>>  4) & 0x100F_00F0_0F00_F00FL;
+        x = (x | x >>>  8) & 0x001F_0000_FF00_00FFL;
+        x = (x | x >>> 16) & 0x001F_0000_0000_FFFFL;
+        x = (x | x >>> 32) & MASK;
+        return (int) x;
+    }
+    
+}
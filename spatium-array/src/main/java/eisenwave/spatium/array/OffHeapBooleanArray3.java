@@ -0,0 +1,166 @@
+package eisenwave.spatium.array;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <p>
+ *     A three-dimensional array of boolean values which is stored outside of the Java heap.
+ * </p>
+ * <p>
+ *     Values are packed into 64-bit words in the same order as in a {@link BitArray}. Arrays are obtained using
+ *     {@link #allocate(int, int, int)} for direct memory, or {@link #create(Path, int, int, int)} and
+ *     {@link #open(Path, boolean)} for memory-mapped files.
+ * </p>
+ *
+ * @see AbstractOffHeapArray3
+ */
+public class OffHeapBooleanArray3 extends AbstractOffHeapArray3 {
+
+    private final static int MAGIC = 0x3341_4253; // "SBA3"
+    private final static int ADDRESS_BITS = 6;
+
+    /**
+     * Allocates a new array in direct memory.
+     *
+     * @param x the x-size
+     * @param y the y-size
+     * @param z the z-size
+     * @return a new array
+     */
+    @NotNull
+    public static OffHeapBooleanArray3 allocate(int x, int y, int z) {
+        checkSizes(x, y, z);
+        return new OffHeapBooleanArray3(x, y, z, allocateSegments(byteLength((long) x * y * z, 1)), null);
+    }
+
+    /**
+     * Creates a new file containing an array of {@code false} values and maps it into memory. Existing files are
+     * overwritten.
+     *
+     * @param file the file
+     * @param x the x-size
+     * @param y the y-size
+     * @param z the z-size
+     * @return a new array backed by the file
+     * @throws IOException if an I/O error occurs
+     */
+    @NotNull
+    public static OffHeapBooleanArray3 create(Path file, int x, int y, int z) throws IOException {
+        checkSizes(x, y, z);
+        FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            writeHeader(channel, MAGIC, x, y, z);
+            long bytes = byteLength((long) x * y * z, 1);
+            ByteBuffer[] segments = mapSegments(channel, FileChannel.MapMode.READ_WRITE, bytes);
+            return new OffHeapBooleanArray3(x, y, z, segments, channel);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Maps an existing array file into memory. The content of the file is not read until it is accessed.
+     *
+     * @param file the file
+     * @param writable whether changes to the array should be written to the file
+     * @return a new array backed by the file
+     * @throws IOException if an I/O error occurs or if the file does not contain an array of boolean values
+     */
+    @NotNull
+    public static OffHeapBooleanArray3 open(Path file, boolean writable) throws IOException {
+        FileChannel channel = writable?
+            FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE) :
+            FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            int[] size = readHeader(channel, MAGIC, 1);
+            long bytes = byteLength((long) size[0] * size[1] * size[2], 1);
+            FileChannel.MapMode mode = writable? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+            return new OffHeapBooleanArray3(size[0], size[1], size[2], mapSegments(channel, mode, bytes), channel);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    protected OffHeapBooleanArray3(int x, int y, int z, ByteBuffer[] segments, @Nullable FileChannel channel) {
+        super(x, y, z, segments, channel);
+    }
+
+    // GETTERS
+
+    public boolean get(int x, int y, int z) {
+        return get(indexOf(x, y, z));
+    }
+
+    public boolean get(long index) {
+        final long offset = (index >>> ADDRESS_BITS) * Long.BYTES;
+        final long word = segments[(int) (offset >>> SEGMENT_BITS)].getLong((int) offset & SEGMENT_MASK);
+        return (word & (1L << index)) != 0;
+    }
+
+    /**
+     * Returns the amount of values which are {@code true}.
+     *
+     * @return the amount of set values
+     */
+    public long cardinality() {
+        long result = 0;
+        for (ByteBuffer segment : segments)
+            for (int i = 0, limit = segment.capacity(); i < limit; i += Long.BYTES)
+                result += Long.bitCount(segment.getLong(i));
+        return result;
+    }
+
+    // SETTERS
+
+    public void set(int x, int y, int z, boolean value) {
+        set(indexOf(x, y, z), value);
+    }
+
+    public void set(long index, boolean value) {
+        final long offset = (index >>> ADDRESS_BITS) * Long.BYTES;
+        final ByteBuffer segment = segments[(int) (offset >>> SEGMENT_BITS)];
+        final int position = (int) offset & SEGMENT_MASK;
+        final long word = segment.getLong(position), bit = 1L << index;
+        segment.putLong(position, value? word | bit : word & ~bit);
+    }
+
+    public void enable(int x, int y, int z) {
+        set(indexOf(x, y, z), true);
+    }
+
+    public void disable(int x, int y, int z) {
+        set(indexOf(x, y, z), false);
+    }
+
+    /**
+     * Sets all values to {@code false}.
+     */
+    public void clear() {
+        for (ByteBuffer segment : segments)
+            for (int i = 0, limit = segment.capacity(); i < limit; i += Long.BYTES)
+                segment.putLong(i, 0);
+    }
+
+    // MISC
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName()+
+            "{x="+sizeX+
+            ",y="+sizeY+
+            ",z="+sizeZ+
+            ",mapped="+isMapped()+"}";
+    }
+
+}
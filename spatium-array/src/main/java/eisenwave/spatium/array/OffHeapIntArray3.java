@@ -0,0 +1,169 @@
+package eisenwave.spatium.array;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <p>
+ *     A three-dimensional array of integers which is stored outside of the Java heap.
+ * </p>
+ * <p>
+ *     Arrays are obtained using {@link #allocate(int, int, int)} for direct memory, or {@link #create(Path, int, int,
+ *     int)} and {@link #open(Path, boolean)} for memory-mapped files.
+ * </p>
+ *
+ * @see AbstractOffHeapArray3
+ */
+public class OffHeapIntArray3 extends AbstractOffHeapArray3 {
+
+    private final static int MAGIC = 0x3341_4953; // "SIA3"
+    private final static int SHIFT = 2;
+
+    /**
+     * Allocates a new array in direct memory.
+     *
+     * @param x the x-size
+     * @param y the y-size
+     * @param z the z-size
+     * @return a new array
+     */
+    @NotNull
+    public static OffHeapIntArray3 allocate(int x, int y, int z) {
+        checkSizes(x, y, z);
+        return new OffHeapIntArray3(x, y, z, allocateSegments(byteLength((long) x * y * z, Integer.SIZE)), null);
+    }
+
+    /**
+     * Creates a new file containing an array of zeros and maps it into memory. Existing files are overwritten.
+     *
+     * @param file the file
+     * @param x the x-size
+     * @param y the y-size
+     * @param z the z-size
+     * @return a new array backed by the file
+     * @throws IOException if an I/O error occurs
+     */
+    @NotNull
+    public static OffHeapIntArray3 create(Path file, int x, int y, int z) throws IOException {
+        checkSizes(x, y, z);
+        FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            writeHeader(channel, MAGIC, x, y, z);
+            long bytes = byteLength((long) x * y * z, Integer.SIZE);
+            return new OffHeapIntArray3(x, y, z, mapSegments(channel, FileChannel.MapMode.READ_WRITE, bytes), channel);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Maps an existing array file into memory. The content of the file is not read until it is accessed.
+     *
+     * @param file the file
+     * @param writable whether changes to the array should be written to the file
+     * @return a new array backed by the file
+     * @throws IOException if an I/O error occurs or if the file does not contain an array of integers
+     */
+    @NotNull
+    public static OffHeapIntArray3 open(Path file, boolean writable) throws IOException {
+        FileChannel channel = writable?
+            FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE) :
+            FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            int[] size = readHeader(channel, MAGIC, Integer.SIZE);
+            long bytes = byteLength((long) size[0] * size[1] * size[2], Integer.SIZE);
+            FileChannel.MapMode mode = writable? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+            return new OffHeapIntArray3(size[0], size[1], size[2], mapSegments(channel, mode, bytes), channel);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    protected OffHeapIntArray3(int x, int y, int z, ByteBuffer[] segments, @Nullable FileChannel channel) {
+        super(x, y, z, segments, channel);
+    }
+
+    // GETTERS
+
+    /**
+     * Returns an element at the given coordinates.
+     *
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @param z the z-coordinate
+     * @return the element at the coordinates
+     */
+    public int get(int x, int y, int z) {
+        return get(indexOf(x, y, z));
+    }
+
+    /**
+     * Returns an element at the given index.
+     *
+     * @param index the index
+     * @return the element at the index
+     */
+    public int get(long index) {
+        final long offset = index << SHIFT;
+        return segments[(int) (offset >>> SEGMENT_BITS)].getInt((int) offset & SEGMENT_MASK);
+    }
+
+    // SETTERS
+
+    /**
+     * Sets an element at the given coordinates.
+     *
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @param z the z-coordinate
+     * @param value the new value
+     */
+    public void set(int x, int y, int z, int value) {
+        set(indexOf(x, y, z), value);
+    }
+
+    /**
+     * Sets an element at the given index.
+     *
+     * @param index the index
+     * @param value the new value
+     */
+    public void set(long index, int value) {
+        final long offset = index << SHIFT;
+        segments[(int) (offset >>> SEGMENT_BITS)].putInt((int) offset & SEGMENT_MASK, value);
+    }
+
+    /**
+     * Fills the array with a given value.
+     *
+     * @param value the value
+     */
+    public void fill(int value) {
+        final long pair = (value & 0xFFFF_FFFFL) | (long) value << Integer.SIZE;
+        for (ByteBuffer segment : segments)
+            for (int i = 0, limit = segment.capacity(); i < limit; i += Long.BYTES)
+                segment.putLong(i, pair);
+    }
+
+    // MISC
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName()+
+            "{x="+sizeX+
+            ",y="+sizeY+
+            ",z="+sizeZ+
+            ",mapped="+isMapped()+"}";
+    }
+
+}
@@ -0,0 +1,376 @@
+package eisenwave.spatium.array;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * <p>
+ *     A three-dimensional array of integers which stores indices into a palette of distinct values instead of the
+ *     values themselves.
+ * </p>
+ * <p>
+ *     Indices are packed into a <code>long[]</code> using the minimal amount of bits per entry which can address the
+ *     palette, starting at 1 bit. Whenever a new value would not fit into the palette, the width grows by one bit and
+ *     the array is repacked. Entries may span two words of the backing array, so no bits are wasted.
+ * </p>
+ * <p>
+ *     Values which are no longer used remain in the palette until {@link #compact()} is called.
+ * </p>
+ * <p>
+ *     The palette can hold at most <code>2<sup>16</sup></code> distinct values. Arrays with more distinct values
+ *     should be stored in an {@link IntArray3}.
+ * </p>
+ */
+public class PaletteIntArray3 extends AbstractArray3 implements Iterable<Integer>, Cloneable {
+
+    private final static int ENTRY_SIZE = Long.SIZE, MIN_BITS = 1, MAX_BITS = 16;
+
+    private long[] data;
+    private int bits;
+    private long mask;
+
+    private int[] palette;
+    private int paletteSize;
+    /** open-addressing table from values to palette indices plus one, zero marks an empty slot */
+    private int[] tableKeys, tableIndices;
+
+    public PaletteIntArray3(int x, int y, int z) {
+        this(x, y, z, 0);
+    }
+
+    /**
+     * Constructs a new array in which every element is set to the given value.
+     *
+     * @param x the x-size
+     * @param y the y-size
+     * @param z the z-size
+     * @param value the initial value
+     */
+    public PaletteIntArray3(int x, int y, int z, int value) {
+        super(x, y, z);
+        fill(value);
+    }
+
+    /**
+     * Copy constructor.
+     *
+     * @param copyOf the copy
+     */
+    public PaletteIntArray3(PaletteIntArray3 copyOf) {
+        super(copyOf);
+        this.data = Arrays.copyOf(copyOf.data, copyOf.data.length);
+        this.bits = copyOf.bits;
+        this.mask = copyOf.mask;
+        this.palette = Arrays.copyOf(copyOf.palette, copyOf.palette.length);
+        this.paletteSize = copyOf.paletteSize;
+        this.tableKeys = Arrays.copyOf(copyOf.tableKeys, copyOf.tableKeys.length);
+        this.tableIndices = Arrays.copyOf(copyOf.tableIndices, copyOf.tableIndices.length);
+    }
+
+    /**
+     * Constructs a palette-compressed copy of an array.
+     *
+     * @param copyOf the copy
+     */
+    public PaletteIntArray3(IntArray3 copyOf) {
+        this(copyOf.getSizeX(), copyOf.getSizeY(), copyOf.getSizeZ());
+        for (int z = 0; z < sizeZ; z++)
+            for (int y = 0; y < sizeY; y++)
+                for (int x = 0; x < sizeX; x++)
+                    set(x, y, z, copyOf.get(x, y, z));
+    }
+
+    // GETTERS
+
+    /**
+     * Returns an element at the given coordinates.
+     *
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @param z the z-coordinate
+     * @return the element at the coordinates
+     */
+    public int get(int x, int y, int z) {
+        return palette[getIndex(indexOf(x, y, z))];
+    }
+
+    /**
+     * Returns the amount of bits which are used to store each entry.
+     *
+     * @return the amount of bits per entry
+     */
+    public int getBitsPerEntry() {
+        return bits;
+    }
+
+    /**
+     * Returns the amount of values in the palette, including values which are no longer in use.
+     *
+     * @return the size of the palette
+     */
+    public int getPaletteSize() {
+        return paletteSize;
+    }
+
+    /**
+     * Returns a copy of the palette.
+     *
+     * @return the palette
+     */
+    public int[] getPalette() {
+        return Arrays.copyOf(palette, paletteSize);
+    }
+
+    public int getDataLength() {
+        return data.length;
+    }
+
+    // SETTERS
+
+    /**
+     * Sets an element at the given coordinates.
+     *
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @param z the z-coordinate
+     * @param value the new value
+     * @throws IllegalStateException if the value would exceed the maximum palette size
+     */
+    public void set(int x, int y, int z, int value) {
+        final int index = indexOf(x, y, z);
+        int paletteIndex = paletteIndexOf(value);
+        if (paletteIndex < 0) {
+            if (paletteSize == 1 << bits) {
+                if (bits == MAX_BITS)
+                    throw new IllegalStateException("palette can not hold more than "+(1 << MAX_BITS)+" values");
+                repack(bits + 1);
+            }
+            paletteIndex = addToPalette(value);
+        }
+        setIndex(index, paletteIndex);
+    }
+
+    /**
+     * Fills the array with a given value. This resets the palette to only the given value.
+     *
+     * @param value the value
+     */
+    public void fill(int value) {
+        this.palette = new int[1 << MIN_BITS];
+        this.paletteSize = 0;
+        this.tableKeys = new int[4];
+        this.tableIndices = new int[4];
+        addToPalette(value);
+        setBits(MIN_BITS);
+        this.data = new long[dataLength(length, bits)];
+    }
+
+    /**
+     * Removes all values which are no longer in use from the palette and shrinks the amount of bits per entry to the
+     * minimum required by the remaining palette.
+     */
+    public void compact() {
+        final boolean[] used = new boolean[paletteSize];
+        for (int i = 0; i < length; i++)
+            used[getIndex(i)] = true;
+
+        final int[] remap = new int[paletteSize];
+        final int[] oldPalette = palette;
+        final int oldSize = paletteSize;
+        this.paletteSize = 0;
+        this.tableKeys = new int[4];
+        this.tableIndices = new int[4];
+        for (int i = 0; i < oldSize; i++)
+            if (used[i]) remap[i] = addToPalette(oldPalette[i]);
+
+        final long[] oldData = data;
+        final int oldBits = bits;
+        final long oldMask = mask;
+        setBits(Math.max(MIN_BITS, Integer.SIZE - Integer.numberOfLeadingZeros(paletteSize - 1)));
+        this.palette = Arrays.copyOf(palette, 1 << bits);
+        this.data = new long[dataLength(length, bits)];
+        for (int i = 0; i < length; i++)
+            setIndex(i, remap[getIndex(oldData, oldBits, oldMask, i)]);
+    }
+
+    // ITERATION
+
+    @Override
+    public void forEach(Consumer<? super Integer> action) {
+        for (int i = 0; i < length; i++)
+            action.accept(palette[getIndex(i)]);
+    }
+
+    public void forEachInt(IntConsumer action) {
+        for (int i = 0; i < length; i++)
+            action.accept(palette[getIndex(i)]);
+    }
+
+    @NotNull
+    @Override
+    public Iterator<Integer> iterator() {
+        return new PaletteIntArrayIterator3();
+    }
+
+    private final class PaletteIntArrayIterator3 implements Iterator<Integer> {
+
+        private int index = 0;
+
+        private PaletteIntArrayIterator3() {}
+
+        @Override
+        public boolean hasNext() {
+            return index < length;
+        }
+
+        @Override
+        public Integer next() {
+            return nextInt();
+        }
+
+        public int nextInt() {
+            if (index >= length)
+                throw new NoSuchElementException(Integer.toString(index));
+            return palette[getIndex(index++)];
+        }
+
+    }
+
+    // MISC
+
+    @Override
+    public PaletteIntArray3 clone() {
+        return new PaletteIntArray3(this);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName()+
+            "{x="+sizeX+
+            ",y="+sizeY+
+            ",z="+sizeZ+
+            ",bits="+bits+
+            ",palette="+Arrays.toString(getPalette())+"}";
+    }
+
+    // PACKING
+
+    /** Returns the packed palette indices themselves, for bulk transfers. */
+    long[] backingArray() {
+        return data;
+    }
+
+    /**
+     * Replaces packed palette indices, as returned by {@link #backingArray()}, with the values they refer to.
+     *
+     * @param packed the packed palette indices
+     * @param bits the amount of bits per entry
+     * @param palette the palette
+     * @param dest the array to store the values in, its length is the amount of entries
+     * @return the first palette index which is out of bounds, or {@code -1} if all entries are valid
+     */
+    static int unpack(long[] packed, int bits, int[] palette, int[] dest) {
+        final long mask = (1L << bits) - 1;
+        for (int i = 0; i < dest.length; i++) {
+            final int index = getIndex(packed, bits, mask, i);
+            if (index >= palette.length) return index;
+            dest[i] = palette[index];
+        }
+        return -1;
+    }
+
+    private static int dataLength(int length, int bits) {
+        return (int) (((long) length * bits + ENTRY_SIZE - 1) / ENTRY_SIZE);
+    }
+
+    private void setBits(int bits) {
+        this.bits = bits;
+        this.mask = (1L << bits) - 1;
+        if (palette.length < 1 << bits)
+            this.palette = Arrays.copyOf(palette, 1 << bits);
+    }
+
+    private int getIndex(int index) {
+        return getIndex(data, bits, mask, index);
+    }
+
+    private static int getIndex(long[] data, int bits, long mask, int index) {
+        final long bitIndex = (long) index * bits;
+        final int word = (int) (bitIndex >>> 6), offset = (int) bitIndex & 63;
+
+        long result = data[word] >>> offset;
+        if (offset + bits > ENTRY_SIZE)
+            result |= data[word + 1] << (ENTRY_SIZE - offset);
+        return (int) (result & mask);
+    }
+
+    private void setIndex(int index, int paletteIndex) {
+        final long bitIndex = (long) index * bits, value = paletteIndex;
+        final int word = (int) (bitIndex >>> 6), offset = (int) bitIndex & 63;
+
+        data[word] = data[word] & ~(mask << offset) | value << offset;
+        if (offset + bits > ENTRY_SIZE) {
+            final int shift = ENTRY_SIZE - offset;
+            data[word + 1] = data[word + 1] & ~(mask >>> shift) | value >>> shift;
+        }
+    }
+
+    private void repack(int bits) {
+        final long[] oldData = data;
+        final int oldBits = this.bits;
+        final long oldMask = mask;
+
+        setBits(bits);
+        this.data = new long[dataLength(length, bits)];
+        for (int i = 0; i < length; i++)
+            setIndex(i, getIndex(oldData, oldBits, oldMask, i));
+    }
+
+    // PALETTE
+
+    private static int hash(int value) {
+        final int h = value * 0x9E37_79B9;
+        return h ^ (h >>> 16);
+    }
+
+    private int paletteIndexOf(int value) {
+        final int tableMask = tableKeys.length - 1;
+        for (int i = hash(value) & tableMask; ; i = (i + 1) & tableMask) {
+            final int entry = tableIndices[i];
+            if (entry == 0) return -1;
+            if (tableKeys[i] == value) return entry - 1;
+        }
+    }
+
+    private int addToPalette(int value) {
+        final int index = paletteSize++;
+        palette[index] = value;
+
+        if (paletteSize * 2 > tableKeys.length) {
+            final int capacity = tableKeys.length * 2;
+            this.tableKeys = new int[capacity];
+            this.tableIndices = new int[capacity];
+            for (int i = 0; i < paletteSize; i++)
+                putInTable(palette[i], i);
+        }
+        else {
+            putInTable(value, index);
+        }
+        return index;
+    }
+
+    private void putInTable(int value, int index) {
+        final int tableMask = tableKeys.length - 1;
+        int i = hash(value) & tableMask;
+        while (tableIndices[i] != 0)
+            i = (i + 1) & tableMask;
+        tableKeys[i] = value;
+        tableIndices[i] = index + 1;
+    }
+
+}
@@ -0,0 +1,23 @@
+package eisenwave.spatium.array;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class Array3Test {
+
+    @Test
+    public void parallelSetAll() throws Exception {
+        for (ArrayLayout layout : ArrayLayout.values()) {
+            Array3<String> array = new Array3<>(30, 20, 25, String.class, layout);
+            array.parallelSetAll((x, y, z) -> x + "," + y + "," + z);
+            array.parallelReplaceAll(s -> "(" + s + ")");
+
+            for (int z = 0; z < 25; z++)
+                for (int y = 0; y < 20; y++)
+                    for (int x = 0; x < 30; x++)
+                        assertEquals("(" + x + "," + y + "," + z + ")", array.get(x, y, z));
+        }
+    }
+
+}
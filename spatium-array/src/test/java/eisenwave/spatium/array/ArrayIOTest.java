@@ -0,0 +1,151 @@
+package eisenwave.spatium.array;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+public class ArrayIOTest {
+
+    @Test
+    public void intArray() throws Exception {
+        for (ArrayLayout layout : ArrayLayout.values()) {
+            IntArray3 array = new IntArray3(37, 11, 150, layout);
+            for (int z = 0; z < 150; z++)
+                for (int y = 0; y < 11; y++)
+                    for (int x = 0; x < 37; x++)
+                        array.set(x, y, z, z < 40? 7 : (x ^ y) & 3);
+
+            for (ArrayEncoding encoding : ArrayEncoding.values()) {
+                Path file = Files.createTempFile("spatium", ".spar");
+                try {
+                    ArrayIO.write(array, file, encoding);
+                    IntArray3 read = ArrayIO.readIntArray3(file);
+                    assertEquals(layout, read.getLayout());
+                    assertEquals(37, read.getSizeX());
+                    assertEquals(11, read.getSizeY());
+                    assertEquals(150, read.getSizeZ());
+                    for (int z = 0; z < 150; z++)
+                        for (int y = 0; y < 11; y++)
+                            for (int x = 0; x < 37; x++)
+                                assertEquals(array.get(x, y, z), read.get(x, y, z));
+                }
+                finally {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void booleanArray() throws Exception {
+        BooleanArray3 array = new BooleanArray3(100, 3, 70);
+        for (int z = 10; z < 50; z++)
+            for (int x = 0; x < 100; x += z % 7 + 1)
+                array.set(x, 1, z, true);
+
+        for (ArrayEncoding encoding : new ArrayEncoding[] {ArrayEncoding.RAW, ArrayEncoding.RUN_LENGTH}) {
+            Path file = Files.createTempFile("spatium", ".spar");
+            try {
+                ArrayIO.write(array, file, encoding);
+                BooleanArray3 read = ArrayIO.readBooleanArray3(file);
+                for (int z = 0; z < 70; z++)
+                    for (int y = 0; y < 3; y++)
+                        for (int x = 0; x < 100; x++)
+                            assertEquals(array.get(x, y, z), read.get(x, y, z));
+            }
+            finally {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void nibbleArrays() throws Exception {
+        HighNibbleArray high = new HighNibbleArray(1001);
+        LowNibbleArray low = new LowNibbleArray(1001);
+        for (int i = 500; i < 1001; i++) {
+            high.set(i, (byte) (i / 100));
+            low.set(i, (byte) (i % 3));
+        }
+
+        for (ArrayEncoding encoding : new ArrayEncoding[] {ArrayEncoding.RAW, ArrayEncoding.RUN_LENGTH}) {
+            Path file = Files.createTempFile("spatium", ".spar");
+            try {
+                ArrayIO.write(high, file, encoding);
+                assertEquals(high, ArrayIO.readHighNibbleArray(file));
+                ArrayIO.write(low, file, encoding);
+                assertEquals(low, ArrayIO.readLowNibbleArray(file));
+            }
+            finally {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void emptyArray() throws Exception {
+        Path file = Files.createTempFile("spatium", ".spar");
+        try {
+            for (ArrayEncoding encoding : ArrayEncoding.values()) {
+                ArrayIO.write(new IntArray3(0, 5, 5), file, encoding);
+                assertEquals(0, ArrayIO.readIntArray3(file).getLength());
+            }
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void paletteBooleanArray() throws Exception {
+        Path file = Files.createTempFile("spatium", ".spar");
+        try {
+            ArrayIO.write(new BooleanArray3(1, 1, 1), file, ArrayEncoding.PALETTE);
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void paletteOverflowKeepsFile() throws Exception {
+        Path file = Files.createTempFile("spatium", ".spar");
+        try {
+            IntArray3 array = new IntArray3(2, 3, 4);
+            array.set(1, 2, 3, 7);
+            ArrayIO.write(array, file, ArrayEncoding.RAW);
+
+            IntArray3 distinct = new IntArray3(1 << 8, 1 << 8, 2);
+            distinct.setAll((x, y, z) -> (z << 16) | (y << 8) | x);
+            try {
+                ArrayIO.write(distinct, file, ArrayEncoding.PALETTE);
+                fail("more than 2^16 distinct values must not be palette encoded");
+            } catch (IllegalStateException ex) {
+                IntArray3 read = ArrayIO.readIntArray3(file);
+                assertEquals(4, read.getSizeZ());
+                assertEquals(7, read.get(1, 2, 3));
+                assertEquals(0, read.get(0, 2, 3));
+            }
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void wrongType() throws Exception {
+        Path file = Files.createTempFile("spatium", ".spar");
+        try {
+            ArrayIO.write(new IntArray3(2, 2, 2), file, ArrayEncoding.RAW);
+            ArrayIO.readBooleanArray3(file);
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+}
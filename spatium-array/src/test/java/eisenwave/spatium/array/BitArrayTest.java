@@ -0,0 +1,99 @@
+package eisenwave.spatium.array;
+
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class BitArrayTest {
+
+    private static BitArray random(Random random, int length, BitSet reference) {
+        BitArray array = new BitArray(length);
+        for (int i = 0; i < length; i++) {
+            if (random.nextBoolean()) {
+                array.enable(i);
+                reference.set(i);
+            }
+        }
+        return array;
+    }
+
+    private static void assertSame(BitSet expected, BitArray actual) {
+        for (int i = 0; i < actual.getLength(); i++)
+            assertEquals("index " + i, expected.get(i), actual.get(i));
+        assertEquals(expected.cardinality(), actual.cardinality());
+    }
+
+    @Test
+    public void operations() throws Exception {
+        Random random = new Random(1);
+        final int length = 1000;
+        BitSet a = new BitSet(), b = new BitSet();
+        BitArray x = random(random, length, a), y = random(random, length, b);
+        assertSame(a, x);
+
+        x.and(y);
+        a.and(b);
+        assertSame(a, x);
+
+        x.or(y);
+        a.or(b);
+        assertSame(a, x);
+
+        x.xor(y);
+        a.xor(b);
+        assertSame(a, x);
+
+        y.andNot(x);
+        b.andNot(a);
+        assertSame(b, y);
+
+        x.not();
+        a.flip(0, length);
+        assertSame(a, x);
+    }
+
+    @Test
+    public void fillClear() throws Exception {
+        final int length = 300;
+        BitArray array = new BitArray(length);
+        BitSet reference = new BitSet();
+        int[][] ranges = {{0, 0}, {3, 7}, {60, 70}, {0, 64}, {64, 256}, {5, 300}, {299, 300}};
+
+        for (int[] range : ranges) {
+            array.fill(range[0], range[1]);
+            reference.set(range[0], range[1]);
+            assertSame(reference, array);
+
+            array.clear(range[0] + 1, Math.max(range[0] + 1, range[1] - 1));
+            reference.clear(range[0] + 1, Math.max(range[0] + 1, range[1] - 1));
+            assertSame(reference, array);
+        }
+
+        array.fill();
+        assertEquals(length, array.cardinality());
+        array.clear();
+        assertEquals(0, array.cardinality());
+    }
+
+    @Test
+    public void nextBit() throws Exception {
+        BitArray array = new BitArray(200);
+        array.fill(10, 130);
+        array.disable(70);
+
+        assertEquals(10, array.nextSetBit(0));
+        assertEquals(71, array.nextSetBit(70));
+        assertEquals(-1, array.nextSetBit(130));
+
+        assertEquals(0, array.nextClearBit(0));
+        assertEquals(70, array.nextClearBit(10));
+        assertEquals(130, array.nextClearBit(71));
+
+        array.fill();
+        assertEquals(-1, array.nextClearBit(0));
+    }
+
+}
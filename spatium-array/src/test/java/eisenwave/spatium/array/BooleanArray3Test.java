@@ -2,6 +2,8 @@ package eisenwave.spatium.array;
 
 import org.junit.Test;
 
+import java.util.stream.IntStream;
+
 import static org.junit.Assert.*;
 
 public class BooleanArray3Test {
@@ -30,6 +32,47 @@ public class BooleanArray3Test {
         assertFalse(map.get(pos[0], pos[1], pos[2]));
     }
 
+    @Test
+    public void operations() throws Exception {
+        BooleanArray3 a = new BooleanArray3(10, 20, 30), b = new BooleanArray3(10, 20, 30);
+        a.enable(1, 2, 3);
+        a.enable(4, 5, 6);
+        b.enable(4, 5, 6);
+        b.enable(7, 8, 9);
+
+        BooleanArray3 and = a.clone(), or = a.clone(), xor = a.clone(), andNot = a.clone();
+        and.and(b);
+        or.or(b);
+        xor.xor(b);
+        andNot.andNot(b);
+
+        assertEquals(1, and.cardinality());
+        assertEquals(3, or.cardinality());
+        assertEquals(2, xor.cardinality());
+        assertEquals(1, andNot.cardinality());
+        assertTrue(andNot.get(1, 2, 3));
+
+        a.fill();
+        assertEquals(a.getLength(), a.cardinality());
+        a.not();
+        assertEquals(0, a.cardinality());
+    }
+
+    @Test
+    public void stream() throws Exception {
+        for (ArrayLayout layout : ArrayLayout.values()) {
+            BooleanArray3 array = new BooleanArray3(9, 10, 11, layout);
+            array.set(8, 9, 10, true);
+            array.set(0, 1, 0, true);
+
+            int[] values = array.parallelStream().toArray();
+            assertEquals(990, values.length);
+            assertEquals(2, array.stream().sum());
+            assertEquals(1, values[9]);
+            assertEquals(1, values[989]);
+        }
+    }
+
     /*
     @Test
     public void fullToggle() throws Exception {
@@ -44,4 +87,41 @@ public class BooleanArray3Test {
     }
     */
 
+    @Test
+    public void parallelSetAll() throws Exception {
+        for (ArrayLayout layout : ArrayLayout.values()) {
+            BooleanArray3 array = new BooleanArray3(37, 29, 23, layout);
+            array.fill();
+            array.parallelSetAll((x, y, z) -> (x * 7 + y * 3 + z) % 5 == 0);
+
+            int expected = 0;
+            for (int z = 0; z < 23; z++)
+                for (int y = 0; y < 29; y++)
+                    for (int x = 0; x < 37; x++) {
+                        boolean value = (x * 7 + y * 3 + z) % 5 == 0;
+                        assertEquals(value, array.get(x, y, z));
+                        if (value) expected++;
+                    }
+            assertEquals(expected, array.cardinality());
+            assertEquals(expected, array.parallelCardinality());
+        }
+    }
+
+    @Test
+    public void iterationOrder() throws Exception {
+        for (ArrayLayout layout : ArrayLayout.values()) {
+            BooleanArray3 array = new BooleanArray3(3, 5, 4, layout);
+            array.parallelSetAll((x, y, z) -> (x + 2 * y + 3 * z) % 4 == 0);
+
+            IntStream.Builder builder = IntStream.builder();
+            for (boolean value : array)
+                builder.add(value? 1 : 0);
+            int[] expected = new int[3 * 5 * 4];
+            for (int i = 0; i < expected.length; i++)
+                expected[i] = (i % 3 + 2 * (i / 3 % 5) + 3 * (i / 15)) % 4 == 0? 1 : 0;
+            assertArrayEquals(expected, builder.build().toArray());
+            assertArrayEquals(expected, array.stream().toArray());
+        }
+    }
+
 }
@@ -28,4 +28,15 @@ public class HighNibbleArrayTest {
         }
     }
     
+    @Test
+    public void stream() throws Exception {
+        HighNibbleArray array = new HighNibbleArray(23);
+        for (int i = 0; i < array.getLength(); i++)
+            array.set(i, (byte) (i % 16));
+        
+        assertEquals(23, array.parallelStream().count());
+        assertEquals(array.stream().sum(), array.parallelStream().sum());
+        assertEquals(15, array.stream().max().getAsInt());
+    }
+    
 }
@@ -0,0 +1,26 @@
+package eisenwave.spatium.array;
+
+import org.junit.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class IntArray2Test {
+
+    @Test
+    public void streamOrder() throws Exception {
+        IntArray2 array = new IntArray2(7, 5);
+        for (int x = 0; x < 7; x++)
+            for (int y = 0; y < 5; y++)
+                array.set(x, y, x + y * 7);
+
+        IntStream.Builder builder = IntStream.builder();
+        array.forEachInt(builder);
+        int[] expected = IntStream.range(0, 35).toArray();
+        assertArrayEquals(expected, builder.build().toArray());
+        assertArrayEquals(expected, array.stream().toArray());
+        assertArrayEquals(expected, array.parallelStream().toArray());
+    }
+
+}
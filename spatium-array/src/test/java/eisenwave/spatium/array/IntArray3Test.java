@@ -0,0 +1,93 @@
+package eisenwave.spatium.array;
+
+import org.junit.Test;
+
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class IntArray3Test {
+
+    @Test
+    public void parallelSetAll() throws Exception {
+        for (ArrayLayout layout : ArrayLayout.values()) {
+            IntArray3 sequential = new IntArray3(40, 30, 50, layout), parallel = new IntArray3(40, 30, 50, layout);
+            sequential.setAll((x, y, z) -> x * 31 + y * 7 - z);
+            parallel.parallelSetAll((x, y, z) -> x * 31 + y * 7 - z);
+
+            for (int z = 0; z < 50; z++)
+                for (int y = 0; y < 30; y++)
+                    for (int x = 0; x < 40; x++) {
+                        assertEquals(x * 31 + y * 7 - z, sequential.get(x, y, z));
+                        assertEquals(x * 31 + y * 7 - z, parallel.get(x, y, z));
+                    }
+
+            parallel.parallelReplaceAll(i -> i * 2);
+            assertEquals(2 * (39 * 31 + 29 * 7 - 49), parallel.get(39, 29, 49));
+        }
+    }
+
+    @Test
+    public void parallelReduce() throws Exception {
+        for (ArrayLayout layout : ArrayLayout.values()) {
+            IntArray3 array = new IntArray3(33, 65, 17, layout);
+            array.setAll((x, y, z) -> x + y + z);
+
+            int expected = array.reduce(0, Integer::sum);
+            assertEquals(33 * 65 * 17 * (32 + 64 + 16) / 2, expected);
+            assertEquals(expected, array.parallelReduce(0, Integer::sum));
+            assertEquals(32 + 64 + 16, array.parallelReduce(Integer.MIN_VALUE, Math::max));
+        }
+    }
+
+    @Test
+    public void parallelCountAndFind() throws Exception {
+        IntArray3 array = new IntArray3(64, 64, 64);
+        array.set(5, 6, 40, 1);
+        array.set(1, 2, 50, 1);
+        array.set(7, 3, 10, 1);
+
+        assertEquals(3, array.count((x, y, z) -> array.get(x, y, z) == 1));
+        assertEquals(3, array.parallelCount((x, y, z) -> array.get(x, y, z) == 1));
+        assertArrayEquals(new int[] {7, 3, 10}, array.findFirst((x, y, z) -> array.get(x, y, z) == 1));
+        assertArrayEquals(new int[] {7, 3, 10}, array.parallelFindFirst((x, y, z) -> array.get(x, y, z) == 1));
+        assertNull(array.parallelFindFirst((x, y, z) -> array.get(x, y, z) == 2));
+
+        AtomicInteger visited = new AtomicInteger();
+        array.parallelForEachPosition((x, y, z) -> visited.incrementAndGet());
+        assertEquals(array.getLength(), visited.get());
+    }
+
+    @Test
+    public void stream() throws Exception {
+        for (ArrayLayout layout : ArrayLayout.values()) {
+            IntArray3 array = new IntArray3(20, 30, 40, layout);
+            array.setAll((x, y, z) -> x + y * 20 + z * 600);
+
+            assertArrayEquals(IntStream.range(0, 24000).toArray(), array.stream().toArray());
+            assertArrayEquals(IntStream.range(0, 24000).toArray(), array.parallelStream().toArray());
+            assertEquals(24000, array.spliterator().getExactSizeIfKnown());
+            assertTrue(array.spliterator().hasCharacteristics(Spliterator.SUBSIZED));
+        }
+    }
+
+    @Test
+    public void iterationOrder() throws Exception {
+        for (ArrayLayout layout : ArrayLayout.values()) {
+            IntArray3 array = new IntArray3(3, 2, 2, layout);
+            array.setAll((x, y, z) -> 100 * z + 10 * y + x);
+            int[] expected = {0, 1, 2, 10, 11, 12, 100, 101, 102, 110, 111, 112};
+
+            IntStream.Builder forEach = IntStream.builder(), iterator = IntStream.builder();
+            array.forEachInt(forEach);
+            for (int value : array)
+                iterator.add(value);
+            assertArrayEquals(expected, forEach.build().toArray());
+            assertArrayEquals(expected, iterator.build().toArray());
+            assertArrayEquals(expected, array.stream().toArray());
+        }
+    }
+
+}
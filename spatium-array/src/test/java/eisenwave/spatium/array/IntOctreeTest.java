@@ -0,0 +1,69 @@
+package eisenwave.spatium.array;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class IntOctreeTest {
+
+    @Test
+    public void getSet() throws Exception {
+        Random random = new Random(1);
+        IntOctree octree = new IntOctree(20, 33, 7);
+        IntArray3 reference = new IntArray3(20, 33, 7);
+        assertEquals(6, octree.getDepth());
+
+        for (int i = 0; i < 5000; i++) {
+            int x = random.nextInt(20), y = random.nextInt(33), z = random.nextInt(7), value = random.nextInt(3);
+            octree.set(x, y, z, value);
+            reference.set(x, y, z, value);
+        }
+
+        for (int x = 0; x < 20; x++)
+            for (int y = 0; y < 33; y++)
+                for (int z = 0; z < 7; z++)
+                    assertEquals(reference.get(x, y, z), octree.get(x, y, z));
+    }
+
+    @Test
+    public void collapse() throws Exception {
+        IntOctree octree = new IntOctree(64, 64, 64);
+        assertEquals(0, octree.getNodeCount());
+        assertEquals(64, octree.getUniformSize(10, 20, 30));
+
+        octree.set(1, 2, 3, 5);
+        assertEquals(6, octree.getNodeCount());
+        assertEquals(1, octree.getUniformSize(1, 2, 3));
+        assertEquals(32, octree.getUniformSize(40, 40, 40));
+
+        //filling an aligned 8x8x8 block leaves only the branches above it
+        for (int x = 0; x < 8; x++)
+            for (int y = 0; y < 8; y++)
+                for (int z = 0; z < 8; z++)
+                    octree.set(x, y, z, 5);
+        assertEquals(3, octree.getNodeCount());
+        assertEquals(8, octree.getUniformSize(3, 3, 3));
+
+        //resetting the block collapses the whole tree
+        for (int x = 0; x < 8; x++)
+            for (int y = 0; y < 8; y++)
+                for (int z = 0; z < 8; z++)
+                    octree.set(x, y, z, 0);
+        assertEquals(0, octree.getNodeCount());
+        assertEquals(0, octree.get(1, 2, 3));
+    }
+
+    @Test
+    public void hugeVolume() throws Exception {
+        IntOctree octree = new IntOctree(1 << 20, 1 << 20, 1 << 20, 7);
+        assertEquals(1L << 60, octree.getVolume());
+
+        octree.set(123_456, 654_321, 999_999, 1);
+        assertEquals(1, octree.get(123_456, 654_321, 999_999));
+        assertEquals(7, octree.get(123_457, 654_321, 999_999));
+        assertEquals(20, octree.getNodeCount());
+    }
+
+}
@@ -0,0 +1,76 @@
+package eisenwave.spatium.array;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class MortonTest {
+
+    @Test
+    public void encodeDecode() throws Exception {
+        assertEquals(0b111, Morton.encode(1, 1, 1));
+        assertEquals(0b100_010_001_000L, Morton.encode(2, 4, 8));
+
+        Random random = new Random(1);
+        for (int i = 0; i < 10_000; i++) {
+            int x = random.nextInt(1 << Morton.MAX_BITS),
+                y = random.nextInt(1 << Morton.MAX_BITS),
+                z = random.nextInt(1 << Morton.MAX_BITS);
+            long code = Morton.encode(x, y, z);
+            assertEquals(x, Morton.decodeX(code));
+            assertEquals(y, Morton.decodeY(code));
+            assertEquals(z, Morton.decodeZ(code));
+        }
+    }
+
+    @Test
+    public void cursor() throws Exception {
+        IntArray3 array = new IntArray3(5, 17, 3, ArrayLayout.MORTON);
+        assertEquals(8 * 32 * 4, array.getCapacity());
+
+        boolean[] visited = new boolean[array.getCapacity()];
+        int count = 0, lastIndex = -1;
+        for (AbstractArray3.IndexCursor cursor = array.cursor(); cursor.next(); count++) {
+            assertTrue(cursor.getIndex() > lastIndex);
+            assertEquals(array.indexOf(cursor.getX(), cursor.getY(), cursor.getZ()), cursor.getIndex());
+            assertFalse(visited[cursor.getIndex()]);
+            visited[lastIndex = cursor.getIndex()] = true;
+        }
+        assertEquals(array.getLength(), count);
+    }
+
+    @Test
+    public void layouts() throws Exception {
+        IntArray3 linear = new IntArray3(8, 8, 8), morton = new IntArray3(8, 8, 8, ArrayLayout.MORTON);
+        BooleanArray3 bools = new BooleanArray3(7, 8, 9, ArrayLayout.MORTON);
+
+        for (int x = 0; x < 8; x++)
+            for (int y = 0; y < 8; y++)
+                for (int z = 0; z < 8; z++) {
+                    linear.set(x, y, z, x * 100 + y * 10 + z);
+                    morton.set(x, y, z, x * 100 + y * 10 + z);
+                    //cubic power-of-two arrays are stored exactly in Morton order
+                    assertEquals(Morton.encode(x, y, z), morton.indexOf(x, y, z));
+                }
+
+        for (int x = 0; x < 8; x++)
+            for (int y = 0; y < 8; y++)
+                for (int z = 0; z < 8; z++)
+                    assertEquals(linear.get(x, y, z), morton.get(x, y, z));
+
+        int[] sum = {0};
+        morton.forEachInt(i -> sum[0] += i);
+        linear.forEachInt(i -> sum[0] -= i);
+        assertEquals(0, sum[0]);
+
+        bools.enable(6, 7, 8);
+        assertTrue(bools.get(6, 7, 8));
+        bools.not();
+        assertEquals(bools.getLength() - 1, bools.cardinality());
+        bools.fill();
+        assertEquals(bools.getLength(), bools.cardinality());
+    }
+
+}
@@ -0,0 +1,74 @@
+package eisenwave.spatium.array;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+public class OffHeapArray3Test {
+
+    @Test
+    public void intArray() throws Exception {
+        OffHeapIntArray3 array = OffHeapIntArray3.allocate(10, 20, 30);
+        assertEquals(6000, array.getLength());
+        assertFalse(array.isMapped());
+
+        array.fill(-3);
+        array.set(9, 19, 29, 42);
+        assertEquals(42, array.get(9, 19, 29));
+        assertEquals(42, array.get(5999L));
+        assertEquals(-3, array.get(0, 0, 0));
+    }
+
+    @Test
+    public void intArrayFile() throws Exception {
+        Path file = Files.createTempFile("spatium", ".sia3");
+        try {
+            try (OffHeapIntArray3 array = OffHeapIntArray3.create(file, 17, 5, 9)) {
+                for (int x = 0; x < 17; x++)
+                    for (int z = 0; z < 9; z++)
+                        array.set(x, 3, z, x * z);
+            }
+            try (OffHeapIntArray3 array = OffHeapIntArray3.open(file, false)) {
+                assertEquals(17, array.getSizeX());
+                assertEquals(5, array.getSizeY());
+                assertEquals(9, array.getSizeZ());
+                for (int x = 0; x < 17; x++)
+                    for (int z = 0; z < 9; z++)
+                        assertEquals(x * z, array.get(x, 3, z));
+            }
+            try {
+                OffHeapBooleanArray3.open(file, false).close();
+                fail("opened an int array as a boolean array");
+            } catch (IOException expected) {}
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void booleanArrayFile() throws Exception {
+        Path file = Files.createTempFile("spatium", ".sba3");
+        try {
+            try (OffHeapBooleanArray3 array = OffHeapBooleanArray3.create(file, 100, 3, 7)) {
+                for (int x = 0; x < 100; x += 3)
+                    array.enable(x, 1, 6);
+                array.disable(99, 1, 6);
+                assertEquals(33, array.cardinality());
+            }
+            try (OffHeapBooleanArray3 array = OffHeapBooleanArray3.open(file, true)) {
+                assertEquals(33, array.cardinality());
+                assertTrue(array.get(96, 1, 6));
+                assertFalse(array.get(97, 1, 6));
+                array.clear();
+                assertEquals(0, array.cardinality());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+}
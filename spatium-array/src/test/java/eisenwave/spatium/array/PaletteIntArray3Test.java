@@ -0,0 +1,61 @@
+package eisenwave.spatium.array;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class PaletteIntArray3Test {
+
+    private static void assertContentEquals(IntArray3 expected, PaletteIntArray3 actual) {
+        for (int x = 0; x < expected.getSizeX(); x++)
+            for (int y = 0; y < expected.getSizeY(); y++)
+                for (int z = 0; z < expected.getSizeZ(); z++)
+                    assertEquals(expected.get(x, y, z), actual.get(x, y, z));
+    }
+
+    @Test
+    public void getSet() throws Exception {
+        Random random = new Random(1);
+        IntArray3 reference = new IntArray3(16, 16, 16);
+        PaletteIntArray3 array = new PaletteIntArray3(16, 16, 16);
+        assertEquals(1, array.getBitsPerEntry());
+
+        //grow the palette one value at a time, through every width up to 10 bits
+        for (int values = 2; values <= 1000; values++) {
+            for (int i = 0; i < 8; i++) {
+                int x = random.nextInt(16), y = random.nextInt(16), z = random.nextInt(16);
+                int value = random.nextInt(values) * 31 - 500;
+                reference.set(x, y, z, value);
+                array.set(x, y, z, value);
+            }
+        }
+        assertContentEquals(reference, array);
+        assertTrue(array.getBitsPerEntry() <= 10);
+    }
+
+    @Test
+    public void compact() throws Exception {
+        PaletteIntArray3 array = new PaletteIntArray3(10, 10, 10, 7);
+        for (int i = 0; i < 100; i++)
+            array.set(i % 10, i / 10, 0, i + 100);
+        assertEquals(101, array.getPaletteSize());
+        assertEquals(7, array.getBitsPerEntry());
+
+        for (int i = 0; i < 100; i++)
+            array.set(i % 10, i / 10, 0, i % 3);
+        IntArray3 reference = new IntArray3(10, 10, 10);
+        for (int x = 0; x < 10; x++)
+            for (int y = 0; y < 10; y++)
+                for (int z = 0; z < 10; z++)
+                    reference.set(x, y, z, z == 0? (y * 10 + x) % 3 : 7);
+
+        array.compact();
+        assertEquals(4, array.getPaletteSize());
+        assertEquals(2, array.getBitsPerEntry());
+        assertContentEquals(reference, array);
+        assertContentEquals(reference, new PaletteIntArray3(reference));
+    }
+
+}
@@ -0,0 +1,33 @@
+package eisenwave.spatium.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>
+ *     Entry point of the benchmark jar.
+ * </p>
+ * <p>
+ *     Accepts the same arguments as the standard JMH launcher but always attaches the {@link GCProfiler}, so that
+ *     every suite reports allocation rates (<code>gc.alloc.rate.norm</code>) next to its throughput.
+ * </p>
+ * <pre>
+ *     java -jar spatium-benchmarks/target/benchmarks.jar [regex] [jmh options]
+ * </pre>
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {}
+
+    public static void main(String... args) throws Exception {
+        Options options = new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,59 @@
+package eisenwave.spatium.benchmark;
+
+import net.grian.spatium.geo3.BlockVector;
+import net.grian.spatium.iter.BlockIntervalIterator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of a {@link BlockIntervalIterator}, reported per visited block.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BlockIntervalIteratorBenchmark {
+
+    /** the length of the interval along its leading axis, plus one for the first block */
+    private static final int BLOCKS = 1025;
+
+    private int x1 = 1024, y1 = 300, z1 = -700;
+    private final int[] xs = new int[BLOCKS], ys = new int[BLOCKS], zs = new int[BLOCKS];
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCKS)
+    public int iterate() {
+        BlockIntervalIterator iter = BlockIntervalIterator.between(0, 0, 0, x1, y1, z1);
+        int sum = 0;
+        while (iter.hasNext()) {
+            BlockVector block = iter.next();
+            sum += block.getX() ^ block.getY() ^ block.getZ();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCKS)
+    public int iteratePrimitive() {
+        BlockIntervalIterator iter = BlockIntervalIterator.between(0, 0, 0, x1, y1, z1);
+        int sum = 0;
+        for (; iter.hasNext(); iter.increment())
+            sum += iter.nextX() ^ iter.nextY() ^ iter.nextZ();
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCKS)
+    public int drain() {
+        BlockIntervalIterator iter = BlockIntervalIterator.between(0, 0, 0, x1, y1, z1);
+        final int length = iter.drainTo(xs, ys, zs);
+        int sum = 0;
+        for (int i = 0; i < length; i++)
+            sum += xs[i] ^ ys[i] ^ zs[i];
+        return sum;
+    }
+
+}
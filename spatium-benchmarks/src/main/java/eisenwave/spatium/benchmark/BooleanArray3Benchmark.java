@@ -0,0 +1,53 @@
+package eisenwave.spatium.benchmark;
+
+import eisenwave.spatium.array.BooleanArray3;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of sequential reads and writes of a {@link BooleanArray3}, reported per element.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BooleanArray3Benchmark {
+
+    private static final int SIZE = 64, VOLUME = SIZE * SIZE * SIZE;
+
+    private BooleanArray3 array;
+
+    @Setup
+    public void setup() {
+        array = new BooleanArray3(SIZE, SIZE, SIZE);
+        for (int x = 0; x < SIZE; x++)
+            for (int y = 0; y < SIZE; y++)
+                for (int z = 0; z < SIZE; z++)
+                    array.set(x, y, z, ((x ^ y ^ z) & 1) == 0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VOLUME)
+    public int get() {
+        int count = 0;
+        for (int x = 0; x < SIZE; x++)
+            for (int y = 0; y < SIZE; y++)
+                for (int z = 0; z < SIZE; z++)
+                    if (array.get(x, y, z)) count++;
+        return count;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VOLUME)
+    public BooleanArray3 set() {
+        for (int x = 0; x < SIZE; x++)
+            for (int y = 0; y < SIZE; y++)
+                for (int z = 0; z < SIZE; z++)
+                    array.set(x, y, z, (z & 1) == 0);
+        return array;
+    }
+
+}
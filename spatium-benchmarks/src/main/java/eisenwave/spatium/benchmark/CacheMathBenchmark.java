@@ -0,0 +1,72 @@
+package eisenwave.spatium.benchmark;
+
+import eisenwave.spatium.cache.CacheMath;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the lookup-table functions of {@link CacheMath} compared to their {@link Math} counterparts.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CacheMathBenchmark {
+
+    /** not final, so the JIT can not constant-fold the arguments */
+    private double angle = 0.7, ratio = 0.3, number = 42.5;
+
+    @Benchmark
+    public double sin_cache() {
+        return CacheMath.sin(angle);
+    }
+
+    @Benchmark
+    public double sin_math() {
+        return Math.sin(angle);
+    }
+
+    @Benchmark
+    public double cos_cache() {
+        return CacheMath.cos(angle);
+    }
+
+    @Benchmark
+    public double cos_math() {
+        return Math.cos(angle);
+    }
+
+    @Benchmark
+    public double asin_cache() {
+        return CacheMath.asin(ratio);
+    }
+
+    @Benchmark
+    public double asin_math() {
+        return Math.asin(ratio);
+    }
+
+    @Benchmark
+    public double acos_cache() {
+        return CacheMath.acos(ratio);
+    }
+
+    @Benchmark
+    public double acos_math() {
+        return Math.acos(ratio);
+    }
+
+    @Benchmark
+    public double sqrt_cache() {
+        return CacheMath.sqrt(number);
+    }
+
+    @Benchmark
+    public double sqrt_math() {
+        return Math.sqrt(number);
+    }
+
+}
@@ -0,0 +1,207 @@
+package eisenwave.spatium.benchmark;
+
+import eisenwave.spatium.enums.Axis;
+import net.grian.spatium.coll.Collisions;
+import net.grian.spatium.geo2.Circle;
+import net.grian.spatium.geo2.Ray2;
+import net.grian.spatium.geo2.Rectangle;
+import net.grian.spatium.geo3.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the {@link Collisions#test} overloads, one benchmark per shape pair.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CollisionBenchmark {
+
+    private AxisAlignedBB aabbA, aabbB;
+    private OrientedBB obbA, obbB;
+    private Sphere sphereA, sphereB;
+    private Plane planeA, planeB;
+    private AxisPlane axisPlane;
+    private Triangle3 triangleA, triangleB;
+    private Tetrahedron tetra;
+    private Slab3 slab;
+    private Ray3 rayA, rayB;
+    private Ray2 ray2A, ray2B;
+    private Circle circleA, circleB;
+    private Rectangle rectA, rectB;
+    private Vector3 point;
+
+    @Setup
+    public void setup() {
+        aabbA = AxisAlignedBB.fromPoints(0, 0, 0, 2, 2, 2);
+        aabbB = AxisAlignedBB.fromPoints(1, 1, 1, 3, 3, 3);
+        obbA = OrientedBB.fromAABB(aabbA);
+        obbA.rotateY(30);
+        obbB = OrientedBB.fromAABB(aabbB);
+        obbB.rotateX(45);
+        sphereA = Sphere.fromCenterRadius(1, 1, 1, 1.5);
+        sphereB = Sphere.fromCenterRadius(2, 2, 2, 1);
+        planeA = Plane.fromPointNormal(1, 1, 1, 0, 1, 0);
+        planeB = Plane.fromPointNormal(1, 1, 1, 1, 1, 0);
+        axisPlane = AxisPlane.create(Axis.Y, 1);
+        triangleA = Triangle3.fromPoints(Vector3.fromXYZ(0, 0, 0), Vector3.fromXYZ(2, 0, 0), Vector3.fromXYZ(0, 2, 0));
+        triangleB = Triangle3.fromPoints(
+            Vector3.fromXYZ(0.5, 0.5, -1), Vector3.fromXYZ(0.5, 0.5, 1), Vector3.fromXYZ(1, 1, 0));
+        tetra = Tetrahedron.fromPoints(0, 0, 0, 2, 0, 0, 0, 2, 0, 0, 0, 2);
+        slab = Slab3.create(Vector3.fromXYZ(0, 1, 0), 0, 2);
+        rayA = Ray3.fromOD(-1, 0.5, 0.5, 4, 1, 1);
+        rayB = Ray3.fromOD(0.5, -1, 0.5, 1, 4, 1);
+        ray2A = Ray2.fromOD(-1, 0.5, 4, 1);
+        ray2B = Ray2.fromOD(0.5, -1, 1, 4);
+        circleA = Circle.fromCenterRadius(1, 1, 1.5);
+        circleB = Circle.fromCenterRadius(2, 2, 1);
+        rectA = Rectangle.fromPoints(0, 0, 2, 2);
+        rectB = Rectangle.fromPoints(1, 1, 3, 3);
+        point = Vector3.fromXYZ(1, 1, 1);
+    }
+
+    @Benchmark
+    public boolean aabb_point() {
+        return Collisions.test(aabbA, point);
+    }
+
+    @Benchmark
+    public boolean aabb_aabb() {
+        return Collisions.test(aabbA, aabbB);
+    }
+
+    @Benchmark
+    public boolean aabb_axisPlane() {
+        return Collisions.test(aabbA, axisPlane);
+    }
+
+    @Benchmark
+    public boolean aabb_sphere() {
+        return Collisions.test(aabbA, sphereA);
+    }
+
+    @Benchmark
+    public boolean aabb_obb() {
+        return Collisions.test(aabbA, obbB);
+    }
+
+    @Benchmark
+    public boolean obb_obb() {
+        return Collisions.test(obbA, obbB);
+    }
+
+    @Benchmark
+    public boolean obb_sphere() {
+        return Collisions.test(obbA, sphereB);
+    }
+
+    @Benchmark
+    public boolean sphere_sphere() {
+        return Collisions.test(sphereA, sphereB);
+    }
+
+    @Benchmark
+    public boolean sphere_plane() {
+        return Collisions.test(sphereA, planeA);
+    }
+
+    @Benchmark
+    public boolean sphere_axisPlane() {
+        return Collisions.test(sphereA, axisPlane);
+    }
+
+    @Benchmark
+    public boolean plane_plane() {
+        return Collisions.test(planeA, planeB);
+    }
+
+    @Benchmark
+    public boolean circle_circle() {
+        return Collisions.test(circleA, circleB);
+    }
+
+    @Benchmark
+    public boolean rectangle_rectangle() {
+        return Collisions.test(rectA, rectB);
+    }
+
+    @Benchmark
+    public boolean ray2_ray2() {
+        return Collisions.test(ray2A, ray2B);
+    }
+
+    @Benchmark
+    public boolean ray2_circle() {
+        return Collisions.test(ray2A, circleA);
+    }
+
+    @Benchmark
+    public boolean ray2_rectangle() {
+        return Collisions.test(ray2A, rectA);
+    }
+
+    @Benchmark
+    public boolean ray3_ray3() {
+        return Collisions.test(rayA, rayB);
+    }
+
+    @Benchmark
+    public boolean ray3_plane() {
+        return Collisions.test(rayA, planeB);
+    }
+
+    @Benchmark
+    public boolean ray3_axisPlane() {
+        return Collisions.test(rayA, axisPlane);
+    }
+
+    @Benchmark
+    public boolean ray3_slab() {
+        return Collisions.test(rayA, slab);
+    }
+
+    @Benchmark
+    public boolean ray3_sphere() {
+        return Collisions.test(rayA, sphereA);
+    }
+
+    @Benchmark
+    public boolean ray3_aabb() {
+        return Collisions.test(rayA, aabbA);
+    }
+
+    @Benchmark
+    public boolean ray3_obb() {
+        return Collisions.test(rayA, obbA);
+    }
+
+    @Benchmark
+    public boolean ray3_triangle() {
+        return Collisions.test(rayA, triangleA);
+    }
+
+    @Benchmark
+    public boolean ray3_tetrahedron() {
+        return Collisions.test(rayA, tetra);
+    }
+
+    @Benchmark
+    public boolean triangle_triangle() {
+        return Collisions.test(triangleA, triangleB);
+    }
+
+    @Benchmark
+    public boolean triangle_plane() {
+        return Collisions.test(triangleA, planeA);
+    }
+
+    @Benchmark
+    public boolean triangle_axisPlane() {
+        return Collisions.test(triangleA, axisPlane);
+    }
+
+}
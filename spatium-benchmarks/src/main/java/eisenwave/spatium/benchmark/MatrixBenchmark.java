@@ -0,0 +1,48 @@
+package eisenwave.spatium.benchmark;
+
+import net.grian.spatium.impl.MatrixImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link MatrixImpl#getDeterminant()} and {@link MatrixImpl#getInverse()} for square matrices of
+ * sizes 2 to 8.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MatrixBenchmark {
+
+    @Param({"2", "3", "4", "5", "6", "7", "8"})
+    public int size;
+
+    private MatrixImpl matrix;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(size);
+        double[] content = new double[size * size];
+        for (int i = 0; i < content.length; i++)
+            content[i] = random.nextDouble() * 2 - 1;
+        //diagonal dominance keeps the matrix invertible
+        for (int i = 0; i < size; i++)
+            content[i * size + i] += size;
+        matrix = new MatrixImpl(size, size, content);
+    }
+
+    @Benchmark
+    public double determinant() {
+        return matrix.getDeterminant();
+    }
+
+    @Benchmark
+    public MatrixImpl inverse() {
+        return matrix.getInverse();
+    }
+
+}
@@ -0,0 +1,249 @@
+package eisenwave.spatium.benchmark;
+
+import net.grian.spatium.coll.RayPacket;
+import net.grian.spatium.coll.Rays;
+import net.grian.spatium.geo2.Circle;
+import net.grian.spatium.geo2.Ray2;
+import net.grian.spatium.geo2.Rectangle;
+import net.grian.spatium.geo2.Triangle2;
+import net.grian.spatium.geo3.*;
+import net.grian.spatium.impl.AxisCylinderImpl;
+import eisenwave.spatium.enums.Axis;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ *     Throughput of the {@link Rays#cast} and {@link Rays#pierce} overloads, one benchmark per shape pair.
+ * </p>
+ * <p>
+ *     The array-returning <code>pierce</code> methods are measured next to their out-parameter variants so that the
+ *     allocation rate reported by <code>-prof gc</code> can be compared directly.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RayBenchmark {
+
+    private Ray3 ray, otherRay;
+    private Ray2 ray2, otherRay2;
+    private Vector3 point;
+    private Sphere sphere;
+    private Plane plane;
+    private AxisPlane axisPlane;
+    private Slab3 slab;
+    private AxisSlab3 axisSlab;
+    private AxisAlignedBB aabb;
+    private OrientedBB obb;
+    private Triangle3 triangle;
+    private Tetrahedron tetra;
+    private AxisCylinder cylinder;
+    private Circle circle;
+    private Rectangle rect;
+    private Triangle2 triangle2;
+    private RayPacket packet;
+
+    private final double[] result = new double[2];
+    private final double[] packetResult = new double[8];
+
+    @Setup
+    public void setup() {
+        ray = Ray3.fromOD(-1, 0.5, 0.5, 4, 1, 1);
+        otherRay = Ray3.fromOD(0.5, -1, 0.5, 1, 4, 1);
+        ray2 = Ray2.fromOD(-1, 0.5, 4, 1);
+        otherRay2 = Ray2.fromOD(0.5, -1, 1, 4);
+        point = Vector3.fromXYZ(1, 0.75, 0.75);
+        sphere = Sphere.fromCenterRadius(1, 1, 1, 1.5);
+        plane = Plane.fromPointNormal(1, 1, 1, 1, 1, 0);
+        axisPlane = AxisPlane.create(Axis.X, 1);
+        slab = Slab3.create(Vector3.fromXYZ(1, 0, 0), 0, 2);
+        axisSlab = AxisSlab3.fromMinMax(Axis.X, 0, 2);
+        aabb = AxisAlignedBB.fromPoints(0, 0, 0, 2, 2, 2);
+        obb = OrientedBB.fromAABB(aabb);
+        obb.rotateY(30);
+        triangle = Triangle3.fromPoints(
+            Vector3.fromXYZ(1, -1, -1), Vector3.fromXYZ(1, 3, -1), Vector3.fromXYZ(1, 0, 3));
+        tetra = Tetrahedron.fromPoints(0, 0, 0, 2, 0, 0, 0, 2, 0, 0, 0, 2);
+        cylinder = new AxisCylinderImpl(Axis.Y, 1, 0, 1, 1, 2);
+        circle = Circle.fromCenterRadius(1, 1, 1.5);
+        rect = Rectangle.fromPoints(0, 0, 2, 2);
+        triangle2 = Triangle2.fromPoints(1, -1, 1, 3, 3, 1);
+
+        Ray3[] rays = new Ray3[8];
+        for (int i = 0; i < rays.length; i++)
+            rays[i] = Ray3.fromOD(-1, 0.25 * i, 0.5, 4, 0.1 * i, 1);
+        packet = RayPacket.of(rays);
+    }
+
+    // CAST
+
+    @Benchmark
+    public double cast_ray2_ray2() {
+        return Rays.cast(ray2, otherRay2);
+    }
+
+    @Benchmark
+    public double cast_ray3_ray3() {
+        return Rays.cast(ray, otherRay);
+    }
+
+    @Benchmark
+    public double cast_ray3_point() {
+        return Rays.cast(ray, point);
+    }
+
+    @Benchmark
+    public double cast_ray2_circle() {
+        return Rays.cast(ray2, circle);
+    }
+
+    @Benchmark
+    public double cast_ray3_sphere() {
+        return Rays.cast(ray, sphere);
+    }
+
+    @Benchmark
+    public double cast_ray3_plane() {
+        return Rays.cast(ray, plane);
+    }
+
+    @Benchmark
+    public double cast_ray3_axisPlane() {
+        return Rays.cast(ray, axisPlane);
+    }
+
+    @Benchmark
+    public double cast_ray3_slab() {
+        return Rays.cast(ray, slab);
+    }
+
+    @Benchmark
+    public double cast_ray2_rectangle() {
+        return Rays.cast(ray2, rect);
+    }
+
+    @Benchmark
+    public double cast_ray3_aabb() {
+        return Rays.cast(ray, aabb);
+    }
+
+    @Benchmark
+    public double cast_ray3_obb() {
+        return Rays.cast(ray, obb);
+    }
+
+    @Benchmark
+    public double cast_ray2_triangle() {
+        return Rays.cast(ray2, triangle2);
+    }
+
+    @Benchmark
+    public double cast_ray3_triangle() {
+        return Rays.cast(ray, triangle);
+    }
+
+    @Benchmark
+    public double cast_ray3_tetrahedron() {
+        return Rays.cast(ray, tetra);
+    }
+
+    @Benchmark
+    public double[] cast_packet_aabb() {
+        Rays.cast(packet, aabb, packetResult);
+        return packetResult;
+    }
+
+    @Benchmark
+    public double[] cast_packet_triangle() {
+        Rays.cast(packet, triangle, packetResult);
+        return packetResult;
+    }
+
+    // PIERCE
+
+    @Benchmark
+    public double[] pierce_ray2_circle() {
+        return Rays.pierce(ray2, circle);
+    }
+
+    @Benchmark
+    public boolean pierceInto_ray2_circle() {
+        return Rays.pierce(ray2, circle, result);
+    }
+
+    @Benchmark
+    public double[] pierce_ray3_sphere() {
+        return Rays.pierce(ray, sphere);
+    }
+
+    @Benchmark
+    public boolean pierceInto_ray3_sphere() {
+        return Rays.pierce(ray, sphere, result);
+    }
+
+    @Benchmark
+    public double[] pierce_ray3_slab() {
+        return Rays.pierce(ray, slab);
+    }
+
+    @Benchmark
+    public boolean pierceInto_ray3_slab() {
+        return Rays.pierce(ray, slab, result);
+    }
+
+    @Benchmark
+    public double[] pierce_ray3_axisSlab() {
+        return Rays.pierce(ray, axisSlab);
+    }
+
+    @Benchmark
+    public double[] pierce_ray2_rectangle() {
+        return Rays.pierce(ray2, rect);
+    }
+
+    @Benchmark
+    public boolean pierceInto_ray2_rectangle() {
+        return Rays.pierce(ray2, rect, result);
+    }
+
+    @Benchmark
+    public double[] pierce_ray3_aabb() {
+        return Rays.pierce(ray, aabb);
+    }
+
+    @Benchmark
+    public boolean pierceInto_ray3_aabb() {
+        return Rays.pierce(ray, aabb, result);
+    }
+
+    @Benchmark
+    public double[] pierce_ray3_obb() {
+        return Rays.pierce(ray, obb);
+    }
+
+    @Benchmark
+    public boolean pierceInto_ray3_obb() {
+        return Rays.pierce(ray, obb, result);
+    }
+
+    @Benchmark
+    public double[] pierce_ray3_tetrahedron() {
+        return Rays.pierce(ray, tetra);
+    }
+
+    @Benchmark
+    public boolean pierceInto_ray3_tetrahedron() {
+        return Rays.pierce(ray, tetra, result);
+    }
+
+    @Benchmark
+    public double[] pierce_ray3_cylinder() {
+        return Rays.pierce(ray, cylinder);
+    }
+
+}
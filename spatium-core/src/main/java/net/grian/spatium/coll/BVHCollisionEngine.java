@@ -0,0 +1,260 @@
+package net.grian.spatium.coll;
+
+import net.grian.spatium.geo3.*;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ *     A {@link CollisionEngine} which uses a {@link BoundingVolumeHierarchy} for its broad phase and {@link Collisions}
+ *     and {@link Rays} for its narrow phase.
+ * </p>
+ * <p>
+ *     The engine supports {@link AxisAlignedBB}s, {@link OrientedBB}s and {@link Sphere}s as colliders and targets.
+ *     Additionally, points ({@link Vector3}) may be tested against {@link AxisAlignedBB}s and any of the supported
+ *     spaces as well as {@link Triangle3}s and {@link Tetrahedron}s may be the target of a ray cast.
+ * </p>
+ * <p>
+ *     Ray casts only report collisions in front of the ray origin. A target which lies entirely behind the origin is
+ *     not hit, while a ray whose origin lies inside a target hits it at the multiplier 0. This applies to single
+ *     targets, collections and hierarchies alike.
+ * </p>
+ * <p>
+ *     The collection based operations inherited from {@link CollisionEngine} still scan their targets linearly,
+ *     since building a hierarchy for a single query is more expensive than the scan itself. Repeated queries against
+ *     the same set of targets should build a {@link BoundingVolumeHierarchy} once and use
+ *     {@link #test(Object, BoundingVolumeHierarchy)} and {@link #rayCast(Ray3, BoundingVolumeHierarchy)} instead.
+ * </p>
+ */
+public class BVHCollisionEngine implements CollisionEngine {
+
+    @Override
+    public <C, T> CollisionResult test(C collider, T target) {
+        if (collider instanceof AxisAlignedBB) {
+            AxisAlignedBB box = (AxisAlignedBB) collider;
+            if (target instanceof AxisAlignedBB) return result(Collisions.test(box, (AxisAlignedBB) target));
+            if (target instanceof OrientedBB) return result(Collisions.test(box, (OrientedBB) target));
+            if (target instanceof Sphere) return result(Collisions.test(box, (Sphere) target));
+            if (target instanceof Vector3) return result(Collisions.test(box, (Vector3) target));
+            return CollisionResult.UNKNOWN_TARGET;
+        }
+        else if (collider instanceof OrientedBB) {
+            OrientedBB box = (OrientedBB) collider;
+            if (target instanceof AxisAlignedBB) return result(Collisions.test((AxisAlignedBB) target, box));
+            if (target instanceof OrientedBB) return result(Collisions.test(box, (OrientedBB) target));
+            if (target instanceof Sphere) return result(Collisions.test(box, (Sphere) target));
+            return CollisionResult.UNKNOWN_TARGET;
+        }
+        else if (collider instanceof Sphere) {
+            Sphere sphere = (Sphere) collider;
+            if (target instanceof AxisAlignedBB) return result(Collisions.test((AxisAlignedBB) target, sphere));
+            if (target instanceof OrientedBB) return result(Collisions.test((OrientedBB) target, sphere));
+            if (target instanceof Sphere) return result(Collisions.test(sphere, (Sphere) target));
+            return CollisionResult.UNKNOWN_TARGET;
+        }
+        else if (collider instanceof Vector3) {
+            Vector3 point = (Vector3) collider;
+            if (target instanceof AxisAlignedBB) return result(Collisions.test((AxisAlignedBB) target, point));
+            if (target instanceof Space) return result(((Space) target).contains(point));
+            return CollisionResult.UNKNOWN_TARGET;
+        }
+        else return CollisionResult.UNKNOWN_COLLIDER;
+    }
+
+    @Override
+    public <T> RayCollision<T> rayCast(Ray3 ray, T target) {
+        return rayCast(ray, target, new double[2]);
+    }
+
+    /**
+     * Casts a ray against a single target, using a buffer for the entry and exit of the ray.
+     *
+     * @param ray the ray
+     * @param target the target
+     * @param range the buffer of length 2 or greater
+     * @param <T> the target type
+     * @return the collision
+     */
+    private static <T> RayCollision<T> rayCast(Ray3 ray, T target, double[] range) {
+        boolean hit;
+        if (target instanceof AxisAlignedBB) hit = Rays.pierce(ray, (AxisAlignedBB) target, range);
+        else if (target instanceof OrientedBB) hit = Rays.pierce(ray, (OrientedBB) target, range);
+        else if (target instanceof Sphere) hit = Rays.pierce(ray, (Sphere) target, range);
+        else if (target instanceof Tetrahedron) hit = Rays.pierce(ray, (Tetrahedron) target, range);
+        else if (target instanceof Triangle3) {
+            range[0] = range[1] = Rays.cast(ray, (Triangle3) target);
+            hit = range[0] == range[0];
+        }
+        else return new RayCollision<>(CollisionResult.UNKNOWN_TARGET, ray, target, Float.NaN);
+
+        //the order of entry and exit is not consistent among all pierce methods
+        final double exit = Math.max(range[0], range[1]);
+        //also rejects NaN
+        if (!hit || !(exit >= 0))
+            return new RayCollision<>(CollisionResult.NEGATIVE, ray, target, Float.NaN);
+
+        final double entry = Math.min(range[0], range[1]);
+        return new RayCollision<>(CollisionResult.POSITIVE, ray, target, (float) Math.max(entry, 0));
+    }
+
+    /**
+     * <p>
+     *     Tests whether a collider collides with any target of a hierarchy.
+     * </p>
+     * <p>
+     *     Only targets whose boundaries overlap the boundaries of the collider are tested, the first positive
+     *     collision is returned.
+     * </p>
+     *
+     * @param collider the collider
+     * @param targets the targets
+     * @param <C> the collider type
+     * @param <T> the target type
+     * @return the collision
+     */
+    @NotNull
+    public <C, T> Collision test(C collider, BoundingVolumeHierarchy<T> targets) {
+        AxisAlignedBB box = BoundingVolumeHierarchy.boundariesOf(collider);
+        if (box == null)
+            return new Collision<>(CollisionResult.UNKNOWN_COLLIDER, collider, targets.getTargets());
+        if (targets.isEmpty())
+            return new Collision<>(CollisionResult.NEGATIVE, collider, targets.getTargets());
+
+        final double
+            minX = box.getMinX(), minY = box.getMinY(), minZ = box.getMinZ(),
+            maxX = box.getMaxX(), maxY = box.getMaxY(), maxZ = box.getMaxZ();
+
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = 0;
+
+        while (top > 0) {
+            final int node = stack[--top];
+            if (!targets.overlaps(node, minX, minY, minZ, maxX, maxY, maxZ))
+                continue;
+
+            if (targets.isLeaf(node)) {
+                for (int i = targets.getFirst(node), lim = i + targets.getCount(node); i < lim; i++) {
+                    T target = targets.getTarget(i);
+                    CollisionResult result = test(collider, target);
+                    switch (result) {
+                        case NEGATIVE: continue;
+                        case UNKNOWN_TARGET: continue;
+                        case POSITIVE: return new Collision<>(result, collider, target);
+                        case UNKNOWN_COLLIDER: return new Collision<>(result, collider, target);
+                        default: throw new IllegalStateException("collision has no result");
+                    }
+                }
+            }
+            else {
+                if (top + 2 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+                stack[top++] = targets.getRight(node);
+                stack[top++] = targets.getLeft(node);
+            }
+        }
+
+        return new Collision<>(CollisionResult.NEGATIVE, collider, targets.getTargets());
+    }
+
+    /**
+     * <p>
+     *     Casts a ray against the targets of a hierarchy and returns the closest collision in front of the ray origin.
+     * </p>
+     * <p>
+     *     The hierarchy is traversed front-to-back: of two child nodes, the one the ray enters first is visited first
+     *     and any node which the ray enters behind the closest collision found so far is skipped entirely.
+     *     Collisions are reported in the same way as by {@link #rayCast(Ray3, Object)}, so targets behind the ray
+     *     origin are ignored and targets containing the origin are hit at the multiplier 0.
+     * </p>
+     *
+     * @param ray the ray
+     * @param targets the targets
+     * @param <T> the target type
+     * @return the closest collision
+     */
+    @NotNull
+    public <T> RayCollision<T> rayCast(Ray3 ray, BoundingVolumeHierarchy<T> targets) {
+        if (targets.isEmpty())
+            return new RayCollision<>(CollisionResult.NEGATIVE, ray, null, Float.NaN);
+
+        final double
+            ox = ray.getOrgX(), oy = ray.getOrgY(), oz = ray.getOrgZ(),
+            invX = 1 / ray.getDirX(), invY = 1 / ray.getDirY(), invZ = 1 / ray.getDirZ();
+
+        double closestPoint = Double.POSITIVE_INFINITY;
+        RayCollision<T> closest = null;
+        final double[] range = new double[2];
+
+        int[] stack = new int[64];
+        double[] entries = new double[64];
+        int top = 0;
+
+        double rootEntry = targets.entry(0, ox, oy, oz, invX, invY, invZ, closestPoint);
+        if (rootEntry != rootEntry) //NaN
+            return new RayCollision<>(CollisionResult.NEGATIVE, ray, null, Float.NaN);
+        stack[top] = 0;
+        entries[top++] = rootEntry;
+
+        while (top > 0) {
+            final int node = stack[--top];
+            //closest collision has been updated since this node was pushed
+            if (entries[top] > closestPoint)
+                continue;
+
+            if (targets.isLeaf(node)) {
+                for (int i = targets.getFirst(node), lim = i + targets.getCount(node); i < lim; i++) {
+                    RayCollision<T> collision = rayCast(ray, targets.getTarget(i), range);
+                    switch (collision.getResult()) {
+                        case NEGATIVE: continue;
+                        case UNKNOWN_TARGET: continue;
+                        case UNKNOWN_COLLIDER: return collision;
+                        case POSITIVE:
+                            float point = collision.getPoint();
+                            if (point < closestPoint) {
+                                closestPoint = point;
+                                closest = collision;
+                            }
+                            break;
+                        default: throw new IllegalStateException("collision has no result");
+                    }
+                }
+                continue;
+            }
+
+            final int left = targets.getLeft(node), right = targets.getRight(node);
+            final double
+                tl = targets.entry(left, ox, oy, oz, invX, invY, invZ, closestPoint),
+                tr = targets.entry(right, ox, oy, oz, invX, invY, invZ, closestPoint);
+            final boolean hitL = tl == tl, hitR = tr == tr;
+
+            if (top + 2 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+                entries = Arrays.copyOf(entries, entries.length * 2);
+            }
+            //push the farther node first so that the nearer one is popped first
+            if (hitL && hitR) {
+                if (tl <= tr) {
+                    stack[top] = right; entries[top++] = tr;
+                    stack[top] = left; entries[top++] = tl;
+                } else {
+                    stack[top] = left; entries[top++] = tl;
+                    stack[top] = right; entries[top++] = tr;
+                }
+            }
+            else if (hitL) {
+                stack[top] = left; entries[top++] = tl;
+            }
+            else if (hitR) {
+                stack[top] = right; entries[top++] = tr;
+            }
+        }
+
+        return closest==null? new RayCollision<>(CollisionResult.NEGATIVE, ray, null, Float.NaN) : closest;
+    }
+
+    private static CollisionResult result(boolean collision) {
+        return collision? CollisionResult.POSITIVE : CollisionResult.NEGATIVE;
+    }
+
+}
@@ -0,0 +1,344 @@
+package net.grian.spatium.coll;
+
+import net.grian.spatium.geo3.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * <p>
+ *     A static bounding volume hierarchy over a set of targets, stored as a flattened binary tree of
+ *     {@link AxisAlignedBB}s.
+ * </p>
+ * <p>
+ *     The hierarchy is built once by recursively splitting the targets at the median of their centers along the
+ *     longest axis. It does not track changes of its targets, so it has to be rebuilt whenever they move.
+ * </p>
+ *
+ * @param <T> the target type
+ * @see BVHCollisionEngine
+ */
+public final class BoundingVolumeHierarchy<T> {
+
+    /** The maximum amount of targets stored in a single leaf. */
+    static final int LEAF_SIZE = 4;
+
+    /**
+     * Returns the boundaries of an object which is known to have boundaries. This includes any
+     * {@link AxisAlignedBB}, {@link OrientedBB}, {@link Sphere}, {@link Polygon3}, {@link Tetrahedron}, {@link Ray3}
+     * and point ({@link Vector3}).
+     *
+     * @param object the object
+     * @return the boundaries of the object or null if they are unknown
+     */
+    @Nullable
+    public static AxisAlignedBB boundariesOf(Object object) {
+        if (object instanceof AxisAlignedBB) return (AxisAlignedBB) object;
+        if (object instanceof OrientedBB) return ((OrientedBB) object).getBoundaries();
+        if (object instanceof Sphere) return ((Sphere) object).getBoundaries();
+        if (object instanceof Polygon3) return ((Polygon3) object).getBoundaries();
+        if (object instanceof Tetrahedron) return boundariesOf((Tetrahedron) object);
+        if (object instanceof Ray3) return ((Ray3) object).getBoundaries();
+        if (object instanceof Vector3) return AxisAlignedBB.between((Vector3) object, (Vector3) object);
+        return null;
+    }
+
+    private static AxisAlignedBB boundariesOf(Tetrahedron tetra) {
+        double
+            minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY, minZ = Double.POSITIVE_INFINITY,
+            maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY, maxZ = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < 4; i++) {
+            Vector3 vertex = tetra.getVertex(i);
+            minX = Math.min(minX, vertex.getX()); maxX = Math.max(maxX, vertex.getX());
+            minY = Math.min(minY, vertex.getY()); maxY = Math.max(maxY, vertex.getY());
+            minZ = Math.min(minZ, vertex.getZ()); maxZ = Math.max(maxZ, vertex.getZ());
+        }
+        return AxisAlignedBB.fromPoints(minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    /**
+     * Builds a new hierarchy over a collection of targets using {@link #boundariesOf(Object)} as the boundaries of
+     * every target.
+     *
+     * @param targets the targets
+     * @param <T> the target type
+     * @return a new hierarchy
+     * @throws IllegalArgumentException if the boundaries of any target are unknown
+     */
+    @NotNull
+    public static <T> BoundingVolumeHierarchy<T> of(Collection<T> targets) {
+        return new BoundingVolumeHierarchy<>(targets, BoundingVolumeHierarchy::boundariesOf);
+    }
+
+    private final Object[] targets;
+    private final List<T> targetList;
+
+    /** six doubles per node: minX, minY, minZ, maxX, maxY, maxZ */
+    private double[] bounds;
+    /** two ints per node: (first target, count) for leaves, (right child, 0) for branches */
+    private int[] nodes;
+    private int nodeCount;
+
+    /**
+     * Builds a new hierarchy over a collection of targets.
+     *
+     * @param targets the targets
+     * @param boundaries a function returning the boundaries of a target or null if they are unknown
+     * @throws IllegalArgumentException if the boundaries of any target are unknown
+     */
+    public BoundingVolumeHierarchy(Collection<T> targets, Function<? super T, AxisAlignedBB> boundaries) {
+        final int n = targets.size();
+        final double[] boxes = new double[n * 6];
+        final double[] centers = new double[n * 3];
+        final Object[] unsorted = targets.toArray();
+
+        for (int i = 0; i < n; i++) {
+            @SuppressWarnings("unchecked")
+            AxisAlignedBB box = boundaries.apply((T) unsorted[i]);
+            if (box == null)
+                throw new IllegalArgumentException("target has unknown boundaries: " + unsorted[i]);
+            boxes[i*6  ] = box.getMinX();
+            boxes[i*6+1] = box.getMinY();
+            boxes[i*6+2] = box.getMinZ();
+            boxes[i*6+3] = box.getMaxX();
+            boxes[i*6+4] = box.getMaxY();
+            boxes[i*6+5] = box.getMaxZ();
+            centers[i*3  ] = (box.getMinX() + box.getMaxX()) * 0.5;
+            centers[i*3+1] = (box.getMinY() + box.getMaxY()) * 0.5;
+            centers[i*3+2] = (box.getMinZ() + box.getMaxZ()) * 0.5;
+        }
+
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++)
+            order[i] = i;
+
+        int capacity = Math.max(1, 2 * ((n + LEAF_SIZE - 1) / LEAF_SIZE));
+        this.bounds = new double[capacity * 6];
+        this.nodes = new int[capacity * 2];
+
+        if (n > 0)
+            build(order, boxes, centers, 0, n);
+        else
+            emptyRoot();
+
+        this.targets = new Object[n];
+        for (int i = 0; i < n; i++)
+            this.targets[i] = unsorted[order[i]];
+        @SuppressWarnings("unchecked")
+        List<T> list = (List<T>) Collections.unmodifiableList(Arrays.asList(this.targets));
+        this.targetList = list;
+    }
+
+    // GETTERS
+
+    /**
+     * Returns an unmodifiable view of all targets in this hierarchy.
+     *
+     * @return all targets
+     */
+    public List<T> getTargets() {
+        return targetList;
+    }
+
+    /**
+     * Returns the amount of targets in this hierarchy.
+     *
+     * @return the amount of targets
+     */
+    public int size() {
+        return targets.length;
+    }
+
+    /**
+     * Returns whether this hierarchy contains no targets.
+     *
+     * @return whether this hierarchy is empty
+     */
+    public boolean isEmpty() {
+        return targets.length == 0;
+    }
+
+    /**
+     * Returns the amount of nodes in this hierarchy.
+     *
+     * @return the amount of nodes
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Returns the boundaries of all targets in this hierarchy in a new bounding box or null if it is empty.
+     *
+     * @return the boundaries of this hierarchy
+     */
+    @Nullable
+    public AxisAlignedBB getBoundaries() {
+        return isEmpty()? null : AxisAlignedBB.fromPoints(
+            bounds[0], bounds[1], bounds[2],
+            bounds[3], bounds[4], bounds[5]);
+    }
+
+    // NODE ACCESS (package-private, used by traversals)
+
+    @SuppressWarnings("unchecked")
+    T getTarget(int index) {
+        return (T) targets[index];
+    }
+
+    boolean isLeaf(int node) {
+        return nodes[node*2+1] != 0;
+    }
+
+    int getFirst(int node) {
+        return nodes[node*2];
+    }
+
+    int getCount(int node) {
+        return nodes[node*2+1];
+    }
+
+    int getLeft(int node) {
+        return node + 1;
+    }
+
+    int getRight(int node) {
+        return nodes[node*2];
+    }
+
+    /**
+     * Returns whether a node overlaps the box defined by the given min and max coordinates.
+     */
+    boolean overlaps(int node, double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        final int i = node * 6;
+        return
+            bounds[i  ] <= maxX && bounds[i+3] >= minX &&
+            bounds[i+1] <= maxY && bounds[i+4] >= minY &&
+            bounds[i+2] <= maxZ && bounds[i+5] >= minZ;
+    }
+
+    /**
+     * Returns the ray multiplier at which a ray enters a node or {@link Double#NaN} if it misses the node or the
+     * node lies entirely outside the interval <code>[0, limit]</code>.
+     */
+    double entry(int node, double ox, double oy, double oz, double invX, double invY, double invZ, double limit) {
+        final int i = node * 6;
+        double tmin = 0, tmax = limit, t0, t1;
+
+        t0 = (bounds[i  ] - ox) * invX;
+        t1 = (bounds[i+3] - ox) * invX;
+        if (t0 > t1) {double tmp = t0; t0 = t1; t1 = tmp;}
+        if (t0 > tmin) tmin = t0;
+        if (t1 < tmax) tmax = t1;
+
+        t0 = (bounds[i+1] - oy) * invY;
+        t1 = (bounds[i+4] - oy) * invY;
+        if (t0 > t1) {double tmp = t0; t0 = t1; t1 = tmp;}
+        if (t0 > tmin) tmin = t0;
+        if (t1 < tmax) tmax = t1;
+
+        t0 = (bounds[i+2] - oz) * invZ;
+        t1 = (bounds[i+5] - oz) * invZ;
+        if (t0 > t1) {double tmp = t0; t0 = t1; t1 = tmp;}
+        if (t0 > tmin) tmin = t0;
+        if (t1 < tmax) tmax = t1;
+
+        return tmin <= tmax? tmin : Double.NaN;
+    }
+
+    // BUILDING
+
+    private void emptyRoot() {
+        nodeCount = 1;
+        bounds[0] = bounds[1] = bounds[2] = Double.POSITIVE_INFINITY;
+        bounds[3] = bounds[4] = bounds[5] = Double.NEGATIVE_INFINITY;
+        nodes[0] = 0;
+        nodes[1] = 0;
+    }
+
+    private int build(int[] order, double[] boxes, double[] centers, int from, int to) {
+        final int node = nodeCount++;
+        ensureCapacity(nodeCount);
+
+        double
+            minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY, minZ = Double.POSITIVE_INFINITY,
+            maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY, maxZ = Double.NEGATIVE_INFINITY,
+            cMinX = Double.POSITIVE_INFINITY, cMinY = Double.POSITIVE_INFINITY, cMinZ = Double.POSITIVE_INFINITY,
+            cMaxX = Double.NEGATIVE_INFINITY, cMaxY = Double.NEGATIVE_INFINITY, cMaxZ = Double.NEGATIVE_INFINITY;
+
+        for (int i = from; i < to; i++) {
+            final int b = order[i] * 6, c = order[i] * 3;
+            minX = Math.min(minX, boxes[b  ]);
+            minY = Math.min(minY, boxes[b+1]);
+            minZ = Math.min(minZ, boxes[b+2]);
+            maxX = Math.max(maxX, boxes[b+3]);
+            maxY = Math.max(maxY, boxes[b+4]);
+            maxZ = Math.max(maxZ, boxes[b+5]);
+            cMinX = Math.min(cMinX, centers[c  ]);
+            cMinY = Math.min(cMinY, centers[c+1]);
+            cMinZ = Math.min(cMinZ, centers[c+2]);
+            cMaxX = Math.max(cMaxX, centers[c  ]);
+            cMaxY = Math.max(cMaxY, centers[c+1]);
+            cMaxZ = Math.max(cMaxZ, centers[c+2]);
+        }
+
+        final int i = node * 6;
+        bounds[i  ] = minX;
+        bounds[i+1] = minY;
+        bounds[i+2] = minZ;
+        bounds[i+3] = maxX;
+        bounds[i+4] = maxY;
+        bounds[i+5] = maxZ;
+
+        if (to - from <= LEAF_SIZE) {
+            nodes[node*2] = from;
+            nodes[node*2+1] = to - from;
+            return node;
+        }
+
+        //split along the axis in which the centers are spread the most
+        final double dx = cMaxX - cMinX, dy = cMaxY - cMinY, dz = cMaxZ - cMinZ;
+        final int axis = dx >= dy && dx >= dz? 0 : dy >= dz? 1 : 2;
+        final int mid = (from + to) >>> 1;
+        select(order, centers, axis, from, to - 1, mid);
+
+        build(order, boxes, centers, from, mid);
+        int right = build(order, boxes, centers, mid, to);
+        nodes[node*2] = right;
+        nodes[node*2+1] = 0;
+        return node;
+    }
+
+    private void ensureCapacity(int count) {
+        if (count * 2 > nodes.length) {
+            nodes = Arrays.copyOf(nodes, count * 4);
+            bounds = Arrays.copyOf(bounds, count * 12);
+        }
+    }
+
+    /**
+     * Partially sorts the indices so that the k-th element is in its sorted position regarding the center coordinate
+     * on the given axis (quickselect).
+     */
+    private static void select(int[] order, double[] centers, int axis, int lo, int hi, int k) {
+        while (hi > lo) {
+            final double pivot = centers[order[(lo + hi) >>> 1] * 3 + axis];
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (centers[order[i] * 3 + axis] < pivot) i++;
+                while (centers[order[j] * 3 + axis] > pivot) j--;
+                if (i <= j) {
+                    int tmp = order[i];
+                    order[i++] = order[j];
+                    order[j--] = tmp;
+                }
+            }
+            if (k <= j) hi = j;
+            else if (k >= i) lo = i;
+            else return;
+        }
+    }
+
+}
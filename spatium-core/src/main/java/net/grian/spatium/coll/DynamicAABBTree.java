@@ -0,0 +1,577 @@
+package net.grian.spatium.coll;
+
+import net.grian.spatium.geo3.AxisAlignedBB;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ *     A dynamic bounding volume hierarchy of {@link AxisAlignedBB}s which supports inserting, removing and moving
+ *     objects without rebuilding the tree.
+ * </p>
+ * <p>
+ *     Every object is stored as a leaf whose boundaries are the boundaries of the object expanded by a fat margin.
+ *     As long as an object moves within its fat boundaries, moving it does not modify the tree at all. Otherwise the
+ *     leaf is reinserted and all of its ancestors are refitted bottom-up and rebalanced using tree rotations.
+ * </p>
+ * <p>
+ *     Objects are identified by the proxy id returned by {@link #insert(Object, AxisAlignedBB)}. Proxy ids stay the
+ *     same until the object is removed, after which the id may be reused.
+ * </p>
+ * <p>
+ *     This class is not thread-safe.
+ * </p>
+ *
+ * @param <T> the type of the stored objects
+ */
+public class DynamicAABBTree<T> {
+
+    /** The proxy id representing no node. */
+    public static final int NULL = -1;
+
+    /** The default fat margin. */
+    public static final double DEFAULT_MARGIN = 0.1;
+
+    private final double margin;
+
+    //node pool
+    private AxisAlignedBB[] bounds;
+    private AxisAlignedBB[] tight;
+    private Object[] data;
+    private int[] parent, left, right, height;
+    private int capacity, freeList, root = NULL, proxyCount;
+
+    /**
+     * Constructs a new, empty tree using the given fat margin.
+     *
+     * @param margin the distance by which the boundaries of every object are expanded in each direction
+     */
+    public DynamicAABBTree(double margin) {
+        if (margin < 0)
+            throw new IllegalArgumentException("margin must be positive");
+        this.margin = margin;
+        allocate(16);
+    }
+
+    /**
+     * Constructs a new, empty tree using the {@link #DEFAULT_MARGIN}.
+     */
+    public DynamicAABBTree() {
+        this(DEFAULT_MARGIN);
+    }
+
+    // GETTERS
+
+    /**
+     * Returns the fat margin of this tree.
+     *
+     * @return the fat margin
+     */
+    public double getMargin() {
+        return margin;
+    }
+
+    /**
+     * Returns the amount of objects in this tree.
+     *
+     * @return the amount of objects
+     */
+    public int size() {
+        return proxyCount;
+    }
+
+    /**
+     * Returns whether this tree contains no objects.
+     *
+     * @return whether this tree is empty
+     */
+    public boolean isEmpty() {
+        return proxyCount == 0;
+    }
+
+    /**
+     * Returns the height of this tree. An empty tree has the height <code>-1</code>, a tree consisting only of one
+     * leaf has the height <code>0</code>.
+     *
+     * @return the height of this tree
+     */
+    public int getHeight() {
+        return root == NULL? -1 : height[root];
+    }
+
+    /**
+     * Returns the object of a proxy.
+     *
+     * @param proxy the proxy id
+     * @return the object
+     */
+    @SuppressWarnings("unchecked")
+    public T getObject(int proxy) {
+        checkProxy(proxy);
+        return (T) data[proxy];
+    }
+
+    /**
+     * Returns the fat boundaries of a proxy. The returned box is owned by the tree and must not be mutated.
+     *
+     * @param proxy the proxy id
+     * @return the fat boundaries
+     */
+    public AxisAlignedBB getFatBoundaries(int proxy) {
+        checkProxy(proxy);
+        return bounds[proxy];
+    }
+
+    /**
+     * Returns the actual boundaries of a proxy. The returned box is owned by the tree and must not be mutated.
+     *
+     * @param proxy the proxy id
+     * @return the boundaries
+     */
+    public AxisAlignedBB getBoundaries(int proxy) {
+        checkProxy(proxy);
+        return tight[proxy];
+    }
+
+    // OPERATIONS
+
+    /**
+     * Inserts an object into this tree.
+     *
+     * @param object the object
+     * @param box the boundaries of the object
+     * @return the proxy id of the object
+     */
+    public int insert(T object, AxisAlignedBB box) {
+        final int proxy = allocateNode();
+        set(tight[proxy], box.getMinX(), box.getMinY(), box.getMinZ(), box.getMaxX(), box.getMaxY(), box.getMaxZ());
+        set(bounds[proxy],
+            box.getMinX() - margin, box.getMinY() - margin, box.getMinZ() - margin,
+            box.getMaxX() + margin, box.getMaxY() + margin, box.getMaxZ() + margin);
+        data[proxy] = object;
+        height[proxy] = 0;
+
+        insertLeaf(proxy);
+        proxyCount++;
+        return proxy;
+    }
+
+    /**
+     * Removes an object from this tree.
+     *
+     * @param proxy the proxy id of the object
+     * @return the removed object
+     */
+    @SuppressWarnings("unchecked")
+    public T remove(int proxy) {
+        checkProxy(proxy);
+        T object = (T) data[proxy];
+        removeLeaf(proxy);
+        freeNode(proxy);
+        proxyCount--;
+        return object;
+    }
+
+    /**
+     * Moves an object to new boundaries.
+     *
+     * @param proxy the proxy id of the object
+     * @param box the new boundaries of the object
+     * @return true if the object left its fat boundaries and had to be reinserted
+     * @see #move(int, AxisAlignedBB, double, double, double)
+     */
+    public boolean move(int proxy, AxisAlignedBB box) {
+        return move(proxy, box, 0, 0, 0);
+    }
+
+    /**
+     * <p>
+     *     Moves an object to new boundaries.
+     * </p>
+     * <p>
+     *     Should the new boundaries lie outside the fat boundaries of the object, the leaf is reinserted. In this case
+     *     the fat boundaries are additionally extended by the given displacement, which predicts the motion of the
+     *     object in the next step and makes another reinsertion less likely.
+     * </p>
+     *
+     * @param proxy the proxy id of the object
+     * @param box the new boundaries of the object
+     * @param dx the predicted x-displacement
+     * @param dy the predicted y-displacement
+     * @param dz the predicted z-displacement
+     * @return true if the object left its fat boundaries and had to be reinserted
+     */
+    public boolean move(int proxy, AxisAlignedBB box, double dx, double dy, double dz) {
+        checkProxy(proxy);
+        final double
+            minX = box.getMinX(), minY = box.getMinY(), minZ = box.getMinZ(),
+            maxX = box.getMaxX(), maxY = box.getMaxY(), maxZ = box.getMaxZ();
+        set(tight[proxy], minX, minY, minZ, maxX, maxY, maxZ);
+
+        AxisAlignedBB fat = bounds[proxy];
+        if (fat.getMinX() <= minX && fat.getMinY() <= minY && fat.getMinZ() <= minZ &&
+            fat.getMaxX() >= maxX && fat.getMaxY() >= maxY && fat.getMaxZ() >= maxZ)
+            return false;
+
+        removeLeaf(proxy);
+        set(fat,
+            minX - margin + Math.min(dx, 0), minY - margin + Math.min(dy, 0), minZ - margin + Math.min(dz, 0),
+            maxX + margin + Math.max(dx, 0), maxY + margin + Math.max(dy, 0), maxZ + margin + Math.max(dz, 0));
+        insertLeaf(proxy);
+        return true;
+    }
+
+    /**
+     * Invokes a callback for every object whose fat boundaries overlap the given box. Iteration stops once the
+     * callback returns false.
+     *
+     * @param box the box
+     * @param callback the callback
+     * @return false if the iteration was stopped by the callback, else true
+     */
+    @SuppressWarnings("unchecked")
+    public boolean query(AxisAlignedBB box, Predicate<? super T> callback) {
+        if (root == NULL) return true;
+        final double
+            minX = box.getMinX(), minY = box.getMinY(), minZ = box.getMinZ(),
+            maxX = box.getMaxX(), maxY = box.getMaxY(), maxZ = box.getMaxZ();
+
+        int[] stack = new int[Math.max(16, height[root] + 2)];
+        int top = 0;
+        stack[top++] = root;
+
+        while (top > 0) {
+            final int node = stack[--top];
+            if (!overlaps(bounds[node], minX, minY, minZ, maxX, maxY, maxZ))
+                continue;
+            if (isLeaf(node)) {
+                if (!callback.test((T) data[node]))
+                    return false;
+            }
+            else {
+                if (top + 2 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+                stack[top++] = left[node];
+                stack[top++] = right[node];
+            }
+        }
+        return true;
+    }
+
+    /**
+     * <p>
+     *     Invokes a callback for every pair of objects whose actual boundaries overlap, each pair being reported
+     *     exactly once.
+     * </p>
+     * <p>
+     *     The fat boundaries are only used to find candidate pairs, which are then confirmed using
+     *     {@link Collisions#test(AxisAlignedBB, AxisAlignedBB)}. No objects are allocated per pair.
+     * </p>
+     *
+     * @param callback the callback
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachPair(BiConsumer<? super T, ? super T> callback) {
+        if (root == NULL) return;
+        int[] stack = new int[Math.max(16, height[root] + 2)];
+
+        for (int proxy = 0; proxy < capacity; proxy++) {
+            if (!isAllocatedLeaf(proxy)) continue;
+
+            final AxisAlignedBB a = tight[proxy];
+            final double
+                minX = a.getMinX(), minY = a.getMinY(), minZ = a.getMinZ(),
+                maxX = a.getMaxX(), maxY = a.getMaxY(), maxZ = a.getMaxZ();
+
+            int top = 0;
+            stack[top++] = root;
+            while (top > 0) {
+                final int node = stack[--top];
+                if (!overlaps(bounds[node], minX, minY, minZ, maxX, maxY, maxZ))
+                    continue;
+                if (isLeaf(node)) {
+                    //only report every pair once
+                    if (node > proxy && Collisions.test(a, tight[node]))
+                        callback.accept((T) data[proxy], (T) data[node]);
+                }
+                else {
+                    if (top + 2 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+                    stack[top++] = left[node];
+                    stack[top++] = right[node];
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all objects from this tree.
+     */
+    public void clear() {
+        Arrays.fill(data, null);
+        root = NULL;
+        proxyCount = 0;
+        for (int i = 0; i < capacity; i++) {
+            parent[i] = i + 1 < capacity? i + 1 : NULL;
+            height[i] = -1;
+        }
+        freeList = 0;
+    }
+
+    // TREE OPERATIONS
+
+    private void insertLeaf(int leaf) {
+        if (root == NULL) {
+            root = leaf;
+            parent[root] = NULL;
+            return;
+        }
+
+        //find the best sibling using the surface area heuristic
+        final AxisAlignedBB leafBox = bounds[leaf];
+        int index = root;
+        while (!isLeaf(index)) {
+            final int child1 = left[index], child2 = right[index];
+            final double area = bounds[index].getSurfaceArea();
+            final double combinedArea = unionArea(bounds[index], leafBox);
+
+            //cost of creating a new parent for this node and the new leaf
+            final double cost = 2 * combinedArea;
+            //minimum cost of pushing the leaf further down the tree
+            final double inheritanceCost = 2 * (combinedArea - area);
+
+            final double cost1 = descendCost(child1, leafBox, inheritanceCost);
+            final double cost2 = descendCost(child2, leafBox, inheritanceCost);
+
+            if (cost < cost1 && cost < cost2) break;
+            index = cost1 < cost2? child1 : child2;
+        }
+        final int sibling = index;
+
+        //create a new parent
+        final int oldParent = parent[sibling];
+        final int newParent = allocateNode();
+        parent[newParent] = oldParent;
+        data[newParent] = null;
+        union(bounds[newParent], leafBox, bounds[sibling]);
+        height[newParent] = height[sibling] + 1;
+
+        if (oldParent != NULL) {
+            if (left[oldParent] == sibling) left[oldParent] = newParent;
+            else right[oldParent] = newParent;
+        } else {
+            root = newParent;
+        }
+        left[newParent] = sibling;
+        right[newParent] = leaf;
+        parent[sibling] = newParent;
+        parent[leaf] = newParent;
+
+        refit(parent[leaf]);
+    }
+
+    private double descendCost(int child, AxisAlignedBB leafBox, double inheritanceCost) {
+        final double combined = unionArea(bounds[child], leafBox);
+        return isLeaf(child)?
+            combined + inheritanceCost :
+            combined - bounds[child].getSurfaceArea() + inheritanceCost;
+    }
+
+    private void removeLeaf(int leaf) {
+        if (leaf == root) {
+            root = NULL;
+            return;
+        }
+
+        final int par = parent[leaf];
+        final int grandParent = parent[par];
+        final int sibling = left[par] == leaf? right[par] : left[par];
+
+        if (grandParent != NULL) {
+            //destroy the parent and connect the sibling to the grand parent
+            if (left[grandParent] == par) left[grandParent] = sibling;
+            else right[grandParent] = sibling;
+            parent[sibling] = grandParent;
+            freeNode(par);
+            refit(grandParent);
+        } else {
+            root = sibling;
+            parent[sibling] = NULL;
+            freeNode(par);
+        }
+    }
+
+    /**
+     * Walks up the tree starting at the given node, rebalancing it and recomputing the boundaries and heights of
+     * every ancestor.
+     */
+    private void refit(int index) {
+        while (index != NULL) {
+            index = balance(index);
+
+            final int child1 = left[index], child2 = right[index];
+            height[index] = 1 + Math.max(height[child1], height[child2]);
+            union(bounds[index], bounds[child1], bounds[child2]);
+
+            index = parent[index];
+        }
+    }
+
+    /**
+     * Performs a left or right rotation if the node is imbalanced and returns the new root of the subtree.
+     */
+    private int balance(int a) {
+        if (isLeaf(a) || height[a] < 2)
+            return a;
+
+        final int b = left[a], c = right[a];
+        final int diff = height[c] - height[b];
+
+        if (diff > 1) return rotate(a, b, c);
+        if (diff < -1) return rotate(a, c, b);
+        return a;
+    }
+
+    /**
+     * Rotates the higher child <code>up</code> of <code>a</code> upwards, <code>other</code> being the lower child.
+     */
+    private int rotate(int a, int other, int up) {
+        final int f = left[up], g = right[up];
+
+        //swap a and up
+        left[up] = a;
+        parent[up] = parent[a];
+        parent[a] = up;
+
+        if (parent[up] != NULL) {
+            if (left[parent[up]] == a) left[parent[up]] = up;
+            else right[parent[up]] = up;
+        } else {
+            root = up;
+        }
+
+        //keep the higher grand child below up, move the lower one below a
+        final int keep, move;
+        if (height[f] > height[g]) {
+            keep = f;
+            move = g;
+        } else {
+            keep = g;
+            move = f;
+        }
+        right[up] = keep;
+        if (left[a] == up) left[a] = move;
+        else right[a] = move;
+        parent[move] = a;
+
+        union(bounds[a], bounds[other], bounds[move]);
+        union(bounds[up], bounds[a], bounds[keep]);
+        height[a] = 1 + Math.max(height[other], height[move]);
+        height[up] = 1 + Math.max(height[a], height[keep]);
+
+        return up;
+    }
+
+    // NODE POOL
+
+    private void allocate(int newCapacity) {
+        if (bounds == null) {
+            bounds = new AxisAlignedBB[newCapacity];
+            tight = new AxisAlignedBB[newCapacity];
+            data = new Object[newCapacity];
+            parent = new int[newCapacity];
+            left = new int[newCapacity];
+            right = new int[newCapacity];
+            height = new int[newCapacity];
+        } else {
+            bounds = Arrays.copyOf(bounds, newCapacity);
+            tight = Arrays.copyOf(tight, newCapacity);
+            data = Arrays.copyOf(data, newCapacity);
+            parent = Arrays.copyOf(parent, newCapacity);
+            left = Arrays.copyOf(left, newCapacity);
+            right = Arrays.copyOf(right, newCapacity);
+            height = Arrays.copyOf(height, newCapacity);
+        }
+
+        //link the new nodes into the free list
+        for (int i = capacity; i < newCapacity; i++) {
+            bounds[i] = AxisAlignedBB.fromPoints(0, 0, 0, 0, 0, 0);
+            tight[i] = AxisAlignedBB.fromPoints(0, 0, 0, 0, 0, 0);
+            parent[i] = i + 1 < newCapacity? i + 1 : NULL;
+            height[i] = -1;
+        }
+        freeList = capacity;
+        capacity = newCapacity;
+    }
+
+    private int allocateNode() {
+        if (freeList == NULL)
+            allocate(capacity * 2);
+
+        final int node = freeList;
+        freeList = parent[node];
+        parent[node] = NULL;
+        left[node] = NULL;
+        right[node] = NULL;
+        height[node] = 0;
+        return node;
+    }
+
+    private void freeNode(int node) {
+        data[node] = null;
+        parent[node] = freeList;
+        height[node] = -1;
+        freeList = node;
+    }
+
+    // UTIL
+
+    private boolean isLeaf(int node) {
+        return left[node] == NULL;
+    }
+
+    private boolean isAllocatedLeaf(int node) {
+        //free nodes have a height of -1, branches are at least of height 1
+        return height[node] == 0;
+    }
+
+    private void checkProxy(int proxy) {
+        if (proxy < 0 || proxy >= capacity || !isAllocatedLeaf(proxy))
+            throw new IllegalArgumentException("invalid proxy: " + proxy);
+    }
+
+    private static boolean overlaps(AxisAlignedBB box,
+                                    double minX, double minY, double minZ,
+                                    double maxX, double maxY, double maxZ) {
+        return
+            box.getMinX() <= maxX && box.getMaxX() >= minX &&
+            box.getMinY() <= maxY && box.getMaxY() >= minY &&
+            box.getMinZ() <= maxZ && box.getMaxZ() >= minZ;
+    }
+
+    private static double unionArea(AxisAlignedBB a, AxisAlignedBB b) {
+        final double
+            x = Math.max(a.getMaxX(), b.getMaxX()) - Math.min(a.getMinX(), b.getMinX()),
+            y = Math.max(a.getMaxY(), b.getMaxY()) - Math.min(a.getMinY(), b.getMinY()),
+            z = Math.max(a.getMaxZ(), b.getMaxZ()) - Math.min(a.getMinZ(), b.getMinZ());
+        return (x * y + x * z + y * z) * 2;
+    }
+
+    private static void union(AxisAlignedBB target, AxisAlignedBB a, AxisAlignedBB b) {
+        set(target,
+            Math.min(a.getMinX(), b.getMinX()),
+            Math.min(a.getMinY(), b.getMinY()),
+            Math.min(a.getMinZ(), b.getMinZ()),
+            Math.max(a.getMaxX(), b.getMaxX()),
+            Math.max(a.getMaxY(), b.getMaxY()),
+            Math.max(a.getMaxZ(), b.getMaxZ()));
+    }
+
+    private static void set(AxisAlignedBB target,
+                            double minX, double minY, double minZ,
+                            double maxX, double maxY, double maxZ) {
+        target.setCenter((minX + maxX) * 0.5, (minY + maxY) * 0.5, (minZ + maxZ) * 0.5);
+        target.setDimensions(maxX - minX, maxY - minY, maxZ - minZ);
+    }
+
+}
@@ -0,0 +1,116 @@
+package net.grian.spatium.coll;
+
+import net.grian.spatium.geo3.Ray3;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * <p>
+ *     A packet of coherent rays which are cast at once.
+ * </p>
+ * <p>
+ *     Origins and directions are stored as a structure of arrays, one <code>double[]</code> lane per coordinate.
+ *     Casting a packet using {@link Rays#cast(RayPacket, net.grian.spatium.geo3.AxisAlignedBB, double[])} or
+ *     {@link Rays#cast(RayPacket, net.grian.spatium.geo3.Triangle3, double[])} runs in tight loops over these lanes
+ *     which can be vectorized by the JIT compiler. Packets of 4 or 8 rays match common SIMD widths, but any size is
+ *     supported.
+ * </p>
+ */
+public final class RayPacket {
+
+    /**
+     * Creates a new packet containing the given rays.
+     *
+     * @param rays the rays
+     * @return a new packet
+     */
+    @NotNull
+    public static RayPacket of(Ray3... rays) {
+        RayPacket packet = new RayPacket(rays.length);
+        for (int i = 0; i < rays.length; i++)
+            packet.set(i, rays[i]);
+        return packet;
+    }
+
+    final double[] orgX, orgY, orgZ, dirX, dirY, dirZ;
+    /** reciprocals of the directions, used by slab tests */
+    final double[] invX, invY, invZ;
+    private final int size;
+
+    /**
+     * Constructs a new packet of a given size. All rays have their origin and direction set to zero.
+     *
+     * @param size the amount of rays
+     */
+    public RayPacket(int size) {
+        if (size < 0)
+            throw new IllegalArgumentException("size must be positive");
+        this.size = size;
+        this.orgX = new double[size];
+        this.orgY = new double[size];
+        this.orgZ = new double[size];
+        this.dirX = new double[size];
+        this.dirY = new double[size];
+        this.dirZ = new double[size];
+        this.invX = new double[size];
+        this.invY = new double[size];
+        this.invZ = new double[size];
+    }
+
+    // GETTERS
+
+    /**
+     * Returns the amount of rays in this packet.
+     *
+     * @return the amount of rays
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the ray of a lane in a new ray.
+     *
+     * @param lane the lane
+     * @return the ray
+     */
+    @NotNull
+    public Ray3 get(int lane) {
+        return Ray3.fromOD(orgX[lane], orgY[lane], orgZ[lane], dirX[lane], dirY[lane], dirZ[lane]);
+    }
+
+    // SETTERS
+
+    /**
+     * Sets the ray of a lane.
+     *
+     * @param lane the lane
+     * @param xo the origin x
+     * @param yo the origin y
+     * @param zo the origin z
+     * @param xd the direction x
+     * @param yd the direction y
+     * @param zd the direction z
+     */
+    public void set(int lane, double xo, double yo, double zo, double xd, double yd, double zd) {
+        orgX[lane] = xo;
+        orgY[lane] = yo;
+        orgZ[lane] = zo;
+        dirX[lane] = xd;
+        dirY[lane] = yd;
+        dirZ[lane] = zd;
+        invX[lane] = 1 / xd;
+        invY[lane] = 1 / yd;
+        invZ[lane] = 1 / zd;
+    }
+
+    /**
+     * Sets the ray of a lane.
+     *
+     * @param lane the lane
+     * @param ray the ray
+     */
+    public void set(int lane, Ray3 ray) {
+        set(lane, ray.getOrgX(), ray.getOrgY(), ray.getOrgZ(), ray.getDirX(), ray.getDirY(), ray.getDirZ());
+    }
+
+}
@@ -1,9 +1,13 @@
 package net.grian.spatium.coll;
 
+import eisenwave.spatium.array.AbstractArray3;
+import eisenwave.spatium.array.BooleanArray3;
+import eisenwave.spatium.array.IntArray3;
 import eisenwave.spatium.util.Spatium;
 import eisenwave.spatium.cache.CacheMath;
 import net.grian.spatium.geo2.*;
 import net.grian.spatium.geo3.*;
+import net.grian.spatium.iter.VoxelIterator;
 import org.jetbrains.annotations.*;
 
 /**
@@ -14,6 +18,10 @@ import org.jetbrains.annotations.*;
  *     None of these methods performs any kind of mutation upon the parameters, all returned objects are freshly
  *     constructed objects.
  * </p>
+ * <p>
+ *     The only exception are the <code>pierce</code> methods accepting a <code>double[]</code>, which write the entry
+ *     and exit of the ray into the given array instead of allocating a new one.
+ * </p>
  */
 public final class Rays {
 
@@ -132,8 +140,7 @@ public final class Rays {
      * @return where the ray and the point collide or {@link Double#NaN}
      */
     public static double cast(Ray2 ray, Circle circle) {
-        double[] entryExit = pierce(ray, circle);
-        return entryExit==null? Double.NaN : entryExit[0];
+        return enter(ray, circle, null);
     }
     
     /**
@@ -152,8 +159,7 @@ public final class Rays {
      * @return where the ray and the point collide or {@link Double#NaN}
      */
     public static double cast(Ray3 ray, Sphere sphere) {
-        double[] entryExit = pierce(ray, sphere);
-        return entryExit==null? Double.NaN : entryExit[0];
+        return enter(ray, sphere, null);
     }
 
     /**
@@ -252,8 +258,7 @@ public final class Rays {
      * @return where the ray and the box collide or {@link Double#NaN}
      */
     public static double cast(Ray2 ray, Rectangle box) {
-        double[] entryExit = pierce(ray, box);
-        return entryExit==null? Double.NaN : entryExit[0];
+        return enter(ray, box, null);
     }
     
     /**
@@ -274,8 +279,7 @@ public final class Rays {
      * @return where the ray and the box collide or {@link Double#NaN}
      */
     public static double cast(Ray3 ray, AxisAlignedBB box) {
-        double[] entryExit = pierce(ray, box);
-        return entryExit==null? Double.NaN : entryExit[0];
+        return enter(ray, box, null);
     }
 
     /**
@@ -296,8 +300,7 @@ public final class Rays {
      * @return where the ray and the box collide or {@link Double#NaN}
      */
     public static double cast(Ray3 ray, OrientedBB box) {
-        double[] entryExit = pierce(ray, box);
-        return entryExit==null? Double.NaN : entryExit[0];
+        return enter(ray, box, null);
     }
     
     /**
@@ -367,7 +370,7 @@ public final class Rays {
                 a = triangle.getA(),
                 ab = Vector3.between(a, triangle.getB()),
                 ac = Vector3.between(a, triangle.getC()),
-                normal1 = dir.cross(ab);
+                normal1 = dir.cross(ac);
 
         double det = ab.dot(normal1);
         //ray is parallel to triangle
@@ -375,14 +378,14 @@ public final class Rays {
         double invDet = 1 / det;
 
         Vector3 ao = Vector3.between(a, origin);
-        double u = origin.dot(normal1) * invDet;
+        double u = ao.dot(normal1) * invDet;
         //intersection lies outside the triangle
         if (u < 0 || u > 1) return Double.NaN;
 
         Vector3 normal2 = ao.cross(ab);
         double v = dir.dot(normal2) * invDet;
         //intersection lies outside the triangle
-        if (v < 0 || v > 1) return Double.NaN;
+        if (v < 0 || u + v > 1) return Double.NaN;
 
         double t = ac.dot(normal2) * invDet;
 
@@ -407,8 +410,117 @@ public final class Rays {
      * @return where the ray and the box collide or {@link Double#NaN}
      */
     public static double cast(Ray3 ray, Tetrahedron tetra) {
-        double[] entryExit = pierce(ray, tetra);
-        return entryExit==null? Double.NaN : entryExit[0];
+        return enter(ray, tetra, null);
+    }
+
+    //RAY PACKETS
+    
+    /**
+     * <p>
+     *     Tests where each ray of a {@link RayPacket} collides with an {@link AxisAlignedBB}.
+     * </p>
+     * <p>
+     *     The ray multipliers at which the rays enter the box are written into the given array, one per lane.
+     *     Lanes which miss the box are set to {@link Double#NaN}. The slab test is performed for all lanes at once in
+     *     branch-free loops, so that it can be vectorized by the JIT compiler.
+     * </p>
+     *
+     * @param packet the ray packet
+     * @param box the bounding box
+     * @param result the array to write the ray multipliers into, at least as long as the packet
+     * @see #cast(Ray3, AxisAlignedBB)
+     */
+    public static void cast(RayPacket packet, AxisAlignedBB box, double[] result) {
+        final int n = packet.size();
+        if (result.length < n)
+            throw new IllegalArgumentException("result array is shorter than the packet");
+        final double
+            minX = box.getMinX(), minY = box.getMinY(), minZ = box.getMinZ(),
+            maxX = box.getMaxX(), maxY = box.getMaxY(), maxZ = box.getMaxZ();
+        final double[]
+            orgX = packet.orgX, orgY = packet.orgY, orgZ = packet.orgZ,
+            invX = packet.invX, invY = packet.invY, invZ = packet.invZ;
+        
+        for (int i = 0; i < n; i++) {
+            final double
+                x0 = (minX - orgX[i]) * invX[i], x1 = (maxX - orgX[i]) * invX[i],
+                y0 = (minY - orgY[i]) * invY[i], y1 = (maxY - orgY[i]) * invY[i],
+                z0 = (minZ - orgZ[i]) * invZ[i], z1 = (maxZ - orgZ[i]) * invZ[i];
+            
+            final double
+                tmin = Math.max(Math.max(Math.min(x0, x1), Math.min(y0, y1)), Math.min(z0, z1)),
+                tmax = Math.min(Math.min(Math.max(x0, x1), Math.max(y0, y1)), Math.max(z0, z1));
+            
+            result[i] = tmin <= tmax? tmin : Double.NaN;
+        }
+    }
+    
+    /**
+     * <p>
+     *     Tests where each ray of a {@link RayPacket} collides with a {@link Triangle3}.
+     * </p>
+     * <p>
+     *     The ray multipliers at which the rays hit the triangle are written into the given array, one per lane.
+     *     Lanes which miss the triangle are set to {@link Double#NaN}. The Möller–Trumbore test is performed for all
+     *     lanes at once in branch-free loops, so that it can be vectorized by the JIT compiler.
+     * </p>
+     * Source:<a href="https://en.wikipedia.org/wiki/M%C3%B6ller%E2%80%93Trumbore_intersection_algorithm">
+     * Möller–Trumbore intersection algorithm</a>
+     *
+     * @param packet the ray packet
+     * @param triangle the triangle
+     * @param result the array to write the ray multipliers into, at least as long as the packet
+     * @see #cast(Ray3, Triangle3)
+     */
+    public static void cast(RayPacket packet, Triangle3 triangle, double[] result) {
+        final int n = packet.size();
+        if (result.length < n)
+            throw new IllegalArgumentException("result array is shorter than the packet");
+        
+        final Vector3 a = triangle.getA(), b = triangle.getB(), c = triangle.getC();
+        final double
+            ax = a.getX(), ay = a.getY(), az = a.getZ(),
+            //edge a->b
+            e1x = b.getX() - ax, e1y = b.getY() - ay, e1z = b.getZ() - az,
+            //edge a->c
+            e2x = c.getX() - ax, e2y = c.getY() - ay, e2z = c.getZ() - az;
+        final double[]
+            orgX = packet.orgX, orgY = packet.orgY, orgZ = packet.orgZ,
+            dirX = packet.dirX, dirY = packet.dirY, dirZ = packet.dirZ;
+        
+        for (int i = 0; i < n; i++) {
+            final double dx = dirX[i], dy = dirY[i], dz = dirZ[i];
+            
+            //p = dir x e2
+            final double
+                px = dy*e2z - dz*e2y,
+                py = dz*e2x - dx*e2z,
+                pz = dx*e2y - dy*e2x,
+                det = e1x*px + e1y*py + e1z*pz,
+                invDet = 1 / det;
+            
+            //s = origin - a
+            final double
+                sx = orgX[i] - ax,
+                sy = orgY[i] - ay,
+                sz = orgZ[i] - az,
+                u = (sx*px + sy*py + sz*pz) * invDet;
+            
+            //q = s x e1
+            final double
+                qx = sy*e1z - sz*e1y,
+                qy = sz*e1x - sx*e1z,
+                qz = sx*e1y - sy*e1x,
+                v = (dx*qx + dy*qy + dz*qz) * invDet,
+                t = (e2x*qx + e2y*qy + e2z*qz) * invDet;
+            
+            final boolean hit =
+                Math.abs(det) >= Spatium.EPSILON &&
+                u >= 0 && v >= 0 && u + v <= 1 &&
+                Math.abs(t) >= Spatium.EPSILON;
+            
+            result[i] = hit? t : Double.NaN;
+        }
     }
 
     //ENTRY AND EXIT RAY CASTS
@@ -433,26 +545,60 @@ public final class Rays {
      */
     @Nullable
     public static double[] pierce(Ray2 ray, Circle circle) {
-        Vector2 center = circle.getCenter();
+        double[] result = new double[2];
+        return pierce(ray, circle, result)? result : null;
+    }
     
+    /**
+     * <p>
+     *     Tests where a {@link Ray2} enters and exits a {@link Circle} without allocating an array.
+     * </p>
+     * <p>
+     *     The entry and exit multipliers are written into the first two elements of the given array, which is left
+     *     untouched if there is no collision.
+     * </p>
+     *
+     * @param ray the ray
+     * @param circle the circle
+     * @param result the array to write entry and exit into, of length 2 or greater
+     * @return whether the ray and the circle collide
+     * @see #pierce(Ray2, Circle)
+     */
+    public static boolean pierce(Ray2 ray, Circle circle, double[] result) {
+        return !Double.isNaN(enter(ray, circle, result));
+    }
+    
+    private static double enter(Ray2 ray, Circle circle, @Nullable double[] result) {
+        final double
+            dx = ray.getDirX(),
+            dy = ray.getDirY(),
+            //origin to circle center
+            cx = circle.getX() - ray.getOrgX(),
+            cy = circle.getY() - ray.getOrgY(),
+            lengthSqr = dx*dx + dy*dy;
+        
         //the ray multiplier
-        double tm = Projections.pointOnRay(ray, center);
+        final double tm = (cx*dx + cy*dy) / lengthSqr;
         //closest point on the line to the circle center
-        Vector2 base = ray.getPoint(tm);
-    
-        double r = circle.getRadius();
-        double dis = base.distanceTo(center);
+        final double
+            bx = dx*tm - cx,
+            by = dy*tm - cy;
+        
+        final double r = circle.getRadius();
+        final double dis = Math.sqrt(bx*bx + by*by);
         //closest point is outside radius
-        if (dis > r) return null;
-    
-        double l = ray.getLength();
+        if (dis > r) return Double.NaN;
+        
         //the +- offset of the ray
         //0 if ray pierces the surface of sphere, 1 if ray passes through center
-        double dt = Math.cos(dis / r * CacheMath.HALF_PI) * r / l;
-    
-        return tm >= 0?
-            new double[] {tm - dt, tm + dt} :
-            new double[] {tm + dt, tm - dt};
+        final double dt = Math.cos(dis / r * CacheMath.HALF_PI) * r / Math.sqrt(lengthSqr);
+        final double entry = tm >= 0? tm - dt : tm + dt;
+        
+        if (result != null) {
+            result[0] = entry;
+            result[1] = tm >= 0? tm + dt : tm - dt;
+        }
+        return entry;
     }
 
     /**
@@ -475,26 +621,63 @@ public final class Rays {
      */
     @Nullable
     public static double[] pierce(Ray3 ray, Sphere sphere) {
-        Vector3 center = sphere.getCenter();
+        double[] result = new double[2];
+        return pierce(ray, sphere, result)? result : null;
+    }
+
+    /**
+     * <p>
+     *     Tests where a {@link Ray3} enters and exits a {@link Sphere} without allocating an array.
+     * </p>
+     * <p>
+     *     The entry and exit multipliers are written into the first two elements of the given array, which is left
+     *     untouched if there is no collision.
+     * </p>
+     *
+     * @param ray the ray
+     * @param sphere the sphere
+     * @param result the array to write entry and exit into, of length 2 or greater
+     * @return whether the ray and the sphere collide
+     * @see #pierce(Ray3, Sphere)
+     */
+    public static boolean pierce(Ray3 ray, Sphere sphere, double[] result) {
+        return !Double.isNaN(enter(ray, sphere, result));
+    }
+
+    private static double enter(Ray3 ray, Sphere sphere, @Nullable double[] result) {
+        final double
+            dx = ray.getDirX(),
+            dy = ray.getDirY(),
+            dz = ray.getDirZ(),
+            //origin to sphere center
+            cx = sphere.getX() - ray.getOrgX(),
+            cy = sphere.getY() - ray.getOrgY(),
+            cz = sphere.getZ() - ray.getOrgZ(),
+            lengthSqr = dx*dx + dy*dy + dz*dz;
 
         //the ray multiplier
-        double tm = Projections.pointOnRay(ray, center);
-        Vector3 base = ray.getPoint(tm);
+        final double tm = (cx*dx + cy*dy + cz*dz) / lengthSqr;
+        //closest point on the line to the sphere center
+        final double
+            bx = dx*tm - cx,
+            by = dy*tm - cy,
+            bz = dz*tm - cz;
 
-        double r = sphere.getRadius();
-        //closest point on the line to the circle center
-        double d = base.distanceTo(center);
+        final double r = sphere.getRadius();
+        final double d = Math.sqrt(bx*bx + by*by + bz*bz);
         //closest point is outside radius
-        if (d > r) return null;
+        if (d > r) return Double.NaN;
 
-        double l = ray.getLength();
         //the +- offset of the ray
         //0 if ray pierces the surface of sphere, 1 if ray passes through center
-        double dt = Math.cos(d / r * CacheMath.HALF_PI) * r / l;
+        final double dt = Math.cos(d / r * CacheMath.HALF_PI) * r / Math.sqrt(lengthSqr);
+        final double entry = tm >= 0? tm - dt : tm + dt;
 
-        return tm >= 0?
-                new double[] {tm - dt, tm + dt} :
-                new double[] {tm + dt, tm - dt};
+        if (result != null) {
+            result[0] = entry;
+            result[1] = tm >= 0? tm + dt : tm - dt;
+        }
+        return entry;
     }
 
     /**
@@ -525,6 +708,27 @@ public final class Rays {
      */
     @NotNull
     public static double[] pierce(Ray3 ray, Slab3 slab) {
+        double[] result = new double[2];
+        pierce(ray, slab, result);
+        return result;
+    }
+
+    /**
+     * <p>
+     *     Tests where a {@link Ray3} enters and exits a {@link Slab3} without allocating an array.
+     * </p>
+     * <p>
+     *     The entry and exit multipliers are written into the first two elements of the given array, including the
+     *     special cases described in {@link #pierce(Ray3, Slab3)}.
+     * </p>
+     *
+     * @param ray the ray
+     * @param slab the slab
+     * @param result the array to write entry and exit into, of length 2 or greater
+     * @return whether the ray and the slab collide
+     * @see #pierce(Ray3, Slab3)
+     */
+    public static boolean pierce(Ray3 ray, Slab3 slab, double[] result) {
         Vector3 normal = slab.getNormal().normalize();
         
         double denominator;
@@ -546,7 +750,11 @@ public final class Rays {
             tmin = normal.dot(min) / denominator,
             tmax = normal.dot(max) / denominator;
         
-        return denominator >= 0? new double[] {tmin, tmax} : new double[] {tmax, tmin};
+        result[0] = denominator >= 0? tmin : tmax;
+        result[1] = denominator >= 0? tmax : tmin;
+        
+        //a parallel ray only collides if its origin lies between the slab planes, see Collisions#test(Ray3, Slab3)
+        return Double.isFinite(result[0]) || result[0] != result[1];
     }
 
     /**
@@ -614,6 +822,30 @@ public final class Rays {
      */
     @Nullable
     public static double[] pierce(Ray2 ray, Rectangle box) {
+        double[] result = new double[2];
+        return pierce(ray, box, result)? result : null;
+    }
+    
+    /**
+     * <p>
+     *     Tests where a {@link Ray2} enters and exits a {@link Rectangle} without allocating an array.
+     * </p>
+     * <p>
+     *     The entry and exit multipliers are written into the first two elements of the given array, which is left
+     *     untouched if there is no collision.
+     * </p>
+     *
+     * @param ray the ray
+     * @param box the bounding box
+     * @param result the array to write entry and exit into, of length 2 or greater
+     * @return whether the ray and the bounding box collide
+     * @see #pierce(Ray2, Rectangle)
+     */
+    public static boolean pierce(Ray2 ray, Rectangle box, double[] result) {
+        return !Double.isNaN(enter(ray, box, result));
+    }
+    
+    private static double enter(Ray2 ray, Rectangle box, @Nullable double[] result) {
         
         //x-slab collision
         final double
@@ -627,11 +859,14 @@ public final class Rays {
             tymin = ((divY >= 0? box.getMinY() : box.getMaxY()) - ray.getOrgY()) * divY,
             tymax = ((divY >= 0? box.getMaxY() : box.getMinY()) - ray.getOrgY()) * divY;
     
-        if (txmin > tymax || tymin > txmax) return null;
+        if (txmin > tymax || tymin > txmax) return Double.NaN;
         
-        return new double[] {
-            Math.max(txmin, tymin),
-            Math.min(txmax, tymax)};
+        final double entry = Math.max(txmin, tymin);
+        if (result != null) {
+            result[0] = entry;
+            result[1] = Math.min(txmax, tymax);
+        }
+        return entry;
     }
 
     /**
@@ -653,6 +888,30 @@ public final class Rays {
      */
     @Nullable
     public static double[] pierce(Ray3 ray, AxisAlignedBB box) {
+        double[] result = new double[2];
+        return pierce(ray, box, result)? result : null;
+    }
+
+    /**
+     * <p>
+     *     Tests where a {@link Ray3} enters and exits an {@link AxisAlignedBB} without allocating an array.
+     * </p>
+     * <p>
+     *     The entry and exit multipliers are written into the first two elements of the given array, which is left
+     *     untouched if there is no collision.
+     * </p>
+     *
+     * @param ray the ray
+     * @param box the bounding box
+     * @param result the array to write entry and exit into, of length 2 or greater
+     * @return whether the ray and the bounding box collide
+     * @see #pierce(Ray3, AxisAlignedBB)
+     */
+    public static boolean pierce(Ray3 ray, AxisAlignedBB box, double[] result) {
+        return !Double.isNaN(enter(ray, box, result));
+    }
+
+    private static double enter(Ray3 ray, AxisAlignedBB box, @Nullable double[] result) {
 
         double tmin, tmax;
 
@@ -666,7 +925,7 @@ public final class Rays {
             double tymin = ((div >= 0? box.getMinY() : box.getMaxY()) - ray.getOrgY()) * div;
             double tymax = ((div >= 0? box.getMaxY() : box.getMinY()) - ray.getOrgY()) * div;
             
-            if (tmin > tymax || tymin > tmax) return null;
+            if (tmin > tymax || tymin > tmax) return Double.NaN;
             if (tymin > tmin) tmin = tymin;
             if (tymax < tmax) tmax = tymax;
         }
@@ -675,12 +934,16 @@ public final class Rays {
             double tzmin = ((div >= 0? box.getMinZ() : box.getMaxZ()) - ray.getOrgZ()) * div;
             double tzmax = ((div >= 0? box.getMaxZ() : box.getMinZ()) - ray.getOrgZ()) * div;
             
-            if (tmin > tzmax || tzmin > tmax) return null;
+            if (tmin > tzmax || tzmin > tmax) return Double.NaN;
             if (tzmin > tmin) tmin = tzmin;
             if (tzmax < tmax) tmax = tzmax;
         }
         
-        return new double[] {tmin, tmax};
+        if (result != null) {
+            result[0] = tmin;
+            result[1] = tmax;
+        }
+        return tmin;
     }
 
     /**
@@ -702,32 +965,61 @@ public final class Rays {
      */
     @Nullable
     public static double[] pierce(Ray3 ray, OrientedBB box) {
-        double tmin, tmax;
-        {
-            //x bounds
-            double[] tx = pierce(ray, box.getSlabX());
+        double[] result = new double[2];
+        return pierce(ray, box, result)? result : null;
+    }
 
-            tmin = tx[0];
-            tmax = tx[1];
-        }
-        {
-            //y bounds
-            double[] ty = pierce(ray, box.getSlabY());
+    /**
+     * <p>
+     *     Tests where a {@link Ray3} enters and exits an {@link OrientedBB} without allocating an array.
+     * </p>
+     * <p>
+     *     The entry and exit multipliers are written into the first two elements of the given array, which is left
+     *     untouched if there is no collision.
+     * </p>
+     *
+     * @param ray the ray
+     * @param box the bounding box
+     * @param result the array to write entry and exit into, of length 2 or greater
+     * @return whether the ray and the bounding box collide
+     * @see #pierce(Ray3, OrientedBB)
+     */
+    public static boolean pierce(Ray3 ray, OrientedBB box, double[] result) {
+        return !Double.isNaN(enter(ray, box, result));
+    }
 
-            if (tmin > ty[1] || ty[0] > tmax) return null;
-            if (ty[0] > tmin) tmin = ty[0];
-            if (ty[1] < tmax) tmax = ty[1];
-        }
-        {
-            //z bounds
-            double[] tz = pierce(ray, box.getSlabZ());
+    private static double enter(Ray3 ray, OrientedBB box, @Nullable double[] result) {
+        //ray origin relative to the center of the box
+        final double
+            px = ray.getOrgX() - box.getCenterX(),
+            py = ray.getOrgY() - box.getCenterY(),
+            pz = ray.getOrgZ() - box.getCenterZ();
+
+        double tmin = Double.NEGATIVE_INFINITY, tmax = Double.POSITIVE_INFINITY;
 
-            if (tmin > tz[1] || tz[0] > tmax) return null;
-            if (tz[0] > tmin) tmin = tz[0];
-            if (tz[1] < tmax) tmax = tz[1];
+        //slab collision on each local axis, in which the box spans from -half to +half
+        for (int i = 0; i < 3; i++) {
+            final double
+                ax = box.getAxisComponent(i, 0),
+                ay = box.getAxisComponent(i, 1),
+                az = box.getAxisComponent(i, 2),
+                org = ax*px + ay*py + az*pz,
+                div = 1 / (ax*ray.getDirX() + ay*ray.getDirY() + az*ray.getDirZ()),
+                half = (i == 0? box.getSizeX() : i == 1? box.getSizeY() : box.getSizeZ()) / 2;
+
+            double tsmin = ((div >= 0? -half : half) - org) * div;
+            double tsmax = ((div >= 0? half : -half) - org) * div;
+
+            if (tmin > tsmax || tsmin > tmax) return Double.NaN;
+            if (tsmin > tmin) tmin = tsmin;
+            if (tsmax < tmax) tmax = tsmax;
         }
 
-        return new double[] {tmin, tmax};
+        if (result != null) {
+            result[0] = tmin;
+            result[1] = tmax;
+        }
+        return tmin;
     }
     
     /**
@@ -749,6 +1041,30 @@ public final class Rays {
      */
     @Nullable
     public static double[] pierce(Ray3 ray, Tetrahedron tetra) {
+        double[] result = new double[2];
+        return pierce(ray, tetra, result)? result : null;
+    }
+    
+    /**
+     * <p>
+     *     Tests where a {@link Ray3} enters and exits a {@link Tetrahedron} without allocating an array.
+     * </p>
+     * <p>
+     *     The entry and exit multipliers are written into the first two elements of the given array, which is left
+     *     untouched if there is no collision.
+     * </p>
+     *
+     * @param ray the ray
+     * @param tetra the tetrahedron
+     * @param result the array to write entry and exit into, of length 2 or greater
+     * @return whether the ray and the tetrahedron collide
+     * @see #pierce(Ray3, Tetrahedron)
+     */
+    public static boolean pierce(Ray3 ray, Tetrahedron tetra, double[] result) {
+        return !Double.isNaN(enter(ray, tetra, result));
+    }
+    
+    private static double enter(Ray3 ray, Tetrahedron tetra, @Nullable double[] result) {
         double
             tmin = Double.POSITIVE_INFINITY,
             tmax = Double.NEGATIVE_INFINITY;
@@ -763,7 +1079,13 @@ public final class Rays {
             if (t > tmax) tmax = t;
         }
         
-        return intersection? new double[] {tmin, tmax} : null;
+        if (!intersection) return Double.NaN;
+        
+        if (result != null) {
+            result[0] = tmin;
+            result[1] = tmax;
+        }
+        return tmin;
     }
     
     /**
@@ -826,4 +1148,91 @@ public final class Rays {
         return pierce(ray, minkowski);
     }
 
+    // VOXEL GRIDS
+
+    /**
+     * <p>
+     *     Casts a {@link Ray3} into a grid of voxels, where the voxel at <code>(x, y, z)</code> occupies the unit cube
+     *     between <code>(x, y, z)</code> and <code>(x+1, y+1, z+1)</code>. Only the segment between the origin and
+     *     the end of the ray is considered.
+     * </p>
+     * <p>
+     *     The returned traversal is positioned at the hit voxel, so its coordinates, entry multiplier and entered face
+     *     can be obtained from it.
+     * </p>
+     *
+     * @param ray the ray
+     * @param grid the grid, in which {@code true} marks a solid voxel
+     * @return the traversal positioned at the first solid voxel or null if no solid voxel is hit
+     */
+    @Nullable
+    public static VoxelIterator rayCast(Ray3 ray, BooleanArray3 grid) {
+        VoxelIterator iter = traverseGrid(ray, grid.getSizeX(), grid.getSizeY(), grid.getSizeZ());
+        if (iter == null) return null;
+        return iter.forEachWhile((x, y, z, t, face) -> !isInGrid(grid, x, y, z) || !grid.get(x, y, z))? null : iter;
+    }
+
+    /**
+     * <p>
+     *     Casts a {@link Ray3} into a grid of voxels, where the voxel at <code>(x, y, z)</code> occupies the unit cube
+     *     between <code>(x, y, z)</code> and <code>(x+1, y+1, z+1)</code>. Only the segment between the origin and
+     *     the end of the ray is considered.
+     * </p>
+     * <p>
+     *     The returned traversal is positioned at the hit voxel, so its coordinates, entry multiplier and entered face
+     *     can be obtained from it.
+     * </p>
+     *
+     * @param ray the ray
+     * @param grid the grid
+     * @param empty the value of empty voxels, all other values mark solid voxels
+     * @return the traversal positioned at the first solid voxel or null if no solid voxel is hit
+     */
+    @Nullable
+    public static VoxelIterator rayCast(Ray3 ray, IntArray3 grid, int empty) {
+        VoxelIterator iter = traverseGrid(ray, grid.getSizeX(), grid.getSizeY(), grid.getSizeZ());
+        if (iter == null) return null;
+        return iter.forEachWhile((x, y, z, t, face) -> !isInGrid(grid, x, y, z) || grid.get(x, y, z) == empty)?
+            null : iter;
+    }
+
+    /**
+     * Clips a ray to the bounds of a grid and returns a traversal over the clipped segment.
+     *
+     * @return the traversal or null if the ray misses the grid
+     */
+    @Nullable
+    private static VoxelIterator traverseGrid(Ray3 ray, int sizeX, int sizeY, int sizeZ) {
+        final double ox = ray.getOrgX(), oy = ray.getOrgY(), oz = ray.getOrgZ();
+        final double dx = ray.getDirX(), dy = ray.getDirY(), dz = ray.getDirZ();
+        final double[] t = {0, 1};
+
+        if (!clip(ox, dx, sizeX, t) || !clip(oy, dy, sizeY, t) || !clip(oz, dz, sizeZ, t))
+            return null;
+        return new VoxelIterator(ox, oy, oz, dx, dy, dz, t[0], t[1]);
+    }
+
+    /**
+     * Clips the interval of ray multipliers to the slab between 0 and a size on one axis.
+     *
+     * @return false if the interval becomes empty
+     */
+    private static boolean clip(double org, double dir, int size, double[] t) {
+        if (dir == 0)
+            return org >= 0 && org < size;
+        double t0 = -org / dir, t1 = (size - org) / dir;
+        if (t0 > t1) {
+            double swap = t0;
+            t0 = t1;
+            t1 = swap;
+        }
+        if (t0 > t[0]) t[0] = t0;
+        if (t1 < t[1]) t[1] = t1;
+        return t[0] <= t[1];
+    }
+
+    private static boolean isInGrid(AbstractArray3 grid, int x, int y, int z) {
+        return x >= 0 && x < grid.getSizeX() && y >= 0 && y < grid.getSizeY() && z >= 0 && z < grid.getSizeZ();
+    }
+
 }
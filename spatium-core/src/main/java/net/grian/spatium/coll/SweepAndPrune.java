@@ -0,0 +1,286 @@
+package net.grian.spatium.coll;
+
+import net.grian.spatium.geo3.AxisAlignedBB;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * <p>
+ *     A sweep-and-prune (sort-and-sweep) broad phase over a set of {@link AxisAlignedBB}s.
+ * </p>
+ * <p>
+ *     For each axis, the minimum and maximum values of all boxes are kept in a sorted array of endpoints. Since
+ *     boxes usually only move a little between two updates, these arrays are almost sorted and can be re-sorted
+ *     using insertion sort in close to linear time. Pairs are then found by sweeping along the axis in which the
+ *     boxes are spread the most and are confirmed using {@link Collisions#test(AxisAlignedBB, AxisAlignedBB)}.
+ * </p>
+ * <p>
+ *     The boxes are not copied, so any changes made to them (for instance by
+ *     {@link net.grian.spatium.transform.Transformations#translate(AxisAlignedBB, double, double, double)}) are
+ *     picked up in the next {@link #update()}.
+ * </p>
+ * <p>
+ *     This class is not thread-safe.
+ * </p>
+ *
+ * @param <T> the type of the objects
+ */
+public class SweepAndPrune<T> {
+
+    private static final int MAX_FLAG = 1;
+
+    //handle -> object & box
+    private Object[] objects = new Object[16];
+    private AxisAlignedBB[] boxes = new AxisAlignedBB[16];
+    private int[] freeHandles = new int[16];
+    private int handleLimit, freeCount, size;
+
+    //per axis: sorted endpoint values and (handle << 1 | isMax)
+    private final double[][] values = new double[3][32];
+    private final int[][] endpoints = new int[3][32];
+
+    //sweep state
+    private int[] active = new int[16];
+    private int[] activeIndex = new int[16];
+
+    // GETTERS
+
+    /**
+     * Returns the amount of boxes in this broad phase.
+     *
+     * @return the amount of boxes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether this broad phase contains no boxes.
+     *
+     * @return whether this broad phase is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the object associated with a handle.
+     *
+     * @param handle the handle
+     * @return the object
+     */
+    @SuppressWarnings("unchecked")
+    public T getObject(int handle) {
+        checkHandle(handle);
+        return (T) objects[handle];
+    }
+
+    // OPERATIONS
+
+    /**
+     * Adds a box with an associated object.
+     *
+     * @param object the object
+     * @param box the box
+     * @return the handle of the box
+     */
+    public int add(T object, AxisAlignedBB box) {
+        final int handle = freeCount > 0? freeHandles[--freeCount] : handleLimit++;
+        if (handle >= boxes.length) {
+            objects = Arrays.copyOf(objects, boxes.length * 2);
+            boxes = Arrays.copyOf(boxes, boxes.length * 2);
+            active = Arrays.copyOf(active, boxes.length);
+            activeIndex = Arrays.copyOf(activeIndex, boxes.length);
+        }
+        objects[handle] = object;
+        boxes[handle] = box;
+
+        final int count = size * 2;
+        if (count + 2 > values[0].length) {
+            for (int axis = 0; axis < 3; axis++) {
+                values[axis] = Arrays.copyOf(values[axis], values[axis].length * 2);
+                endpoints[axis] = Arrays.copyOf(endpoints[axis], endpoints[axis].length * 2);
+            }
+        }
+
+        //append the endpoints and sort them into place
+        for (int axis = 0; axis < 3; axis++) {
+            values[axis][count] = min(box, axis);
+            endpoints[axis][count] = handle << 1;
+            values[axis][count + 1] = max(box, axis);
+            endpoints[axis][count + 1] = handle << 1 | MAX_FLAG;
+        }
+        size++;
+        for (int axis = 0; axis < 3; axis++)
+            insertionSort(values[axis], endpoints[axis], size * 2);
+
+        return handle;
+    }
+
+    /**
+     * Removes a box.
+     *
+     * @param handle the handle of the box
+     * @return the object associated with the box
+     */
+    @SuppressWarnings("unchecked")
+    public T remove(int handle) {
+        checkHandle(handle);
+        T object = (T) objects[handle];
+
+        final int count = size * 2;
+        for (int axis = 0; axis < 3; axis++) {
+            final double[] v = values[axis];
+            final int[] e = endpoints[axis];
+            int j = 0;
+            for (int i = 0; i < count; i++) {
+                if (e[i] >>> 1 == handle) continue;
+                v[j] = v[i];
+                e[j++] = e[i];
+            }
+        }
+
+        objects[handle] = null;
+        boxes[handle] = null;
+        if (freeCount == freeHandles.length)
+            freeHandles = Arrays.copyOf(freeHandles, freeHandles.length * 2);
+        freeHandles[freeCount++] = handle;
+        size--;
+        return object;
+    }
+
+    /**
+     * Re-reads the minimum and maximum values of all boxes and restores the order of the endpoint arrays using
+     * insertion sort. This is very fast if the boxes have only moved a little since the last update.
+     */
+    public void update() {
+        final int count = size * 2;
+        for (int axis = 0; axis < 3; axis++) {
+            final double[] v = values[axis];
+            final int[] e = endpoints[axis];
+            for (int i = 0; i < count; i++) {
+                final AxisAlignedBB box = boxes[e[i] >>> 1];
+                v[i] = (e[i] & MAX_FLAG) == 0? min(box, axis) : max(box, axis);
+            }
+            insertionSort(v, e, count);
+        }
+    }
+
+    /**
+     * <p>
+     *     Updates this broad phase and invokes a callback for every pair of colliding boxes, each pair being reported
+     *     exactly once.
+     * </p>
+     * <p>
+     *     No objects are allocated per pair.
+     * </p>
+     *
+     * @param callback the callback
+     * @see #update()
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachPair(BiConsumer<? super T, ? super T> callback) {
+        update();
+
+        final int axis = sweepAxis();
+        final int[] e = endpoints[axis];
+        final int count = size * 2;
+        int activeCount = 0;
+
+        for (int i = 0; i < count; i++) {
+            final int handle = e[i] >>> 1;
+
+            if ((e[i] & MAX_FLAG) != 0) {
+                //remove the box from the active set by swapping it with the last one
+                final int index = activeIndex[handle];
+                final int last = active[--activeCount];
+                active[index] = last;
+                activeIndex[last] = index;
+                continue;
+            }
+
+            //every active box overlaps this box on the sweep axis, confirm the other axes
+            final AxisAlignedBB box = boxes[handle];
+            for (int j = 0; j < activeCount; j++) {
+                final int other = active[j];
+                if (Collisions.test(box, boxes[other]))
+                    callback.accept((T) objects[other], (T) objects[handle]);
+            }
+
+            active[activeCount] = handle;
+            activeIndex[handle] = activeCount++;
+        }
+    }
+
+    /**
+     * Returns the axis with the greatest variance of endpoint values, which is the one where sweeping finds the
+     * fewest false candidates.
+     */
+    private int sweepAxis() {
+        final int count = size * 2;
+        int result = 0;
+        double maxVariance = -1;
+
+        for (int axis = 0; axis < 3; axis++) {
+            final double[] v = values[axis];
+            double sum = 0, sumSqr = 0;
+            for (int i = 0; i < count; i++) {
+                sum += v[i];
+                sumSqr += v[i] * v[i];
+            }
+            final double variance = sumSqr - sum * sum / Math.max(count, 1);
+            if (variance > maxVariance) {
+                maxVariance = variance;
+                result = axis;
+            }
+        }
+
+        return result;
+    }
+
+    // UTIL
+
+    /**
+     * Sorts endpoints by value, minimum endpoints being placed before maximum endpoints of equal value so that
+     * touching boxes are considered colliding.
+     */
+    private static void insertionSort(double[] v, int[] e, int count) {
+        for (int i = 1; i < count; i++) {
+            final double value = v[i];
+            final int endpoint = e[i];
+            int j = i - 1;
+            while (j >= 0 && (v[j] > value || v[j] == value && (e[j] & MAX_FLAG) > (endpoint & MAX_FLAG))) {
+                v[j + 1] = v[j];
+                e[j + 1] = e[j];
+                j--;
+            }
+            v[j + 1] = value;
+            e[j + 1] = endpoint;
+        }
+    }
+
+    private void checkHandle(int handle) {
+        if (handle < 0 || handle >= handleLimit || boxes[handle] == null)
+            throw new IllegalArgumentException("invalid handle: " + handle);
+    }
+
+    private static double min(AxisAlignedBB box, int axis) {
+        switch (axis) {
+            case 0: return box.getMinX();
+            case 1: return box.getMinY();
+            case 2: return box.getMinZ();
+            default: throw new IllegalArgumentException("invalid axis: " + axis);
+        }
+    }
+
+    private static double max(AxisAlignedBB box, int axis) {
+        switch (axis) {
+            case 0: return box.getMaxX();
+            case 1: return box.getMaxY();
+            case 2: return box.getMaxZ();
+            default: throw new IllegalArgumentException("invalid axis: " + axis);
+        }
+    }
+
+}
@@ -9,6 +9,7 @@
  *     <li>Projecting objects onto other objects -> {@link net.grian.spatium.coll.Projections}</li>
  *     <li>Measuring distances in various ways -> {@link net.grian.spatium.coll.Distances}</li>
  *     <li>Intersections between objects (f.e. Plane,Plane->Ray) -> {@link net.grian.spatium.coll.Intersections}</li>
+ *     <li>Broad phase collision detection among many objects -> {@link net.grian.spatium.coll.BVHCollisionEngine}</li>
  * </ul>
  */
 package net.grian.spatium.coll;
\ No newline at end of file
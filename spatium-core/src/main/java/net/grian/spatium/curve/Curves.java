@@ -1,7 +1,10 @@
 package net.grian.spatium.curve;
 
+import net.grian.spatium.geo3.Path3;
 import net.grian.spatium.geo3.Vector3;
 
+import java.util.Arrays;
+
 public class Curves {
 
     public static Vector3 bezier(double t, Vector3 a, Vector3 b) {
@@ -18,11 +21,186 @@ public class Curves {
         if (points.length == 2) return bezier(t, points[0], points[1]);
         if (points.length == 3) return bezier(t, points[0], points[1], points[2]);
 
-        Vector3[] next = new Vector3[points.length - 1];
-        for (int i = 0; i<next.length;)
-            next[i] = bezier(t, points[i], points[i++]);
+        return bezierInto(t, points, Vector3.zero());
+    }
+
+    /**
+     * Evaluates a Bezier curve and stores the result in a destination vector without allocating any objects.
+     *
+     * @param t the curve parameter
+     * @param points the control points
+     * @param dest the vector to store the point on the curve in
+     * @return the destination vector
+     * @see #bezierInto(double, double[], int, int, Vector3)
+     */
+    public static Vector3 bezierInto(double t, Vector3[] points, Vector3 dest) {
+        if (points.length == 0) throw new IllegalArgumentException();
+        final int n = points.length - 1;
+        if (n == 0) return dest.set(points[0]);
+        final double s = 1 - t;
+
+        double coefficient = 1, tPow = 1;
+        double x = points[0].getX() * s, y = points[0].getY() * s, z = points[0].getZ() * s;
+        for (int i = 1; i < n; i++) {
+            tPow *= t;
+            coefficient = coefficient * (n - i + 1) / i;
+            final double f = coefficient * tPow;
+            x = (x + f * points[i].getX()) * s;
+            y = (y + f * points[i].getY()) * s;
+            z = (z + f * points[i].getZ()) * s;
+        }
+
+        tPow *= t;
+        return dest.set(x + tPow * points[n].getX(), y + tPow * points[n].getY(), z + tPow * points[n].getZ());
+    }
+
+    /**
+     * <p>
+     *     Evaluates a Bezier curve whose control points are packed into an array as consecutive <code>x, y, z</code>
+     *     triples and stores the result in a destination vector without allocating any objects.
+     * </p>
+     * <p>
+     *     The curve is evaluated in Bernstein form using a Horner-like scheme, which needs <code>O(n)</code>
+     *     operations and no intermediate storage, unlike the <code>O(n<sup>2</sup>)</code> de Casteljau algorithm.
+     * </p>
+     *
+     * @param t the curve parameter
+     * @param points the packed control points
+     * @param from the index of the first control point
+     * @param count the amount of control points
+     * @param dest the vector to store the point on the curve in
+     * @return the destination vector
+     */
+    public static Vector3 bezierInto(double t, double[] points, int from, int count, Vector3 dest) {
+        if (count == 0) throw new IllegalArgumentException();
+        final int n = count - 1, offset = from * 3;
+        if (n == 0) return dest.set(points[offset], points[offset + 1], points[offset + 2]);
+        final double s = 1 - t;
+
+        double coefficient = 1, tPow = 1;
+        double x = points[offset] * s, y = points[offset + 1] * s, z = points[offset + 2] * s;
+        for (int i = 1, index = offset + 3; i < n; i++, index += 3) {
+            tPow *= t;
+            coefficient = coefficient * (n - i + 1) / i;
+            final double f = coefficient * tPow;
+            x = (x + f * points[index]) * s;
+            y = (y + f * points[index + 1]) * s;
+            z = (z + f * points[index + 2]) * s;
+        }
+
+        tPow *= t;
+        final int last = offset + n * 3;
+        return dest.set(x + tPow * points[last], y + tPow * points[last + 1], z + tPow * points[last + 2]);
+    }
+
+    /**
+     * <p>
+     *     Approximates a path with a polyline which stays roughly within a given tolerance of the path.
+     * </p>
+     * <p>
+     *     The path is recursively subdivided at the midpoint of its multiplier as long as any of the points at a
+     *     quarter, half and three quarters of a piece are further from the chord of that piece than the tolerance.
+     *     Straight pieces thus result in a single segment, while tight curves are subdivided until they are flat
+     *     enough.
+     * </p>
+     * <p>
+     *     The tolerance is a heuristic bound, not a guarantee: the path is only sampled at these three points per
+     *     piece, so it may stray further from a segment in between, for example where it loops back on itself.
+     *     Subdivision also stops after 16 levels, so a piece spanning <code>2<sup>-16</sup></code> of the multiplier
+     *     is accepted even if it is not flat enough.
+     * </p>
+     *
+     * @param path the path
+     * @param tolerance the maximum distance of the sampled points from the polyline
+     * @return the points of the polyline, packed as consecutive <code>x, y, z</code> triples
+     * @throws IllegalArgumentException if the tolerance is not positive
+     */
+    public static double[] flatten(Path3 path, double tolerance) {
+        if (!(tolerance > 0)) throw new IllegalArgumentException("tolerance must be positive");
+
+        Flattening flattening = new Flattening(path, tolerance);
+        Vector3 point = path.getPointInto(0, Vector3.zero());
+        final double x0 = point.getX(), y0 = point.getY(), z0 = point.getZ();
+        path.getPointInto(1, point);
+
+        flattening.add(x0, y0, z0);
+        flattening.subdivide(0, x0, y0, z0, 1, point.getX(), point.getY(), point.getZ(), 0);
+        return flattening.toArray();
+    }
+
+    private static final class Flattening {
+
+        /** the maximum depth of subdivision, so that a piece is never shorter than 2^-16 of the path multiplier */
+        private final static int MAX_DEPTH = 16;
+
+        private final Path3 path;
+        private final double toleranceSquared;
+        private final Vector3 point = Vector3.zero();
+        private double[] coords = new double[48];
+        private int size = 0;
+
+        private Flattening(Path3 path, double tolerance) {
+            this.path = path;
+            this.toleranceSquared = tolerance * tolerance;
+        }
+
+        private void subdivide(double t0, double x0, double y0, double z0,
+                               double t1, double x1, double y1, double z1, int depth) {
+            final double tm = (t0 + t1) / 2;
+            path.getPointInto(tm, point);
+            final double xm = point.getX(), ym = point.getY(), zm = point.getZ();
+
+            if (depth >= MAX_DEPTH || isFlat(t0, x0, y0, z0, t1, x1, y1, z1, xm, ym, zm)) {
+                add(x1, y1, z1);
+                return;
+            }
+            subdivide(t0, x0, y0, z0, tm, xm, ym, zm, depth + 1);
+            subdivide(tm, xm, ym, zm, t1, x1, y1, z1, depth + 1);
+        }
+
+        private boolean isFlat(double t0, double x0, double y0, double z0,
+                               double t1, double x1, double y1, double z1,
+                               double xm, double ym, double zm) {
+            if (distanceSquared(xm, ym, zm, x0, y0, z0, x1, y1, z1) > toleranceSquared)
+                return false;
+            path.getPointInto(t0 + (t1 - t0) * 0.25, point);
+            if (distanceSquared(point.getX(), point.getY(), point.getZ(), x0, y0, z0, x1, y1, z1) > toleranceSquared)
+                return false;
+            path.getPointInto(t0 + (t1 - t0) * 0.75, point);
+            return distanceSquared(point.getX(), point.getY(), point.getZ(), x0, y0, z0, x1, y1, z1)
+                <= toleranceSquared;
+        }
+
+        /**
+         * Returns the squared distance of a point from the line segment between a and b.
+         */
+        private static double distanceSquared(double px, double py, double pz,
+                                              double ax, double ay, double az,
+                                              double bx, double by, double bz) {
+            final double
+                dx = bx - ax, dy = by - ay, dz = bz - az,
+                lengthSquared = dx*dx + dy*dy + dz*dz;
+            double t = lengthSquared == 0? 0 : ((px - ax) * dx + (py - ay) * dy + (pz - az) * dz) / lengthSquared;
+            t = Math.max(0, Math.min(1, t));
+            final double
+                ex = ax + dx * t - px,
+                ey = ay + dy * t - py,
+                ez = az + dz * t - pz;
+            return ex*ex + ey*ey + ez*ez;
+        }
+
+        private void add(double x, double y, double z) {
+            if (size + 3 > coords.length)
+                coords = Arrays.copyOf(coords, coords.length * 2);
+            coords[size++] = x;
+            coords[size++] = y;
+            coords[size++] = z;
+        }
+
+        private double[] toArray() {
+            return Arrays.copyOf(coords, size);
+        }
 
-        return bezier(t, next);
     }
 
 }
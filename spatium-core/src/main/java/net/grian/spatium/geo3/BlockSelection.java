@@ -1,5 +1,7 @@
 package net.grian.spatium.geo3;
 
+import eisenwave.spatium.function.Int3Consumer;
+import eisenwave.spatium.function.Int3Predicate;
 import net.grian.spatium.impl.BlockSelectionImpl;
 import eisenwave.spatium.util.PrimMath;
 import org.jetbrains.annotations.NotNull;
@@ -305,27 +307,42 @@ public interface BlockSelection extends Space, Iterable<BlockVector>, Serializab
      */
     @Override
     public default void forEach(Consumer<? super BlockVector> action) {
-        final int limX = getMaxX(), limY = getMaxY(), limZ = getMaxZ();
-        
-        for (int x = getMinX(); x < limX; x++)
-            for (int y = getMinY(); y < limY; y++)
-                for (int z = getMinZ(); z < limZ; z++)
-                    BlockVector.fromXYZ(x, y, z);
+        forEach((Int3Consumer) (x, y, z) -> action.accept(BlockVector.fromXYZ(x, y, z)));
     }
 
-    /*
-     * Performs an operation for every block in this selection.
+    /**
+     * Performs an operation for the coordinates of every block in this selection. Unlike
+     * {@link #forEach(Consumer)}, no objects are allocated for each block.
      *
      * @param action the operation to perform
      */
-    /* public default void forEach(Int3Consumer action) {
-        final int limX = getMaxX(), limY = getMaxY(), limZ = getMaxZ();
+    public default void forEach(Int3Consumer action) {
+        final int minX = getMinX(), minY = getMinY(), minZ = getMinZ();
+        final int maxX = getMaxX(), maxY = getMaxY(), maxZ = getMaxZ();
 
-        for (int x = getMinX(); x < limX; x++)
-            for (int y = getMinY(); y < limY; y++)
-                for (int z = getMinZ(); z < limZ; z++)
+        for (int z = minZ; z <= maxZ; z++)
+            for (int y = minY; y <= maxY; y++)
+                for (int x = minX; x <= maxX; x++)
                     action.accept(x, y, z);
-    } */
+    }
+
+    /**
+     * Tests the coordinates of every block in this selection until the predicate returns {@code false}. No objects
+     * are allocated for each block.
+     *
+     * @param predicate the predicate
+     * @return false if the iteration was stopped by the predicate, true if all blocks were accepted
+     */
+    public default boolean forEachWhile(Int3Predicate predicate) {
+        final int minX = getMinX(), minY = getMinY(), minZ = getMinZ();
+        final int maxX = getMaxX(), maxY = getMaxY(), maxZ = getMaxZ();
+
+        for (int z = minZ; z <= maxZ; z++)
+            for (int y = minY; y <= maxY; y++)
+                for (int x = minX; x <= maxX; x++)
+                    if (!predicate.test(x, y, z)) return false;
+        return true;
+    }
 
     /**
      * Converts this block selection into an axis aligned bounding box which will surround the selection.
@@ -87,6 +87,27 @@ public interface OrientedBB extends Space, Serializable, Cloneable {
     
     @Override
     abstract Vector3 getCenter();
+
+    /**
+     * Returns the x-coordinate of the center of this bounding box.
+     *
+     * @return the x-coordinate of the center
+     */
+    abstract double getCenterX();
+
+    /**
+     * Returns the y-coordinate of the center of this bounding box.
+     *
+     * @return the y-coordinate of the center
+     */
+    abstract double getCenterY();
+
+    /**
+     * Returns the z-coordinate of the center of this bounding box.
+     *
+     * @return the z-coordinate of the center
+     */
+    abstract double getCenterZ();
     
     /**
      * Returns the OBB's normalized local x-axis in world space.
@@ -108,6 +129,20 @@ public interface OrientedBB extends Space, Serializable, Cloneable {
      * @return the local z-axis
      */
     abstract Vector3 getAxisZ();
+
+    /**
+     * <p>
+     *     Returns one world space component of one of the OBB's normalized local axes without creating a vector.
+     * </p>
+     * <p>
+     *     For instance, <code>getAxisComponent(1, 0)</code> is the x-component of {@link #getAxisY()}.
+     * </p>
+     *
+     * @param axis the local axis, 0 for x, 1 for y and 2 for z
+     * @param component the component of the axis, 0 for x, 1 for y and 2 for z
+     * @return the component of the axis
+     */
+    abstract double getAxisComponent(int axis, int component);
     
     abstract Slab3 getSlabX();
     
@@ -1,5 +1,6 @@
 package net.grian.spatium.geo3;
 
+import net.grian.spatium.curve.Curves;
 import net.grian.spatium.impl.Path3ImplBezier;
 import net.grian.spatium.impl.Path3ImplCircle;
 import net.grian.spatium.impl.Path3ImplLinear;
@@ -90,6 +91,49 @@ public interface Path3 extends Serializable, Cloneable {
     @NotNull
     abstract Vector3 getPoint(double t);
 
+    /**
+     * Stores the point at a given path multiplier in a destination vector. Implementations may override this to
+     * avoid allocating the point.
+     *
+     * @param t the path multiplier in range from 0 to 1
+     * @param dest the vector to store the point in
+     * @return the destination vector
+     * @see #getPoint(double)
+     */
+    default Vector3 getPointInto(double t, Vector3 dest) {
+        return dest.set(getPoint(t));
+    }
+
+    /**
+     * <p>
+     *     Returns the path multiplier at which a given fraction of the length of this path has been travelled.
+     * </p>
+     * <p>
+     *     By default, the path multiplier is assumed to be proportional to the travelled length and the fraction
+     *     itself is returned. Paths whose speed varies, such as Bezier curves, override this method.
+     * </p>
+     *
+     * @param fraction the fraction of the length of this path in range from 0 to 1
+     * @return the path multiplier
+     */
+    default double getArcParameter(double fraction) {
+        return fraction;
+    }
+
+    /**
+     * Approximates this path with a linear path whose distance from this path does not exceed a given tolerance.
+     * Fewer points are used where this path is straight and more points where it is tightly curved.
+     *
+     * @param tolerance the maximum distance between this path and the linear path
+     * @return a new linear path
+     * @throws IllegalArgumentException if the tolerance is not positive
+     * @see Curves#flatten(Path3, double)
+     */
+    @NotNull
+    default Path3 flatten(double tolerance) {
+        return new Path3ImplLinear(Curves.flatten(this, tolerance));
+    }
+
     /**
      * Returns the length of this path.
      *
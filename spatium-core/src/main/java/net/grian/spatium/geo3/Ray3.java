@@ -3,6 +3,7 @@ package net.grian.spatium.geo3;
 import net.grian.spatium.impl.Ray3Impl;
 import net.grian.spatium.iter.BlockIntervalIterator;
 import net.grian.spatium.iter.IntervalIterator;
+import net.grian.spatium.iter.VoxelIterator;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.Serializable;
@@ -337,7 +338,17 @@ public interface Ray3 extends Path3, Serializable, Cloneable {
      * @return a new interval iterator
      */
     default Iterator<BlockVector> blockIntervalIterator() {
-        return new BlockIntervalIterator(this);
+        return BlockIntervalIterator.fromRay(this);
+    }
+
+    /**
+     * Returns a new iterator over all voxels (blocks) which this ray passes through between its origin and its end,
+     * in the order in which they are entered.
+     *
+     * @return a new voxel iterator
+     */
+    default VoxelIterator voxelIterator() {
+        return new VoxelIterator(this);
     }
 
     /**
@@ -0,0 +1,516 @@
+package net.grian.spatium.geo3;
+
+import eisenwave.spatium.util.Spatium;
+import net.grian.spatium.matrix.Matrix;
+import net.grian.spatium.matrix.MatrixDimensionsException;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ *     A fixed-size buffer of three-dimensional vectors, stored as a structure of arrays with the x, y and z
+ *     coordinates in separate <code>double[]</code>s.
+ * </p>
+ * <p>
+ *     The bulk operations of this buffer work on ranges of vectors without any interface dispatch or allocation per
+ *     vector, which makes them suitable for large point clouds. For interoperability with the rest of the API,
+ *     {@link #view(int)} returns a flyweight {@link Vector3} which reads and writes directly through to the buffer.
+ * </p>
+ * <p>
+ *     All ranges are given as <code>[from, to)</code>.
+ * </p>
+ */
+public final class Vector3Buffer {
+
+    private final double[] x, y, z;
+
+    /**
+     * Constructs a new buffer of zero vectors.
+     *
+     * @param size the amount of vectors
+     */
+    public Vector3Buffer(int size) {
+        this(new double[size], new double[size], new double[size]);
+    }
+
+    /**
+     * Constructs a new buffer which is backed by the given coordinate arrays. Changes to the arrays are reflected in
+     * the buffer and vice versa.
+     *
+     * @param x the x-coordinates
+     * @param y the y-coordinates
+     * @param z the z-coordinates
+     * @throws IllegalArgumentException if the arrays are of different lengths
+     */
+    public Vector3Buffer(double[] x, double[] y, double[] z) {
+        if (x.length != y.length || x.length != z.length)
+            throw new IllegalArgumentException("coordinate arrays must be of equal length");
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    // GETTERS
+
+    /**
+     * Returns the amount of vectors in this buffer.
+     *
+     * @return the amount of vectors
+     */
+    public int size() {
+        return x.length;
+    }
+
+    public double getX(int index) {
+        return x[index];
+    }
+
+    public double getY(int index) {
+        return y[index];
+    }
+
+    public double getZ(int index) {
+        return z[index];
+    }
+
+    /**
+     * Returns the backing array of x-coordinates.
+     *
+     * @return the x-coordinates
+     */
+    public double[] getArrayX() {
+        return x;
+    }
+
+    /**
+     * Returns the backing array of y-coordinates.
+     *
+     * @return the y-coordinates
+     */
+    public double[] getArrayY() {
+        return y;
+    }
+
+    /**
+     * Returns the backing array of z-coordinates.
+     *
+     * @return the z-coordinates
+     */
+    public double[] getArrayZ() {
+        return z;
+    }
+
+    /**
+     * Returns a copy of a vector in this buffer.
+     *
+     * @param index the index of the vector
+     * @return a new vector
+     */
+    @NotNull
+    public Vector3 get(int index) {
+        return Vector3.fromXYZ(x[index], y[index], z[index]);
+    }
+
+    /**
+     * Returns a flyweight view of a vector in this buffer. All reads and writes of the view operate directly on
+     * the buffer. The view may be moved to another index using {@link View#setIndex(int)}, so a single view can be
+     * used to visit every vector without further allocations.
+     *
+     * @param index the index of the vector
+     * @return a new view
+     */
+    @NotNull
+    public View view(int index) {
+        checkIndex(index);
+        return new View(index);
+    }
+
+    // SETTERS
+
+    public void set(int index, double x, double y, double z) {
+        this.x[index] = x;
+        this.y[index] = y;
+        this.z[index] = z;
+    }
+
+    public void set(int index, Vector3 v) {
+        set(index, v.getX(), v.getY(), v.getZ());
+    }
+
+    // BULK OPERATIONS
+
+    /**
+     * Adds a vector to a range of vectors.
+     *
+     * @param from the first index, inclusive
+     * @param to the last index, exclusive
+     * @param dx the x to add
+     * @param dy the y to add
+     * @param dz the z to add
+     */
+    public void add(int from, int to, double dx, double dy, double dz) {
+        checkRange(from, to);
+        final double[] x = this.x, y = this.y, z = this.z;
+        for (int i = from; i < to; i++) {
+            x[i] += dx;
+            y[i] += dy;
+            z[i] += dz;
+        }
+    }
+
+    /**
+     * Adds the vectors of another buffer to a range of vectors in this buffer.
+     *
+     * @param from the first index, inclusive
+     * @param to the last index, exclusive
+     * @param other the other buffer
+     * @param otherFrom the index in the other buffer corresponding to <code>from</code>
+     */
+    public void add(int from, int to, Vector3Buffer other, int otherFrom) {
+        checkRange(from, to);
+        other.checkRange(otherFrom, otherFrom + to - from);
+        final double[] x = this.x, y = this.y, z = this.z, ox = other.x, oy = other.y, oz = other.z;
+        final int offset = otherFrom - from;
+        for (int i = from; i < to; i++) {
+            x[i] += ox[i + offset];
+            y[i] += oy[i + offset];
+            z[i] += oz[i + offset];
+        }
+    }
+
+    /**
+     * Multiplies a range of vectors with a factor.
+     *
+     * @param from the first index, inclusive
+     * @param to the last index, exclusive
+     * @param factor the factor
+     */
+    public void scale(int from, int to, double factor) {
+        checkRange(from, to);
+        final double[] x = this.x, y = this.y, z = this.z;
+        for (int i = from; i < to; i++) {
+            x[i] *= factor;
+            y[i] *= factor;
+            z[i] *= factor;
+        }
+    }
+
+    /**
+     * Computes the dot products of a range of vectors and a single vector.
+     *
+     * @param from the first index, inclusive
+     * @param to the last index, exclusive
+     * @param vx the x of the vector
+     * @param vy the y of the vector
+     * @param vz the z of the vector
+     * @param dest the array to write the dot products into
+     * @param destFrom the index in the destination corresponding to <code>from</code>
+     */
+    public void dot(int from, int to, double vx, double vy, double vz, double[] dest, int destFrom) {
+        checkRange(from, to);
+        final double[] x = this.x, y = this.y, z = this.z;
+        final int offset = destFrom - from;
+        for (int i = from; i < to; i++)
+            dest[i + offset] = x[i]*vx + y[i]*vy + z[i]*vz;
+    }
+
+    /**
+     * Computes the dot products of a range of vectors in this buffer and the vectors of another buffer.
+     *
+     * @param from the first index, inclusive
+     * @param to the last index, exclusive
+     * @param other the other buffer
+     * @param otherFrom the index in the other buffer corresponding to <code>from</code>
+     * @param dest the array to write the dot products into
+     * @param destFrom the index in the destination corresponding to <code>from</code>
+     */
+    public void dot(int from, int to, Vector3Buffer other, int otherFrom, double[] dest, int destFrom) {
+        checkRange(from, to);
+        other.checkRange(otherFrom, otherFrom + to - from);
+        final double[] x = this.x, y = this.y, z = this.z, ox = other.x, oy = other.y, oz = other.z;
+        final int offset = otherFrom - from, destOffset = destFrom - from;
+        for (int i = from; i < to; i++)
+            dest[i + destOffset] = x[i]*ox[i + offset] + y[i]*oy[i + offset] + z[i]*oz[i + offset];
+    }
+
+    /**
+     * Replaces a range of vectors with their cross products with a single vector.
+     *
+     * @param from the first index, inclusive
+     * @param to the last index, exclusive
+     * @param vx the x of the vector
+     * @param vy the y of the vector
+     * @param vz the z of the vector
+     */
+    public void cross(int from, int to, double vx, double vy, double vz) {
+        checkRange(from, to);
+        final double[] x = this.x, y = this.y, z = this.z;
+        for (int i = from; i < to; i++) {
+            final double ax = x[i], ay = y[i], az = z[i];
+            x[i] = ay * vz - az * vy;
+            y[i] = az * vx - ax * vz;
+            z[i] = ax * vy - ay * vx;
+        }
+    }
+
+    /**
+     * Replaces a range of vectors in this buffer with their cross products with the vectors of another buffer.
+     *
+     * @param from the first index, inclusive
+     * @param to the last index, exclusive
+     * @param other the other buffer
+     * @param otherFrom the index in the other buffer corresponding to <code>from</code>
+     */
+    public void cross(int from, int to, Vector3Buffer other, int otherFrom) {
+        checkRange(from, to);
+        other.checkRange(otherFrom, otherFrom + to - from);
+        final double[] x = this.x, y = this.y, z = this.z, ox = other.x, oy = other.y, oz = other.z;
+        final int offset = otherFrom - from;
+        for (int i = from; i < to; i++) {
+            final double
+                ax = x[i], ay = y[i], az = z[i],
+                bx = ox[i + offset], by = oy[i + offset], bz = oz[i + offset];
+            x[i] = ay * bz - az * by;
+            y[i] = az * bx - ax * bz;
+            z[i] = ax * by - ay * bx;
+        }
+    }
+
+    /**
+     * Normalizes a range of vectors.
+     *
+     * @param from the first index, inclusive
+     * @param to the last index, exclusive
+     */
+    public void normalize(int from, int to) {
+        checkRange(from, to);
+        final double[] x = this.x, y = this.y, z = this.z;
+        for (int i = from; i < to; i++) {
+            final double inv = 1 / Math.sqrt(x[i]*x[i] + y[i]*y[i] + z[i]*z[i]);
+            x[i] *= inv;
+            y[i] *= inv;
+            z[i] *= inv;
+        }
+    }
+
+    /**
+     * Transforms a range of vectors using a transformation matrix.
+     *
+     * @param from the first index, inclusive
+     * @param to the last index, exclusive
+     * @param m the transformation matrix
+     * @throws MatrixDimensionsException if the matrix is not a 3x3 matrix
+     */
+    public void transform(int from, int to, Matrix m) {
+        if (m.getRows() != 3 || m.getColumns() != 3)
+            throw new MatrixDimensionsException("matrix must be a 3x3 matrix");
+        checkRange(from, to);
+
+        final double
+            m00 = m.get(0, 0), m01 = m.get(0, 1), m02 = m.get(0, 2),
+            m10 = m.get(1, 0), m11 = m.get(1, 1), m12 = m.get(1, 2),
+            m20 = m.get(2, 0), m21 = m.get(2, 1), m22 = m.get(2, 2);
+        final double[] x = this.x, y = this.y, z = this.z;
+
+        for (int i = from; i < to; i++) {
+            final double vx = x[i], vy = y[i], vz = z[i];
+            x[i] = m00*vx + m01*vy + m02*vz;
+            y[i] = m10*vx + m11*vy + m12*vz;
+            z[i] = m20*vx + m21*vy + m22*vz;
+        }
+    }
+
+    public void add(double dx, double dy, double dz) {
+        add(0, size(), dx, dy, dz);
+    }
+
+    public void scale(double factor) {
+        scale(0, size(), factor);
+    }
+
+    public void normalize() {
+        normalize(0, size());
+    }
+
+    public void transform(Matrix m) {
+        transform(0, size(), m);
+    }
+
+    // UTIL
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= x.length)
+            throw new IndexOutOfBoundsException(Integer.toString(index));
+    }
+
+    private void checkRange(int from, int to) {
+        if (from < 0 || to > x.length || from > to)
+            throw new IndexOutOfBoundsException("[" + from + ", " + to + ")");
+    }
+
+    // VIEW
+
+    /**
+     * A flyweight {@link Vector3} which reads and writes through to a single vector of a {@link Vector3Buffer}.
+     * Operations which return a vector return the view itself, except for {@link #clone()} which returns a detached
+     * copy.
+     */
+    public final class View implements Vector3 {
+
+        private static final long serialVersionUID = 1L;
+
+        private int index;
+
+        private View(int index) {
+            this.index = index;
+        }
+
+        /**
+         * Returns the index of the vector this view represents.
+         *
+         * @return the index
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Moves this view to another vector of the buffer.
+         *
+         * @param index the new index
+         * @return this view
+         */
+        public View setIndex(int index) {
+            checkIndex(index);
+            this.index = index;
+            return this;
+        }
+
+        @Override
+        public double getX() {
+            return x[index];
+        }
+
+        @Override
+        public double getY() {
+            return y[index];
+        }
+
+        @Override
+        public double getZ() {
+            return z[index];
+        }
+
+        @Override
+        public double getYaw() {
+            return Spatium.degrees( -Math.atan2(x[index], z[index]) );
+        }
+
+        @Override
+        public double getPitch() {
+            return Spatium.degrees( -Math.atan(y[index] / Spatium.hypot(x[index], z[index])) );
+        }
+
+        @Override
+        public Vector3 set(double x, double y, double z) {
+            Vector3Buffer.this.x[index] = x;
+            Vector3Buffer.this.y[index] = y;
+            Vector3Buffer.this.z[index] = z;
+            return this;
+        }
+
+        @Override
+        public Vector3 setX(double x) {
+            Vector3Buffer.this.x[index] = x;
+            return this;
+        }
+
+        @Override
+        public Vector3 setY(double y) {
+            Vector3Buffer.this.y[index] = y;
+            return this;
+        }
+
+        @Override
+        public Vector3 setZ(double z) {
+            Vector3Buffer.this.z[index] = z;
+            return this;
+        }
+
+        @Override
+        public Vector3 setYaw(double yaw) {
+            return set(clone().setYaw(yaw));
+        }
+
+        @Override
+        public Vector3 setPitch(double pitch) {
+            return set(clone().setPitch(pitch));
+        }
+
+        @Override
+        public Vector3 setLengthYawPitch(double radius, double yaw, double pitch) {
+            return set(clone().setLengthYawPitch(radius, yaw, pitch));
+        }
+
+        @Override
+        public Vector3 add(double x, double y, double z) {
+            Vector3Buffer.this.x[index] += x;
+            Vector3Buffer.this.y[index] += y;
+            Vector3Buffer.this.z[index] += z;
+            return this;
+        }
+
+        @Override
+        public Vector3 subtract(double x, double y, double z) {
+            Vector3Buffer.this.x[index] -= x;
+            Vector3Buffer.this.y[index] -= y;
+            Vector3Buffer.this.z[index] -= z;
+            return this;
+        }
+
+        @Override
+        public Vector3 multiply(double x, double y, double z) {
+            Vector3Buffer.this.x[index] *= x;
+            Vector3Buffer.this.y[index] *= y;
+            Vector3Buffer.this.z[index] *= z;
+            return this;
+        }
+
+        @Override
+        public Vector3 divide(double x, double y, double z) {
+            Vector3Buffer.this.x[index] /= x;
+            Vector3Buffer.this.y[index] /= y;
+            Vector3Buffer.this.z[index] /= z;
+            return this;
+        }
+
+        @Override
+        public Vector3 transform(Matrix m) {
+            Vector3Buffer.this.transform(index, index + 1, m);
+            return this;
+        }
+
+        @Override
+        public Vector3 clone() {
+            return Vector3.fromXYZ(x[index], y[index], z[index]);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Vector3 && equals((Vector3) obj);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(new double[] {x[index], y[index], z[index]});
+        }
+
+        @Override
+        public String toString() {
+            return "("+x[index]+","+y[index]+","+z[index]+")";
+        }
+
+    }
+
+}
@@ -0,0 +1,320 @@
+package net.grian.spatium.impl;
+
+import net.grian.spatium.geo3.Vector3;
+import net.grian.spatium.matrix.Matrix;
+import net.grian.spatium.matrix.MatrixException;
+
+/**
+ * <p>
+ *     A 3x3 matrix which stores its entries in fields instead of an array.
+ * </p>
+ * <p>
+ *     Next to the operations of {@link Matrix}, it provides multiplication and transformation of vectors which write
+ *     into existing objects and thus do not allocate.
+ * </p>
+ */
+public class Matrix3Impl implements Matrix {
+
+    private double
+        m00, m01, m02,
+        m10, m11, m12,
+        m20, m21, m22;
+
+    public Matrix3Impl(double m00, double m01, double m02,
+                       double m10, double m11, double m12,
+                       double m20, double m21, double m22) {
+        set(m00, m01, m02, m10, m11, m12, m20, m21, m22);
+    }
+
+    public Matrix3Impl() {}
+
+    public Matrix3Impl(Matrix3Impl copyOf) {
+        set(copyOf);
+    }
+
+    // GETTERS
+
+    @Override
+    public double get(int i, int j) {
+        if (j < 0 || j >= 3) throw new IndexOutOfBoundsException("i="+i+", j="+j);
+        switch (i * 3 + j) {
+            case 0: return m00;
+            case 1: return m01;
+            case 2: return m02;
+            case 3: return m10;
+            case 4: return m11;
+            case 5: return m12;
+            case 6: return m20;
+            case 7: return m21;
+            case 8: return m22;
+            default: throw new IndexOutOfBoundsException("i="+i+", j="+j);
+        }
+    }
+
+    @Override
+    public double[] getRow(int i) {
+        switch (i) {
+            case 0: return new double[] {m00, m01, m02};
+            case 1: return new double[] {m10, m11, m12};
+            case 2: return new double[] {m20, m21, m22};
+            default: throw new IndexOutOfBoundsException(i+" must be 0-2");
+        }
+    }
+
+    @Override
+    public double[] getColumn(int j) {
+        switch (j) {
+            case 0: return new double[] {m00, m10, m20};
+            case 1: return new double[] {m01, m11, m21};
+            case 2: return new double[] {m02, m12, m22};
+            default: throw new IndexOutOfBoundsException(j+" must be 0-2");
+        }
+    }
+
+    @Override
+    public int getRows() {
+        return 3;
+    }
+
+    @Override
+    public int getColumns() {
+        return 3;
+    }
+
+    @Override
+    public double getDeterminant() {
+        return m00 * (m11 * m22 - m12 * m21)
+            + m01 * (m12 * m20 - m10 * m22)
+            + m02 * (m10 * m21 - m11 * m20);
+    }
+
+    @Override
+    public double getTrace() {
+        return m00 + m11 + m22;
+    }
+
+    @Override
+    public Matrix3Impl getCofactors() {
+        Matrix3Impl result = getAdjugate();
+        result.transpose();
+        return result;
+    }
+
+    @Override
+    public Matrix3Impl getAdjugate() {
+        return new Matrix3Impl(
+            m11 * m22 - m12 * m21, m02 * m21 - m01 * m22, m01 * m12 - m02 * m11,
+            m12 * m20 - m10 * m22, m00 * m22 - m02 * m20, m02 * m10 - m00 * m12,
+            m10 * m21 - m11 * m20, m01 * m20 - m00 * m21, m00 * m11 - m01 * m10);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws MatrixException if the matrix is singular
+     */
+    @Override
+    public Matrix3Impl getInverse() {
+        Matrix3Impl result = new Matrix3Impl(this);
+        result.invert();
+        return result;
+    }
+
+    // SETTERS
+
+    @Override
+    public void set(int i, int j, double value) {
+        if (j < 0 || j >= 3) throw new IndexOutOfBoundsException("i="+i+", j="+j);
+        switch (i * 3 + j) {
+            case 0: m00 = value; break;
+            case 1: m01 = value; break;
+            case 2: m02 = value; break;
+            case 3: m10 = value; break;
+            case 4: m11 = value; break;
+            case 5: m12 = value; break;
+            case 6: m20 = value; break;
+            case 7: m21 = value; break;
+            case 8: m22 = value; break;
+            default: throw new IndexOutOfBoundsException("i="+i+", j="+j);
+        }
+    }
+
+    /**
+     * Sets all entries of this matrix in row-major order.
+     *
+     * @return this matrix
+     */
+    public Matrix3Impl set(double m00, double m01, double m02,
+                           double m10, double m11, double m12,
+                           double m20, double m21, double m22) {
+        this.m00 = m00; this.m01 = m01; this.m02 = m02;
+        this.m10 = m10; this.m11 = m11; this.m12 = m12;
+        this.m20 = m20; this.m21 = m21; this.m22 = m22;
+        return this;
+    }
+
+    /**
+     * Sets all entries of this matrix to those of another matrix.
+     *
+     * @param m the matrix
+     * @return this matrix
+     */
+    public Matrix3Impl set(Matrix3Impl m) {
+        return set(m.m00, m.m01, m.m02, m.m10, m.m11, m.m12, m.m20, m.m21, m.m22);
+    }
+
+    /**
+     * Sets this matrix to the identity matrix.
+     *
+     * @return this matrix
+     */
+    public Matrix3Impl setIdentity() {
+        return set(1, 0, 0, 0, 1, 0, 0, 0, 1);
+    }
+
+    @Override
+    public void swap(int i0, int j0, int i1, int j1) {
+        double swap = get(i1, j1);
+        set(i1, j1, get(i0, j0));
+        set(i0, j0, swap);
+    }
+
+    @Override
+    public void swapRows(int i0, int i1) {
+        for (int j = 0; j < 3; j++)
+            swap(i0, j, i1, j);
+    }
+
+    @Override
+    public void swapColumns(int j0, int j1) {
+        for (int i = 0; i < 3; i++)
+            swap(i, j0, i, j1);
+    }
+
+    @Override
+    public void transpose() {
+        double swap;
+        swap = m01; m01 = m10; m10 = swap;
+        swap = m02; m02 = m20; m20 = swap;
+        swap = m12; m12 = m21; m21 = swap;
+    }
+
+    @Override
+    public void scale(double factor) {
+        m00 *= factor; m01 *= factor; m02 *= factor;
+        m10 *= factor; m11 *= factor; m12 *= factor;
+        m20 *= factor; m21 *= factor; m22 *= factor;
+    }
+
+    /**
+     * Inverts this matrix.
+     *
+     * @return this matrix
+     * @throws MatrixException if the matrix is singular
+     */
+    public Matrix3Impl invert() {
+        final double
+            c00 = m11 * m22 - m12 * m21,
+            c10 = m12 * m20 - m10 * m22,
+            c20 = m10 * m21 - m11 * m20,
+            det = m00 * c00 + m01 * c10 + m02 * c20;
+        if (det == 0) throw new MatrixException("matrix is singular");
+        final double inv = 1 / det;
+
+        return set(
+            c00 * inv, (m02 * m21 - m01 * m22) * inv, (m01 * m12 - m02 * m11) * inv,
+            c10 * inv, (m00 * m22 - m02 * m20) * inv, (m02 * m10 - m00 * m12) * inv,
+            c20 * inv, (m01 * m20 - m00 * m21) * inv, (m00 * m11 - m01 * m10) * inv);
+    }
+
+    // MULTIPLICATION
+
+    /**
+     * Multiplies this matrix with another matrix from the right, so that <code>this = this * m</code>.
+     *
+     * @param m the right-hand matrix
+     * @return this matrix
+     */
+    public Matrix3Impl mul(Matrix3Impl m) {
+        return mulTo(m, this);
+    }
+
+    /**
+     * Stores the product <code>this * m</code> in a destination matrix. The destination may be either of the
+     * factors.
+     *
+     * @param m the right-hand matrix
+     * @param dest the matrix to store the product in
+     * @return the destination matrix
+     */
+    public Matrix3Impl mulTo(Matrix3Impl m, Matrix3Impl dest) {
+        return dest.set(
+            m00 * m.m00 + m01 * m.m10 + m02 * m.m20,
+            m00 * m.m01 + m01 * m.m11 + m02 * m.m21,
+            m00 * m.m02 + m01 * m.m12 + m02 * m.m22,
+            m10 * m.m00 + m11 * m.m10 + m12 * m.m20,
+            m10 * m.m01 + m11 * m.m11 + m12 * m.m21,
+            m10 * m.m02 + m11 * m.m12 + m12 * m.m22,
+            m20 * m.m00 + m21 * m.m10 + m22 * m.m20,
+            m20 * m.m01 + m21 * m.m11 + m22 * m.m21,
+            m20 * m.m02 + m21 * m.m12 + m22 * m.m22);
+    }
+
+    // TRANSFORMATION
+
+    /**
+     * Transforms a point, so that <code>dest = this * (x, y, z)</code>.
+     *
+     * @param x the x-coordinate of the point
+     * @param y the y-coordinate of the point
+     * @param z the z-coordinate of the point
+     * @param dest the vector to store the result in
+     * @return the destination vector
+     */
+    public Vector3 transformPoint(double x, double y, double z, Vector3 dest) {
+        return dest.set(
+            m00 * x + m01 * y + m02 * z,
+            m10 * x + m11 * y + m12 * z,
+            m20 * x + m21 * y + m22 * z);
+    }
+
+    /**
+     * Transforms a point in place.
+     *
+     * @param point the point
+     * @return the point
+     */
+    public Vector3 transformPoint(Vector3 point) {
+        return transformPoint(point.getX(), point.getY(), point.getZ(), point);
+    }
+
+    /**
+     * Transforms a direction in place. Since a 3x3 matrix contains no translation, this is equivalent to
+     * {@link #transformPoint(Vector3)}.
+     *
+     * @param direction the direction
+     * @return the direction
+     */
+    public Vector3 transformDirection(Vector3 direction) {
+        return transformPoint(direction);
+    }
+
+    // MISC
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof Matrix && equals((Matrix) obj);
+    }
+
+    @Override
+    public String toString() {
+        return "[["+m00+","+m01+","+m02+"],["+m10+","+m11+","+m12+"],["+m20+","+m21+","+m22+"]]";
+    }
+
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    @Override
+    public Matrix3Impl clone() {
+        return new Matrix3Impl(this);
+    }
+
+}
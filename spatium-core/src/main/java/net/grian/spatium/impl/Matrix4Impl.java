@@ -0,0 +1,459 @@
+package net.grian.spatium.impl;
+
+import net.grian.spatium.geo3.Vector3;
+import net.grian.spatium.matrix.Matrix;
+import net.grian.spatium.matrix.MatrixException;
+
+/**
+ * <p>
+ *     A 4x4 matrix which stores its entries in fields instead of an array.
+ * </p>
+ * <p>
+ *     Next to the operations of {@link Matrix}, it provides multiplication and transformation of vectors which write
+ *     into existing objects and thus do not allocate. Points and directions are transformed as homogeneous
+ *     coordinates with <code>w = 1</code> and <code>w = 0</code> respectively, assuming that this matrix is an
+ *     affine transformation whose last row is <code>(0, 0, 0, 1)</code>.
+ * </p>
+ */
+public class Matrix4Impl implements Matrix {
+
+    private double
+        m00, m01, m02, m03,
+        m10, m11, m12, m13,
+        m20, m21, m22, m23,
+        m30, m31, m32, m33;
+
+    public Matrix4Impl(double m00, double m01, double m02, double m03,
+                       double m10, double m11, double m12, double m13,
+                       double m20, double m21, double m22, double m23,
+                       double m30, double m31, double m32, double m33) {
+        set(m00, m01, m02, m03, m10, m11, m12, m13, m20, m21, m22, m23, m30, m31, m32, m33);
+    }
+
+    public Matrix4Impl() {}
+
+    public Matrix4Impl(Matrix4Impl copyOf) {
+        set(copyOf);
+    }
+
+    // GETTERS
+
+    @Override
+    public double get(int i, int j) {
+        if (j < 0 || j >= 4) throw new IndexOutOfBoundsException("i="+i+", j="+j);
+        switch (i * 4 + j) {
+            case 0: return m00;
+            case 1: return m01;
+            case 2: return m02;
+            case 3: return m03;
+            case 4: return m10;
+            case 5: return m11;
+            case 6: return m12;
+            case 7: return m13;
+            case 8: return m20;
+            case 9: return m21;
+            case 10: return m22;
+            case 11: return m23;
+            case 12: return m30;
+            case 13: return m31;
+            case 14: return m32;
+            case 15: return m33;
+            default: throw new IndexOutOfBoundsException("i="+i+", j="+j);
+        }
+    }
+
+    @Override
+    public double[] getRow(int i) {
+        switch (i) {
+            case 0: return new double[] {m00, m01, m02, m03};
+            case 1: return new double[] {m10, m11, m12, m13};
+            case 2: return new double[] {m20, m21, m22, m23};
+            case 3: return new double[] {m30, m31, m32, m33};
+            default: throw new IndexOutOfBoundsException(i+" must be 0-3");
+        }
+    }
+
+    @Override
+    public double[] getColumn(int j) {
+        switch (j) {
+            case 0: return new double[] {m00, m10, m20, m30};
+            case 1: return new double[] {m01, m11, m21, m31};
+            case 2: return new double[] {m02, m12, m22, m32};
+            case 3: return new double[] {m03, m13, m23, m33};
+            default: throw new IndexOutOfBoundsException(j+" must be 0-3");
+        }
+    }
+
+    @Override
+    public int getRows() {
+        return 4;
+    }
+
+    @Override
+    public int getColumns() {
+        return 4;
+    }
+
+    @Override
+    public double getDeterminant() {
+        return (m00 * m11 - m10 * m01) * (m22 * m33 - m32 * m23)
+            - (m00 * m12 - m10 * m02) * (m21 * m33 - m31 * m23)
+            + (m00 * m13 - m10 * m03) * (m21 * m32 - m31 * m22)
+            + (m01 * m12 - m11 * m02) * (m20 * m33 - m30 * m23)
+            - (m01 * m13 - m11 * m03) * (m20 * m32 - m30 * m22)
+            + (m02 * m13 - m12 * m03) * (m20 * m31 - m30 * m21);
+    }
+
+    @Override
+    public double getTrace() {
+        return m00 + m11 + m22 + m33;
+    }
+
+    @Override
+    public Matrix4Impl getCofactors() {
+        Matrix4Impl result = getAdjugate();
+        result.transpose();
+        return result;
+    }
+
+    @Override
+    public Matrix4Impl getAdjugate() {
+        return adjugateTo(false, new Matrix4Impl());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     *     Affine matrices are inverted using {@link #invertAffine()}.
+     * </p>
+     *
+     * @throws MatrixException if the matrix is singular
+     */
+    @Override
+    public Matrix4Impl getInverse() {
+        Matrix4Impl result = new Matrix4Impl(this);
+        return isAffine()? result.invertAffine() : result.invert();
+    }
+
+    /**
+     * Returns whether this matrix is an affine transformation, which is the case if its last row is
+     * <code>(0, 0, 0, 1)</code>.
+     *
+     * @return whether this matrix is affine
+     */
+    public boolean isAffine() {
+        return m30 == 0 && m31 == 0 && m32 == 0 && m33 == 1;
+    }
+
+    // SETTERS
+
+    @Override
+    public void set(int i, int j, double value) {
+        if (j < 0 || j >= 4) throw new IndexOutOfBoundsException("i="+i+", j="+j);
+        switch (i * 4 + j) {
+            case 0: m00 = value; break;
+            case 1: m01 = value; break;
+            case 2: m02 = value; break;
+            case 3: m03 = value; break;
+            case 4: m10 = value; break;
+            case 5: m11 = value; break;
+            case 6: m12 = value; break;
+            case 7: m13 = value; break;
+            case 8: m20 = value; break;
+            case 9: m21 = value; break;
+            case 10: m22 = value; break;
+            case 11: m23 = value; break;
+            case 12: m30 = value; break;
+            case 13: m31 = value; break;
+            case 14: m32 = value; break;
+            case 15: m33 = value; break;
+            default: throw new IndexOutOfBoundsException("i="+i+", j="+j);
+        }
+    }
+
+    /**
+     * Sets all entries of this matrix in row-major order.
+     *
+     * @return this matrix
+     */
+    public Matrix4Impl set(double m00, double m01, double m02, double m03,
+                           double m10, double m11, double m12, double m13,
+                           double m20, double m21, double m22, double m23,
+                           double m30, double m31, double m32, double m33) {
+        this.m00 = m00; this.m01 = m01; this.m02 = m02; this.m03 = m03;
+        this.m10 = m10; this.m11 = m11; this.m12 = m12; this.m13 = m13;
+        this.m20 = m20; this.m21 = m21; this.m22 = m22; this.m23 = m23;
+        this.m30 = m30; this.m31 = m31; this.m32 = m32; this.m33 = m33;
+        return this;
+    }
+
+    /**
+     * Sets all entries of this matrix to those of another matrix.
+     *
+     * @param m the matrix
+     * @return this matrix
+     */
+    public Matrix4Impl set(Matrix4Impl m) {
+        return set(
+            m.m00, m.m01, m.m02, m.m03,
+            m.m10, m.m11, m.m12, m.m13,
+            m.m20, m.m21, m.m22, m.m23,
+            m.m30, m.m31, m.m32, m.m33);
+    }
+
+    /**
+     * Sets this matrix to the identity matrix.
+     *
+     * @return this matrix
+     */
+    public Matrix4Impl setIdentity() {
+        return set(1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1);
+    }
+
+    @Override
+    public void swap(int i0, int j0, int i1, int j1) {
+        double swap = get(i1, j1);
+        set(i1, j1, get(i0, j0));
+        set(i0, j0, swap);
+    }
+
+    @Override
+    public void swapRows(int i0, int i1) {
+        for (int j = 0; j < 4; j++)
+            swap(i0, j, i1, j);
+    }
+
+    @Override
+    public void swapColumns(int j0, int j1) {
+        for (int i = 0; i < 4; i++)
+            swap(i, j0, i, j1);
+    }
+
+    @Override
+    public void transpose() {
+        double swap;
+        swap = m01; m01 = m10; m10 = swap;
+        swap = m02; m02 = m20; m20 = swap;
+        swap = m03; m03 = m30; m30 = swap;
+        swap = m12; m12 = m21; m21 = swap;
+        swap = m13; m13 = m31; m31 = swap;
+        swap = m23; m23 = m32; m32 = swap;
+    }
+
+    @Override
+    public void scale(double factor) {
+        m00 *= factor; m01 *= factor; m02 *= factor; m03 *= factor;
+        m10 *= factor; m11 *= factor; m12 *= factor; m13 *= factor;
+        m20 *= factor; m21 *= factor; m22 *= factor; m23 *= factor;
+        m30 *= factor; m31 *= factor; m32 *= factor; m33 *= factor;
+    }
+
+    /**
+     * Inverts this matrix.
+     *
+     * @return this matrix
+     * @throws MatrixException if the matrix is singular
+     */
+    public Matrix4Impl invert() {
+        return adjugateTo(true, this);
+    }
+
+    /**
+     * <p>
+     *     Inverts this matrix under the assumption that it is affine, which means that its last row is
+     *     <code>(0, 0, 0, 1)</code>.
+     * </p>
+     * <p>
+     *     Only the upper-left 3x3 matrix <code>A</code> is inverted, the translation <code>t</code> of the inverse is
+     *     then given by <code>-A<sup>-1</sup>t</code>. This is considerably cheaper than {@link #invert()}.
+     * </p>
+     *
+     * @return this matrix
+     * @throws MatrixException if the matrix is singular
+     */
+    public Matrix4Impl invertAffine() {
+        final double
+            c00 = m11 * m22 - m12 * m21,
+            c10 = m12 * m20 - m10 * m22,
+            c20 = m10 * m21 - m11 * m20,
+            det = m00 * c00 + m01 * c10 + m02 * c20;
+        if (det == 0) throw new MatrixException("matrix is singular");
+        final double inv = 1 / det;
+
+        final double
+            i00 = c00 * inv, i01 = (m02 * m21 - m01 * m22) * inv, i02 = (m01 * m12 - m02 * m11) * inv,
+            i10 = c10 * inv, i11 = (m00 * m22 - m02 * m20) * inv, i12 = (m02 * m10 - m00 * m12) * inv,
+            i20 = c20 * inv, i21 = (m01 * m20 - m00 * m21) * inv, i22 = (m00 * m11 - m01 * m10) * inv;
+
+        return set(
+            i00, i01, i02, -(i00 * m03 + i01 * m13 + i02 * m23),
+            i10, i11, i12, -(i10 * m03 + i11 * m13 + i12 * m23),
+            i20, i21, i22, -(i20 * m03 + i21 * m13 + i22 * m23),
+            0, 0, 0, 1);
+    }
+
+    /**
+     * Stores the adjugate or the inverse of this matrix in a destination matrix, which may be this matrix.
+     *
+     * @param invert whether to divide the adjugate by the determinant
+     * @param dest the matrix to store the result in
+     * @return the destination matrix
+     */
+    private Matrix4Impl adjugateTo(boolean invert, Matrix4Impl dest) {
+        final double
+            s0 = m00 * m11 - m10 * m01,
+            s1 = m00 * m12 - m10 * m02,
+            s2 = m00 * m13 - m10 * m03,
+            s3 = m01 * m12 - m11 * m02,
+            s4 = m01 * m13 - m11 * m03,
+            s5 = m02 * m13 - m12 * m03,
+            c5 = m22 * m33 - m32 * m23,
+            c4 = m21 * m33 - m31 * m23,
+            c3 = m21 * m32 - m31 * m22,
+            c2 = m20 * m33 - m30 * m23,
+            c1 = m20 * m32 - m30 * m22,
+            c0 = m20 * m31 - m30 * m21;
+
+        double f = 1;
+        if (invert) {
+            double det = s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0;
+            if (det == 0) throw new MatrixException("matrix is singular");
+            f = 1 / det;
+        }
+
+        return dest.set(
+            ( m11 * c5 - m12 * c4 + m13 * c3) * f,
+            (-m01 * c5 + m02 * c4 - m03 * c3) * f,
+            ( m31 * s5 - m32 * s4 + m33 * s3) * f,
+            (-m21 * s5 + m22 * s4 - m23 * s3) * f,
+
+            (-m10 * c5 + m12 * c2 - m13 * c1) * f,
+            ( m00 * c5 - m02 * c2 + m03 * c1) * f,
+            (-m30 * s5 + m32 * s2 - m33 * s1) * f,
+            ( m20 * s5 - m22 * s2 + m23 * s1) * f,
+
+            ( m10 * c4 - m11 * c2 + m13 * c0) * f,
+            (-m00 * c4 + m01 * c2 - m03 * c0) * f,
+            ( m30 * s4 - m31 * s2 + m33 * s0) * f,
+            (-m20 * s4 + m21 * s2 - m23 * s0) * f,
+
+            (-m10 * c3 + m11 * c1 - m12 * c0) * f,
+            ( m00 * c3 - m01 * c1 + m02 * c0) * f,
+            (-m30 * s3 + m31 * s1 - m32 * s0) * f,
+            ( m20 * s3 - m21 * s1 + m22 * s0) * f);
+    }
+
+    // MULTIPLICATION
+
+    /**
+     * Multiplies this matrix with another matrix from the right, so that <code>this = this * m</code>.
+     *
+     * @param m the right-hand matrix
+     * @return this matrix
+     */
+    public Matrix4Impl mul(Matrix4Impl m) {
+        return mulTo(m, this);
+    }
+
+    /**
+     * Stores the product <code>this * m</code> in a destination matrix. The destination may be either of the
+     * factors.
+     *
+     * @param m the right-hand matrix
+     * @param dest the matrix to store the product in
+     * @return the destination matrix
+     */
+    public Matrix4Impl mulTo(Matrix4Impl m, Matrix4Impl dest) {
+        return dest.set(
+            m00 * m.m00 + m01 * m.m10 + m02 * m.m20 + m03 * m.m30,
+            m00 * m.m01 + m01 * m.m11 + m02 * m.m21 + m03 * m.m31,
+            m00 * m.m02 + m01 * m.m12 + m02 * m.m22 + m03 * m.m32,
+            m00 * m.m03 + m01 * m.m13 + m02 * m.m23 + m03 * m.m33,
+            m10 * m.m00 + m11 * m.m10 + m12 * m.m20 + m13 * m.m30,
+            m10 * m.m01 + m11 * m.m11 + m12 * m.m21 + m13 * m.m31,
+            m10 * m.m02 + m11 * m.m12 + m12 * m.m22 + m13 * m.m32,
+            m10 * m.m03 + m11 * m.m13 + m12 * m.m23 + m13 * m.m33,
+            m20 * m.m00 + m21 * m.m10 + m22 * m.m20 + m23 * m.m30,
+            m20 * m.m01 + m21 * m.m11 + m22 * m.m21 + m23 * m.m31,
+            m20 * m.m02 + m21 * m.m12 + m22 * m.m22 + m23 * m.m32,
+            m20 * m.m03 + m21 * m.m13 + m22 * m.m23 + m23 * m.m33,
+            m30 * m.m00 + m31 * m.m10 + m32 * m.m20 + m33 * m.m30,
+            m30 * m.m01 + m31 * m.m11 + m32 * m.m21 + m33 * m.m31,
+            m30 * m.m02 + m31 * m.m12 + m32 * m.m22 + m33 * m.m32,
+            m30 * m.m03 + m31 * m.m13 + m32 * m.m23 + m33 * m.m33);
+    }
+
+    // TRANSFORMATION
+
+    /**
+     * Transforms a point, including the translation of this matrix.
+     *
+     * @param x the x-coordinate of the point
+     * @param y the y-coordinate of the point
+     * @param z the z-coordinate of the point
+     * @param dest the vector to store the result in
+     * @return the destination vector
+     */
+    public Vector3 transformPoint(double x, double y, double z, Vector3 dest) {
+        return dest.set(
+            m00 * x + m01 * y + m02 * z + m03,
+            m10 * x + m11 * y + m12 * z + m13,
+            m20 * x + m21 * y + m22 * z + m23);
+    }
+
+    /**
+     * Transforms a point in place, including the translation of this matrix.
+     *
+     * @param point the point
+     * @return the point
+     */
+    public Vector3 transformPoint(Vector3 point) {
+        return transformPoint(point.getX(), point.getY(), point.getZ(), point);
+    }
+
+    /**
+     * Transforms a direction, ignoring the translation of this matrix.
+     *
+     * @param x the x-coordinate of the direction
+     * @param y the y-coordinate of the direction
+     * @param z the z-coordinate of the direction
+     * @param dest the vector to store the result in
+     * @return the destination vector
+     */
+    public Vector3 transformDirection(double x, double y, double z, Vector3 dest) {
+        return dest.set(
+            m00 * x + m01 * y + m02 * z,
+            m10 * x + m11 * y + m12 * z,
+            m20 * x + m21 * y + m22 * z);
+    }
+
+    /**
+     * Transforms a direction in place, ignoring the translation of this matrix.
+     *
+     * @param direction the direction
+     * @return the direction
+     */
+    public Vector3 transformDirection(Vector3 direction) {
+        return transformDirection(direction.getX(), direction.getY(), direction.getZ(), direction);
+    }
+
+    // MISC
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof Matrix && equals((Matrix) obj);
+    }
+
+    @Override
+    public String toString() {
+        return "[["+m00+","+m01+","+m02+","+m03+"],["+m10+","+m11+","+m12+","+m13+"],"
+            +"["+m20+","+m21+","+m22+","+m23+"],["+m30+","+m31+","+m32+","+m33+"]]";
+    }
+
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    @Override
+    public Matrix4Impl clone() {
+        return new Matrix4Impl(this);
+    }
+
+}
@@ -1,7 +1,9 @@
 package net.grian.spatium.impl;
 
+import net.grian.spatium.matrix.LUDecomposition;
 import net.grian.spatium.matrix.Matrix;
 import net.grian.spatium.matrix.MatrixDimensionsException;
+import net.grian.spatium.matrix.MatrixException;
 import eisenwave.spatium.util.FastMath;
 import eisenwave.spatium.util.Strings;
 
@@ -89,7 +91,8 @@ public class MatrixImpl implements Matrix {
         if (rows == 1) return get(0, 0);
         if (rows == 2) return determinant2();
         if (rows == 3) return determinant3();
-        return determinantRecursive();
+        if (rows == 4) return determinant4();
+        return new LUDecomposition(this).getDeterminant();
     }
     
     /**
@@ -117,20 +120,27 @@ public class MatrixImpl implements Matrix {
             - get(0, 1) * get(1, 0) * get(2, 2);
     }
     
-    private double determinantRecursive() {
-        if (rows == 3) return determinant3();
-        
-        //Temporary matrix to paste the cofactors in to avoid constructing new matrix for every cofactor
-        MatrixImpl canvas = new MatrixImpl(rows - 1, rows - 1);
-        double result = 0;
-        
-        for (int i = 0; i < columns; i++) {
-            pasteWithoutRowCol(canvas, i, 0);
-            
-            result += get(i, 0) * FastMath.minusOnePow(i) * canvas.determinantRecursive();
-        }
-        
-        return result;
+    /**
+     * Special case formula for 4x4 matrices, using the 2x2 sub-determinants of the upper and lower two rows.
+     *
+     * @return the determinant of the matrix
+     */
+    private double determinant4() {
+        final double[] a = content;
+        final double
+            s0 = a[0] * a[5] - a[4] * a[1],
+            s1 = a[0] * a[6] - a[4] * a[2],
+            s2 = a[0] * a[7] - a[4] * a[3],
+            s3 = a[1] * a[6] - a[5] * a[2],
+            s4 = a[1] * a[7] - a[5] * a[3],
+            s5 = a[2] * a[7] - a[6] * a[3],
+            c5 = a[10] * a[15] - a[14] * a[11],
+            c4 = a[9] * a[15] - a[13] * a[11],
+            c3 = a[9] * a[14] - a[13] * a[10],
+            c2 = a[8] * a[15] - a[12] * a[11],
+            c1 = a[8] * a[14] - a[12] * a[10],
+            c0 = a[8] * a[13] - a[12] * a[9];
+        return s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0;
     }
     
     @Override
@@ -161,30 +171,96 @@ public class MatrixImpl implements Matrix {
         return cofactors;
     }
     
+    /**
+     * {@inheritDoc}
+     * <p>
+     *     Matrices of up to 4x4 are inverted using closed-form formulas, larger matrices using an
+     *     {@link LUDecomposition}.
+     * </p>
+     *
+     * @throws MatrixException if the matrix is singular
+     */
     @Override
     public MatrixImpl getInverse() {
         if (!isSquare())
             throw new MatrixDimensionsException("non-square matrices have no inverse (" + rows + ", " + columns + ")");
-        if (rows == 1) return clone();
+        if (rows == 1) return new MatrixImpl(1, 1, 1 / checkInvertible(get(0, 0)));
         if (rows == 2) return inverse2();
+        if (rows == 3) return inverse3();
+        if (rows == 4) return inverse4();
         
-        MatrixImpl adj = getAdjugate();
-        //determinant can be obtained faster since adjugate already contains all necessary information
-        double det = 0;
-        for (int i = 0; i < rows; i++)
-            det += adj.get(i, 0) * get(0, i);
-        
-        adj.scale(1 / det);
-        return adj;
+        LUDecomposition lu = new LUDecomposition(this);
+        if (lu.isSingular()) throw new MatrixException("matrix is singular");
+        MatrixImpl result = new MatrixImpl(rows, columns);
+        lu.invertInto(result.content);
+        return result;
     }
     
     private MatrixImpl inverse2() {
         MatrixImpl m = cofactors2();
         m.transpose();
-        m.scale(1 / determinant2());
+        m.scale(1 / checkInvertible(determinant2()));
         return m;
     }
     
+    private MatrixImpl inverse3() {
+        final double[] a = content;
+        final double
+            b00 = a[4] * a[8] - a[5] * a[7],
+            b10 = a[5] * a[6] - a[3] * a[8],
+            b20 = a[3] * a[7] - a[4] * a[6],
+            inv = 1 / checkInvertible(a[0] * b00 + a[1] * b10 + a[2] * b20);
+        
+        return new MatrixImpl(3, 3,
+            b00 * inv, (a[2] * a[7] - a[1] * a[8]) * inv, (a[1] * a[5] - a[2] * a[4]) * inv,
+            b10 * inv, (a[0] * a[8] - a[2] * a[6]) * inv, (a[2] * a[3] - a[0] * a[5]) * inv,
+            b20 * inv, (a[1] * a[6] - a[0] * a[7]) * inv, (a[0] * a[4] - a[1] * a[3]) * inv);
+    }
+    
+    private MatrixImpl inverse4() {
+        final double[] a = content;
+        final double
+            s0 = a[0] * a[5] - a[4] * a[1],
+            s1 = a[0] * a[6] - a[4] * a[2],
+            s2 = a[0] * a[7] - a[4] * a[3],
+            s3 = a[1] * a[6] - a[5] * a[2],
+            s4 = a[1] * a[7] - a[5] * a[3],
+            s5 = a[2] * a[7] - a[6] * a[3],
+            c5 = a[10] * a[15] - a[14] * a[11],
+            c4 = a[9] * a[15] - a[13] * a[11],
+            c3 = a[9] * a[14] - a[13] * a[10],
+            c2 = a[8] * a[15] - a[12] * a[11],
+            c1 = a[8] * a[14] - a[12] * a[10],
+            c0 = a[8] * a[13] - a[12] * a[9],
+            inv = 1 / checkInvertible(s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0);
+        
+        return new MatrixImpl(4, 4,
+            ( a[5] * c5 - a[6] * c4 + a[7] * c3) * inv,
+            (-a[1] * c5 + a[2] * c4 - a[3] * c3) * inv,
+            ( a[13] * s5 - a[14] * s4 + a[15] * s3) * inv,
+            (-a[9] * s5 + a[10] * s4 - a[11] * s3) * inv,
+            
+            (-a[4] * c5 + a[6] * c2 - a[7] * c1) * inv,
+            ( a[0] * c5 - a[2] * c2 + a[3] * c1) * inv,
+            (-a[12] * s5 + a[14] * s2 - a[15] * s1) * inv,
+            ( a[8] * s5 - a[10] * s2 + a[11] * s1) * inv,
+            
+            ( a[4] * c4 - a[5] * c2 + a[7] * c0) * inv,
+            (-a[0] * c4 + a[1] * c2 - a[3] * c0) * inv,
+            ( a[12] * s4 - a[13] * s2 + a[15] * s0) * inv,
+            (-a[8] * s4 + a[9] * s2 - a[11] * s0) * inv,
+            
+            (-a[4] * c3 + a[5] * c1 - a[6] * c0) * inv,
+            ( a[0] * c3 - a[1] * c1 + a[2] * c0) * inv,
+            (-a[12] * s3 + a[13] * s1 - a[14] * s0) * inv,
+            ( a[8] * s3 - a[9] * s1 + a[10] * s0) * inv);
+    }
+    
+    private static double checkInvertible(double determinant) {
+        if (determinant == 0) throw new MatrixException("matrix is singular");
+        return determinant;
+    }
+    
     private MatrixImpl cofactors2() {
         return new MatrixImpl(2, 2,
             get(1, 1), -get(1, 0),
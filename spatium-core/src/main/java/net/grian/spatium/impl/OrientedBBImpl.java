@@ -85,6 +85,21 @@ public class OrientedBBImpl implements OrientedBB {
         return Vector3.fromXYZ(cx, cy, cz);
     }
 
+    @Override
+    public double getCenterX() {
+        return cx;
+    }
+
+    @Override
+    public double getCenterY() {
+        return cy;
+    }
+
+    @Override
+    public double getCenterZ() {
+        return cz;
+    }
+
     @Override
     public Matrix getTransform() {
         return trans.clone();
@@ -126,6 +141,11 @@ public class OrientedBBImpl implements OrientedBB {
         return Vector3.fromXYZ(trans.get(2, 0), trans.get(2, 1), trans.get(2, 2));
     }
 
+    @Override
+    public double getAxisComponent(int axis, int component) {
+        return trans.get(axis, component);
+    }
+
     @Override
     public double getSizeX() {
         return dx*2;
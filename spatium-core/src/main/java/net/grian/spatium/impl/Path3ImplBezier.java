@@ -8,24 +8,99 @@ import java.util.Arrays;
 
 public class Path3ImplBezier implements Path3 {
 
+    /** the amount of arc length samples per control point */
+    private final static int LENGTH_SAMPLES_PER_POINT = 32;
+
     private final Vector3[] points;
+    /** the control points, packed as x, y, z triples */
+    private final double[] coords;
+    /** the cumulative arc length at evenly spaced path multipliers, created on first use */
+    private transient volatile double[] lengths;
 
     public Path3ImplBezier(Vector3... points) {
         if (points.length == 0) throw new IllegalArgumentException("no points given");
         this.points = Arrays.copyOf(points, points.length);
+        this.coords = new double[points.length * 3];
+        for (int i = 0; i < points.length; i++) {
+            coords[i * 3] = points[i].getX();
+            coords[i * 3 + 1] = points[i].getY();
+            coords[i * 3 + 2] = points[i].getZ();
+        }
     }
 
     @Override
     public Vector3 getPoint(double t) {
-        return Curves.bezier(t % 1, points);
+        return getPointInto(t, Vector3.zero());
+    }
+
+    @Override
+    public Vector3 getPointInto(double t, Vector3 dest) {
+        if (t < 0 || t > 1) t -= Math.floor(t);
+        return Curves.bezierInto(t, coords, 0, points.length, dest);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     *     The path multiplier is looked up in a table of arc lengths which is created on first use and interpolated
+     *     linearly between its samples.
+     * </p>
+     */
+    @Override
+    public double getArcParameter(double fraction) {
+        final double[] lengths = getLengthTable();
+        final int samples = lengths.length - 1;
+        final double total = lengths[samples];
+        if (total == 0 || fraction <= 0) return 0;
+        if (fraction >= 1) return 1;
+
+        final double target = fraction * total;
+        //find the last sample whose length does not exceed the target
+        int low = 0, high = samples;
+        while (high - low > 1) {
+            int mid = (low + high) >>> 1;
+            if (lengths[mid] <= target) low = mid;
+            else high = mid;
+        }
+
+        final double segment = lengths[high] - lengths[low];
+        final double offset = segment == 0? 0 : (target - lengths[low]) / segment;
+        return (low + offset) / samples;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     *     The length is approximated by the length of a polyline through evenly spaced points on the curve.
+     * </p>
+     */
     @Override
     public double getLength() {
-        double result = 0;
-        for (int i = 1; i<points.length; i++)
-            result += points[i].distanceTo(points[i-1]);
+        final double[] lengths = getLengthTable();
+        return lengths[lengths.length - 1];
+    }
+
+    private double[] getLengthTable() {
+        double[] result = lengths;
+        if (result == null)
+            lengths = result = createLengthTable();
+        return result;
+    }
+
+    private double[] createLengthTable() {
+        final int samples = LENGTH_SAMPLES_PER_POINT * points.length;
+        final double[] result = new double[samples + 1];
+        final Vector3 point = Vector3.zero();
 
+        double x = coords[0], y = coords[1], z = coords[2];
+        for (int i = 1; i <= samples; i++) {
+            Curves.bezierInto(i / (double) samples, coords, 0, points.length, point);
+            final double dx = point.getX() - x, dy = point.getY() - y, dz = point.getZ() - z;
+            result[i] = result[i - 1] + Math.sqrt(dx*dx + dy*dy + dz*dz);
+            x = point.getX();
+            y = point.getY();
+            z = point.getZ();
+        }
         return result;
     }
 
@@ -11,13 +11,15 @@ public class Path3ImplCircle implements Path3 {
     private final double cx, cy, cz, r, nx, ny, nz;
 
     public Path3ImplCircle(double ox, double oy, double oz, double r, double nx, double ny, double nz) {
+        final double length = Math.sqrt(nx*nx + ny*ny + nz*nz);
+        if (length == 0) throw new IllegalArgumentException("normal must not be zero");
         this.cx = ox;
         this.cy = oy;
         this.cz = oz;
         this.r = r;
-        this.nx = nx;
-        this.ny = ny;
-        this.nz = nz;
+        this.nx = nx / length;
+        this.ny = ny / length;
+        this.nz = nz / length;
     }
 
     public Path3ImplCircle(Sphere sphere, Vector3 normal) {
@@ -53,8 +55,17 @@ public class Path3ImplCircle implements Path3 {
         return Vector3.fromXYZ(cx, cy, cz);
     }
 
+    /**
+     * Returns the origin of this path relative to its center, which is a vector of length r perpendicular to the
+     * normal.
+     *
+     * @return the relative origin
+     */
     public Vector3 getRelativeOrigin() {
-        return Vector3.fromXYZ(nx, 0, -1/nz).setLength(r);
+        //cross product of the normal and the axis which is least parallel to it
+        return Math.abs(nx) < 0.9
+            ? Vector3.fromXYZ(0, nz, -ny).setLength(r)
+            : Vector3.fromXYZ(-nz, 0, nx).setLength(r);
     }
 
     @Override
@@ -64,12 +75,13 @@ public class Path3ImplCircle implements Path3 {
 
     @Override
     public double getLength() {
-        return r;
+        return CacheMath.TAU * r;
     }
 
     @Override
     public double getLengthSquared() {
-        return r * r;
+        double l = getLength();
+        return l*l;
     }
 
     @Override
@@ -7,70 +7,126 @@ import java.util.Arrays;
 
 public class Path3ImplLinear implements Path3 {
 
-    private final Vector3[] points;
+    /** the points, packed as x, y, z triples */
+    private final double[] coords;
+    /** the cumulative length of the path at each point */
+    private final double[] lengths;
 
     public Path3ImplLinear(Vector3... points) {
         if (points.length == 0) throw new IllegalArgumentException("no points given");
-        this.points = Arrays.copyOf(points, points.length);
+        this.coords = new double[points.length * 3];
+        for (int i = 0; i < points.length; i++) {
+            coords[i * 3] = points[i].getX();
+            coords[i * 3 + 1] = points[i].getY();
+            coords[i * 3 + 2] = points[i].getZ();
+        }
+        this.lengths = createLengths(coords);
     }
 
-    @Override
-    public Vector3 getPoint(double t) {
-        t %= 1;
-        if (points.length == 1) return getOrigin();
-        if (points.length == 2) return points[0].midPoint(points[1]);
-
-        double[] lengths = new double[points.length-1];
-        for (int i = 1; i<=points.length; i++)
-            lengths[i] = points[i].distanceTo(points[i-1]);
-        setTotalLength(lengths, 1);
-
-        for (int i = 0; i<lengths.length; i++)
-            if (t >= lengths[i]) return points[i].clone();
+    /**
+     * Constructs a new linear path from points which are packed into an array as consecutive <code>x, y, z</code>
+     * triples.
+     *
+     * @param coords the packed points
+     */
+    public Path3ImplLinear(double[] coords) {
+        if (coords.length == 0 || coords.length % 3 != 0)
+            throw new IllegalArgumentException("coordinates must be a non-empty multiple of 3 long");
+        this.coords = Arrays.copyOf(coords, coords.length);
+        this.lengths = createLengths(this.coords);
+    }
 
-        return getEnd();
+    private static double[] createLengths(double[] coords) {
+        final double[] result = new double[coords.length / 3];
+        for (int i = 1, index = 3; i < result.length; i++, index += 3) {
+            final double
+                dx = coords[index] - coords[index - 3],
+                dy = coords[index + 1] - coords[index - 2],
+                dz = coords[index + 2] - coords[index - 1];
+            result[i] = result[i - 1] + Math.sqrt(dx*dx + dy*dy + dz*dz);
+        }
+        return result;
     }
 
-    private static void setTotalLength(double[] numbers, double length) {
-        double factor = length / sum(numbers);
-        for (int i = 0; i<numbers.length; i++)
-            numbers[i] *= factor;
+    /**
+     * Returns the amount of points of this path.
+     *
+     * @return the amount of points
+     */
+    public int getPointCount() {
+        return lengths.length;
     }
 
-    private static double sum(double[] numbers) {
-        int result = 0;
-        for (double number : numbers)
-            result += number;
+    @Override
+    public Vector3 getPoint(double t) {
+        return getPointInto(t, Vector3.zero());
+    }
 
-        return result;
+    /**
+     * {@inheritDoc}
+     * <p>
+     *     The path multiplier is proportional to the travelled length of the path.
+     * </p>
+     */
+    @Override
+    public Vector3 getPointInto(double t, Vector3 dest) {
+        if (t < 0 || t > 1) t -= Math.floor(t);
+        final int last = lengths.length - 1;
+        final double target = t * lengths[last];
+
+        //find the segment which contains the target length
+        int low = 0, high = last;
+        while (high - low > 1) {
+            int mid = (low + high) >>> 1;
+            if (lengths[mid] <= target) low = mid;
+            else high = mid;
+        }
+
+        final double segment = lengths[high] - lengths[low];
+        final double f = segment == 0? 0 : (target - lengths[low]) / segment;
+        final int a = low * 3, b = high * 3;
+        return dest.set(
+            coords[a] + (coords[b] - coords[a]) * f,
+            coords[a + 1] + (coords[b + 1] - coords[a + 1]) * f,
+            coords[a + 2] + (coords[b + 2] - coords[a + 2]) * f);
     }
 
     @Override
     public double getLength() {
-        return Math.sqrt(getLengthSquared());
+        return lengths[lengths.length - 1];
     }
 
     @Override
     public double getLengthSquared() {
-        double result = 0;
-        for (int i = 1; i<points.length; i++)
-            result += points[i].distanceTo(points[i-1]);
-
-        return result;
+        double l = getLength();
+        return l*l;
     }
 
     @Override
     public Vector3 getEnd() {
-        return points[points.length - 1].clone();
+        final int index = coords.length - 3;
+        return Vector3.fromXYZ(coords[index], coords[index + 1], coords[index + 2]);
     }
 
     @Override
     public Vector3 getOrigin() {
-        return points[0].clone();
+        return Vector3.fromXYZ(coords[0], coords[1], coords[2]);
     }
 
     @Override
     public Vector3[] getControlPoints() {
-        return Arrays.copyOf(points, points.length);
+        Vector3[] result = new Vector3[lengths.length];
+        for (int i = 0; i < result.length; i++)
+            result[i] = Vector3.fromXYZ(coords[i * 3], coords[i * 3 + 1], coords[i * 3 + 2]);
+        return result;
+    }
+
+    /**
+     * Returns a copy of the points of this path, packed as consecutive <code>x, y, z</code> triples.
+     *
+     * @return the packed points
+     */
+    public double[] getCoordinates() {
+        return Arrays.copyOf(coords, coords.length);
     }
 }
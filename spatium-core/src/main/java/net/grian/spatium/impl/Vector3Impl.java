@@ -130,8 +130,8 @@ public class Vector3Impl implements Vector3 {
     public Vector3 midPoint(Vector3 v, double t) {
         return new Vector3Impl(
             this.getX() + (v.getX() - this.getX()) * t,
-            this.getX() + (v.getY() - this.getY()) * t,
-            this.getX() + (v.getZ() - this.getZ()) * t);
+            this.getY() + (v.getY() - this.getY()) * t,
+            this.getZ() + (v.getZ() - this.getZ()) * t);
     }
     
     @Override
@@ -172,6 +172,8 @@ public class Vector3Impl implements Vector3 {
 
     @Override
     public Vector3 transform(Matrix m) {
+        if (m instanceof Matrix3Impl)
+            return ((Matrix3Impl) m).transformPoint(this);
         if (m.getRows() != 3 || m.getColumns() != 3)
             throw new MatrixDimensionsException("matrix must be a 3x3 matrix");
 
@@ -7,14 +7,27 @@ import eisenwave.spatium.util.PrimMath;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
-public class BlockIntervalIterator implements Iterator<BlockVector> {
+/**
+ * <p>
+ *     An iterator over the blocks of a line between two blocks, rasterized using a three-dimensional Bresenham
+ *     algorithm.
+ * </p>
+ * <p>
+ *     Instances are obtained using {@link #between(int, int, int, int, int, int)}. The leading axis of the line is
+ *     determined once on construction and every step switches on it, so there is no virtual dispatch per block.
+ *     Blocks can be consumed without any allocation using {@link #nextX()}, {@link #nextY()}, {@link #nextZ()} and
+ *     {@link #increment()}, or in bulk using {@link #drainTo(int[], int[], int[])}.
+ * </p>
+ */
+public final class BlockIntervalIterator implements Iterator<BlockVector> {
 
-    private final int dx, dy, dz, ix, iy, iz, dmax;
-    private final Runnable increment;
+    private final static int LEAD_X = 0, LEAD_Y = 1, LEAD_Z = 2;
+
+    private final int dx, dy, dz, ix, iy, iz, dmax, lead;
 
     private int x, y, z, i, err0, err1;
     
-    public BlockIntervalIterator(int x0, int y0, int z0, int x1, int y1, int z1) {
+    private BlockIntervalIterator(int x0, int y0, int z0, int x1, int y1, int z1) {
         this.dx = Math.abs(x1 - x0);
         this.dy = Math.abs(y1 - y0);
         this.dz = Math.abs(z1 - z0);
@@ -30,84 +43,216 @@ public class BlockIntervalIterator implements Iterator<BlockVector> {
         this.ix = x0 < x1? 1 : -1;
         this.iy = y0 < y1? 1 : -1;
         this.iz = z0 < z1? 1 : -1;
-        
-        if (dx == dmax)      increment = this::incrementLeadX;
-        else if (dy == dmax) increment = this::incrementLeadY;
-        else                 increment = this::incrementLeadZ;
+
+        if (dx == dmax)      lead = LEAD_X;
+        else if (dy == dmax) lead = LEAD_Y;
+        else                 lead = LEAD_Z;
     }
-    
-    public BlockIntervalIterator(BlockVector org, BlockVector end) {
-        this(org.getX(), org.getY(), org.getZ(), end.getX(), end.getY(), end.getZ());
+
+    /**
+     * Creates a new iterator over the blocks of a line between two blocks.
+     *
+     * @param x0 the x-coordinate of the first block
+     * @param y0 the y-coordinate of the first block
+     * @param z0 the z-coordinate of the first block
+     * @param x1 the x-coordinate of the last block
+     * @param y1 the y-coordinate of the last block
+     * @param z1 the z-coordinate of the last block
+     * @return a new iterator
+     */
+    public static BlockIntervalIterator between(int x0, int y0, int z0, int x1, int y1, int z1) {
+        return new BlockIntervalIterator(x0, y0, z0, x1, y1, z1);
     }
 
-    public BlockIntervalIterator(Ray3 ray) {
-        this(ray.getOrigin().toBlockVector(), ray.getEnd().toBlockVector());
+    /**
+     * Creates a new iterator over the blocks of a line between two blocks.
+     *
+     * @param org the first block
+     * @param end the last block
+     * @return a new iterator
+     */
+    public static BlockIntervalIterator between(BlockVector org, BlockVector end) {
+        return between(org.getX(), org.getY(), org.getZ(), end.getX(), end.getY(), end.getZ());
     }
 
-    @Override
-    public boolean hasNext() {
-        return i <= dmax;
+    /**
+     * Creates a new iterator over the blocks of a line between the blocks of the origin and the end of a ray.
+     *
+     * @param ray the ray
+     * @return a new iterator
+     */
+    public static BlockIntervalIterator fromRay(Ray3 ray) {
+        return between(ray.getOrigin().toBlockVector(), ray.getEnd().toBlockVector());
     }
 
-    @Override
-    public BlockVector next() {
-        if (i++ > dmax) throw new NoSuchElementException();
+    // GETTERS
 
-        BlockVector result = BlockVector.fromXYZ(x, y, z);
-        increment.run();
-        return result;
+    /**
+     * Returns the x-coordinate of the block which will be returned next.
+     *
+     * @return the next x-coordinate
+     */
+    public int nextX() {
+        return x;
     }
 
-    private void incrementLeadX() {
-        x += ix;
+    /**
+     * Returns the y-coordinate of the block which will be returned next.
+     *
+     * @return the next y-coordinate
+     */
+    public int nextY() {
+        return y;
+    }
 
-        err0 -= dy;
-        if (err0 < 0) {
-            err0 += dx;
-            y += iy;
-        }
+    /**
+     * Returns the z-coordinate of the block which will be returned next.
+     *
+     * @return the next z-coordinate
+     */
+    public int nextZ() {
+        return z;
+    }
 
-        err1 -= dz;
-        if (err1 < 0) {
-            err1 += dx;
-            z += iz;
-        }
+    /**
+     * Returns the amount of blocks which have not been returned yet.
+     *
+     * @return the amount of remaining blocks
+     */
+    public int remaining() {
+        return dmax + 1 - i;
     }
 
-    private void incrementLeadY() {
-        y += iy;
+    // ITERATION
 
-        err0 -= dx;
-        if (err0 < 0) {
-            err0 += dy;
-            x += ix;
-        }
+    @Override
+    public boolean hasNext() {
+        return i <= dmax;
+    }
 
-        err1 -= dz;
-        if (err1 < 0) {
-            err1 += dy;
-            z += iz;
-        }
+    @Override
+    public BlockVector next() {
+        BlockVector result = BlockVector.fromXYZ(x, y, z);
+        increment();
+        return result;
     }
 
-    private void incrementLeadZ() {
-        z += iz;
+    /**
+     * Skips the next block without allocating a {@link BlockVector}. Its coordinates can be obtained beforehand
+     * using {@link #nextX()}, {@link #nextY()} and {@link #nextZ()}.
+     *
+     * @throws NoSuchElementException if there are no more blocks
+     */
+    public void increment() {
+        if (i++ > dmax) throw new NoSuchElementException();
 
-        err0 -= dy;
-        if (err0 < 0) {
-            err0 += dz;
-            y += iy;
+        switch (lead) {
+            case LEAD_X:
+                x += ix;
+                if ((err0 -= dy) < 0) {
+                    err0 += dx;
+                    y += iy;
+                }
+                if ((err1 -= dz) < 0) {
+                    err1 += dx;
+                    z += iz;
+                }
+                break;
+            case LEAD_Y:
+                y += iy;
+                if ((err0 -= dx) < 0) {
+                    err0 += dy;
+                    x += ix;
+                }
+                if ((err1 -= dz) < 0) {
+                    err1 += dy;
+                    z += iz;
+                }
+                break;
+            case LEAD_Z:
+                z += iz;
+                if ((err0 -= dy) < 0) {
+                    err0 += dz;
+                    y += iy;
+                }
+                if ((err1 -= dx) < 0) {
+                    err1 += dz;
+                    x += ix;
+                }
+                break;
         }
+    }
+
+    /**
+     * Writes the coordinates of as many remaining blocks as possible into the given arrays.
+     *
+     * @param xs the array of x-coordinates
+     * @param ys the array of y-coordinates
+     * @param zs the array of z-coordinates
+     * @return the amount of blocks written, at most the length of the shortest array
+     */
+    public int drainTo(int[] xs, int[] ys, int[] zs) {
+        final int length = Math.min(remaining(), Math.min(xs.length, Math.min(ys.length, zs.length)));
+        int x = this.x, y = this.y, z = this.z, err0 = this.err0, err1 = this.err1;
 
-        err1 -= dx;
-        if (err1 < 0) {
-            err1 += dz;
-            x += ix;
+        switch (lead) {
+            case LEAD_X:
+                for (int j = 0; j < length; j++) {
+                    xs[j] = x;
+                    ys[j] = y;
+                    zs[j] = z;
+                    x += ix;
+                    if ((err0 -= dy) < 0) {
+                        err0 += dx;
+                        y += iy;
+                    }
+                    if ((err1 -= dz) < 0) {
+                        err1 += dx;
+                        z += iz;
+                    }
+                }
+                break;
+            case LEAD_Y:
+                for (int j = 0; j < length; j++) {
+                    xs[j] = x;
+                    ys[j] = y;
+                    zs[j] = z;
+                    y += iy;
+                    if ((err0 -= dx) < 0) {
+                        err0 += dy;
+                        x += ix;
+                    }
+                    if ((err1 -= dz) < 0) {
+                        err1 += dy;
+                        z += iz;
+                    }
+                }
+                break;
+            case LEAD_Z:
+                for (int j = 0; j < length; j++) {
+                    xs[j] = x;
+                    ys[j] = y;
+                    zs[j] = z;
+                    z += iz;
+                    if ((err0 -= dy) < 0) {
+                        err0 += dz;
+                        y += iy;
+                    }
+                    if ((err1 -= dx) < 0) {
+                        err1 += dz;
+                        x += ix;
+                    }
+                }
+                break;
         }
-    }
 
-    private BlockVector currentBlock() {
-        return BlockVector.fromXYZ(x, y, z);
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.err0 = err0;
+        this.err1 = err1;
+        this.i += length;
+        return length;
     }
 
 }
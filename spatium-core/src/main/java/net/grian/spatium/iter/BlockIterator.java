@@ -1,5 +1,7 @@
 package net.grian.spatium.iter;
 
+import eisenwave.spatium.function.Int3Consumer;
+import eisenwave.spatium.function.Int3Predicate;
 import net.grian.spatium.geo3.BlockSelection;
 import net.grian.spatium.geo3.BlockVector;
 import eisenwave.spatium.util.Incrementer3;
@@ -9,9 +11,13 @@ import java.util.Iterator;
 public class BlockIterator implements Iterator<BlockVector> {
 
     private final Incrementer3 increment;
+    private final int minX, minY, minZ;
 
     public BlockIterator(BlockSelection blocks) {
         this.increment = new Incrementer3(blocks.getSizeX(), blocks.getSizeY(), blocks.getSizeZ());
+        this.minX = blocks.getMinX();
+        this.minY = blocks.getMinY();
+        this.minZ = blocks.getMinZ();
     }
 
     @Override
@@ -21,7 +27,32 @@ public class BlockIterator implements Iterator<BlockVector> {
 
     @Override
     public BlockVector next() {
-        int[] block = increment.getAndIncrement();
-        return BlockVector.fromXYZ(block[0], block[1], block[2]);
+        BlockVector result = BlockVector.fromXYZ(
+            minX + increment.getX(),
+            minY + increment.getY(),
+            minZ + increment.getZ());
+        increment.increment();
+        return result;
     }
+
+    /**
+     * Performs an action for the coordinates of each remaining block without allocating any block vectors.
+     *
+     * @param action the action
+     */
+    public void forEachRemaining(Int3Consumer action) {
+        increment.forEachRemaining((x, y, z) -> action.accept(minX + x, minY + y, minZ + z));
+    }
+
+    /**
+     * Tests the coordinates of each remaining block until the predicate returns {@code false}, without allocating
+     * any block vectors.
+     *
+     * @param predicate the predicate
+     * @return false if the iteration was stopped by the predicate, true otherwise
+     */
+    public boolean forEachRemainingWhile(Int3Predicate predicate) {
+        return increment.forEachRemainingWhile((x, y, z) -> predicate.test(minX + x, minY + y, minZ + z));
+    }
+
 }
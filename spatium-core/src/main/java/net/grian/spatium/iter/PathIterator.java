@@ -6,10 +6,21 @@ import net.grian.spatium.geo3.Vector3;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
+/**
+ * <p>
+ *     An iterator over points on a path, from its origin to its end.
+ * </p>
+ * <p>
+ *     When constructed with an interval, the points are evenly spaced along the length of the path using
+ *     {@link Path3#getArcParameter(double)}, otherwise they are evenly spaced in the path multiplier. Points can be
+ *     obtained without any allocation using {@link #next(Vector3)}.
+ * </p>
+ */
 public class PathIterator implements Iterator<Vector3> {
 
     private final Path3 path;
     private final int max;
+    private final boolean arcLength;
     private int i = 0;
 
     public PathIterator(Path3 path, double interval) {
@@ -17,6 +28,7 @@ public class PathIterator implements Iterator<Vector3> {
 
         this.path = path;
         this.max = (int) (path.getLength() / interval);
+        this.arcLength = true;
     }
 
     public PathIterator(Path3 path, int steps) {
@@ -24,6 +36,7 @@ public class PathIterator implements Iterator<Vector3> {
 
         this.path = path;
         this.max = steps - 1;
+        this.arcLength = false;
     }
 
     @Override
@@ -33,9 +46,22 @@ public class PathIterator implements Iterator<Vector3> {
 
     @Override
     public Vector3 next() {
+        return next(Vector3.zero());
+    }
+
+    /**
+     * Stores the next point in a destination vector.
+     *
+     * @param dest the vector to store the point in
+     * @return the destination vector
+     * @throws NoSuchElementException if there are no more points
+     */
+    public Vector3 next(Vector3 dest) {
         if (i > max) throw new NoSuchElementException();
 
-        return path.getPoint(i++ / (double) max);
+        final double fraction = max == 0? 0 : i / (double) max;
+        i++;
+        return path.getPointInto(arcLength? path.getArcParameter(fraction) : fraction, dest);
     }
 
 }
@@ -0,0 +1,230 @@
+package net.grian.spatium.iter;
+
+import eisenwave.spatium.enums.Direction;
+import net.grian.spatium.geo3.BlockVector;
+import net.grian.spatium.geo3.Ray3;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>
+ *     An iterator over all voxels (blocks) which a line segment passes through, using the voxel traversal algorithm
+ *     of Amanatides and Woo.
+ * </p>
+ * <p>
+ *     Unlike a {@link BlockIntervalIterator}, which rasterizes a line between two blocks, this iterator visits every
+ *     voxel the segment actually touches, in the order in which they are entered. For each voxel, the ray multiplier
+ *     at which it is entered as well as the face through which it is entered are available.
+ * </p>
+ * <p>
+ *     Stepping using {@link #advance()} or {@link #forEachWhile(Visitor)} does not allocate any objects. Only
+ *     {@link #next()} allocates a {@link BlockVector} for compatibility with {@link Iterator}.
+ * </p>
+ */
+public class VoxelIterator implements Iterator<BlockVector> {
+
+    private final int stepX, stepY, stepZ;
+    private final double deltaX, deltaY, deltaZ, tTo;
+
+    private int x, y, z;
+    private double maxX, maxY, maxZ, entry;
+    @Nullable
+    private Direction face;
+    /** whether the current voxel has yet to be reported */
+    private boolean pending = true;
+
+    /**
+     * Constructs a new iterator over the voxels of a segment of a ray.
+     *
+     * @param ox the x-coordinate of the ray origin
+     * @param oy the y-coordinate of the ray origin
+     * @param oz the z-coordinate of the ray origin
+     * @param dx the x-coordinate of the ray direction
+     * @param dy the y-coordinate of the ray direction
+     * @param dz the z-coordinate of the ray direction
+     * @param tFrom the ray multiplier at which the segment starts
+     * @param tTo the ray multiplier at which the segment ends
+     */
+    public VoxelIterator(double ox, double oy, double oz, double dx, double dy, double dz, double tFrom, double tTo) {
+        this.tTo = tTo;
+        this.entry = tFrom;
+        this.x = (int) Math.floor(ox + dx * tFrom);
+        this.y = (int) Math.floor(oy + dy * tFrom);
+        this.z = (int) Math.floor(oz + dz * tFrom);
+
+        this.stepX = dx > 0? 1 : dx < 0? -1 : 0;
+        this.stepY = dy > 0? 1 : dy < 0? -1 : 0;
+        this.stepZ = dz > 0? 1 : dz < 0? -1 : 0;
+
+        this.deltaX = 1 / Math.abs(dx);
+        this.deltaY = 1 / Math.abs(dy);
+        this.deltaZ = 1 / Math.abs(dz);
+
+        // ray multipliers of the next voxel boundary on each axis, relative to the origin for precision
+        this.maxX = stepX == 0? Double.POSITIVE_INFINITY : (x + (stepX > 0? 1 : 0) - ox) / dx;
+        this.maxY = stepY == 0? Double.POSITIVE_INFINITY : (y + (stepY > 0? 1 : 0) - oy) / dy;
+        this.maxZ = stepZ == 0? Double.POSITIVE_INFINITY : (z + (stepZ > 0? 1 : 0) - oz) / dz;
+
+        // a segment starting inside the ray enters its first voxel through the last boundary crossed before tFrom
+        if (tFrom > 0) {
+            double last = 0;
+            if (stepX != 0 && maxX - deltaX > last) {
+                last = maxX - deltaX;
+                face = enteredFace(stepX, Direction.NEGATIVE_X, Direction.POSITIVE_X);
+            }
+            if (stepY != 0 && maxY - deltaY > last) {
+                last = maxY - deltaY;
+                face = enteredFace(stepY, Direction.NEGATIVE_Y, Direction.POSITIVE_Y);
+            }
+            if (stepZ != 0 && maxZ - deltaZ > last) {
+                face = enteredFace(stepZ, Direction.NEGATIVE_Z, Direction.POSITIVE_Z);
+            }
+        }
+    }
+
+    /**
+     * Constructs a new iterator over the voxels between the origin and the end of a ray.
+     *
+     * @param ray the ray
+     */
+    public VoxelIterator(Ray3 ray) {
+        this(ray.getOrgX(), ray.getOrgY(), ray.getOrgZ(), ray.getDirX(), ray.getDirY(), ray.getDirZ(), 0, 1);
+    }
+
+    // GETTERS
+
+    /**
+     * Returns the x-coordinate of the current voxel.
+     *
+     * @return the x-coordinate of the current voxel
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * Returns the y-coordinate of the current voxel.
+     *
+     * @return the y-coordinate of the current voxel
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * Returns the z-coordinate of the current voxel.
+     *
+     * @return the z-coordinate of the current voxel
+     */
+    public int getZ() {
+        return z;
+    }
+
+    /**
+     * Returns the ray multiplier at which the current voxel is entered.
+     *
+     * @return the entry multiplier of the current voxel
+     */
+    public double getEntry() {
+        return entry;
+    }
+
+    /**
+     * Returns the face of the current voxel through which it is entered. For example, a ray moving into positive
+     * x-direction enters voxels through their {@link Direction#NEGATIVE_X} face.
+     *
+     * @return the entered face or null if the segment starts inside the current voxel
+     */
+    @Nullable
+    public Direction getFace() {
+        return face;
+    }
+
+    // ITERATION
+
+    /**
+     * Moves on to the next voxel. The first invocation moves onto the first voxel of the segment.
+     *
+     * @return false if there are no more voxels
+     */
+    public boolean advance() {
+        if (pending) {
+            pending = false;
+            return true;
+        }
+        if (maxX <= maxY && maxX <= maxZ) {
+            if (maxX > tTo) return false;
+            x += stepX;
+            entry = maxX;
+            maxX += deltaX;
+            face = enteredFace(stepX, Direction.NEGATIVE_X, Direction.POSITIVE_X);
+        }
+        else if (maxY <= maxZ) {
+            if (maxY > tTo) return false;
+            y += stepY;
+            entry = maxY;
+            maxY += deltaY;
+            face = enteredFace(stepY, Direction.NEGATIVE_Y, Direction.POSITIVE_Y);
+        }
+        else {
+            if (maxZ > tTo) return false;
+            z += stepZ;
+            entry = maxZ;
+            maxZ += deltaZ;
+            face = enteredFace(stepZ, Direction.NEGATIVE_Z, Direction.POSITIVE_Z);
+        }
+        return true;
+    }
+
+    /**
+     * Visits each remaining voxel until the visitor returns {@code false}. In that case, this iterator remains at the
+     * rejected voxel.
+     *
+     * @param visitor the visitor
+     * @return false if the traversal was stopped by the visitor, true if all voxels were visited
+     */
+    public boolean forEachWhile(Visitor visitor) {
+        while (advance())
+            if (!visitor.visit(x, y, z, entry, face))
+                return false;
+        return true;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return pending || Math.min(maxX, Math.min(maxY, maxZ)) <= tTo;
+    }
+
+    @Override
+    public BlockVector next() {
+        if (!advance()) throw new NoSuchElementException();
+        return BlockVector.fromXYZ(x, y, z);
+    }
+
+    private static Direction enteredFace(int step, Direction negative, Direction positive) {
+        return step > 0? negative : positive;
+    }
+
+    /**
+     * A visitor of the voxels of a traversal.
+     */
+    @FunctionalInterface
+    public static interface Visitor {
+
+        /**
+         * Visits a voxel.
+         *
+         * @param x the x-coordinate of the voxel
+         * @param y the y-coordinate of the voxel
+         * @param z the z-coordinate of the voxel
+         * @param entry the ray multiplier at which the voxel is entered
+         * @param face the face through which the voxel is entered or null for the first voxel
+         * @return whether the traversal should continue
+         */
+        abstract boolean visit(int x, int y, int z, double entry, @Nullable Direction face);
+
+    }
+
+}
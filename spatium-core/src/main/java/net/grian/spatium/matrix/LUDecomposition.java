@@ -0,0 +1,222 @@
+package net.grian.spatium.matrix;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * <p>
+ *     The <a href="https://en.wikipedia.org/wiki/LU_decomposition">LU decomposition</a> of a square matrix with
+ *     partial pivoting, so that <code>PA = LU</code> where <code>P</code> is a permutation matrix, <code>L</code> is a
+ *     unit lower triangular matrix and <code>U</code> is an upper triangular matrix.
+ * </p>
+ * <p>
+ *     The decomposition is computed once in <code>O(n<sup>3</sup>)</code>, after which the determinant is available
+ *     in <code>O(n)</code> and each linear system can be solved in <code>O(n<sup>2</sup>)</code>.
+ * </p>
+ */
+public final class LUDecomposition {
+
+    private final int n;
+    /** L below and U on and above the diagonal, in row-major order */
+    private final double[] lu;
+    /** the original row index of each row of the decomposition */
+    private final int[] pivot;
+    private final boolean evenPermutation, singular;
+
+    /**
+     * Decomposes a square matrix.
+     *
+     * @param matrix the matrix
+     * @throws MatrixDimensionsException if the matrix is not square
+     */
+    public LUDecomposition(Matrix matrix) {
+        if (!matrix.isSquare())
+            throw new MatrixDimensionsException("matrix must be square matrix");
+        final int n = this.n = matrix.getRows();
+        final double[] lu = this.lu = new double[n * n];
+        final int[] pivot = this.pivot = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            pivot[i] = i;
+            for (int j = 0; j < n; j++)
+                lu[i * n + j] = matrix.get(i, j);
+        }
+
+        boolean even = true, singular = false;
+        for (int k = 0; k < n; k++) {
+            //choose the row with the largest absolute value in column k as pivot
+            int p = k;
+            double max = Math.abs(lu[k * n + k]);
+            for (int i = k + 1; i < n; i++) {
+                double abs = Math.abs(lu[i * n + k]);
+                if (abs > max) {
+                    max = abs;
+                    p = i;
+                }
+            }
+            if (p != k) {
+                swapRows(p, k);
+                int swap = pivot[p];
+                pivot[p] = pivot[k];
+                pivot[k] = swap;
+                even = !even;
+            }
+
+            final double diagonal = lu[k * n + k];
+            if (diagonal == 0) {
+                singular = true;
+                continue;
+            }
+            for (int i = k + 1; i < n; i++) {
+                final double factor = lu[i * n + k] /= diagonal;
+                if (factor == 0) continue;
+                for (int j = k + 1; j < n; j++)
+                    lu[i * n + j] -= factor * lu[k * n + j];
+            }
+        }
+
+        this.evenPermutation = even;
+        this.singular = singular;
+    }
+
+    private void swapRows(int i0, int i1) {
+        for (int j = 0, a = i0 * n, b = i1 * n; j < n; j++, a++, b++) {
+            double swap = lu[a];
+            lu[a] = lu[b];
+            lu[b] = swap;
+        }
+    }
+
+    // GETTERS
+
+    /**
+     * Returns the size of the decomposed matrix.
+     *
+     * @return the amount of rows and columns of the decomposed matrix
+     */
+    public int getSize() {
+        return n;
+    }
+
+    /**
+     * Returns the determinant of the decomposed matrix.
+     *
+     * @return the determinant
+     */
+    public double getDeterminant() {
+        double result = evenPermutation? 1 : -1;
+        for (int i = 0; i < n; i++)
+            result *= lu[i * n + i];
+        return result;
+    }
+
+    /**
+     * Returns whether the decomposed matrix is singular, which means that it has no inverse.
+     *
+     * @return whether the decomposed matrix is singular
+     */
+    public boolean isSingular() {
+        return singular;
+    }
+
+    // SOLVING
+
+    /**
+     * Solves the linear system <code>Ax = b</code>.
+     *
+     * @param b the right-hand side of the system
+     * @return the solution <code>x</code>
+     * @throws MatrixDimensionsException if the length of b does not equal the size of the matrix
+     * @throws MatrixException if the matrix is singular
+     */
+    @NotNull
+    public double[] solve(double... b) {
+        if (b.length != n)
+            throw new MatrixDimensionsException("right-hand side must be " + n + " long");
+        final double[] x = new double[n];
+        for (int i = 0; i < n; i++)
+            x[i] = b[pivot[i]];
+        substitute(x, 1);
+        return x;
+    }
+
+    /**
+     * Solves the linear system <code>AX = B</code> for several right-hand sides at once.
+     *
+     * @param b the right-hand sides of the system, one per column
+     * @return the solution <code>X</code>
+     * @throws MatrixDimensionsException if the rows of b do not equal the size of the matrix
+     * @throws MatrixException if the matrix is singular
+     */
+    @NotNull
+    public Matrix solve(Matrix b) {
+        if (b.getRows() != n)
+            throw new MatrixDimensionsException("right-hand side must have " + n + " rows");
+        final int m = b.getColumns();
+        final double[] x = new double[n * m];
+        for (int i = 0; i < n; i++)
+            for (int j = 0; j < m; j++)
+                x[i * m + j] = b.get(pivot[i], j);
+        substitute(x, m);
+        return Matrix.create(n, m, x);
+    }
+
+    /**
+     * Returns the inverse of the decomposed matrix.
+     *
+     * @return the inverse matrix
+     * @throws MatrixException if the matrix is singular
+     */
+    @NotNull
+    public Matrix getInverse() {
+        final double[] result = new double[n * n];
+        invertInto(result);
+        return Matrix.create(n, n, result);
+    }
+
+    /**
+     * Writes the inverse of the decomposed matrix into an array in row-major order.
+     *
+     * @param result the array of at least <code>n * n</code> length
+     * @throws MatrixException if the matrix is singular
+     */
+    public void invertInto(double[] result) {
+        for (int i = 0; i < n; i++)
+            for (int j = 0; j < n; j++)
+                result[i * n + j] = pivot[i] == j? 1 : 0;
+        substitute(result, n);
+    }
+
+    /**
+     * Performs forward and back substitution on the rows of a matrix of right-hand sides which have already been
+     * permuted.
+     *
+     * @param x the right-hand sides in row-major order, replaced with the solution
+     * @param m the amount of right-hand sides (columns)
+     */
+    private void substitute(double[] x, int m) {
+        if (singular) throw new MatrixException("matrix is singular");
+
+        //forward substitution with L, which has an implicit unit diagonal
+        for (int i = 1; i < n; i++)
+            for (int k = 0; k < i; k++) {
+                final double factor = lu[i * n + k];
+                if (factor == 0) continue;
+                for (int j = 0; j < m; j++)
+                    x[i * m + j] -= factor * x[k * m + j];
+            }
+
+        //back substitution with U
+        for (int i = n - 1; i >= 0; i--) {
+            for (int k = i + 1; k < n; k++) {
+                final double factor = lu[i * n + k];
+                if (factor == 0) continue;
+                for (int j = 0; j < m; j++)
+                    x[i * m + j] -= factor * x[k * m + j];
+            }
+            final double diagonal = lu[i * n + i];
+            for (int j = 0; j < m; j++)
+                x[i * m + j] /= diagonal;
+        }
+    }
+
+}
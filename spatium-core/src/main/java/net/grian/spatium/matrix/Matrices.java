@@ -3,6 +3,8 @@ package net.grian.spatium.matrix;
 import eisenwave.spatium.util.Spatium;
 import net.grian.spatium.geo2.Vector2;
 import net.grian.spatium.geo3.Vector3;
+import net.grian.spatium.impl.Matrix3Impl;
+import net.grian.spatium.impl.Matrix4Impl;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
@@ -80,6 +82,8 @@ public final class Matrices {
     
     @NotNull
     public static Vector3 product(Matrix a, double x, double y, double z) {
+        if (a instanceof Matrix3Impl)
+            return ((Matrix3Impl) a).transformPoint(x, y, z, Vector3.zero());
         if (a.getRows() != 3 || a.getColumns() != 3)
             throw new MatrixDimensionsException("matrix must be 3x3");
 
@@ -106,6 +110,10 @@ public final class Matrices {
      */
     @NotNull
     public static Matrix product(Matrix a, Matrix b) {
+        if (a instanceof Matrix3Impl && b instanceof Matrix3Impl)
+            return ((Matrix3Impl) a).mulTo((Matrix3Impl) b, new Matrix3Impl());
+        if (a instanceof Matrix4Impl && b instanceof Matrix4Impl)
+            return ((Matrix4Impl) a).mulTo((Matrix4Impl) b, new Matrix4Impl());
         if (a.getColumns() != b.getRows())
             throw new MatrixDimensionsException(a, b);
 
@@ -235,6 +243,37 @@ public final class Matrices {
         return result;
     }
     
+    //LINEAR SYSTEMS
+    
+    /**
+     * Solves the linear system <code>Ax = b</code> using an {@link LUDecomposition} of <code>A</code>.
+     *
+     * @param a the square coefficient matrix
+     * @param b the right-hand side
+     * @return the solution <code>x</code>
+     * @throws MatrixDimensionsException if the matrix is not square or does not match the right-hand side
+     * @throws MatrixException if the matrix is singular
+     */
+    @NotNull
+    public static double[] solve(Matrix a, double... b) {
+        return new LUDecomposition(a).solve(b);
+    }
+    
+    /**
+     * Solves the linear system <code>AX = B</code> using an {@link LUDecomposition} of <code>A</code>. Each column
+     * of <code>B</code> is a right-hand side and yields the same column of <code>X</code>.
+     *
+     * @param a the square coefficient matrix
+     * @param b the right-hand sides
+     * @return the solution <code>X</code>
+     * @throws MatrixDimensionsException if the matrix is not square or does not match the right-hand sides
+     * @throws MatrixException if the matrix is singular
+     */
+    @NotNull
+    public static Matrix solve(Matrix a, Matrix b) {
+        return new LUDecomposition(a).solve(b);
+    }
+    
     //EIGENVALUES, EIGENVECTORS
     
     /**
@@ -3,6 +3,8 @@ package net.grian.spatium.matrix;
 import eisenwave.spatium.util.Spatium;
 import net.grian.spatium.geo3.Vector3;
 import net.grian.spatium.impl.Matrix2Impl;
+import net.grian.spatium.impl.Matrix3Impl;
+import net.grian.spatium.impl.Matrix4Impl;
 import net.grian.spatium.impl.MatrixImpl;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
@@ -50,6 +52,17 @@ public interface Matrix {
     public static Matrix create(int rows, int columns, double... content) {
         if (rows == 2 && columns == 2)
             return new Matrix2Impl(content[0], content[1], content[2], content[3]);
+        if (rows == 3 && columns == 3 && content.length == 9)
+            return new Matrix3Impl(
+                content[0], content[1], content[2],
+                content[3], content[4], content[5],
+                content[6], content[7], content[8]);
+        if (rows == 4 && columns == 4 && content.length == 16)
+            return new Matrix4Impl(
+                content[0], content[1], content[2], content[3],
+                content[4], content[5], content[6], content[7],
+                content[8], content[9], content[10], content[11],
+                content[12], content[13], content[14], content[15]);
 
         return new MatrixImpl(rows, columns, content);
     }
@@ -67,6 +80,8 @@ public interface Matrix {
     @Contract(pure = true)
     public static Matrix create(int rows, int columns) {
         if (rows == 2 && columns == 2) return new Matrix2Impl();
+        if (rows == 3 && columns == 3) return new Matrix3Impl();
+        if (rows == 4 && columns == 4) return new Matrix4Impl();
 
         return new MatrixImpl(rows, columns);
     }
@@ -83,6 +98,8 @@ public interface Matrix {
     @Contract(pure = true)
     public static Matrix identity(int n) {
         if (n == 2) return new Matrix2Impl(1, 0, 0, 1);
+        if (n == 3) return new Matrix3Impl().setIdentity();
+        if (n == 4) return new Matrix4Impl().setIdentity();
 
         double[] value = new double[n * n];
         for (int i = 0; i<n; i++)
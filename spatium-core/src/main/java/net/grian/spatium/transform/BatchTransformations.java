@@ -0,0 +1,311 @@
+package net.grian.spatium.transform;
+
+import net.grian.spatium.matrix.Matrix;
+import net.grian.spatium.matrix.MatrixDimensionsException;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * <p>
+ *     Provides methods for transforming many points at once, which are packed into <code>double[]</code> or
+ *     <code>float[]</code> arrays as consecutive <code>x, y, z</code> triples.
+ * </p>
+ * <p>
+ *     Unlike {@link Transformations#transform(net.grian.spatium.geo3.Vector3, Matrix)}, the transformation is
+ *     converted into an affine 3x4 matrix only once per call and every point is transformed using only array accesses
+ *     and local variables, without any interface dispatch or allocation per point.
+ * </p>
+ * <p>
+ *     Offsets and counts are given in points, not array indices. Source and destination may be the same array with
+ *     the same offset to transform in place, but must not otherwise overlap.
+ * </p>
+ */
+@SuppressWarnings("WeakerAccess")
+public final class BatchTransformations {
+
+    /** the minimum amount of points per task of parallel transformations */
+    private final static int PARALLEL_THRESHOLD = 1 << 14;
+
+    private BatchTransformations() {}
+
+    //MATRIX
+
+    /**
+     * Transforms all points in an array in place using a transformation matrix.
+     *
+     * @param m the 3x3 or affine 4x4 transformation matrix
+     * @param points the packed points
+     * @throws MatrixDimensionsException if the matrix is neither 3x3 nor 4x4
+     * @throws IllegalArgumentException if the matrix is 4x4 but not affine
+     */
+    public static void transform(Matrix m, double[] points) {
+        transform(m, points, 0, points, 0, points.length / 3);
+    }
+
+    /**
+     * Transforms a range of points using a transformation matrix.
+     *
+     * @param m the 3x3 or affine 4x4 transformation matrix
+     * @param src the packed source points
+     * @param srcFrom the index of the first source point
+     * @param dest the array to store the transformed points in
+     * @param destFrom the index of the first destination point
+     * @param count the amount of points
+     * @throws MatrixDimensionsException if the matrix is neither 3x3 nor 4x4
+     * @throws IllegalArgumentException if the matrix is 4x4 but not affine
+     */
+    public static void transform(Matrix m, double[] src, int srcFrom, double[] dest, int destFrom, int count) {
+        apply(affineOf(m), src, srcFrom, dest, destFrom, count);
+    }
+
+    /**
+     * Transforms all points in an array in place using a transformation matrix.
+     *
+     * @param m the 3x3 or affine 4x4 transformation matrix
+     * @param points the packed points
+     * @throws MatrixDimensionsException if the matrix is neither 3x3 nor 4x4
+     * @throws IllegalArgumentException if the matrix is 4x4 but not affine
+     */
+    public static void transform(Matrix m, float[] points) {
+        transform(m, points, 0, points, 0, points.length / 3);
+    }
+
+    /**
+     * Transforms a range of points using a transformation matrix.
+     *
+     * @param m the 3x3 or affine 4x4 transformation matrix
+     * @param src the packed source points
+     * @param srcFrom the index of the first source point
+     * @param dest the array to store the transformed points in
+     * @param destFrom the index of the first destination point
+     * @param count the amount of points
+     * @throws MatrixDimensionsException if the matrix is neither 3x3 nor 4x4
+     * @throws IllegalArgumentException if the matrix is 4x4 but not affine
+     */
+    public static void transform(Matrix m, float[] src, int srcFrom, float[] dest, int destFrom, int count) {
+        apply(affineOf(m), src, srcFrom, dest, destFrom, count);
+    }
+
+    /**
+     * Transforms a range of points in parallel using a transformation matrix.
+     *
+     * @param m the 3x3 or affine 4x4 transformation matrix
+     * @param src the packed source points
+     * @param srcFrom the index of the first source point
+     * @param dest the array to store the transformed points in
+     * @param destFrom the index of the first destination point
+     * @param count the amount of points
+     * @throws MatrixDimensionsException if the matrix is neither 3x3 nor 4x4
+     * @throws IllegalArgumentException if the matrix is 4x4 but not affine
+     */
+    public static void parallelTransform(Matrix m, double[] src, int srcFrom, double[] dest, int destFrom, int count) {
+        final double[] c = affineOf(m);
+        parallel(count, (from, to) -> apply(c, src, srcFrom + from, dest, destFrom + from, to - from));
+    }
+
+    /**
+     * Transforms a range of points in parallel using a transformation matrix.
+     *
+     * @param m the 3x3 or affine 4x4 transformation matrix
+     * @param src the packed source points
+     * @param srcFrom the index of the first source point
+     * @param dest the array to store the transformed points in
+     * @param destFrom the index of the first destination point
+     * @param count the amount of points
+     * @throws MatrixDimensionsException if the matrix is neither 3x3 nor 4x4
+     * @throws IllegalArgumentException if the matrix is 4x4 but not affine
+     */
+    public static void parallelTransform(Matrix m, float[] src, int srcFrom, float[] dest, int destFrom, int count) {
+        final double[] c = affineOf(m);
+        parallel(count, (from, to) -> apply(c, src, srcFrom + from, dest, destFrom + from, to - from));
+    }
+
+    //QUATERNION
+
+    /**
+     * Rotates all points in an array in place using a quaternion.
+     *
+     * @param q the rotation
+     * @param points the packed points
+     */
+    public static void rotate(Quaternion q, double[] points) {
+        rotate(q, points, 0, points, 0, points.length / 3);
+    }
+
+    /**
+     * Rotates a range of points using a quaternion.
+     *
+     * @param q the rotation
+     * @param src the packed source points
+     * @param srcFrom the index of the first source point
+     * @param dest the array to store the rotated points in
+     * @param destFrom the index of the first destination point
+     * @param count the amount of points
+     */
+    public static void rotate(Quaternion q, double[] src, int srcFrom, double[] dest, int destFrom, int count) {
+        apply(rotationOf(q), src, srcFrom, dest, destFrom, count);
+    }
+
+    /**
+     * Rotates all points in an array in place using a quaternion.
+     *
+     * @param q the rotation
+     * @param points the packed points
+     */
+    public static void rotate(Quaternion q, float[] points) {
+        rotate(q, points, 0, points, 0, points.length / 3);
+    }
+
+    /**
+     * Rotates a range of points using a quaternion.
+     *
+     * @param q the rotation
+     * @param src the packed source points
+     * @param srcFrom the index of the first source point
+     * @param dest the array to store the rotated points in
+     * @param destFrom the index of the first destination point
+     * @param count the amount of points
+     */
+    public static void rotate(Quaternion q, float[] src, int srcFrom, float[] dest, int destFrom, int count) {
+        apply(rotationOf(q), src, srcFrom, dest, destFrom, count);
+    }
+
+    /**
+     * Rotates a range of points in parallel using a quaternion.
+     *
+     * @param q the rotation
+     * @param src the packed source points
+     * @param srcFrom the index of the first source point
+     * @param dest the array to store the rotated points in
+     * @param destFrom the index of the first destination point
+     * @param count the amount of points
+     */
+    public static void parallelRotate(Quaternion q, double[] src, int srcFrom, double[] dest, int destFrom, int count) {
+        final double[] c = rotationOf(q);
+        parallel(count, (from, to) -> apply(c, src, srcFrom + from, dest, destFrom + from, to - from));
+    }
+
+    /**
+     * Rotates a range of points in parallel using a quaternion.
+     *
+     * @param q the rotation
+     * @param src the packed source points
+     * @param srcFrom the index of the first source point
+     * @param dest the array to store the rotated points in
+     * @param destFrom the index of the first destination point
+     * @param count the amount of points
+     */
+    public static void parallelRotate(Quaternion q, float[] src, int srcFrom, float[] dest, int destFrom, int count) {
+        final double[] c = rotationOf(q);
+        parallel(count, (from, to) -> apply(c, src, srcFrom + from, dest, destFrom + from, to - from));
+    }
+
+    //UTIL
+
+    /**
+     * Returns the upper three rows of a 3x3 or 4x4 matrix as a row-major 3x4 matrix. A 4x4 matrix must be affine,
+     * since the coefficients have no bottom row to divide by.
+     *
+     * @param m the matrix
+     * @return the affine coefficients
+     */
+    private static double[] affineOf(Matrix m) {
+        final int rows = m.getRows(), cols = m.getColumns();
+        if (rows != cols || rows != 3 && rows != 4)
+            throw new MatrixDimensionsException("matrix must be a 3x3 or 4x4 matrix");
+        if (rows == 4 && (m.get(3, 0) != 0 || m.get(3, 1) != 0 || m.get(3, 2) != 0 || m.get(3, 3) != 1))
+            throw new IllegalArgumentException("4x4 matrix must be affine, with a last row of (0, 0, 0, 1)");
+
+        double[] c = new double[12];
+        for (int i = 0; i < 3; i++)
+            for (int j = 0; j < cols; j++)
+                c[i * 4 + j] = m.get(i, j);
+        return c;
+    }
+
+    /**
+     * Returns the rotation matrix of a quaternion as a row-major 3x4 matrix. The quaternion does not need to be
+     * normalized, so that the result equals {@link Quaternion#product(Quaternion, net.grian.spatium.geo3.Vector3)}.
+     *
+     * @param q the quaternion
+     * @return the affine coefficients
+     */
+    private static double[] rotationOf(Quaternion q) {
+        final double
+            x = q.getX(), y = q.getY(), z = q.getZ(), w = q.getW(),
+            s = 2 / (x*x + y*y + z*z + w*w),
+            xx = x*x*s, yy = y*y*s, zz = z*z*s,
+            xy = x*y*s, xz = x*z*s, yz = y*z*s,
+            xw = x*w*s, yw = y*w*s, zw = z*w*s;
+
+        return new double[] {
+            1 - yy - zz, xy - zw,     xz + yw,     0,
+            xy + zw,     1 - xx - zz, yz - xw,     0,
+            xz - yw,     yz + xw,     1 - xx - yy, 0};
+    }
+
+    private static void apply(double[] c, double[] src, int srcFrom, double[] dest, int destFrom, int count) {
+        final double
+            m00 = c[0], m01 = c[1], m02 = c[2],  m03 = c[3],
+            m10 = c[4], m11 = c[5], m12 = c[6],  m13 = c[7],
+            m20 = c[8], m21 = c[9], m22 = c[10], m23 = c[11];
+
+        for (int i = srcFrom * 3, j = destFrom * 3, end = i + count * 3; i < end; i += 3, j += 3) {
+            final double x = src[i], y = src[i + 1], z = src[i + 2];
+            dest[j]     = m00 * x + m01 * y + m02 * z + m03;
+            dest[j + 1] = m10 * x + m11 * y + m12 * z + m13;
+            dest[j + 2] = m20 * x + m21 * y + m22 * z + m23;
+        }
+    }
+
+    private static void apply(double[] c, float[] src, int srcFrom, float[] dest, int destFrom, int count) {
+        final double
+            m00 = c[0], m01 = c[1], m02 = c[2],  m03 = c[3],
+            m10 = c[4], m11 = c[5], m12 = c[6],  m13 = c[7],
+            m20 = c[8], m21 = c[9], m22 = c[10], m23 = c[11];
+
+        for (int i = srcFrom * 3, j = destFrom * 3, end = i + count * 3; i < end; i += 3, j += 3) {
+            final double x = src[i], y = src[i + 1], z = src[i + 2];
+            dest[j]     = (float) (m00 * x + m01 * y + m02 * z + m03);
+            dest[j + 1] = (float) (m10 * x + m11 * y + m12 * z + m13);
+            dest[j + 2] = (float) (m20 * x + m21 * y + m22 * z + m23);
+        }
+    }
+
+    private static void parallel(int count, Range range) {
+        RangeTask task = new RangeTask(range, 0, count);
+        if (count <= PARALLEL_THRESHOLD) task.compute();
+        else task.invoke();
+    }
+
+    @FunctionalInterface
+    private static interface Range {
+
+        abstract void apply(int from, int to);
+
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+
+        private final Range range;
+        private final int from, to;
+
+        private RangeTask(Range range, int from, int to) {
+            this.range = range;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                range.apply(from, to);
+                return;
+            }
+            final int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(range, from, mid), new RangeTask(range, mid, to));
+        }
+
+    }
+
+}
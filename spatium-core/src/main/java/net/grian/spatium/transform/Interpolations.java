@@ -0,0 +1,246 @@
+package net.grian.spatium.transform;
+
+/**
+ * <p>
+ *     Provides methods for interpolating many rotations at once, writing the results into primitive arrays as
+ *     consecutive <code>x, y, z, w</code> quadruples instead of creating a {@link Quaternion} per result.
+ * </p>
+ * <p>
+ *     Offsets and counts are given in quaternions, not array indices.
+ * </p>
+ *
+ * @see Quaternion#slerpInto(Quaternion, Quaternion, double, Quaternion)
+ * @see Quaternion#nlerpInto(Quaternion, Quaternion, double, Quaternion)
+ */
+@SuppressWarnings("WeakerAccess")
+public final class Interpolations {
+
+    private Interpolations() {}
+
+    //TRACKS
+
+    /**
+     * <p>
+     *     Writes an animation track of evenly spaced spherical linear interpolations between two unit quaternions,
+     *     beginning with a and ending with b.
+     * </p>
+     * <p>
+     *     Since the angles of the samples are evenly spaced, their sines and cosines are obtained by repeatedly
+     *     rotating by the angle between two samples, so no trigonometric functions are evaluated per sample.
+     * </p>
+     *
+     * @param a the first rotation
+     * @param b the last rotation
+     * @param dest the array to store the track in
+     * @param destFrom the index of the first quaternion of the track
+     * @param count the amount of quaternions in the track
+     */
+    public static void slerpTrack(Quaternion a, Quaternion b, double[] dest, int destFrom, int count) {
+        slerpTrack(a, b, count, sinkOf(dest, destFrom));
+    }
+
+    /**
+     * Writes an animation track of evenly spaced spherical linear interpolations between two unit quaternions,
+     * beginning with a and ending with b. See {@link #slerpTrack(Quaternion, Quaternion, double[], int, int)}.
+     *
+     * @param a the first rotation
+     * @param b the last rotation
+     * @param dest the array to store the track in
+     * @param destFrom the index of the first quaternion of the track
+     * @param count the amount of quaternions in the track
+     */
+    public static void slerpTrack(Quaternion a, Quaternion b, float[] dest, int destFrom, int count) {
+        slerpTrack(a, b, count, sinkOf(dest, destFrom));
+    }
+
+    /**
+     * Writes an animation track of evenly spaced normalized linear interpolations between two quaternions,
+     * beginning with a and ending with b.
+     *
+     * @param a the first rotation
+     * @param b the last rotation
+     * @param dest the array to store the track in
+     * @param destFrom the index of the first quaternion of the track
+     * @param count the amount of quaternions in the track
+     */
+    public static void nlerpTrack(Quaternion a, Quaternion b, double[] dest, int destFrom, int count) {
+        nlerpTrack(a, b, count, sinkOf(dest, destFrom));
+    }
+
+    /**
+     * Writes an animation track of evenly spaced normalized linear interpolations between two quaternions,
+     * beginning with a and ending with b. See {@link #nlerpTrack(Quaternion, Quaternion, double[], int, int)}.
+     *
+     * @param a the first rotation
+     * @param b the last rotation
+     * @param dest the array to store the track in
+     * @param destFrom the index of the first quaternion of the track
+     * @param count the amount of quaternions in the track
+     */
+    public static void nlerpTrack(Quaternion a, Quaternion b, float[] dest, int destFrom, int count) {
+        nlerpTrack(a, b, count, sinkOf(dest, destFrom));
+    }
+
+    //BULK
+
+    /**
+     * <p>
+     *     Interpolates many pairs of unit quaternions with the same parameter using spherical linear interpolation,
+     *     for example to blend two poses of a skeleton.
+     * </p>
+     * <p>
+     *     The destination may be either of the source arrays.
+     * </p>
+     *
+     * @param a the rotations at {@code t = 0}
+     * @param b the rotations at {@code t = 1}
+     * @param t the interpolation parameter
+     * @param dest the array to store the interpolated rotations in
+     * @param count the amount of quaternions
+     */
+    public static void slerp(double[] a, double[] b, double t, double[] dest, int count) {
+        for (int index = 0, end = count * 4; index < end; index += 4) {
+            final double
+                ax = a[index], ay = a[index + 1], az = a[index + 2], aw = a[index + 3],
+                bx = b[index], by = b[index + 1], bz = b[index + 2], bw = b[index + 3],
+                cos = ax*bx + ay*by + az*bz + aw*bw,
+                abs = Math.abs(cos);
+
+            double fa, fb;
+            if (abs > 1 - Quaternion.SLERP_EPSILON) {
+                fa = 1 - t;
+                fb = t;
+            }
+            else {
+                final double theta = Math.acos(abs), sin = Math.sin(theta);
+                fa = Math.sin((1 - t) * theta) / sin;
+                fb = Math.sin(t * theta) / sin;
+            }
+            if (cos < 0) fb = -fb;
+
+            final double
+                x = fa*ax + fb*bx, y = fa*ay + fb*by, z = fa*az + fb*bz, w = fa*aw + fb*bw,
+                inv = 1 / Math.sqrt(x*x + y*y + z*z + w*w);
+            dest[index] = x * inv;
+            dest[index + 1] = y * inv;
+            dest[index + 2] = z * inv;
+            dest[index + 3] = w * inv;
+        }
+    }
+
+    /**
+     * <p>
+     *     Interpolates many pairs of quaternions with the same parameter using normalized linear interpolation.
+     * </p>
+     * <p>
+     *     The destination may be either of the source arrays.
+     * </p>
+     *
+     * @param a the rotations at {@code t = 0}
+     * @param b the rotations at {@code t = 1}
+     * @param t the interpolation parameter
+     * @param dest the array to store the interpolated rotations in
+     * @param count the amount of quaternions
+     */
+    public static void nlerp(double[] a, double[] b, double t, double[] dest, int count) {
+        for (int index = 0, end = count * 4; index < end; index += 4) {
+            final double
+                ax = a[index], ay = a[index + 1], az = a[index + 2], aw = a[index + 3],
+                bx = b[index], by = b[index + 1], bz = b[index + 2], bw = b[index + 3],
+                fa = 1 - t,
+                fb = ax*bx + ay*by + az*bz + aw*bw < 0? -t : t,
+                x = fa*ax + fb*bx, y = fa*ay + fb*by, z = fa*az + fb*bz, w = fa*aw + fb*bw,
+                inv = 1 / Math.sqrt(x*x + y*y + z*z + w*w);
+            dest[index] = x * inv;
+            dest[index + 1] = y * inv;
+            dest[index + 2] = z * inv;
+            dest[index + 3] = w * inv;
+        }
+    }
+
+    //UTIL
+
+    private static void slerpTrack(Quaternion a, Quaternion b, int count, Sink sink) {
+        final double
+            ax = a.getX(), ay = a.getY(), az = a.getZ(), aw = a.getW(),
+            cos = a.dot(b),
+            sign = cos < 0? -1 : 1,
+            bx = b.getX() * sign, by = b.getY() * sign, bz = b.getZ() * sign, bw = b.getW() * sign,
+            abs = Math.abs(cos),
+            step = count > 1? 1D / (count - 1) : 0;
+
+        if (abs > 1 - Quaternion.SLERP_EPSILON) {
+            for (int i = 0; i < count; i++) {
+                final double
+                    t = i * step, fa = 1 - t,
+                    x = fa*ax + t*bx, y = fa*ay + t*by, z = fa*az + t*bz, w = fa*aw + t*bw,
+                    inv = 1 / Math.sqrt(x*x + y*y + z*z + w*w);
+                sink.accept(i, x * inv, y * inv, z * inv, w * inv);
+            }
+            return;
+        }
+
+        final double
+            theta = Math.acos(abs),
+            invSin = 1 / Math.sin(theta),
+            cosStep = Math.cos(theta * step),
+            sinStep = Math.sin(theta * step);
+
+        //sine and cosine of the angle of sample i, advanced by rotating with the angle of one step
+        double c = 1, s = 0;
+        for (int i = 0; i < count; i++) {
+            //sin(theta - angle) / sin(theta) and sin(angle) / sin(theta)
+            final double fa = c - abs * s * invSin, fb = s * invSin;
+            sink.accept(i, fa*ax + fb*bx, fa*ay + fb*by, fa*az + fb*bz, fa*aw + fb*bw);
+
+            final double nc = c * cosStep - s * sinStep;
+            s = s * cosStep + c * sinStep;
+            c = nc;
+        }
+    }
+
+    private static void nlerpTrack(Quaternion a, Quaternion b, int count, Sink sink) {
+        final double
+            ax = a.getX(), ay = a.getY(), az = a.getZ(), aw = a.getW(),
+            sign = a.dot(b) < 0? -1 : 1,
+            dx = b.getX() * sign - ax, dy = b.getY() * sign - ay,
+            dz = b.getZ() * sign - az, dw = b.getW() * sign - aw,
+            step = count > 1? 1D / (count - 1) : 0;
+
+        for (int i = 0; i < count; i++) {
+            final double
+                t = i * step,
+                x = ax + dx * t, y = ay + dy * t, z = az + dz * t, w = aw + dw * t,
+                inv = 1 / Math.sqrt(x*x + y*y + z*z + w*w);
+            sink.accept(i, x * inv, y * inv, z * inv, w * inv);
+        }
+    }
+
+    private static Sink sinkOf(double[] dest, int destFrom) {
+        return (i, x, y, z, w) -> {
+            final int index = (destFrom + i) * 4;
+            dest[index] = x;
+            dest[index + 1] = y;
+            dest[index + 2] = z;
+            dest[index + 3] = w;
+        };
+    }
+
+    private static Sink sinkOf(float[] dest, int destFrom) {
+        return (i, x, y, z, w) -> {
+            final int index = (destFrom + i) * 4;
+            dest[index] = (float) x;
+            dest[index + 1] = (float) y;
+            dest[index + 2] = (float) z;
+            dest[index + 3] = (float) w;
+        };
+    }
+
+    @FunctionalInterface
+    private static interface Sink {
+
+        abstract void accept(int index, double x, double y, double z, double w);
+
+    }
+
+}
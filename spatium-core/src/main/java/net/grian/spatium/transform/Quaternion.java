@@ -158,6 +158,12 @@ public interface Quaternion extends Serializable, Cloneable {
         return new QuaternionImpl(0, 0, 0, 1);
     }
     
+    /**
+     * The largest distance of the cosine of the arc between two rotations from 1 for which
+     * {@link #slerpInto(Quaternion, Quaternion, double, Quaternion)} falls back to normalized linear interpolation.
+     */
+    static final double SLERP_EPSILON = 1E-6;
+
     // OPERATIONS
 
     /**
@@ -201,8 +207,7 @@ public interface Quaternion extends Serializable, Cloneable {
      */
     @NotNull
     static Vector3 product(Quaternion q, Vector3 point) {
-        Quaternion p = Quaternion.fromVector(point);
-        return product(product(q, p), inverse(q)).getVector();
+        return q.rotateInto(point.getX(), point.getY(), point.getZ(), Vector3.zero());
     }
 
     /**
@@ -243,6 +248,99 @@ public interface Quaternion extends Serializable, Cloneable {
             q.getW() *  t);
     }
 
+    /**
+     * Returns the spherical linear interpolation (SLERP) between two rotations. See
+     * {@link #slerpInto(Quaternion, Quaternion, double, Quaternion)}.
+     *
+     * @param a the rotation at {@code t = 0}
+     * @param b the rotation at {@code t = 1}
+     * @param t the interpolation parameter
+     * @return a new quaternion
+     */
+    @NotNull
+    static Quaternion slerp(Quaternion a, Quaternion b, double t) {
+        return slerpInto(a, b, t, identity());
+    }
+
+    /**
+     * <p>
+     *     Stores the spherical linear interpolation (SLERP) between two unit quaternions in a destination quaternion.
+     *     The result rotates with constant angular velocity along the shortest arc from a to b as t goes from 0 to 1.
+     * </p>
+     * <p>
+     *     For nearly identical rotations, where the arc is too short for the formula to be numerically stable, this
+     *     falls back to {@link #nlerpInto(Quaternion, Quaternion, double, Quaternion)}.
+     * </p>
+     *
+     * @param a the rotation at {@code t = 0}
+     * @param b the rotation at {@code t = 1}
+     * @param t the interpolation parameter
+     * @param dest the quaternion to store the result in, may be a or b
+     * @return the destination quaternion
+     */
+    static Quaternion slerpInto(Quaternion a, Quaternion b, double t, Quaternion dest) {
+        final double cos = a.dot(b);
+        if (Math.abs(cos) > 1 - SLERP_EPSILON)
+            return nlerpInto(a, b, t, dest);
+
+        //q and -q are the same rotation, so take the shorter arc
+        final double
+            theta = Math.acos(Math.abs(cos)),
+            sin = Math.sin(theta),
+            fa = Math.sin((1 - t) * theta) / sin,
+            fb = Math.copySign(Math.sin(t * theta) / sin, cos);
+
+        return dest.set(
+            fa * a.getX() + fb * b.getX(),
+            fa * a.getY() + fb * b.getY(),
+            fa * a.getZ() + fb * b.getZ(),
+            fa * a.getW() + fb * b.getW());
+    }
+
+    /**
+     * Returns the normalized linear interpolation (NLERP) between two rotations. See
+     * {@link #nlerpInto(Quaternion, Quaternion, double, Quaternion)}.
+     *
+     * @param a the rotation at {@code t = 0}
+     * @param b the rotation at {@code t = 1}
+     * @param t the interpolation parameter
+     * @return a new quaternion
+     */
+    @NotNull
+    static Quaternion nlerp(Quaternion a, Quaternion b, double t) {
+        return nlerpInto(a, b, t, identity());
+    }
+
+    /**
+     * <p>
+     *     Stores the normalized linear interpolation (NLERP) between two quaternions in a destination quaternion.
+     * </p>
+     * <p>
+     *     NLERP follows the same path as {@link #slerpInto(Quaternion, Quaternion, double, Quaternion)} but without
+     *     constant angular velocity. In exchange, it requires no trigonometric functions, which makes it well suited
+     *     for small steps such as camera smoothing.
+     * </p>
+     *
+     * @param a the rotation at {@code t = 0}
+     * @param b the rotation at {@code t = 1}
+     * @param t the interpolation parameter
+     * @param dest the quaternion to store the result in, may be a or b
+     * @return the destination quaternion
+     */
+    static Quaternion nlerpInto(Quaternion a, Quaternion b, double t, Quaternion dest) {
+        //q and -q are the same rotation, so take the shorter arc
+        final double
+            fa = 1 - t,
+            fb = a.dot(b) < 0? -t : t,
+            x = fa * a.getX() + fb * b.getX(),
+            y = fa * a.getY() + fb * b.getY(),
+            z = fa * a.getZ() + fb * b.getZ(),
+            w = fa * a.getW() + fb * b.getW(),
+            inv = 1 / Math.sqrt(x*x + y*y + z*z + w*w);
+
+        return dest.set(x * inv, y * inv, z * inv, w * inv);
+    }
+
     // GETTERS
 
     /**
@@ -463,6 +561,68 @@ public interface Quaternion extends Serializable, Cloneable {
     @Deprecated
     abstract Quaternion multiply(Quaternion q);
 
+    /**
+     * Stores the product <code>this * q</code> in a destination quaternion without allocating any objects.
+     *
+     * @param q the right-hand quaternion
+     * @param dest the quaternion to store the product in, may be this quaternion or q
+     * @return the destination quaternion
+     * @see #product(Quaternion, Quaternion)
+     */
+    default Quaternion mulInto(Quaternion q, Quaternion dest) {
+        final double
+            lx = getX(),   ly = getY(),   lz = getZ(),   lw = getW(),
+            rx = q.getX(), ry = q.getY(), rz = q.getZ(), rw = q.getW();
+
+        return dest.set(
+            lw*rx + lx*rw + ly*rz - lz*ry,
+            lw*ry - lx*rz + ly*rw + lz*rx,
+            lw*rz + lx*ry - ly*rx + lz*rw,
+            lw*rw - lx*rx - ly*ry - lz*rz);
+    }
+
+    /**
+     * <p>
+     *     Rotates a point using this quaternion and stores the result in a destination vector without allocating any
+     *     objects.
+     * </p>
+     * <p>
+     *     The result equals {@link #product(Quaternion, Vector3)}, the quaternion does not need to be normalized.
+     * </p>
+     *
+     * @param x the x-coordinate of the point
+     * @param y the y-coordinate of the point
+     * @param z the z-coordinate of the point
+     * @param dest the vector to store the rotated point in
+     * @return the destination vector
+     */
+    default Vector3 rotateInto(double x, double y, double z, Vector3 dest) {
+        final double
+            qx = getX(), qy = getY(), qz = getZ(), qw = getW(),
+            inv = 1 / (qx*qx + qy*qy + qz*qz + qw*qw),
+            //q * v * conj(q) = (w^2 - u.u) v + 2 (u.v) u + 2w (u x v)
+            s = (qw*qw - qx*qx - qy*qy - qz*qz) * inv,
+            d = 2 * (qx*x + qy*y + qz*z) * inv,
+            c = 2 * qw * inv;
+
+        return dest.set(
+            s*x + d*qx + c*(qy*z - qz*y),
+            s*y + d*qy + c*(qz*x - qx*z),
+            s*z + d*qz + c*(qx*y - qy*x));
+    }
+
+    /**
+     * Rotates a point using this quaternion and stores the result in a destination vector without allocating any
+     * objects.
+     *
+     * @param point the point
+     * @param dest the vector to store the rotated point in, may be the point
+     * @return the destination vector
+     */
+    default Vector3 rotateInto(Vector3 point, Vector3 dest) {
+        return rotateInto(point.getX(), point.getY(), point.getZ(), dest);
+    }
+
     /**
      * Divides this quaternion by a divisor (scalar multiplication).
      *
@@ -3,6 +3,7 @@ package net.grian.spatium.transform;
 import eisenwave.spatium.enums.Axis;
 import net.grian.spatium.geo3.AxisAlignedBB;
 import net.grian.spatium.geo3.Vector3;
+import net.grian.spatium.impl.Matrix3Impl;
 import net.grian.spatium.matrix.Matrix;
 import net.grian.spatium.matrix.MatrixDimensionsException;
 
@@ -26,6 +27,10 @@ public final class Transformations {
      * @throws MatrixDimensionsException if the matrix is not a 3x3 matrix
      */
     public static void transform(Vector3 point, Matrix m) {
+        if (m instanceof Matrix3Impl) {
+            ((Matrix3Impl) m).transformPoint(point);
+            return;
+        }
         if (m.getRows() != 3 || m.getColumns() != 3)
             throw new MatrixDimensionsException("matrix must be a 3x3 matrix");
 
@@ -33,7 +38,7 @@ public final class Transformations {
         point.set(
                 m.get(0,0)*x + m.get(0,1)*y + m.get(0,2)*z,
                 m.get(1,0)*x + m.get(1,1)*y + m.get(1,2)*z,
-                m.get(2,0)*x + m.get(2,1)*z + m.get(2,2)*z);
+                m.get(2,0)*x + m.get(2,1)*y + m.get(2,2)*z);
     }
     
     /*
@@ -292,7 +297,7 @@ public final class Transformations {
      */
     @Deprecated
     public static void rotate(Vector3 point, Quaternion q) {
-        point.set(Quaternion.product(q, point));
+        q.rotateInto(point, point);
     }
 
     /**
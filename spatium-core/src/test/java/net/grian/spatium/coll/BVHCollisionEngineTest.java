@@ -0,0 +1,133 @@
+package net.grian.spatium.coll;
+
+import eisenwave.spatium.util.PrimMath;
+import net.grian.spatium.coll.CollisionEngine.CollisionResult;
+import net.grian.spatium.geo3.AxisAlignedBB;
+import net.grian.spatium.geo3.Ray3;
+import net.grian.spatium.geo3.Sphere;
+import net.grian.spatium.geo3.Tetrahedron;
+import net.grian.spatium.geo3.Vector3;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BVHCollisionEngineTest {
+
+    private static List<AxisAlignedBB> randomBoxes(int amount) {
+        List<AxisAlignedBB> result = new ArrayList<>(amount);
+        for (int i = 0; i < amount; i++) {
+            result.add(AxisAlignedBB.fromCenterDims(
+                PrimMath.randomDouble(-100, 100),
+                PrimMath.randomDouble(-100, 100),
+                PrimMath.randomDouble(-100, 100),
+                PrimMath.randomDouble(0.5, 3),
+                PrimMath.randomDouble(0.5, 3),
+                PrimMath.randomDouble(0.5, 3)));
+        }
+        return result;
+    }
+
+    @Test
+    public void test() throws Exception {
+        BVHCollisionEngine engine = new BVHCollisionEngine();
+        List<AxisAlignedBB> boxes = randomBoxes(1000);
+        BoundingVolumeHierarchy<AxisAlignedBB> bvh = BoundingVolumeHierarchy.of(boxes);
+        assertEquals(boxes.size(), bvh.size());
+
+        for (int i = 0; i < 100; i++) {
+            Sphere sphere = Sphere.fromCenterRadius(
+                PrimMath.randomDouble(-100, 100),
+                PrimMath.randomDouble(-100, 100),
+                PrimMath.randomDouble(-100, 100),
+                PrimMath.randomDouble(1, 10));
+
+            boolean expected = false;
+            for (AxisAlignedBB box : boxes)
+                expected |= Collisions.test(box, sphere);
+
+            Collision collision = engine.test(sphere, bvh);
+            assertEquals(expected, collision.getResult() == CollisionResult.POSITIVE);
+        }
+    }
+
+    @Test
+    public void rayCast() throws Exception {
+        BVHCollisionEngine engine = new BVHCollisionEngine();
+        List<AxisAlignedBB> boxes = randomBoxes(1000);
+        BoundingVolumeHierarchy<AxisAlignedBB> bvh = BoundingVolumeHierarchy.of(boxes);
+
+        for (int i = 0; i < 100; i++) {
+            Ray3 ray = Ray3.fromOD(
+                PrimMath.randomDouble(-150, 150), PrimMath.randomDouble(-150, 150), PrimMath.randomDouble(-150, 150),
+                PrimMath.randomDouble(-1, 1), PrimMath.randomDouble(-1, 1), PrimMath.randomDouble(-1, 1));
+
+            double expected = Double.POSITIVE_INFINITY;
+            double[] range = new double[2];
+            for (AxisAlignedBB box : boxes) {
+                if (Rays.pierce(ray, box, range) && range[1] >= 0)
+                    expected = Math.min(expected, Math.max(range[0], 0));
+            }
+
+            RayCollision<AxisAlignedBB> collision = engine.rayCast(ray, bvh);
+            if (Double.isInfinite(expected)) {
+                assertEquals(CollisionResult.NEGATIVE, collision.getResult());
+            } else {
+                assertEquals(CollisionResult.POSITIVE, collision.getResult());
+                assertEquals(expected, collision.getPoint(), 1e-3);
+            }
+        }
+    }
+
+    @Test
+    public void empty() throws Exception {
+        BVHCollisionEngine engine = new BVHCollisionEngine();
+        BoundingVolumeHierarchy<AxisAlignedBB> bvh = BoundingVolumeHierarchy.of(new ArrayList<>());
+
+        assertEquals(CollisionResult.NEGATIVE, engine.rayCast(Ray3.fromOD(0, 0, 0, 1, 0, 0), bvh).getResult());
+        AxisAlignedBB box = AxisAlignedBB.fromPoints(0, 0, 0, 1, 1, 1);
+        assertEquals(CollisionResult.NEGATIVE, engine.test(box, bvh).getResult());
+    }
+
+    @Test
+    public void rayCastTetrahedron() throws Exception {
+        BVHCollisionEngine engine = new BVHCollisionEngine();
+        Tetrahedron tetra = Tetrahedron.fromPoints(
+            Vector3.fromXYZ(0, 0, 0), Vector3.fromXYZ(4, 0, 0), Vector3.fromXYZ(0, 4, 0), Vector3.fromXYZ(0, 0, 4));
+        BoundingVolumeHierarchy<Object> bvh = BoundingVolumeHierarchy.of(Arrays.asList(
+            tetra, AxisAlignedBB.fromPoints(10, 10, 10, 11, 11, 11)));
+
+        Ray3 ray = Ray3.fromOD(1, 1, -5, 0, 0, 1);
+        RayCollision<Object> collision = engine.rayCast(ray, bvh);
+        assertEquals(CollisionResult.POSITIVE, collision.getResult());
+        assertSame(tetra, collision.getTarget());
+        assertEquals(5, collision.getPoint(), 1e-6);
+        assertEquals(5, engine.rayCast(ray, tetra).getPoint(), 1e-6);
+    }
+
+    @Test
+    public void rayCastInsideAndBehind() throws Exception {
+        BVHCollisionEngine engine = new BVHCollisionEngine();
+        AxisAlignedBB around = AxisAlignedBB.fromPoints(-1, -1, -1, 1, 1, 1);
+        Sphere behind = Sphere.fromCenterRadius(-10, 0, 0, 1);
+        Ray3 ray = Ray3.fromOD(0, 0, 0, 1, 0, 0);
+
+        RayCollision<AxisAlignedBB> inside = engine.rayCast(ray, around);
+        assertEquals(CollisionResult.POSITIVE, inside.getResult());
+        assertEquals(0, inside.getPoint(), 0);
+        assertEquals(CollisionResult.NEGATIVE, engine.rayCast(ray, behind).getResult());
+
+        BoundingVolumeHierarchy<Object> bvh = BoundingVolumeHierarchy.of(Arrays.asList(around, behind));
+        RayCollision<Object> collision = engine.rayCast(ray, bvh);
+        assertEquals(CollisionResult.POSITIVE, collision.getResult());
+        assertSame(around, collision.getTarget());
+        assertEquals(0, collision.getPoint(), 0);
+
+        bvh = BoundingVolumeHierarchy.of(Arrays.asList((Object) behind));
+        assertEquals(CollisionResult.NEGATIVE, engine.rayCast(ray, bvh).getResult());
+    }
+
+}
@@ -0,0 +1,104 @@
+package net.grian.spatium.coll;
+
+import eisenwave.spatium.util.PrimMath;
+import net.grian.spatium.geo3.AxisAlignedBB;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class DynamicAABBTreeTest {
+
+    private static AxisAlignedBB randomBox() {
+        return AxisAlignedBB.fromCenterDims(
+            PrimMath.randomDouble(-20, 20),
+            PrimMath.randomDouble(-20, 20),
+            PrimMath.randomDouble(-20, 20),
+            PrimMath.randomDouble(0.5, 2),
+            PrimMath.randomDouble(0.5, 2),
+            PrimMath.randomDouble(0.5, 2));
+    }
+
+    private static Set<Long> bruteForcePairs(AxisAlignedBB[] boxes) {
+        Set<Long> result = new HashSet<>();
+        for (int i = 0; i < boxes.length; i++)
+            for (int j = i + 1; j < boxes.length; j++)
+                if (Collisions.test(boxes[i], boxes[j]))
+                    result.add((long) i << 32 | j);
+        return result;
+    }
+
+    private static Set<Long> treePairs(DynamicAABBTree<Integer> tree) {
+        Set<Long> result = new HashSet<>();
+        tree.forEachPair((a, b) -> {
+            int i = Math.min(a, b), j = Math.max(a, b);
+            assertTrue("pair reported twice", result.add((long) i << 32 | j));
+        });
+        return result;
+    }
+
+    @Test
+    public void forEachPair() throws Exception {
+        final int n = 300;
+        DynamicAABBTree<Integer> tree = new DynamicAABBTree<>(0.5);
+        AxisAlignedBB[] boxes = new AxisAlignedBB[n];
+        int[] proxies = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            boxes[i] = randomBox();
+            proxies[i] = tree.insert(i, boxes[i]);
+        }
+        assertEquals(n, tree.size());
+        assertEquals(bruteForcePairs(boxes), treePairs(tree));
+
+        for (int step = 0; step < 10; step++) {
+            for (int i = 0; i < n; i++) {
+                double dx = PrimMath.randomDouble(-1, 1), dy = PrimMath.randomDouble(-1, 1), dz = 0.25;
+                boxes[i].translate(dx, dy, dz);
+                tree.move(proxies[i], boxes[i], dx, dy, dz);
+            }
+            assertEquals(bruteForcePairs(boxes), treePairs(tree));
+        }
+        //a balanced tree of 300 leaves should be far from degenerate
+        assertTrue(tree.getHeight() < 30);
+    }
+
+    @Test
+    public void insertRemove() throws Exception {
+        DynamicAABBTree<String> tree = new DynamicAABBTree<>();
+        int a = tree.insert("a", AxisAlignedBB.fromPoints(0, 0, 0, 1, 1, 1));
+        int b = tree.insert("b", AxisAlignedBB.fromPoints(5, 5, 5, 6, 6, 6));
+        int c = tree.insert("c", AxisAlignedBB.fromPoints(0.5, 0.5, 0.5, 2, 2, 2));
+
+        Set<String> found = new HashSet<>();
+        tree.query(AxisAlignedBB.fromPoints(0, 0, 0, 1, 1, 1), found::add);
+        assertEquals(2, found.size());
+        assertTrue(found.contains("a") && found.contains("c"));
+
+        assertEquals("c", tree.remove(c));
+        assertEquals(2, tree.size());
+        found.clear();
+        tree.query(AxisAlignedBB.fromPoints(0, 0, 0, 1, 1, 1), found::add);
+        assertEquals(1, found.size());
+
+        assertEquals("a", tree.remove(a));
+        assertEquals("b", tree.remove(b));
+        assertTrue(tree.isEmpty());
+        assertEquals(-1, tree.getHeight());
+    }
+
+    @Test
+    public void moveWithinMargin() throws Exception {
+        DynamicAABBTree<String> tree = new DynamicAABBTree<>(1);
+        AxisAlignedBB box = AxisAlignedBB.fromPoints(0, 0, 0, 1, 1, 1);
+        int proxy = tree.insert("box", box);
+
+        box.translate(0.5, 0, 0);
+        assertFalse(tree.move(proxy, box));
+        box.translate(1, 0, 0);
+        assertTrue(tree.move(proxy, box));
+    }
+
+}
@@ -1,12 +1,13 @@
 package net.grian.spatium.coll;
 
-import net.grian.spatium.geo3.AxisAlignedBB;
-import net.grian.spatium.geo3.Ray3;
-import net.grian.spatium.geo3.Sphere;
+import eisenwave.spatium.util.PrimMath;
+import net.grian.spatium.geo3.*;
 import org.junit.Test;
 
 import java.util.Arrays;
 
+import static org.junit.Assert.*;
+
 public class RaysTest {
 
     @Test
@@ -26,4 +27,89 @@ public class RaysTest {
         System.out.println(Arrays.toString(Rays.pierce(ray, box)));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void pierceIntoArray() throws Exception {
+        AxisAlignedBB box = AxisAlignedBB.fromPoints(-1, -1, -1, 1, 1, 1);
+        OrientedBB obb = OrientedBB.fromAABB(box);
+        Sphere sphere = Sphere.fromCenterRadius(0, 0, 0, 1);
+        Ray3 hit = Ray3.fromOD(-2, 0, 0, 1, 0, 0);
+        Ray3 miss = Ray3.fromOD(-2, 5, 0, 1, 0, 0);
+        double[] result = new double[2];
+
+        assertTrue(Rays.pierce(hit, box, result));
+        assertArrayEquals(Rays.pierce(hit, box), result, 0);
+        assertEquals(1, Rays.cast(hit, box), 1e-10);
+        assertFalse(Rays.pierce(miss, box, result));
+        assertTrue(Double.isNaN(Rays.cast(miss, box)));
+
+        assertTrue(Rays.pierce(hit, obb, result));
+        assertArrayEquals(Rays.pierce(hit, obb), result, 0);
+        assertEquals(1, Rays.cast(hit, obb), 1e-10);
+        assertFalse(Rays.pierce(miss, obb, result));
+
+        assertTrue(Rays.pierce(hit, sphere, result));
+        assertArrayEquals(Rays.pierce(hit, sphere), result, 0);
+        assertEquals(1, Rays.cast(hit, sphere), 1e-10);
+        assertFalse(Rays.pierce(miss, sphere, result));
+        assertNull(Rays.pierce(miss, sphere));
+    }
+
+    @Test
+    public void Ray_OBB() throws Exception {
+        final double c = Math.sqrt(0.5);
+        //unit cube rotated by 45 degrees around the z-axis, so its corners point along the x and y axes
+        OrientedBB box = OrientedBB.fromCD(Vector3.fromXYZ(1, 0, 0),
+            Vector3.fromXYZ(c, c, 0), Vector3.fromXYZ(-c, c, 0), Vector3.fromXYZ(0, 0, 1), 1, 1, 1);
+        Ray3 hit = Ray3.fromOD(-4, 0, 0, 2, 0, 0);
+        double[] result = new double[2];
+
+        assertTrue(Rays.pierce(hit, box, result));
+        assertEquals((5 - Math.sqrt(2)) / 2, result[0], 1e-10);
+        assertEquals((5 + Math.sqrt(2)) / 2, result[1], 1e-10);
+        assertEquals(result[0], Rays.cast(hit, box), 0);
+
+        assertTrue(Double.isNaN(Rays.cast(Ray3.fromOD(-4, 1.5, 0, 1, 0, 0), box)));
+    }
+
+    @Test
+    public void Ray_Triangle() throws Exception {
+        Triangle3 triangle = Triangle3.fromPoints(
+            Vector3.fromXYZ(0, 0, 0),
+            Vector3.fromXYZ(1, 0, 0),
+            Vector3.fromXYZ(0, 1, 0));
+
+        assertEquals(2, Rays.cast(Ray3.fromOD(0.25, 0.25, 2, 0, 0, -1), triangle), 1e-10);
+        assertEquals(1, Rays.cast(Ray3.fromOD(0.25, 0.25, -2, 0, 0, 2), triangle), 1e-10);
+        assertTrue(Double.isNaN(Rays.cast(Ray3.fromOD(0.75, 0.75, 2, 0, 0, -1), triangle)));
+        assertTrue(Double.isNaN(Rays.cast(Ray3.fromOD(0.25, 0.25, 2, 1, 0, 0), triangle)));
+    }
+
+    @Test
+    public void packet() throws Exception {
+        AxisAlignedBB box = AxisAlignedBB.fromPoints(-1, -1, -1, 1, 1, 1);
+        Triangle3 triangle = Triangle3.fromPoints(
+            Vector3.fromXYZ(-1, -1, 0.5),
+            Vector3.fromXYZ(1, -1, 0),
+            Vector3.fromXYZ(0, 1, -0.5));
+
+        RayPacket packet = new RayPacket(8);
+        double[] result = new double[packet.size()];
+
+        for (int i = 0; i < 100; i++) {
+            for (int lane = 0; lane < packet.size(); lane++) {
+                packet.set(lane,
+                    PrimMath.randomDouble(-3, 3), PrimMath.randomDouble(-3, 3), -5,
+                    PrimMath.randomDouble(-0.5, 0.5), PrimMath.randomDouble(-0.5, 0.5), 1);
+            }
+
+            Rays.cast(packet, box, result);
+            for (int lane = 0; lane < packet.size(); lane++)
+                assertEquals(Rays.cast(packet.get(lane), box), result[lane], 1e-10);
+
+            Rays.cast(packet, triangle, result);
+            for (int lane = 0; lane < packet.size(); lane++)
+                assertEquals(Rays.cast(packet.get(lane), triangle), result[lane], 1e-10);
+        }
+    }
+
+}
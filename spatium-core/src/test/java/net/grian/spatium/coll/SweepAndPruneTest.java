@@ -0,0 +1,56 @@
+package net.grian.spatium.coll;
+
+import eisenwave.spatium.util.PrimMath;
+import net.grian.spatium.geo3.AxisAlignedBB;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class SweepAndPruneTest {
+
+    @Test
+    public void forEachPair() throws Exception {
+        final int n = 300;
+        SweepAndPrune<Integer> sap = new SweepAndPrune<>();
+        AxisAlignedBB[] boxes = new AxisAlignedBB[n];
+        int[] handles = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            boxes[i] = AxisAlignedBB.fromCenterDims(
+                PrimMath.randomDouble(-20, 20),
+                PrimMath.randomDouble(-20, 20),
+                PrimMath.randomDouble(-20, 20),
+                PrimMath.randomDouble(0.5, 2),
+                PrimMath.randomDouble(0.5, 2),
+                PrimMath.randomDouble(0.5, 2));
+            handles[i] = sap.add(i, boxes[i]);
+        }
+
+        for (int step = 0; step < 10; step++) {
+            for (AxisAlignedBB box : boxes)
+                box.translate(PrimMath.randomDouble(-1, 1), PrimMath.randomDouble(-1, 1), PrimMath.randomDouble(-1, 1));
+
+            //remove and re-add a box to exercise handle reuse
+            sap.remove(handles[step]);
+            handles[step] = sap.add(step, boxes[step]);
+
+            Set<Long> expected = new HashSet<>(), actual = new HashSet<>();
+            for (int i = 0; i < n; i++)
+                for (int j = i + 1; j < n; j++)
+                    if (Collisions.test(boxes[i], boxes[j]))
+                        expected.add((long) i << 32 | j);
+
+            sap.forEachPair((a, b) -> {
+                int i = Math.min(a, b), j = Math.max(a, b);
+                assertTrue("pair reported twice", actual.add((long) i << 32 | j));
+            });
+
+            assertEquals(expected, actual);
+        }
+        assertEquals(n, sap.size());
+    }
+
+}
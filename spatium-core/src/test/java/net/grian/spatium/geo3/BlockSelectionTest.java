@@ -1,8 +1,11 @@
 package net.grian.spatium.geo3;
 
 import eisenwave.spatium.util.PrimMath;
+import net.grian.spatium.iter.BlockIterator;
 import org.junit.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.Assert.*;
 
 public class BlockSelectionTest {
@@ -70,4 +73,40 @@ public class BlockSelectionTest {
         assertFalse(box.contains(BlockSelection.fromPoints(0, 2, 3, 10, 12, 13)));
     }
 
+    @Test
+    public void forEach() throws Exception {
+        BlockSelection box = BlockSelection.fromPoints(1, 2, 3, 4, 5, 6);
+        AtomicInteger count = new AtomicInteger();
+
+        box.forEach((x, y, z) -> {
+            assertTrue(box.contains(x, y, z));
+            count.incrementAndGet();
+        });
+        assertEquals(box.getBlockCount(), count.get());
+
+        count.set(0);
+        box.forEach(block -> count.incrementAndGet());
+        assertEquals(box.getBlockCount(), count.get());
+
+        count.set(0);
+        assertFalse(box.forEachWhile((x, y, z) -> count.incrementAndGet() < 10));
+        assertEquals(10, count.get());
+        assertTrue(box.forEachWhile((x, y, z) -> true));
+    }
+
+    @Test
+    public void blockIterator() throws Exception {
+        BlockSelection box = BlockSelection.fromPoints(1, 2, 3, 4, 5, 6);
+        BlockIterator iter = new BlockIterator(box);
+
+        assertEquals(box.getMin(), iter.next());
+        assertFalse(iter.forEachRemainingWhile((x, y, z) -> x != 4 || y != 2));
+        assertEquals(BlockVector.fromXYZ(1, 3, 3), iter.next());
+
+        AtomicInteger count = new AtomicInteger();
+        iter.forEachRemaining((x, y, z) -> count.incrementAndGet());
+        assertEquals(box.getBlockCount() - 5, count.get());
+        assertFalse(iter.hasNext());
+    }
+
 }
@@ -0,0 +1,72 @@
+package net.grian.spatium.geo3;
+
+import net.grian.spatium.curve.Curves;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class Path3Test {
+
+    /** returns the largest distance of evenly spaced points on a path from a polyline */
+    private static double maxDistance(Path3 path, double[] polyline) {
+        double result = 0;
+        for (int i = 0; i <= 2000; i++) {
+            Vector3 p = path.getPoint(i / 2000D);
+            double min = Double.POSITIVE_INFINITY;
+            for (int j = 3; j < polyline.length; j += 3) {
+                Vector3
+                    a = Vector3.fromXYZ(polyline[j - 3], polyline[j - 2], polyline[j - 1]),
+                    ab = Vector3.fromXYZ(polyline[j], polyline[j + 1], polyline[j + 2]).subtract(a),
+                    ap = p.clone().subtract(a);
+                double t = ab.getLengthSquared() == 0? 0 : Math.max(0, Math.min(1, ap.dot(ab) / ab.getLengthSquared()));
+                min = Math.min(min, ap.distanceTo(ab.multiply(t)));
+            }
+            result = Math.max(result, min);
+        }
+        return result;
+    }
+
+    @Test
+    public void linear() throws Exception {
+        Path3 path = Path3.linear(Vector3.fromXYZ(0, 0, 0), Vector3.fromXYZ(3, 0, 0), Vector3.fromXYZ(3, 4, 0));
+        assertEquals(7, path.getLength(), 0);
+        assertEquals(Vector3.fromXYZ(3, 1, 0), path.getPoint(4 / 7D));
+        assertEquals(Vector3.fromXYZ(3, 4, 0), path.getEnd());
+        assertFalse(path.isClosed());
+    }
+
+    @Test
+    public void flattenBezier() throws Exception {
+        Path3 path = Path3.bezier(
+            Vector3.fromXYZ(0, 0, 0),
+            Vector3.fromXYZ(0, 10, 0),
+            Vector3.fromXYZ(10, 10, 0),
+            Vector3.fromXYZ(10, 10, 10),
+            Vector3.fromXYZ(30, 10, 10));
+
+        for (double tolerance : new double[] {1, 0.1, 0.01}) {
+            double[] polyline = Curves.flatten(path, tolerance);
+            assertEquals(path.getOrigin(), Vector3.fromXYZ(polyline[0], polyline[1], polyline[2]));
+            int n = polyline.length - 3;
+            assertEquals(path.getEnd(), Vector3.fromXYZ(polyline[n], polyline[n + 1], polyline[n + 2]));
+            assertTrue(maxDistance(path, polyline) <= tolerance * 1.01);
+        }
+        assertTrue(path.flatten(0.01).getLength() <= path.getLength() + 1E-9);
+    }
+
+    @Test
+    public void flattenStraight() throws Exception {
+        Path3 path = Path3.bezier(Vector3.fromXYZ(0, 0, 0), Vector3.fromXYZ(1, 1, 1), Vector3.fromXYZ(2, 2, 2));
+        assertEquals(6, Curves.flatten(path, 1E-6).length);
+    }
+
+    @Test
+    public void flattenCircle() throws Exception {
+        Path3 path = Path3.circle(Vector3.fromXYZ(1, 2, 3), 5, Vector3.fromXYZ(0, 1, 0));
+        double[] polyline = Curves.flatten(path, 0.05);
+        assertTrue(maxDistance(path, polyline) <= 0.05 * 1.01);
+        //a chord of angle a deviates from the circle by r(1 - cos(a/2)), so about 23 segments are needed
+        assertTrue(polyline.length / 3 < 80);
+    }
+
+}
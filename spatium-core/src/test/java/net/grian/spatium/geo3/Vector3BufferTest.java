@@ -0,0 +1,66 @@
+package net.grian.spatium.geo3;
+
+import net.grian.spatium.matrix.Matrix;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class Vector3BufferTest {
+
+    private static Vector3Buffer randomBuffer(Vector3[] vectors) {
+        Vector3Buffer buffer = new Vector3Buffer(vectors.length);
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = Vectors.random3(1 + i);
+            buffer.set(i, vectors[i]);
+        }
+        return buffer;
+    }
+
+    @Test
+    public void bulkOperations() throws Exception {
+        Vector3[] vectors = new Vector3[64];
+        Vector3Buffer buffer = randomBuffer(vectors);
+        Matrix matrix = Matrix.create(3, 3,
+            0, -1, 0,
+            1, 0, 0,
+            0, 0, 2);
+
+        buffer.add(8, 32, 1, 2, 3);
+        buffer.scale(16, 48, 0.5);
+        buffer.cross(0, 64, 0, 0, 1);
+        buffer.transform(matrix);
+        buffer.normalize(32, 64);
+
+        for (int i = 0; i < vectors.length; i++) {
+            Vector3 v = vectors[i];
+            if (i >= 8 && i < 32) v.add(1, 2, 3);
+            if (i >= 16 && i < 48) v.multiply(0.5);
+            v.set(v.cross(0, 0, 1)).transform(matrix);
+            if (i >= 32) v.normalize();
+            assertEquals(v, buffer.get(i));
+        }
+
+        double[] dots = new double[64];
+        buffer.dot(0, 64, buffer, 0, dots, 0);
+        for (int i = 0; i < vectors.length; i++)
+            assertEquals(vectors[i].getLengthSquared(), dots[i], 1e-9);
+    }
+
+    @Test
+    public void view() throws Exception {
+        Vector3Buffer buffer = new Vector3Buffer(4);
+        Vector3Buffer.View view = buffer.view(0);
+
+        for (int i = 0; i < buffer.size(); i++)
+            view.setIndex(i).set(i, i * 2, i * 3);
+        view.setIndex(2).add(1, 1, 1).multiply(2);
+
+        assertEquals(Vector3.fromXYZ(6, 10, 14), buffer.get(2));
+        assertEquals(Vector3.fromXYZ(3, 6, 9), buffer.view(3));
+
+        Vector3 copy = view.clone();
+        copy.setX(0);
+        assertEquals(6, buffer.getX(2), 0);
+    }
+
+}
@@ -45,6 +45,29 @@ public class BlockIntervalIteratorTest {
         }
     }
 
+    @Test
+    public void drainTo() throws Exception {
+        for (int n = 0; n < 8; n++) {
+            Ray3 ray = randomRay(16, 64);
+            BlockIntervalIterator expected = BlockIntervalIterator.fromRay(ray);
+            BlockIntervalIterator actual = BlockIntervalIterator.fromRay(ray);
+
+            int[] xs = new int[7], ys = new int[7], zs = new int[7];
+            while (actual.hasNext()) {
+                int length = actual.drainTo(xs, ys, zs);
+                assertTrue(length > 0);
+                for (int i = 0; i < length; i++) {
+                    assertEquals(expected.nextX(), xs[i]);
+                    assertEquals(expected.nextY(), ys[i]);
+                    assertEquals(expected.nextZ(), zs[i]);
+                    expected.increment();
+                }
+            }
+            assertFalse(expected.hasNext());
+            assertEquals(0, actual.drainTo(xs, ys, zs));
+        }
+    }
+
     /**
      * Generates a pseudo-random ray with minimum and maximum length.
      *
@@ -0,0 +1,67 @@
+package net.grian.spatium.iter;
+
+import net.grian.spatium.curve.Curves;
+import net.grian.spatium.geo3.Path3;
+import net.grian.spatium.geo3.Vector3;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PathIteratorTest {
+
+    private final static Vector3[] CONTROL_POINTS = {
+        Vector3.fromXYZ(0, 0, 0),
+        Vector3.fromXYZ(1, 8, 0),
+        Vector3.fromXYZ(2, -3, 4),
+        Vector3.fromXYZ(9, 1, 1),
+        Vector3.fromXYZ(10, 10, -2)};
+
+    /** evaluates a Bezier curve using the de Casteljau algorithm */
+    private static Vector3 deCasteljau(double t, Vector3... points) {
+        Vector3[] work = new Vector3[points.length];
+        for (int i = 0; i < points.length; i++)
+            work[i] = points[i].clone();
+        for (int n = points.length - 1; n > 0; n--)
+            for (int i = 0; i < n; i++)
+                work[i] = work[i].midPoint(work[i + 1], t);
+        return work[0];
+    }
+
+    @Test
+    public void bezier() throws Exception {
+        for (double t = 0; t <= 1; t += 0.125) {
+            Vector3 expected = deCasteljau(t, CONTROL_POINTS);
+            assertEquals(expected, Curves.bezier(t, CONTROL_POINTS));
+            assertEquals(expected, Path3.bezier(CONTROL_POINTS).getPoint(t));
+        }
+        assertEquals(CONTROL_POINTS[4], Path3.bezier(CONTROL_POINTS).getEnd());
+    }
+
+    @Test
+    public void uniformSpacing() throws Exception {
+        Path3 path = Path3.bezier(CONTROL_POINTS);
+
+        double reference = 0;
+        Vector3 previous = CONTROL_POINTS[0];
+        for (int i = 1; i <= 100_000; i++) {
+            Vector3 point = deCasteljau(i / 100_000D, CONTROL_POINTS);
+            reference += point.distanceTo(previous);
+            previous = point;
+        }
+        assertEquals(reference, path.getLength(), reference * 1E-3);
+
+        PathIterator iter = new PathIterator(path, 0.5);
+        Vector3 point = Vector3.zero(), last = iter.next();
+        double min = Double.POSITIVE_INFINITY, max = 0;
+        while (iter.hasNext()) {
+            iter.next(point);
+            double distance = point.distanceTo(last);
+            min = Math.min(min, distance);
+            max = Math.max(max, distance);
+            last.set(point);
+        }
+        assertEquals(CONTROL_POINTS[4], last);
+        assertTrue("spacing varies between " + min + " and " + max, max - min < 0.01);
+    }
+
+}
@@ -0,0 +1,81 @@
+package net.grian.spatium.iter;
+
+import eisenwave.spatium.array.BooleanArray3;
+import eisenwave.spatium.array.IntArray3;
+import eisenwave.spatium.enums.Direction;
+import net.grian.spatium.coll.Rays;
+import net.grian.spatium.geo3.BlockVector;
+import net.grian.spatium.geo3.Ray3;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class VoxelIteratorTest {
+
+    @Test
+    public void axisAligned() throws Exception {
+        VoxelIterator iter = Ray3.fromOD(0.5, 0.5, 0.5, 3, 0, 0).voxelIterator();
+
+        assertTrue(iter.advance());
+        assertEquals(0, iter.getX());
+        assertNull(iter.getFace());
+
+        for (int x = 1; x <= 3; x++) {
+            assertTrue(iter.advance());
+            assertEquals(x, iter.getX());
+            assertEquals(0, iter.getY());
+            assertEquals((x - 0.5) / 3, iter.getEntry(), 1e-9);
+            assertEquals(Direction.NEGATIVE_X, iter.getFace());
+        }
+        assertFalse(iter.advance());
+    }
+
+    @Test
+    public void diagonalIsConnected() throws Exception {
+        Ray3 ray = Ray3.fromOD(0.3, 5.7, -2.1, 13.4, -9.2, 7.7);
+        VoxelIterator iter = ray.voxelIterator();
+
+        BlockVector previous = iter.next();
+        assertEquals(ray.getOrigin().toBlockVector(), previous);
+        double entry = 0;
+        int count = 1;
+
+        while (iter.hasNext()) {
+            BlockVector next = iter.next();
+            int distance = Math.abs(next.getX() - previous.getX())
+                + Math.abs(next.getY() - previous.getY())
+                + Math.abs(next.getZ() - previous.getZ());
+            assertEquals(1, distance);
+            assertTrue(iter.getEntry() >= entry);
+            entry = iter.getEntry();
+            previous = next;
+            count++;
+        }
+        assertEquals(ray.getEnd().toBlockVector(), previous);
+        // every voxel boundary crossed on any axis adds exactly one voxel
+        assertEquals(1 + 13 + 9 + 8, count);
+    }
+
+    @Test
+    public void rayCast() throws Exception {
+        BooleanArray3 grid = new BooleanArray3(8, 8, 8);
+        grid.set(5, 2, 3, true);
+
+        VoxelIterator hit = Rays.rayCast(Ray3.fromOD(-4.5, 2.5, 3.5, 20, 0, 0), grid);
+        assertNotNull(hit);
+        assertEquals(5, hit.getX());
+        assertEquals(Direction.NEGATIVE_X, hit.getFace());
+        assertEquals(9.5 / 20, hit.getEntry(), 1e-9);
+
+        assertNull(Rays.rayCast(Ray3.fromOD(-4.5, 3.5, 3.5, 20, 0, 0), grid));
+        assertNull(Rays.rayCast(Ray3.fromOD(-4.5, 2.5, 3.5, 5, 0, 0), grid));
+
+        IntArray3 blocks = new IntArray3(8, 8, 8);
+        blocks.set(0, 7, 0, 4);
+        hit = Rays.rayCast(Ray3.fromOD(0.5, 20, 0.5, 0, -30, 0), blocks, 0);
+        assertNotNull(hit);
+        assertEquals(7, hit.getY());
+        assertEquals(Direction.POSITIVE_Y, hit.getFace());
+    }
+
+}
@@ -81,4 +81,23 @@ public class MatricesTest {
     }
     
     
+    @Test
+    public void solve() {
+        Matrix matrix = Matrix.create(4, 4,
+            0, 2, 1, 1,
+            1, 0, 0, 3,
+            2, 1, 1, 0,
+            0, 0, 4, 1);
+        double[] x = {1, -2, 3, 0.5};
+        double[] b = new double[4];
+        for (int i = 0; i < 4; i++)
+            for (int j = 0; j < 4; j++)
+                b[i] += matrix.get(i, j) * x[j];
+        
+        assertArrayEquals(x, Matrices.solve(matrix, b), Spatium.EPSILON);
+        
+        Matrix columns = Matrices.solve(matrix, Matrix.identity(4));
+        assertEquals(matrix.getInverse(), columns);
+    }
+    
 }
@@ -1,11 +1,16 @@
 package net.grian.spatium.matrix;
 
 import net.grian.spatium.geo3.Vector3;
+import net.grian.spatium.impl.Matrix3Impl;
+import net.grian.spatium.impl.Matrix4Impl;
+import net.grian.spatium.impl.MatrixImpl;
 import eisenwave.spatium.util.Spatium;
 import eisenwave.spatium.enums.Axis;
 import eisenwave.spatium.util.PrimMath;
 import org.junit.Test;
 
+import java.util.Random;
+
 import static org.junit.Assert.*;
 
 public class MatrixTest {
@@ -272,4 +277,90 @@ public class MatrixTest {
         assertEquals(inverse, matrix.getInverse());
     }
 
+    @Test
+    public void getInverseLarge() throws Exception {
+        Random random = new Random(1);
+        for (int n = 3; n <= 8; n++) {
+            Matrix matrix = Matrix.create(n, n);
+            for (int i = 0; i < n; i++)
+                for (int j = 0; j < n; j++)
+                    matrix.set(i, j, random.nextDouble() * 2 - 1 + (i == j? n : 0));
+            
+            Matrix inverse = matrix.getInverse();
+            assertEquals(Matrix.identity(n), Matrices.product(matrix, inverse));
+            assertEquals(1, matrix.getDeterminant() * inverse.getDeterminant(), Spatium.EPSILON);
+        }
+    }
+    
+    @Test
+    public void getDeterminantLarge() throws Exception {
+        Matrix matrix = Matrix.create(5, 5,
+            0, 2, 0, 0, 0,
+            3, 0, 0, 0, 0,
+            0, 0, 0, 0, 4,
+            0, 0, 5, 0, 0,
+            0, 0, 0, 6, 0);
+        //the permutation (0 1)(2 4 3) is odd
+        assertEquals(-720, matrix.getDeterminant(), Spatium.EPSILON);
+        
+        matrix.set(4, 3, 0);
+        assertEquals(0, matrix.getDeterminant(), Spatium.EPSILON);
+        assertFalse(matrix.isInvertible());
+    }
+    
+    @Test(expected = MatrixException.class)
+    public void getInverseSingular() throws Exception {
+        Matrix.create(3, 3,
+            1, 2, 3,
+            2, 4, 6,
+            0, 1, 0).getInverse();
+    }
+    
+    @Test
+    public void mulTo() throws Exception {
+        Random random = new Random(2);
+        Matrix4Impl a = new Matrix4Impl(), b = new Matrix4Impl();
+        for (int i = 0; i < 4; i++)
+            for (int j = 0; j < 4; j++) {
+                a.set(i, j, random.nextDouble());
+                b.set(i, j, random.nextDouble());
+            }
+        Matrix expected = Matrices.product(new MatrixImpl(4, 4, flatten(a)), new MatrixImpl(4, 4, flatten(b)));
+        
+        assertEquals(expected, a.mulTo(b, new Matrix4Impl()));
+        assertEquals(expected, Matrices.product(a, b));
+        assertEquals(expected, a.mul(b));
+        
+        Matrix3Impl rot = (Matrix3Impl) Matrix.fromRotZ(Spatium.radians(90));
+        rot.mulTo(rot, rot);
+        assertEquals(Matrix.fromRotZ(Spatium.radians(180)), rot);
+    }
+    
+    @Test
+    public void transformAffine() throws Exception {
+        Matrix3Impl rot = (Matrix3Impl) Matrix.fromRotZ(Spatium.radians(90));
+        Matrix4Impl m = new Matrix4Impl(
+            0, -2, 0, 1,
+            2,  0, 0, 2,
+            0,  0, 2, 3,
+            0,  0, 0, 1);
+        
+        assertEquals(Vector3.fromXYZ(-1, 1, 1), rot.transformPoint(Vector3.fromXYZ(1, 1, 1)));
+        assertEquals(Vector3.fromXYZ(-1, 4, 5), m.transformPoint(Vector3.fromXYZ(1, 1, 1)));
+        assertEquals(Vector3.fromXYZ(-2, 2, 2), m.transformDirection(Vector3.fromXYZ(1, 1, 1)));
+        
+        Matrix4Impl inverse = m.clone().invertAffine();
+        assertEquals(m.clone().invert(), inverse);
+        assertEquals(Matrix.identity(4), Matrices.product(m, inverse));
+        assertEquals(Vector3.fromXYZ(1, 1, 1), inverse.transformPoint(Vector3.fromXYZ(-1, 4, 5)));
+    }
+    
+    private static double[] flatten(Matrix matrix) {
+        final int n = matrix.getRows(), m = matrix.getColumns();
+        double[] result = new double[n * m];
+        for (int i = 0; i < n; i++)
+            System.arraycopy(matrix.getRow(i), 0, result, i * m, m);
+        return result;
+    }
+
 }
@@ -0,0 +1,85 @@
+package net.grian.spatium.transform;
+
+import eisenwave.spatium.util.Spatium;
+import net.grian.spatium.geo3.Vector3;
+import net.grian.spatium.impl.Matrix4Impl;
+import net.grian.spatium.matrix.Matrix;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class BatchTransformationsTest {
+
+    private static double[] randomPoints(int count) {
+        Random random = new Random(count);
+        double[] points = new double[count * 3];
+        for (int i = 0; i < points.length; i++)
+            points[i] = random.nextDouble() * 20 - 10;
+        return points;
+    }
+
+    @Test
+    public void transform() throws Exception {
+        Matrix4Impl m = new Matrix4Impl(
+            0, -2, 0, 1,
+            2,  0, 0, 2,
+            0,  0, 2, 3,
+            0,  0, 0, 1);
+        double[] points = randomPoints(100), dest = new double[points.length + 3];
+        BatchTransformations.transform(m, points, 10, dest, 1, 90);
+
+        Vector3 v = Vector3.zero();
+        for (int i = 10; i < 100; i++) {
+            m.transformPoint(points[i * 3], points[i * 3 + 1], points[i * 3 + 2], v);
+            assertEquals(v.getX(), dest[(i - 9) * 3], Spatium.EPSILON);
+            assertEquals(v.getY(), dest[(i - 9) * 3 + 1], Spatium.EPSILON);
+            assertEquals(v.getZ(), dest[(i - 9) * 3 + 2], Spatium.EPSILON);
+        }
+        assertEquals(0, dest[0], 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void transformProjective() throws Exception {
+        Matrix4Impl m = new Matrix4Impl(
+            1, 0, 0, 0,
+            0, 1, 0, 0,
+            0, 0, 1, 0,
+            0, 0, 1, 0);
+        BatchTransformations.transform(m, randomPoints(10));
+    }
+
+    @Test
+    public void rotate() throws Exception {
+        Quaternion q = Quaternion.fromRotation(1, 2, 3, Spatium.radians(70));
+        q.setLength(2);
+        double[] points = randomPoints(50), rotated = points.clone();
+        BatchTransformations.rotate(q, rotated);
+
+        for (int i = 0; i < 50; i++) {
+            Vector3 point = Vector3.fromXYZ(points[i * 3], points[i * 3 + 1], points[i * 3 + 2]);
+            Vector3 expected = Quaternion.product(q, point);
+            assertEquals(expected, Vector3.fromXYZ(rotated[i * 3], rotated[i * 3 + 1], rotated[i * 3 + 2]));
+        }
+    }
+
+    @Test
+    public void parallel() throws Exception {
+        Matrix m = Matrix.fromRot(0, 0, 1, Spatium.radians(30));
+        double[] points = randomPoints(100_000), sequential = new double[points.length], parallel = points.clone();
+        BatchTransformations.transform(m, points, 0, sequential, 0, 100_000);
+        BatchTransformations.parallelTransform(m, parallel, 0, parallel, 0, 100_000);
+        assertArrayEquals(sequential, parallel, 0);
+
+        float[] floats = new float[points.length], parallelFloats = new float[points.length];
+        for (int i = 0; i < points.length; i++)
+            floats[i] = (float) points[i];
+        BatchTransformations.parallelRotate(Quaternion.fromRotation(0, 0, 1, Spatium.radians(30)),
+            floats, 0, parallelFloats, 0, 100_000);
+        BatchTransformations.rotate(Quaternion.fromRotation(0, 0, 1, Spatium.radians(30)), floats);
+        assertArrayEquals(floats, parallelFloats, 0);
+        assertEquals(sequential[4], floats[4], 1E-4);
+    }
+
+}
@@ -34,4 +34,85 @@ public class QuaternionTest {
         assertEquals(Vector3.fromDir(POSITIVE_Z), x);
     }
     
+    
+    @Test
+    public void mulIntoAndRotateInto() throws Exception {
+        Quaternion a = Quaternion.fromRotation(0, 1, 0, Spatium.radians(40)), b = Quaternion.fromEulerRad(0.3, -1, 2);
+        assertEquals(Quaternion.product(a, b), a.mulInto(b, Quaternion.identity()));
+        assertEquals(Quaternion.product(a, b), a.clone().mulInto(b, b.clone()));
+        
+        Quaternion q = Quaternion.fromRotation(1, 2, 3, 0.7).multiply(3);
+        Vector3 point = Vector3.fromXYZ(4, -5, 6);
+        Quaternion qp = Quaternion.product(q, Quaternion.fromVector(point));
+        Vector3 expected = Quaternion.product(qp, Quaternion.inverse(q)).getVector();
+        assertEquals(expected, q.rotateInto(point, point));
+    }
+    
+    @Test
+    public void slerp() throws Exception {
+        Quaternion a = Quaternion.identity(), b = Quaternion.fromRotation(0, 0, 1, Spatium.radians(90));
+        assertEquals(a, Quaternion.slerp(a, b, 0));
+        assertEquals(b, Quaternion.slerp(a, b, 1));
+        assertEquals(Quaternion.fromRotation(0, 0, 1, Spatium.radians(45)), Quaternion.slerp(a, b, 0.5));
+        assertEquals(Quaternion.fromRotation(0, 0, 1, Spatium.radians(45)), Quaternion.nlerp(a, b, 0.5));
+        
+        //-b represents the same rotation as b, so the shorter arc must be taken
+        Quaternion negB = b.clone().multiply(-1);
+        assertEquals(Quaternion.slerp(a, b, 0.3), Quaternion.slerp(a, negB, 0.3));
+        assertEquals(a, Quaternion.slerp(a, a, 0.5));
+    }
+    
+    @Test
+    public void slerpTrack() throws Exception {
+        Quaternion a = Quaternion.fromEulerRad(0.1, 0.2, 0.3), b = Quaternion.fromEulerRad(-1, 2, 0.5);
+        double[] track = new double[4 * 101];
+        float[] floatTrack = new float[4 * 100];
+        Interpolations.slerpTrack(a, b, track, 1, 100);
+        Interpolations.slerpTrack(a, b, floatTrack, 0, 100);
+        
+        Quaternion expected = Quaternion.identity();
+        for (int i = 0; i < 100; i++) {
+            Quaternion.slerpInto(a, b, i / 99D, expected);
+            assertEquals(expected, quaternionAt(track, i + 1));
+            assertEquals(expected.getW(), floatTrack[i * 4 + 3], 1E-6);
+        }
+        
+        double[] from = {a.getX(), a.getY(), a.getZ(), a.getW(), 0, 0, 0, 1};
+        double[] to = {b.getX(), b.getY(), b.getZ(), b.getW(), 0, 0, 0, 1};
+        Interpolations.slerp(from, to, 0.25, from, 2);
+        Quaternion.slerpInto(a, b, 0.25, expected);
+        assertEquals(expected, quaternionAt(from, 0));
+        assertEquals(Quaternion.identity(), quaternionAt(from, 1));
+    }
+    
+    @Test
+    public void nlerpTrack() throws Exception {
+        //b points away from a, so the track must take the shorter arc to -b
+        Quaternion a = Quaternion.fromEulerRad(0.1, 0.2, 0.3), b = Quaternion.fromEulerRad(-1, 2, 0.5).multiply(-1);
+        assertTrue(a.dot(b) < 0);
+        double[] track = new double[4 * 101];
+        float[] floatTrack = new float[4 * 100];
+        Interpolations.nlerpTrack(a, b, track, 1, 100);
+        Interpolations.nlerpTrack(a, b, floatTrack, 0, 100);
+        
+        Quaternion expected = Quaternion.identity();
+        for (int i = 0; i < 100; i++) {
+            Quaternion.nlerpInto(a, b, i / 99D, expected);
+            assertEquals(expected, quaternionAt(track, i + 1));
+            for (int j = 0; j < 4; j++)
+                assertEquals(track[(i + 1) * 4 + j], floatTrack[i * 4 + j], 1E-6);
+        }
+        
+        double[] from = {a.getX(), a.getY(), a.getZ(), a.getW(), 0, 0, 0, 1};
+        double[] to = {b.getX(), b.getY(), b.getZ(), b.getW(), 0, 0, 0, 1};
+        Interpolations.nlerp(from, to, 0.25, to, 2);
+        assertEquals(Quaternion.nlerp(a, b, 0.25), quaternionAt(to, 0));
+        assertEquals(Quaternion.identity(), quaternionAt(to, 1));
+    }
+    
+    private static Quaternion quaternionAt(double[] array, int index) {
+        index *= 4;
+        return Quaternion.fromXYZW(array[index], array[index + 1], array[index + 2], array[index + 3]);
+    }
+    
 }
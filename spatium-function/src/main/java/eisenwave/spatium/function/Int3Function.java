@@ -0,0 +1,8 @@
+package eisenwave.spatium.function;
+
+@FunctionalInterface
+public interface Int3Function<T> {
+
+    abstract T apply(int x, int y, int z);
+
+}
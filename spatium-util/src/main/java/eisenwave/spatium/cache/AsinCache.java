@@ -13,14 +13,15 @@ public class AsinCache {
         this.size = size;
         this.multi = size;
 
-        this.cache = new double[size];
+        //one extra value so that a sine of exactly 1 is still in range
+        this.cache = new double[size + 1];
 
         for (int i = 0; i<cache.length; i++)
             cache[i] = Math.asin(i / multi);
     }
     
     public double asin(double sin) {
-        if (Double.isNaN(sin) || sin > 1 || sin < 1) return Double.NaN;
+        if (Double.isNaN(sin) || sin > 1 || sin < -1) return Double.NaN;
         if (sin == 0) return 0;
 
         int index = sin>=0? (int) (sin*multi) : (int) (-sin*multi);
@@ -28,7 +29,7 @@ public class AsinCache {
     }
 
     public double acos(double cos) {
-        return asin(cos) - rad90;
+        return rad90 - asin(cos);
     }
 
 
@@ -1,7 +1,5 @@
 package eisenwave.spatium.cache;
 
-import eisenwave.spatium.util.FastMath;
-
 /**
  * <p>
  *     A utility class for performing expensive mathematical operations using lookup tables. The operations include, but
@@ -13,9 +11,13 @@ import eisenwave.spatium.util.FastMath;
  *     <li>square root of real numbers</li>
  * </ul>
  * <p>
- *     By default, there is no caches initialized in this class. They can be initialized from the outside using setters.
- *     Should there be no lookup value in the table or should the table be missing entirely, methods from {@link Math}
- *     are being used instead, in no situation is an exception thrown.
+ *     By default, there is no caches initialized in this class. They can be initialized from the outside using setters
+ *     or all at once using {@link #warmUp()}. Should there be no lookup value in the table or should the table be
+ *     missing entirely, methods from {@link Math} are being used instead, in no situation is an exception thrown.
+ * </p>
+ * <p>
+ *     The lookup tables are held by a shared, thread-safe {@link MathCache}. Subsystems which require a different
+ *     precision should use their own {@link MathCache} instead of changing the shared tables.
  * </p>
  */
 @SuppressWarnings({"SpellCheckingInspection", "unused"})
@@ -63,33 +65,28 @@ public final class CacheMath {
 
     public final static double TO_RADIANS = Math.PI / 180;
 
-    private static AsinCache cacheAsin = null;
-    private static SinCache cacheSin = null;
-    private static SqrtCache cacheSqrt = null;
-    private static BinomCache cacheBinom = null;
-
-    private static int sqrtPrecision = 0xFF;
+    private final static MathCache DEFAULT = new MathCache();
     
     //MATH UTILITY
 
     public static int choose(int n, int k) {
-        return cacheBinom==null? FastMath.choose(n, k) : cacheBinom.choose(n, k);
+        return DEFAULT.choose(n, k);
     }
 
     public static double asin(double radians) {
-        return cacheAsin==null? Math.asin(radians) : cacheAsin.asin(radians);
+        return DEFAULT.asin(radians);
     }
 
     public static double acos(double radians) {
-        return cacheAsin==null? Math.acos(radians) : cacheAsin.acos(radians);
+        return DEFAULT.acos(radians);
     }
 
     public static double sin(double radians) {
-        return cacheSin==null? Math.sin(radians) : cacheSin.sin(radians);
+        return DEFAULT.sin(radians);
     }
 
     public static double cos(double radians) {
-        return cacheSin==null? Math.cos(radians) : cacheSin.cos(radians);
+        return DEFAULT.cos(radians);
     }
 
     public static double sinDeg(double degrees) {
@@ -101,7 +98,7 @@ public final class CacheMath {
     }
 
     public static double sqrt(double number) {
-        return cacheSqrt==null? Math.sqrt(number) : cacheSqrt.sqrt(number);
+        return DEFAULT.sqrt(number);
     }
     
     /*
@@ -131,67 +128,62 @@ public final class CacheMath {
     
 
     //CACHE CONTROL FUNCTIONS
+
+    /**
+     * Returns the shared cache used by the static methods of this class.
+     *
+     * @return the shared cache
+     */
+    public static MathCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Eagerly builds all shared tables with their default capacities. See {@link MathCache#warmUp()}.
+     */
+    public static void warmUp() {
+        DEFAULT.warmUp();
+    }
     
     public static int getSqrtPrecision() {
-        return sqrtPrecision;
+        return DEFAULT.getSqrtPrecision();
     }
 
     public static SqrtCache getCacheSqrt() {
-        return cacheSqrt;
+        return DEFAULT.getCacheSqrt();
     }
 
     public static AsinCache getCacheAsin() {
-        return cacheAsin;
+        return DEFAULT.getCacheAsin();
     }
 
     public static SinCache getCacheSin() {
-        return cacheSin;
+        return DEFAULT.getCacheSin();
     }
 
     public static void setBinomCapacity(int capacity) {
-        if (capacity < 0) throw new IllegalArgumentException("capacity must be positive");
-        if (cacheBinom==null || cacheBinom.getCapacity() < capacity) {
-            cacheBinom = new BinomCache(capacity);
-        }
+        DEFAULT.setBinomCapacity(capacity);
     }
 
     public static void setAsinCapacity(int capacity) {
-        if (capacity < 0) throw new IllegalArgumentException("capacity must be positive");
-        if (cacheAsin==null || cacheAsin.getCapacity() < capacity) {
-            cacheAsin = new AsinCache(capacity);
-        }
+        DEFAULT.setAsinCapacity(capacity);
     }
 
     public static void setSinCapacity(int capacity) {
-        if (capacity < 0) throw new IllegalArgumentException("capacity must be positive");
-        if (cacheSin==null || cacheSin.getCapacity() < capacity) {
-            cacheSin = new SinCache(capacity);
-        }
+        DEFAULT.setSinCapacity(capacity);
     }
 
     @Deprecated
     public static void setSqrtCapacity(int capacity) {
-        if (capacity <= 0) throw new IllegalArgumentException("capacity must be at least 1");
-        if (cacheSqrt==null)
-            cacheSqrt = new SqrtCache(capacity, 1);
-        else if (cacheSqrt.getCapacity() < capacity)
-            cacheSqrt = new SqrtCache(capacity, cacheSqrt.getMax());
+        DEFAULT.setSqrtCapacity(capacity);
     }
 
     public static void setSqrtPrecision(int precision) {
-        if (precision <= 0) throw new IllegalArgumentException("precision must be at least 1");
-        if (cacheSqrt==null)
-            cacheSqrt = new SqrtCache((sqrtPrecision = precision), 1);
-        else if (sqrtPrecision < precision)
-            cacheSqrt = new SqrtCache((int) ((sqrtPrecision = precision) * cacheSqrt.getMax()), cacheSqrt.getMax());
+        DEFAULT.setSqrtPrecision(precision);
     }
 
     public static void setSqrtMaximum(double max) {
-        if (max < 0) throw new IllegalArgumentException("maximum must be positive");
-        if (cacheSqrt==null)
-            cacheSqrt = new SqrtCache((int) (sqrtPrecision * max), max);
-        else if (cacheSqrt.getMax() < max)
-            cacheSqrt = new SqrtCache((int) (sqrtPrecision * max), max);
+        DEFAULT.setSqrtMaximum(max);
     }
 
 }
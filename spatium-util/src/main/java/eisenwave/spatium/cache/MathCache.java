@@ -0,0 +1,157 @@
+package eisenwave.spatium.cache;
+
+import eisenwave.spatium.util.FastMath;
+
+/**
+ * <p>
+ *     A set of lookup tables for expensive mathematical operations. Each instance has its own tables, so different
+ *     subsystems may use different precisions. The static methods of {@link CacheMath} use a shared instance
+ *     obtained using {@link CacheMath#getDefault()}.
+ * </p>
+ * <p>
+ *     This class is thread-safe. The tables are immutable and published through <code>volatile</code> fields, so
+ *     lookups never block and never observe a partially built table. Tables are only ever replaced by larger ones,
+ *     which is synchronized so that concurrent requests for the same capacity build the table only once.
+ * </p>
+ * <p>
+ *     Should a table be missing, methods from {@link Math} and {@link FastMath} are being used instead.
+ * </p>
+ */
+@SuppressWarnings("unused")
+public final class MathCache {
+
+    /** the default capacities used by {@link #warmUp()} */
+    public final static int
+        DEFAULT_SIN_CAPACITY = 1 << 16,
+        DEFAULT_ASIN_CAPACITY = 1 << 16,
+        DEFAULT_BINOM_CAPACITY = 34;
+
+    /** the default maximum of the square root table used by {@link #warmUp()} */
+    public final static double DEFAULT_SQRT_MAXIMUM = 256;
+
+    private volatile AsinCache cacheAsin = null;
+    private volatile SinCache cacheSin = null;
+    private volatile SqrtCache cacheSqrt = null;
+    private volatile BinomCache cacheBinom = null;
+
+    private volatile int sqrtPrecision = 0xFF;
+
+    // MATH UTILITY
+
+    public int choose(int n, int k) {
+        BinomCache cache = cacheBinom;
+        return cache==null? FastMath.choose(n, k) : cache.choose(n, k);
+    }
+
+    public double asin(double radians) {
+        AsinCache cache = cacheAsin;
+        return cache==null? Math.asin(radians) : cache.asin(radians);
+    }
+
+    public double acos(double radians) {
+        AsinCache cache = cacheAsin;
+        return cache==null? Math.acos(radians) : cache.acos(radians);
+    }
+
+    public double sin(double radians) {
+        SinCache cache = cacheSin;
+        return cache==null? Math.sin(radians) : cache.sin(radians);
+    }
+
+    public double cos(double radians) {
+        SinCache cache = cacheSin;
+        return cache==null? Math.cos(radians) : cache.cos(radians);
+    }
+
+    public double sqrt(double number) {
+        SqrtCache cache = cacheSqrt;
+        return cache==null? Math.sqrt(number) : cache.sqrt(number);
+    }
+
+    // CACHE CONTROL FUNCTIONS
+
+    /**
+     * Eagerly builds all tables with their default capacities, unless they are already at least as large. This is
+     * meant to be called once on startup, so that the first lookups do not pay for building the tables.
+     *
+     * @return this cache
+     */
+    public MathCache warmUp() {
+        setSinCapacity(DEFAULT_SIN_CAPACITY);
+        setAsinCapacity(DEFAULT_ASIN_CAPACITY);
+        setBinomCapacity(DEFAULT_BINOM_CAPACITY);
+        setSqrtMaximum(DEFAULT_SQRT_MAXIMUM);
+        return this;
+    }
+
+    public int getSqrtPrecision() {
+        return sqrtPrecision;
+    }
+
+    public SqrtCache getCacheSqrt() {
+        return cacheSqrt;
+    }
+
+    public AsinCache getCacheAsin() {
+        return cacheAsin;
+    }
+
+    public SinCache getCacheSin() {
+        return cacheSin;
+    }
+
+    public BinomCache getCacheBinom() {
+        return cacheBinom;
+    }
+
+    public void setBinomCapacity(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("capacity must be positive");
+        if (cacheBinom != null && cacheBinom.getCapacity() >= capacity) return;
+        synchronized (this) {
+            if (cacheBinom == null || cacheBinom.getCapacity() < capacity)
+                cacheBinom = new BinomCache(capacity);
+        }
+    }
+
+    public void setAsinCapacity(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("capacity must be positive");
+        if (cacheAsin != null && cacheAsin.getCapacity() >= capacity) return;
+        synchronized (this) {
+            if (cacheAsin == null || cacheAsin.getCapacity() < capacity)
+                cacheAsin = new AsinCache(capacity);
+        }
+    }
+
+    public void setSinCapacity(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("capacity must be positive");
+        if (cacheSin != null && cacheSin.getCapacity() >= capacity) return;
+        synchronized (this) {
+            if (cacheSin == null || cacheSin.getCapacity() < capacity)
+                cacheSin = new SinCache(capacity);
+        }
+    }
+
+    @Deprecated
+    public synchronized void setSqrtCapacity(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be at least 1");
+        if (cacheSqrt==null)
+            cacheSqrt = new SqrtCache(capacity, 1);
+        else if (cacheSqrt.getCapacity() < capacity)
+            cacheSqrt = new SqrtCache(capacity, cacheSqrt.getMax());
+    }
+
+    public synchronized void setSqrtPrecision(int precision) {
+        if (precision <= 0) throw new IllegalArgumentException("precision must be at least 1");
+        if (cacheSqrt==null)
+            cacheSqrt = new SqrtCache((sqrtPrecision = precision), 1);
+        else if (sqrtPrecision < precision)
+            cacheSqrt = new SqrtCache((int) ((sqrtPrecision = precision) * cacheSqrt.getMax()), cacheSqrt.getMax());
+    }
+
+    public synchronized void setSqrtMaximum(double max) {
+        if (max < 0) throw new IllegalArgumentException("maximum must be positive");
+        if (cacheSqrt==null || cacheSqrt.getMax() < max)
+            cacheSqrt = new SqrtCache((int) (sqrtPrecision * max), max);
+    }
+
+}
@@ -5,7 +5,7 @@ public class SinCache {
     private final int size;
     private final float multi;
 
-    private double[] cache;
+    private final double[] cache;
 
     public SinCache(int size) {
         this.size = size;
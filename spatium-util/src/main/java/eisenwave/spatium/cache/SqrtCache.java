@@ -6,7 +6,7 @@ public class SqrtCache {
     private final double max;
     private final double multi;
 
-    private double[] cache;
+    private final double[] cache;
 
     public SqrtCache(int size, double max) {
         this.size = size;
@@ -1,5 +1,8 @@
 package eisenwave.spatium.util;
 
+import eisenwave.spatium.function.Int3Consumer;
+import eisenwave.spatium.function.Int3Predicate;
+
 import java.util.NoSuchElementException;
 
 /**
@@ -26,6 +29,33 @@ public class Incrementer3 {
         return x < limX && y < limY && z < limZ;
     }
     
+    /**
+     * Returns the current x-coordinate.
+     *
+     * @return the current x-coordinate
+     */
+    public int getX() {
+        return x;
+    }
+    
+    /**
+     * Returns the current y-coordinate.
+     *
+     * @return the current y-coordinate
+     */
+    public int getY() {
+        return y;
+    }
+    
+    /**
+     * Returns the current z-coordinate.
+     *
+     * @return the current z-coordinate
+     */
+    public int getZ() {
+        return z;
+    }
+    
     public int[] get() {
         return new int[] {x, y, z};
     }
@@ -41,6 +71,40 @@ public class Incrementer3 {
         return get();
     }
     
+    /**
+     * Performs an action for each remaining position, including the current one, and increments until the end is
+     * reached. No objects are allocated in the process.
+     *
+     * @param action the action
+     */
+    public void forEachRemaining(Int3Consumer action) {
+        if (!canIncrement()) return;
+        for (; z < limZ; z++, y = 0) {
+            for (; y < limY; y++, x = 0) {
+                for (; x < limX; x++)
+                    action.accept(x, y, z);
+            }
+        }
+        x = y = 0;
+    }
+    
+    /**
+     * Tests each remaining position, including the current one, and increments until either the end is reached or the
+     * predicate returns {@code false}. In the latter case, the incrementer stops at the position after the rejected
+     * one.
+     *
+     * @param predicate the predicate
+     * @return false if the predicate returned false for any position, true otherwise
+     */
+    public boolean forEachRemainingWhile(Int3Predicate predicate) {
+        while (canIncrement()) {
+            final boolean accepted = predicate.test(x, y, z);
+            increment();
+            if (!accepted) return false;
+        }
+        return true;
+    }
+    
     /**
      * Increments.
      *
@@ -77,4 +77,57 @@ public class CacheMathTest {
         assertTrue(Spatium.equals((float) CacheMath.sqrt(67), (float) Math.sqrt(67)));
     }
 
+    @Test
+    public void asin() throws Exception {
+        MathCache cache = new MathCache();
+        cache.setAsinCapacity(1 << 16);
+        for (double x = -1; x <= 1; x += 1 / 64D) {
+            assertEquals(Math.asin(x), cache.asin(x), 1E-2);
+            assertEquals(Math.acos(x), cache.acos(x), 1E-2);
+        }
+        assertTrue(Double.isNaN(cache.asin(1.5)));
+    }
+
+    @Test
+    public void instances() throws Exception {
+        MathCache coarse = new MathCache(), fine = new MathCache();
+        coarse.setSqrtPrecision(10);
+        fine.setSqrtPrecision(10_000);
+        assertEquals(10, coarse.getSqrtPrecision());
+        assertEquals(10_000, fine.getSqrtPrecision());
+        assertNotSame(coarse.getCacheSqrt(), fine.getCacheSqrt());
+        assertNull(coarse.getCacheSin());
+    }
+
+    @Test
+    public void warmUp() throws Exception {
+        MathCache cache = new MathCache().warmUp();
+        assertEquals(MathCache.DEFAULT_SIN_CAPACITY, cache.getCacheSin().getCapacity());
+        assertEquals(MathCache.DEFAULT_ASIN_CAPACITY, cache.getCacheAsin().getCapacity());
+        assertEquals(MathCache.DEFAULT_BINOM_CAPACITY, cache.getCacheBinom().getCapacity());
+        assertEquals(MathCache.DEFAULT_SQRT_MAXIMUM, cache.getCacheSqrt().getMax(), 0);
+        assertEquals(FastMath.choose(20, 7), cache.choose(20, 7));
+        assertEquals(Math.sin(1), cache.sin(1), 1E-3);
+        assertEquals(Math.sqrt(42), cache.sqrt(42), 1E-2);
+    }
+
+    @Test
+    public void concurrentInit() throws Exception {
+        final MathCache cache = new MathCache();
+        final SinCache[] results = new SinCache[8];
+        Thread[] threads = new Thread[results.length];
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = new Thread(() -> {
+                cache.setSinCapacity(1 << 12);
+                results[index] = cache.getCacheSin();
+            });
+        }
+        for (Thread thread : threads) thread.start();
+        for (Thread thread : threads) thread.join();
+
+        for (SinCache result : results)
+            assertSame(results[0], result);
+    }
+
 }